@@ -0,0 +1,125 @@
+import java.util.Arrays;
+
+/**
+ * A* with the Manhattan distance to the exit. The open set is a binary heap of
+ * (f << 32 | h) keys with lazy deletion, so ties go to the cell nearer the exit.
+ */
+public class AStarSolver implements MazeSolver {
+
+	@Override
+	public String getName() {
+		return "A* (Manhattan)";
+	}
+
+	@Override
+	public MazeSolver.Result solve(MazeGrid grid, int start, int end) {
+		long started = System.nanoTime();
+		if (!MazeSolver.isEndpoint(grid, start) || !MazeSolver.isEndpoint(grid, end))
+			return MazeSolver.notFound(started);
+		int cols = grid.getCols();
+		int cells = grid.getRows() * cols;
+		int endRow = end / cols;
+		int endCol = end % cols;
+		int[] cost = new int[cells];
+		int[] parent = new int[cells];
+		boolean[] closed = new boolean[cells];
+		int[] order = new int[cells];
+		Arrays.fill(cost, Integer.MAX_VALUE);
+
+		Heap open = new Heap(64);
+		long peakHeap = 0;
+		int expanded = 0;
+		cost[start] = 0;
+		parent[start] = start;
+		open.push(start, key(0, distance(start, cols, endRow, endCol)));
+		while (open.size > 0) {
+			int k = open.pop();
+			if (closed[k])
+				continue;
+			closed[k] = true;
+			order[expanded++] = k;
+			if (k == end)
+				break;
+			for (int direction = 0; direction < 4; direction++) {
+				int next = MazeSolver.neighbor(grid, k, direction);
+				if (next < 0 || closed[next] || cost[k] + 1 >= cost[next])
+					continue;
+				cost[next] = cost[k] + 1;
+				parent[next] = k;
+				open.push(next, key(cost[next], distance(next, cols, endRow, endCol)));
+			}
+			peakHeap = Math.max(peakHeap, open.capacityBytes());
+		}
+
+		int[] path = closed[end] ? MazeSolver.pathFrom(parent, start, end) : new int[0];
+		long arrays = (long) cells * (3 * Integer.BYTES + 1);
+		return new MazeSolver.Result(path, order, expanded, expanded, System.nanoTime() - started,
+			arrays + peakHeap);
+	}
+
+	private static int distance(int index, int cols, int endRow, int endCol) {
+		return Math.abs(index / cols - endRow) + Math.abs(index % cols - endCol);
+	}
+
+	private static long key(int cost, int heuristic) {
+		return ((long) (cost + heuristic) << 32) | heuristic;
+	}
+
+	/**
+	 * Min-heap of cell indexes on parallel primitive arrays
+	 */
+	private static class Heap {
+		private long[] keys;
+		private int[] nodes;
+		int size;
+
+		Heap(int capacity) {
+			keys = new long[capacity];
+			nodes = new int[capacity];
+		}
+
+		void push(int node, long key) {
+			if (size == keys.length) {
+				keys = Arrays.copyOf(keys, size * 2);
+				nodes = Arrays.copyOf(nodes, size * 2);
+			}
+			int i = size++;
+			while (i > 0) {
+				int up = (i - 1) >> 1;
+				if (keys[up] <= key)
+					break;
+				keys[i] = keys[up];
+				nodes[i] = nodes[up];
+				i = up;
+			}
+			keys[i] = key;
+			nodes[i] = node;
+		}
+
+		int pop() {
+			int top = nodes[0];
+			long key = keys[--size];
+			int node = nodes[size];
+			int i = 0;
+			while (true) {
+				int child = 2 * i + 1;
+				if (child >= size)
+					break;
+				if (child + 1 < size && keys[child + 1] < keys[child])
+					child++;
+				if (key <= keys[child])
+					break;
+				keys[i] = keys[child];
+				nodes[i] = nodes[child];
+				i = child;
+			}
+			keys[i] = key;
+			nodes[i] = node;
+			return top;
+		}
+
+		long capacityBytes() {
+			return (long) keys.length * (Long.BYTES + Integer.BYTES);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+import java.util.SplittableRandom;
+
+/**
+ * Randomized depth-first search with an explicit int stack (long, winding corridors)
+ */
+public class BacktrackerGenerator implements MazeGenerator {
+
+	@Override
+	public String getName() {
+		return "Recursive Backtracker";
+	}
+
+	@Override
+	public void generate(MazeGrid grid, int size, long seed) {
+		MazeGenerator.prepare(grid, size);
+		SplittableRandom random = new SplittableRandom(seed);
+		int n = MazeGenerator.rooms(size);
+		boolean[] visited = new boolean[n * n];
+		int[] stack = new int[n * n];
+		int[] options = new int[4];
+		int top = 0;
+
+		stack[top++] = 0;
+		visited[0] = true;
+		while (top > 0) {
+			int k = stack[top - 1];
+			int r = k / n;
+			int c = k % n;
+			int count = 0;
+			if (r > 0 && !visited[k - n])
+				options[count++] = k - n;
+			if (c < n - 1 && !visited[k + 1])
+				options[count++] = k + 1;
+			if (r < n - 1 && !visited[k + n])
+				options[count++] = k + n;
+			if (c > 0 && !visited[k - 1])
+				options[count++] = k - 1;
+
+			if (count == 0) {
+				top--;
+				continue;
+			}
+			int next = options[random.nextInt(count)];
+			visited[next] = true;
+			MazeGenerator.carve(grid, n, k, next);
+			stack[top++] = next;
+		}
+	}
+}
@@ -0,0 +1,44 @@
+import java.util.Arrays;
+
+/**
+ * Breadth-first search; the queue array doubles as the expansion order
+ */
+public class BfsSolver implements MazeSolver {
+
+	@Override
+	public String getName() {
+		return "Breadth-First Search";
+	}
+
+	@Override
+	public MazeSolver.Result solve(MazeGrid grid, int start, int end) {
+		long started = System.nanoTime();
+		if (!MazeSolver.isEndpoint(grid, start) || !MazeSolver.isEndpoint(grid, end))
+			return MazeSolver.notFound(started);
+		int cells = grid.getRows() * grid.getCols();
+		int[] parent = new int[cells];
+		int[] queue = new int[cells];
+		Arrays.fill(parent, -1);
+
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = start;
+		parent[start] = start;
+		while (head < tail) {
+			int k = queue[head++];
+			if (k == end)
+				break;
+			for (int direction = 0; direction < 4; direction++) {
+				int next = MazeSolver.neighbor(grid, k, direction);
+				if (next >= 0 && parent[next] < 0) {
+					parent[next] = k;
+					queue[tail++] = next;
+				}
+			}
+		}
+
+		int[] path = parent[end] < 0 ? new int[0] : MazeSolver.pathFrom(parent, start, end);
+		return new MazeSolver.Result(path, queue, head, head, System.nanoTime() - started,
+			2L * cells * Integer.BYTES);
+	}
+}
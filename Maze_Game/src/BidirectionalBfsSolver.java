@@ -0,0 +1,129 @@
+/**
+ * Breadth-first search from both ends, one layer at a time from the smaller
+ * frontier. Both queues share one int array: the forward queue grows from the
+ * front and the backward queue from the back.
+ */
+public class BidirectionalBfsSolver implements MazeSolver {
+	private static final byte FORWARD = 1;
+	private static final byte BACKWARD = 2;
+
+	@Override
+	public String getName() {
+		return "Bidirectional BFS";
+	}
+
+	@Override
+	public MazeSolver.Result solve(MazeGrid grid, int start, int end) {
+		long started = System.nanoTime();
+		if (!MazeSolver.isEndpoint(grid, start) || !MazeSolver.isEndpoint(grid, end))
+			return MazeSolver.notFound(started);
+		int cells = grid.getRows() * grid.getCols();
+		int[] parent = new int[cells];
+		byte[] side = new byte[cells];
+		int[] queues = new int[cells];
+
+		// Forward queue is queues[0 .. forwardTail), backward is queues(backwardTail .. cells - 1]
+		int forwardHead = 0;
+		int forwardTail = 0;
+		int backwardHead = cells - 1;
+		int backwardTail = cells - 1;
+		queues[forwardTail++] = start;
+		side[start] = FORWARD;
+		parent[start] = start;
+		if (start != end) {
+			queues[backwardTail--] = end;
+			side[end] = BACKWARD;
+			parent[end] = end;
+		}
+
+		int meetForward = start == end ? start : -1;
+		int meetBackward = meetForward;
+		while (meetForward < 0 && forwardHead < forwardTail && backwardHead > backwardTail) {
+			boolean forward = forwardTail - forwardHead <= backwardHead - backwardTail;
+			if (forward) {
+				int layerEnd = forwardTail;
+				while (forwardHead < layerEnd && meetForward < 0) {
+					int k = queues[forwardHead++];
+					for (int direction = 0; direction < 4; direction++) {
+						int next = MazeSolver.neighbor(grid, k, direction);
+						if (next < 0)
+							continue;
+						if (side[next] == BACKWARD) {
+							meetForward = k;
+							meetBackward = next;
+							break;
+						}
+						if (side[next] == 0) {
+							side[next] = FORWARD;
+							parent[next] = k;
+							queues[forwardTail++] = next;
+						}
+					}
+				}
+			} else {
+				int layerEnd = backwardTail;
+				while (backwardHead > layerEnd && meetForward < 0) {
+					int k = queues[backwardHead--];
+					for (int direction = 0; direction < 4; direction++) {
+						int next = MazeSolver.neighbor(grid, k, direction);
+						if (next < 0)
+							continue;
+						if (side[next] == FORWARD) {
+							meetForward = next;
+							meetBackward = k;
+							break;
+						}
+						if (side[next] == 0) {
+							side[next] = BACKWARD;
+							parent[next] = k;
+							queues[backwardTail--] = next;
+						}
+					}
+				}
+			}
+		}
+
+		int expandedForward = forwardHead;
+		int expandedBackward = cells - 1 - backwardHead;
+		int[] path = meetForward < 0 ? new int[0] : joinPath(parent, start, end, meetForward, meetBackward);
+		int[] order = interleave(queues, expandedForward, cells - 1, expandedBackward);
+		return new MazeSolver.Result(path, order, order.length, expandedForward + expandedBackward,
+			System.nanoTime() - started, (long) cells * (2 * Integer.BYTES + 1) + (long) order.length * Integer.BYTES);
+	}
+
+	/**
+	 * Start to the forward meeting cell, then the backward meeting cell to end
+	 */
+	private static int[] joinPath(int[] parent, int start, int end, int meetForward, int meetBackward) {
+		int[] head = MazeSolver.pathFrom(parent, start, meetForward);
+		if (meetForward == meetBackward)
+			return head;
+		int tailLength = 1;
+		for (int k = meetBackward; k != end; k = parent[k]) {
+			tailLength++;
+		}
+		int[] path = new int[head.length + tailLength];
+		System.arraycopy(head, 0, path, 0, head.length);
+		for (int k = meetBackward, i = head.length; i < path.length; k = parent[k], i++) {
+			path[i] = k;
+		}
+		return path;
+	}
+
+	/**
+	 * Expansion order alternating between the two searches, as they ran side by side
+	 */
+	private static int[] interleave(int[] queues, int forwardCount, int backwardFirst, int backwardCount) {
+		int[] order = new int[forwardCount + backwardCount];
+		int f = 0;
+		int b = 0;
+		int i = 0;
+		while (f < forwardCount || b < backwardCount) {
+			if (f < forwardCount)
+				order[i++] = queues[f++];
+			if (b < backwardCount)
+				order[i++] = queues[backwardFirst - b++];
+		}
+		return order;
+	}
+}
@@ -0,0 +1,89 @@
+import java.util.Arrays;
+
+/**
+ * Dead-end filling: repeatedly fills open cells with a single open neighbour
+ * (other than start and end). In a perfect maze only the solution is left,
+ * which is then walked from start to end.
+ */
+public class DeadEndFillingSolver implements MazeSolver {
+	private static final byte FILLED = -1;
+
+	@Override
+	public String getName() {
+		return "Dead-End Filling";
+	}
+
+	@Override
+	public MazeSolver.Result solve(MazeGrid grid, int start, int end) {
+		long started = System.nanoTime();
+		if (!MazeSolver.isEndpoint(grid, start) || !MazeSolver.isEndpoint(grid, end))
+			return MazeSolver.notFound(started);
+		int cells = grid.getRows() * grid.getCols();
+		byte[] degree = new byte[cells];
+		int[] order = new int[cells];
+		int filled = 0;
+		int open = 0;
+
+		// Open neighbours of every open cell; the dead ends are the first to fill
+		for (int k = 0; k < cells; k++) {
+			if (grid.hasAt(k, MazeGrid.WALL))
+				continue;
+			open++;
+			byte count = 0;
+			for (int direction = 0; direction < 4; direction++) {
+				if (MazeSolver.neighbor(grid, k, direction) >= 0)
+					count++;
+			}
+			degree[k] = count;
+			if (count <= 1 && k != start && k != end) {
+				degree[k] = FILLED;
+				order[filled++] = k;
+			}
+		}
+
+		// order[] is also the work queue: filling a cell may turn its neighbour into a dead end
+		for (int head = 0; head < filled; head++) {
+			int k = order[head];
+			for (int direction = 0; direction < 4; direction++) {
+				int next = MazeSolver.neighbor(grid, k, direction);
+				if (next < 0 || degree[next] == FILLED)
+					continue;
+				degree[next]--;
+				if (degree[next] <= 1 && next != start && next != end) {
+					degree[next] = FILLED;
+					order[filled++] = next;
+				}
+			}
+		}
+
+		int[] path = walk(grid, degree, start, end, open - filled);
+		return new MazeSolver.Result(path, order, filled, filled + path.length, System.nanoTime() - started,
+			(long) cells * (Integer.BYTES + 1) + (long) path.length * Integer.BYTES);
+	}
+
+	/**
+	 * Follows the unfilled cells from start; empty if end cannot be reached that way
+	 */
+	private static int[] walk(MazeGrid grid, byte[] degree, int start, int end, int remaining) {
+		int[] path = new int[remaining];
+		int length = 0;
+		int previous = -1;
+		int k = start;
+		while (length < remaining) {
+			path[length++] = k;
+			if (k == end)
+				return Arrays.copyOf(path, length);
+			int step = -1;
+			for (int direction = 0; direction < 4 && step < 0; direction++) {
+				int next = MazeSolver.neighbor(grid, k, direction);
+				if (next >= 0 && next != previous && degree[next] != FILLED)
+					step = next;
+			}
+			if (step < 0)
+				break;
+			previous = k;
+			k = step;
+		}
+		return new int[0];
+	}
+}
@@ -0,0 +1,63 @@
+import java.util.Arrays;
+
+/**
+ * Steps from every open cell to one target cell, found with a single BFS from
+ * the target. Hints and the distance readout are then array lookups.
+ */
+public class DistanceField {
+	public static final int UNREACHABLE = -1;
+
+	private final MazeGrid grid;
+	private final int target;
+	private final int[] distance;
+
+	public DistanceField(MazeGrid grid, int target) {
+		this.grid = grid;
+		this.target = target;
+		int cells = grid.getRows() * grid.getCols();
+		distance = new int[cells];
+		Arrays.fill(distance, UNREACHABLE);
+
+		int[] queue = new int[cells];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = target;
+		distance[target] = 0;
+		while (head < tail) {
+			int k = queue[head++];
+			for (int direction = 0; direction < 4; direction++) {
+				int next = MazeSolver.neighbor(grid, k, direction);
+				if (next >= 0 && distance[next] == UNREACHABLE) {
+					distance[next] = distance[k] + 1;
+					queue[tail++] = next;
+				}
+			}
+		}
+	}
+
+	public int getTarget() {
+		return target;
+	}
+
+	/**
+	 * Steps left to the target, or UNREACHABLE
+	 */
+	public int get(int index) {
+		return distance[index];
+	}
+
+	/**
+	 * Neighbour one step closer to the target, or -1 at the target or when unreachable
+	 */
+	public int nextStep(int index) {
+		int here = distance[index];
+		if (here <= 0)
+			return -1;
+		for (int direction = 0; direction < 4; direction++) {
+			int next = MazeSolver.neighbor(grid, index, direction);
+			if (next >= 0 && distance[next] == here - 1)
+				return next;
+		}
+		return -1;
+	}
+}
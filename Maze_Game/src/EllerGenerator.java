@@ -0,0 +1,138 @@
+import java.util.SplittableRandom;
+
+/**
+ * Eller's algorithm: builds the maze one row at a time and only keeps the set
+ * labels of the current row, so memory is O(width) whatever the height.
+ */
+public class EllerGenerator implements MazeGenerator {
+
+	@Override
+	public String getName() {
+		return "Eller's";
+	}
+
+	@Override
+	public void generate(MazeGrid grid, int size, long seed) {
+		MazeGenerator.prepare(grid, size);
+		int n = MazeGenerator.rooms(size);
+		Rows rows = new Rows(n, new SplittableRandom(seed));
+		boolean[] right = new boolean[n];
+		boolean[] down = new boolean[n];
+		for (int r = 0; r < n; r++) {
+			rows.next(r == n - 1, right, down);
+			for (int c = 0; c < n; c++) {
+				int k = r * n + c;
+				if (right[c])
+					MazeGenerator.carve(grid, n, k, k + 1);
+				if (down[c])
+					MazeGenerator.carve(grid, n, k, k + n);
+			}
+		}
+	}
+
+	/**
+	 * Row state of Eller's algorithm. Set labels stay in [0, width): merges within
+	 * a row go through a small union-find, and rooms that are not joined from above
+	 * get labels no other room of the new row uses.
+	 */
+	public static class Rows {
+		private final int width;
+		private final SplittableRandom random;
+		private final int[] set;
+		private final int[] parent;
+		private final int[] members;
+		private final int[] pick;
+		private final boolean[] hasDown;
+
+		public Rows(int width, SplittableRandom random) {
+			this.width = width;
+			this.random = random;
+			set = new int[width];
+			parent = new int[width];
+			members = new int[width];
+			pick = new int[width];
+			hasDown = new boolean[width];
+			for (int c = 0; c < width; c++) {
+				set[c] = c;
+				parent[c] = c;
+			}
+		}
+
+		public int getWidth() {
+			return width;
+		}
+
+		/**
+		 * Produces the next row.
+		 * @param last close the maze: join every remaining set and go nowhere down
+		 * @param right right[c] is true when room c opens to room c + 1
+		 * @param down down[c] is true when room c opens to the room below
+		 */
+		public void next(boolean last, boolean[] right, boolean[] down) {
+			// Join neighbouring sets at random (always on the last row)
+			for (int c = 0; c < width - 1; c++) {
+				int a = find(set[c]);
+				int b = find(set[c + 1]);
+				right[c] = a != b && (last || random.nextBoolean());
+				if (right[c])
+					parent[b] = a;
+			}
+			right[width - 1] = false;
+			for (int c = 0; c < width; c++) {
+				set[c] = find(set[c]);
+			}
+
+			if (last) {
+				for (int c = 0; c < width; c++) {
+					down[c] = false;
+				}
+				return;
+			}
+
+			// Every set goes down at least once; the forced room is picked uniformly
+			for (int c = 0; c < width; c++) {
+				int label = set[c];
+				members[label]++;
+				if (random.nextInt(members[label]) == 0)
+					pick[label] = c;
+				down[c] = random.nextBoolean();
+				if (down[c])
+					hasDown[label] = true;
+			}
+			for (int c = 0; c < width; c++) {
+				int label = set[c];
+				if (members[label] > 0 && !hasDown[label])
+					down[pick[label]] = true;
+				members[label] = 0;
+				hasDown[label] = false;
+			}
+
+			// Rooms not joined from above start new sets with unused labels
+			boolean[] used = hasDown; // all false again, reused as scratch
+			for (int c = 0; c < width; c++) {
+				if (down[c])
+					used[set[c]] = true;
+			}
+			int free = 0;
+			for (int c = 0; c < width; c++) {
+				if (!down[c]) {
+					while (used[free])
+						free++;
+					set[c] = free++;
+				}
+			}
+			for (int label = 0; label < width; label++) {
+				parent[label] = label;
+				used[label] = false;
+			}
+		}
+
+		private int find(int label) {
+			while (parent[label] != label) {
+				parent[label] = parent[parent[label]];
+				label = parent[label];
+			}
+			return label;
+		}
+	}
+}
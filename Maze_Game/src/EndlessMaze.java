@@ -0,0 +1,245 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+/**
+ * A maze that goes down forever, generated in bands of rows with Eller's algorithm.
+ *
+ * A background thread keeps AHEAD bands ready below the player; only the bands
+ * from BEHIND above the player to AHEAD below stay in memory, so memory does not
+ * grow with depth. With a page file every band is also written to a memory-mapped
+ * region when it is generated and read back when the player walks up again;
+ * without one, bands that fall out of the window are gone and read as walls.
+ *
+ * Row 0 is the top wall; band b holds cell rows 1 + b * BAND_ROWS onwards, with
+ * room rows and the wall rows below them alternating.
+ */
+public class EndlessMaze implements AutoCloseable {
+	public static final int BAND_ROOMS = 16;
+	public static final int BAND_ROWS = BAND_ROOMS * 2;
+	public static final int AHEAD = 3;
+	public static final int BEHIND = 2;
+	private static final int RESIDENT = AHEAD + BEHIND + 1;
+	private static final long WAIT_MS = 20; // longest a caller (the EDT) waits for the producer
+
+	private final int rooms;
+	private final int cols;
+	private final EllerGenerator.Rows rows;
+	private final FileChannel pageFile;
+	private final Path pagePath;
+	private final long bandBytes;
+	private final Thread producer;
+
+	// Guarded by this
+	private final MazeGrid[] slots = new MazeGrid[RESIDENT];
+	private final int[] slotBand = new int[RESIDENT];
+	private int produced = 0;
+	private int playerBand = 0;
+	private int wantedUpTo = AHEAD;
+	private boolean closed = false;
+
+	/**
+	 * @param rooms rooms per row (the maze is 2 * rooms + 1 cells wide)
+	 * @param pagePath file to page bands to, or null to drop bands behind the player
+	 */
+	public EndlessMaze(int rooms, long seed, Path pagePath) throws IOException {
+		this.rooms = rooms;
+		this.cols = rooms * 2 + 1;
+		this.rows = new EllerGenerator.Rows(rooms, new SplittableRandom(seed));
+		this.pagePath = pagePath;
+		this.pageFile = pagePath == null ? null : FileChannel.open(pagePath, StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.bandBytes = new MazeGrid(BAND_ROWS, cols).memoryBytes();
+		for (int i = 0; i < RESIDENT; i++) {
+			slotBand[i] = -1;
+		}
+
+		producer = new Thread(this::produce, "endless-maze-producer");
+		producer.setDaemon(true);
+		producer.start();
+	}
+
+	public int getCols() {
+		return cols;
+	}
+
+	/**
+	 * Open cell at global row x, column y; rows that are not available read as walls
+	 */
+	public boolean isOpen(int x, int y) {
+		if (x < 1 || y < 0 || y >= cols)
+			return false;
+		MazeGrid band = band((x - 1) / BAND_ROWS);
+		return band != null && !band.isWall((x - 1) % BAND_ROWS, y);
+	}
+
+	/**
+	 * Whether row x can be read without waiting for the producer (row 0 always can)
+	 */
+	public synchronized boolean isReady(int x) {
+		return x < 1 || (x - 1) / BAND_ROWS < produced;
+	}
+
+	/**
+	 * Moves the window to the player's row: asks the producer for the bands
+	 * below and pages back in the bands above when walking up
+	 */
+	public synchronized void setPlayerRow(int x) {
+		playerBand = Math.max(0, x - 1) / BAND_ROWS;
+		if (playerBand + AHEAD > wantedUpTo) {
+			wantedUpTo = playerBand + AHEAD;
+			notifyAll();
+		}
+		if (pageFile == null)
+			return;
+		for (int b = Math.max(0, playerBand - BEHIND); b <= playerBand + AHEAD && b < produced; b++) {
+			int slot = b % RESIDENT;
+			if (slotBand[slot] != b) {
+				slots[slot] = pageIn(b);
+				slotBand[slot] = b;
+			}
+		}
+	}
+
+	public synchronized int getGeneratedBands() {
+		return produced;
+	}
+
+	/**
+	 * Bands currently held in memory (never more than AHEAD + BEHIND + 1)
+	 */
+	public synchronized int getResidentBands() {
+		int count = 0;
+		for (int i = 0; i < RESIDENT; i++) {
+			if (slots[i] != null)
+				count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Resident band, waiting up to WAIT_MS for the producer if it is on its way; null
+	 * when the band is not ready in time, was dropped or lies beyond what has been asked for
+	 */
+	private synchronized MazeGrid band(int b) {
+		long deadline = System.nanoTime() + WAIT_MS * 1_000_000;
+		while (b >= produced && b <= wantedUpTo && !closed) {
+			long left = (deadline - System.nanoTime()) / 1_000_000;
+			if (left <= 0)
+				return null;
+			try {
+				wait(left);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			}
+		}
+		int slot = b % RESIDENT;
+		if (slotBand[slot] == b)
+			return slots[slot];
+		if (pageFile != null && b < produced)
+			return pageIn(b); // outside the window (e.g. the edge of the view); not kept
+		return null;
+	}
+
+	private void produce() {
+		boolean[] right = new boolean[rooms];
+		boolean[] down = new boolean[rooms];
+		while (true) {
+			int b;
+			synchronized (this) {
+				while (produced > wantedUpTo && !closed) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+				if (closed)
+					return;
+				b = produced;
+			}
+
+			MazeGrid band = generateBand(right, down);
+			if (pageFile != null)
+				pageOut(b, band);
+
+			synchronized (this) {
+				// Kept only while inside the window; only then has the old occupant of this slot
+				// left it (the player may have walked back up while the producer caught up)
+				if (b >= playerBand - BEHIND && b <= playerBand + AHEAD) {
+					slots[b % RESIDENT] = band;
+					slotBand[b % RESIDENT] = b;
+				}
+				produced++;
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Next BAND_ROOMS rows from the Eller state; nothing else carries over between bands
+	 */
+	private MazeGrid generateBand(boolean[] right, boolean[] down) {
+		MazeGrid band = new MazeGrid(BAND_ROWS, cols);
+		band.fill(MazeGrid.WALL);
+		for (int i = 0; i < BAND_ROOMS; i++) {
+			rows.next(false, right, down);
+			for (int c = 0; c < rooms; c++) {
+				band.clear(2 * i, 2 * c + 1, MazeGrid.WALL);
+				if (right[c])
+					band.clear(2 * i, 2 * c + 2, MazeGrid.WALL);
+				if (down[c])
+					band.clear(2 * i + 1, 2 * c + 1, MazeGrid.WALL);
+			}
+		}
+		return band;
+	}
+
+	private void pageOut(int b, MazeGrid band) {
+		try {
+			MappedByteBuffer page = pageFile.map(FileChannel.MapMode.READ_WRITE, b * bandBytes, bandBytes);
+			band.writeTo(page.asLongBuffer());
+		} catch (IOException e) {
+			System.out.println("Could not page out band " + b + ": " + e.getMessage());
+		}
+	}
+
+	private MazeGrid pageIn(int b) {
+		MazeGrid band = new MazeGrid(BAND_ROWS, cols);
+		try {
+			MappedByteBuffer page = pageFile.map(FileChannel.MapMode.READ_ONLY, b * bandBytes, bandBytes);
+			band.readFrom(page.asLongBuffer());
+			return band;
+		} catch (IOException e) {
+			System.out.println("Could not page in band " + b + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			closed = true;
+			notifyAll();
+		}
+		try {
+			producer.join(1000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (pageFile != null) {
+			pageFile.close();
+			try {
+				Files.deleteIfExists(pagePath);
+			} catch (IOException e) {
+				// Still mapped on some platforms until the buffers are collected
+				pagePath.toFile().deleteOnExit();
+			}
+		}
+	}
+}
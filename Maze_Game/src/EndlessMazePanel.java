@@ -0,0 +1,179 @@
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.geom.RoundRectangle2D;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import javax.swing.JPanel;
+import javax.swing.border.EmptyBorder;
+
+
+
+/**
+ * Endless mode: an EndlessMaze seen through a window that scrolls down with the player.
+ * Going deeper scores points; there is no exit.
+ */
+class EndlessMazePanel extends JPanel implements KeyListener {
+	private static final long serialVersionUID = 1L;
+	private static final int dimension = 600;
+	private static final int ROOMS = 25; // 51 cells wide, like Expert
+	private static final int DEPTH_POINTS = 10; // per new room row reached
+
+	private static final Color WALL_COLOR = new Color(70, 80, 100);
+	private static final Color PATH_COLOR = new Color(240, 240, 255);
+	private static final Color PLAYER_COLOR = new Color(50, 150, 250);
+	private static final Color BACKGROUND_COLOR = new Color(50, 60, 80);
+	private static final int LOADING_REPAINT_MS = 50; // retry while rows below are still generating
+
+	private final RoundRectangle2D.Float cellShape = new RoundRectangle2D.Float();
+	private EndlessMaze maze;
+	private int cols;
+	private float cell_size;
+	private int row;
+	private int col;
+	private int deepestRow;
+	private Main mainFrame;
+
+	public EndlessMazePanel(Main mainFrame) {
+		this.mainFrame = mainFrame;
+		addKeyListener(this);
+		setBackground(BACKGROUND_COLOR);
+		setBorder(new EmptyBorder(10, 10, 10, 10));
+		setFocusable(true);
+	}
+
+	/**
+	 * Starts a new endless maze, paging bands behind the player to a temporary file
+	 */
+	public void start() {
+		stop();
+		try {
+			Path pageFile = Files.createTempFile("maze-endless", ".bands");
+			// Game > Exit and closing the window do not go through stop()
+			pageFile.toFile().deleteOnExit();
+			maze = new EndlessMaze(ROOMS, new Random().nextLong(), pageFile);
+		} catch (IOException e) {
+			System.out.println("Could not create page file, bands behind will be dropped: " + e.getMessage());
+			try {
+				maze = new EndlessMaze(ROOMS, new Random().nextLong(), null);
+			} catch (IOException unreachable) {
+				throw new IllegalStateException(unreachable);
+			}
+		}
+		cols = maze.getCols();
+		cell_size = (float) (1.0 * dimension / cols);
+		row = 1;
+		col = 1;
+		deepestRow = 1;
+		maze.setPlayerRow(row);
+		mainFrame.updateDepth(0);
+		requestFocusInWindow();
+		repaint();
+	}
+
+	/**
+	 * Stops the producer thread and removes the page file
+	 */
+	public void stop() {
+		if (maze != null) {
+			try {
+				maze.close();
+			} catch (IOException e) {
+				System.out.println("Could not close endless maze: " + e.getMessage());
+			}
+			maze = null;
+		}
+	}
+
+	/**
+	 * First global row shown; the player is kept in the middle once past the top
+	 */
+	private int topRow() {
+		return Math.max(0, row - cols / 2);
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		super.paintComponent(g);
+		if (maze == null)
+			return;
+		Graphics2D g2d = (Graphics2D) g;
+		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g2d.setColor(BACKGROUND_COLOR);
+		g2d.fillRect(0, 0, getWidth(), getHeight());
+
+		float cornerRadius = cell_size * 0.15f;
+		float cellPadding = cell_size * 0.05f;
+		int top = topRow();
+		for (int i = 0; i < cols; i++) {
+			// Rows the producer has not reached yet are left as background, not waited for
+			if (!maze.isReady(top + i)) {
+				repaint(LOADING_REPAINT_MS);
+				break;
+			}
+			for (int j = 0; j < cols; j++) {
+				boolean player = top + i == row && j == col;
+				g2d.setColor(player ? PLAYER_COLOR : maze.isOpen(top + i, j) ? PATH_COLOR : WALL_COLOR);
+				cellShape.setRoundRect(j * cell_size + cellPadding, i * cell_size + cellPadding,
+					cell_size - 2 * cellPadding, cell_size - 2 * cellPadding, cornerRadius, cornerRadius);
+				g2d.fill(cellShape);
+			}
+		}
+	}
+
+	private void step(int dx, int dy) {
+		if (maze == null || !maze.isOpen(row + dx, col + dy))
+			return;
+		row += dx;
+		col += dy;
+		maze.setPlayerRow(row);
+		mainFrame.incrementMoves();
+
+		// Points for every new room row reached
+		if (row > deepestRow) {
+			int newRooms = row / 2 - deepestRow / 2;
+			deepestRow = row;
+			if (newRooms > 0)
+				mainFrame.updateScore(newRooms * DEPTH_POINTS);
+			mainFrame.updateDepth(deepestRow / 2);
+		}
+		repaint();
+	}
+
+	public void keyTyped(KeyEvent e) {
+	}
+
+	@Override
+	public void keyPressed(KeyEvent e) {
+		switch (e.getKeyCode()) {
+		case KeyEvent.VK_W:
+		case KeyEvent.VK_UP:
+			step(-1, 0);
+			break;
+		case KeyEvent.VK_D:
+		case KeyEvent.VK_RIGHT:
+			step(0, 1);
+			break;
+		case KeyEvent.VK_S:
+		case KeyEvent.VK_DOWN:
+			step(1, 0);
+			break;
+		case KeyEvent.VK_A:
+		case KeyEvent.VK_LEFT:
+			step(0, -1);
+			break;
+		default:
+			break;
+		}
+	}
+
+	@Override
+	public void keyReleased(KeyEvent e) {
+	}
+}
@@ -0,0 +1,72 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Randomized Kruskal's: removes walls in shuffled order when they join two
+ * different trees. Walls are encoded as room * 2 (+1 for the wall below);
+ * trees live in a single int[] union-find (roots hold -size) with path
+ * halving and union by size.
+ */
+public class KruskalGenerator implements MazeGenerator {
+
+	@Override
+	public String getName() {
+		return "Kruskal's";
+	}
+
+	@Override
+	public void generate(MazeGrid grid, int size, long seed) {
+		MazeGenerator.prepare(grid, size);
+		SplittableRandom random = new SplittableRandom(seed);
+		int n = MazeGenerator.rooms(size);
+		int total = n * n;
+
+		int[] walls = new int[2 * n * (n - 1)];
+		int count = 0;
+		for (int k = 0; k < total; k++) {
+			if (k % n < n - 1)
+				walls[count++] = k * 2;
+			if (k / n < n - 1)
+				walls[count++] = k * 2 + 1;
+		}
+		for (int i = count - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int wall = walls[i];
+			walls[i] = walls[j];
+			walls[j] = wall;
+		}
+
+		int[] parent = new int[total];
+		Arrays.fill(parent, -1);
+
+		int joined = 1;
+		for (int i = 0; i < count && joined < total; i++) {
+			int wall = walls[i];
+			int a = wall >> 1;
+			int b = (wall & 1) == 0 ? a + 1 : a + n;
+			int rootA = find(parent, a);
+			int rootB = find(parent, b);
+			if (rootA == rootB)
+				continue;
+			if (parent[rootA] > parent[rootB]) {
+				int swap = rootA;
+				rootA = rootB;
+				rootB = swap;
+			}
+			parent[rootA] += parent[rootB];
+			parent[rootB] = rootA;
+			MazeGenerator.carve(grid, n, a, b);
+			joined++;
+		}
+	}
+
+	private static int find(int[] parent, int k) {
+		while (parent[k] >= 0) {
+			int up = parent[k];
+			if (parent[up] >= 0)
+				parent[k] = parent[up];
+			k = up;
+		}
+		return k;
+	}
+}
@@ -21,6 +21,7 @@
 import javax.swing.AbstractAction;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
+import javax.swing.ButtonGroup;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
@@ -32,6 +33,7 @@
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JRadioButtonMenuItem;
 import javax.swing.JSlider;
 import javax.swing.JTabbedPane;
 import javax.swing.KeyStroke;
@@ -47,6 +49,8 @@ public class Main extends JFrame {
 	private static final long serialVersionUID = 1L;
 	private JPanel contentPane;
 	private MazePanel mazePane;
+	private EndlessMazePanel endlessPane;
+	private boolean endlessMode = false;
 	private JMenuBar menuBar;
 	private JMenu game;
 	private JMenu level;
@@ -66,6 +70,7 @@ public class Main extends JFrame {
 	private JLabel scoreLabel;
 	private JLabel movesLabel;
 	private JLabel timeLabel;
+	private JLabel distanceLabel;
 	private Timer gameTimer;
 	
 	// Sound effects
@@ -202,7 +207,7 @@ public Main() {
 		menuBar.add(help);
 		
 		// Add stats panel at the top
-		statsPanel = new JPanel(new GridLayout(1, 4, 10, 0));
+		statsPanel = new JPanel(new GridLayout(1, 5, 10, 0));
 		statsPanel.setBackground(new Color(50, 55, 65));
 		statsPanel.setBorder(BorderFactory.createCompoundBorder(
 			BorderFactory.createLineBorder(new Color(70, 80, 100), 1),
@@ -229,10 +234,15 @@ public Main() {
 		timeLabel.setFont(statsFont);
 		timeLabel.setForeground(statsForeground);
 		
+		distanceLabel = new JLabel("To Exit: -");
+		distanceLabel.setFont(statsFont);
+		distanceLabel.setForeground(statsForeground);
+		
 		statsPanel.add(levelLabel);
 		statsPanel.add(scoreLabel);
 		statsPanel.add(movesLabel);
 		statsPanel.add(timeLabel);
+		statsPanel.add(distanceLabel);
 		
 		contentPane.add(statsPanel, BorderLayout.NORTH);
 
@@ -297,6 +307,9 @@ public void actionPerformed(ActionEvent e) {
 
 			@Override
 			public void actionPerformed(ActionEvent e) {
+				if (endlessMode) {
+					return;
+				}
 				mazePane.hint();
 				if (soundEnabled) {
 					playSound("hint");
@@ -313,12 +326,16 @@ public void actionPerformed(ActionEvent e) {
 
 			@Override
 			public void actionPerformed(ActionEvent e) {
+				if (endlessMode) {
+					return;
+				}
 				mazePane.autoMove((Graphics2D) mazePane.getGraphics());
 				if (soundEnabled) {
 					playSound("solve");
 				}
 				// No points for auto solving
 				updateScore(-score);
+				showSolverStats();
 			}
 		});
 		autoMove.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_A, KeyEvent.CTRL_DOWN_MASK));
@@ -329,15 +346,34 @@ public void actionPerformed(ActionEvent e) {
 
 			@Override
 			public void actionPerformed(ActionEvent e) {
+				if (endlessMode) {
+					return;
+				}
 				mazePane.algorithm((Graphics2D) mazePane.getGraphics());
 				if (soundEnabled) {
 					playSound("algorithm");
 				}
+				showSolverStats();
 			}
 		});
 		algorithm.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_D, KeyEvent.CTRL_DOWN_MASK));
 		styleMenuItem(algorithm);
 		
+		// Solver used by Auto Solve and Show Algorithm
+		JMenu solverMenu = new JMenu("Solver Algorithm");
+		solverMenu.setForeground(Color.WHITE);
+		solverMenu.setBackground(new Color(60, 70, 90));
+		solverMenu.setOpaque(true);
+		ButtonGroup solverGroup = new ButtonGroup();
+		for (MazeSolver solver : MazeSolver.all()) {
+			JRadioButtonMenuItem item = new JRadioButtonMenuItem(solver.getName());
+			item.setSelected(solverGroup.getButtonCount() == 0);
+			item.addActionListener(e -> mazePane.setSolver(solver));
+			styleMenuItem(item);
+			solverGroup.add(item);
+			solverMenu.add(item);
+		}
+		
 		// Create difficulty levels menu
 		JMenuItem easyLevels = new JMenuItem(new AbstractAction("Easy (11x11)") {
 			private static final long serialVersionUID = 1L;
@@ -379,6 +415,16 @@ public void actionPerformed(ActionEvent e) {
 		});
 		styleMenuItem(expertLevels);
 		
+		JMenuItem endlessLevels = new JMenuItem(new AbstractAction("Endless Mode") {
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				startEndlessMode();
+			}
+		});
+		styleMenuItem(endlessLevels);
+		
 		// Add numbered levels
 		levels = new JMenuItem[10]; // Reduce to 10 levels for simplicity
 		for(int i = 0; i < levels.length; i++) {
@@ -414,6 +460,24 @@ public void actionPerformed(ActionEvent e) {
 		});
 		styleMenuItem(speedSettings);
 		
+		// Maze generator choice (applied by starting a new maze)
+		JMenu generatorMenu = new JMenu("Maze Generator");
+		generatorMenu.setForeground(Color.WHITE);
+		generatorMenu.setBackground(new Color(60, 70, 90));
+		generatorMenu.setOpaque(true);
+		ButtonGroup generatorGroup = new ButtonGroup();
+		for (MazeGenerator generator : MazeGenerator.all()) {
+			JRadioButtonMenuItem item = new JRadioButtonMenuItem(generator.getName());
+			item.setSelected(generatorGroup.getButtonCount() == 0);
+			item.addActionListener(e -> {
+				mazePane.setGenerator(generator);
+				startNewGame();
+			});
+			styleMenuItem(item);
+			generatorGroup.add(item);
+			generatorMenu.add(item);
+		}
+		
 		// Help menu items
 		JMenuItem controls = new JMenuItem(new AbstractAction("Controls") {
 			private static final long serialVersionUID = 1L;
@@ -458,6 +522,7 @@ public void actionPerformed(ActionEvent e) {
 		level.add(mediumLevels);
 		level.add(hardLevels);
 		level.add(expertLevels);
+		level.add(endlessLevels);
 		level.addSeparator();
 		for(int i = 0; i < levels.length; i++) {
 			level.add(levels[i]);
@@ -466,9 +531,12 @@ public void actionPerformed(ActionEvent e) {
 		computer.add(hint);
 		computer.add(autoMove);
 		computer.add(algorithm);
+		computer.addSeparator();
+		computer.add(solverMenu);
 		
 		settings.add(toggleSound);
 		settings.add(speedSettings);
+		settings.add(generatorMenu);
 		
 		help.add(controls);
 		help.add(highScores);
@@ -476,14 +544,76 @@ public void actionPerformed(ActionEvent e) {
 		help.add(about);
 
 		mazePane = new MazePanel(11);
+		mazePane.setMainFrame(this);
+		updateDistance(mazePane.getDistanceToExit());
 		contentPane.add(mazePane, BorderLayout.CENTER);
+		endlessPane = new EndlessMazePanel(this);
 	}
 	/*************************************************************End constructor*/
 
+	/**
+	 * Switch to the endless streaming maze (the solver menu does not apply there)
+	 */
+	private void startEndlessMode() {
+		if (!endlessMode) {
+			contentPane.remove(mazePane);
+			contentPane.add(endlessPane, BorderLayout.CENTER);
+			computer.setEnabled(false);
+			endlessMode = true;
+		}
+		levelLabel.setText("Level: Endless");
+		moves = 0;
+		timeElapsed = 0;
+		score = 0;
+		updateMovesLabel();
+		updateTimeLabel();
+		updateScoreLabel();
+		endlessPane.start();
+		if (!gameTimer.isRunning()) {
+			gameTimer.start();
+		}
+		contentPane.revalidate();
+		repaint();
+	}
+	
+	/**
+	 * Back to the regular maze; the endless maze's thread and page file are released
+	 */
+	private void leaveEndlessMode() {
+		if (!endlessMode) {
+			return;
+		}
+		endlessPane.stop();
+		contentPane.remove(endlessPane);
+		contentPane.add(mazePane, BorderLayout.CENTER);
+		computer.setEnabled(true);
+		endlessMode = false;
+		updateLevelLabel();
+		updateDistance(mazePane.getDistanceToExit());
+		contentPane.revalidate();
+		mazePane.requestFocusInWindow();
+	}
+	
+	/**
+	 * Show what the last solver run cost
+	 */
+	private void showSolverStats() {
+		MazeSolver.Result result = mazePane.getLastSolve();
+		if (result == null) {
+			return;
+		}
+		showCustomMessageDialog(
+			"<html><center>" + mazePane.getSolver().getName() + "<br>" + result + "</center></html>",
+			"Solver Stats",
+			JOptionPane.INFORMATION_MESSAGE);
+	}
+
 	/**
 	 * Start a new game with current settings
 	 */
 	private void startNewGame() {
+		leaveEndlessMode();
+		
 		// Reset game statistics
 		moves = 0;
 		timeElapsed = 0;
@@ -513,6 +643,12 @@ private void startNewGame() {
 	 * Restart the current level
 	 */
 	private void restartLevel() {
+		if (endlessMode) {
+			// There is nothing to go back to in endless mode: start a fresh one
+			startEndlessMode();
+			return;
+		}
+		
 		// Reset player position but keep the same maze
 		mazePane.resetPlayerPosition();
 		
@@ -533,6 +669,8 @@ private void restartLevel() {
 	 * Set the difficulty level
 	 */
 	private void setDifficulty(int size) {
+		leaveEndlessMode();
+		
 		// Update the maze size
 		mazePane.refresh(size);
 		
@@ -598,6 +736,20 @@ private void updateMovesLabel() {
 		movesLabel.setText("Moves: " + moves);
 	}
 	
+	/**
+	 * Update the distance-to-exit readout
+	 */
+	public void updateDistance(int distance) {
+		distanceLabel.setText(distance == DistanceField.UNREACHABLE ? "To Exit: -" : "To Exit: " + distance);
+	}
+	
+	/**
+	 * Update the readout with the deepest room row reached in endless mode
+	 */
+	public void updateDepth(int depth) {
+		distanceLabel.setText("Depth: " + depth);
+	}
+	
 	/**
 	 * Update the time label
 	 */
@@ -882,6 +1034,7 @@ class LevelsAction extends AbstractAction{
 		public void actionPerformed(ActionEvent e) {
 			int levelNum = Integer.valueOf(e.getActionCommand());
 			currentLevel = levelNum;
+			leaveEndlessMode();
 			
 			// Update the maze size based on level (more complex for higher levels)
 			int size = 11 + (levelNum - 1) * 2;
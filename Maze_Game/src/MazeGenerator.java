@@ -0,0 +1,55 @@
+/**
+ * Carves a perfect maze into a MazeGrid.
+ *
+ * The grid is (size + 2) x (size + 2) with an odd size. Rooms are the odd cells;
+ * generators work on room indexes k = r * n + c (n = (size + 1) / 2 rooms per side)
+ * and open the wall cell between two rooms with carve(). The entrance and exit are
+ * opened by Maze.
+ */
+public interface MazeGenerator {
+
+	String getName();
+
+	void generate(MazeGrid grid, int size, long seed);
+
+	/**
+	 * All generators in menu order; the first one is the default
+	 */
+	static MazeGenerator[] all() {
+		return new MazeGenerator[] {
+			new BacktrackerGenerator(),
+			new WilsonGenerator(),
+			new PrimGenerator(),
+			new KruskalGenerator(),
+			new EllerGenerator(),
+			new RandomWalkGenerator()
+		};
+	}
+
+	static int rooms(int size) {
+		return (size + 1) / 2;
+	}
+
+	/**
+	 * Walls everywhere except the rooms
+	 */
+	static void prepare(MazeGrid grid, int size) {
+		grid.reset();
+		grid.fill(MazeGrid.WALL);
+		for (int i = 1; i <= size; i += 2) {
+			for (int j = 1; j <= size; j += 2) {
+				grid.clear(i, j, MazeGrid.WALL);
+			}
+		}
+	}
+
+	/**
+	 * Opens the wall between two neighbouring rooms and marks both rooms VISITED
+	 * (every room of a perfect maze ends up marked, as Maze.printVisitted shows)
+	 */
+	static void carve(MazeGrid grid, int n, int a, int b) {
+		grid.clear(a / n + b / n + 1, a % n + b % n + 1, MazeGrid.WALL);
+		grid.set(2 * (a / n) + 1, 2 * (a % n) + 1, MazeGrid.VISITED);
+		grid.set(2 * (b / n) + 1, 2 * (b % n) + 1, MazeGrid.VISITED);
+	}
+}
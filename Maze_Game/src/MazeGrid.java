@@ -0,0 +1,145 @@
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * Compact maze storage: 4 flag bits per cell packed into a long[] in row-major order.
+ * Row x, column y lives at index x * cols + y, 16 cells per word, so a
+ * 10001x10001 maze takes about 50 MB.
+ */
+public class MazeGrid {
+	public static final int WALL = 1;
+	public static final int VISITED = 2; // rooms joined to the maze by a generator
+	public static final int COLLECTIBLE = 4;
+	public static final int TRAP = 8;
+
+	private static final int BITS_PER_CELL = 4;
+	private static final int CELLS_PER_WORD = 64 / BITS_PER_CELL;
+	private static final int CELL_MASK = (1 << BITS_PER_CELL) - 1;
+
+	private final int rows;
+	private final int cols;
+	private final long[] bits;
+
+	public MazeGrid(int rows, int cols) {
+		this.rows = rows;
+		this.cols = cols;
+		bits = new long[(int) (((long) rows * cols + CELLS_PER_WORD - 1) / CELLS_PER_WORD)];
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	public int getCols() {
+		return cols;
+	}
+
+	public int index(int x, int y) {
+		return x * cols + y;
+	}
+
+	public boolean inside(int x, int y) {
+		return x >= 0 && x < rows && y >= 0 && y < cols;
+	}
+
+	/**
+	 * All flags of the cell at a row-major index
+	 */
+	public int flagsAt(int index) {
+		int shift = (index % CELLS_PER_WORD) * BITS_PER_CELL;
+		return (int) (bits[index / CELLS_PER_WORD] >>> shift) & CELL_MASK;
+	}
+
+	public boolean hasAt(int index, int flag) {
+		int shift = (index % CELLS_PER_WORD) * BITS_PER_CELL;
+		return (bits[index / CELLS_PER_WORD] & ((long) flag << shift)) != 0;
+	}
+
+	public void setAt(int index, int flag) {
+		int shift = (index % CELLS_PER_WORD) * BITS_PER_CELL;
+		bits[index / CELLS_PER_WORD] |= (long) flag << shift;
+	}
+
+	public void clearAt(int index, int flag) {
+		int shift = (index % CELLS_PER_WORD) * BITS_PER_CELL;
+		bits[index / CELLS_PER_WORD] &= ~((long) flag << shift);
+	}
+
+	public boolean has(int x, int y, int flag) {
+		return hasAt(index(x, y), flag);
+	}
+
+	public void set(int x, int y, int flag) {
+		setAt(index(x, y), flag);
+	}
+
+	public void clear(int x, int y, int flag) {
+		clearAt(index(x, y), flag);
+	}
+
+	public boolean isWall(int x, int y) {
+		return hasAt(index(x, y), WALL);
+	}
+
+	/**
+	 * Open cell inside the grid (outside counts as wall)
+	 */
+	public boolean isOpen(int x, int y) {
+		return inside(x, y) && !hasAt(index(x, y), WALL);
+	}
+
+	public void setWall(int x, int y, boolean wall) {
+		if (wall) {
+			set(x, y, WALL);
+		} else {
+			clear(x, y, WALL);
+		}
+	}
+
+	/**
+	 * Sets a flag on every cell, a whole word at a time
+	 */
+	public void fill(int flag) {
+		long mask = repeat(flag);
+		for (int i = 0; i < bits.length; i++) {
+			bits[i] |= mask;
+		}
+	}
+
+	/**
+	 * Clears a flag on every cell, a whole word at a time
+	 */
+	public void clearAll(int flag) {
+		long mask = ~repeat(flag);
+		for (int i = 0; i < bits.length; i++) {
+			bits[i] &= mask;
+		}
+	}
+
+	public void reset() {
+		Arrays.fill(bits, 0L);
+	}
+
+	private static long repeat(int flag) {
+		long mask = 0;
+		for (int i = 0; i < CELLS_PER_WORD; i++) {
+			mask |= (long) flag << (i * BITS_PER_CELL);
+		}
+		return mask;
+	}
+
+	/**
+	 * Copies the packed words out, e.g. into a memory-mapped page
+	 */
+	public void writeTo(LongBuffer out) {
+		out.put(bits);
+	}
+
+	public void readFrom(LongBuffer in) {
+		in.get(bits);
+	}
+
+	public long memoryBytes() {
+		return (long) bits.length * Long.BYTES;
+	}
+}
@@ -6,12 +6,10 @@
 import java.awt.RenderingHints;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.BasicStroke;
 import java.awt.GradientPaint;
 import java.util.Random;
-import java.util.Stack;
 
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
@@ -22,10 +20,9 @@
 
 class MazePanel extends JPanel implements KeyListener {
 	private static final long serialVersionUID = 1L;
-	private Rectangle2D[][] cells;
-	private RoundRectangle2D[][] cellsRounded;
 	private static final int dimension = 600;
-	private int[][] array;
+	private final RoundRectangle2D.Float cellShape = new RoundRectangle2D.Float();
+	private MazeGrid grid;
 	private int cellsMaze;
 	private float cell_size;
 	private Position start;
@@ -34,6 +31,10 @@ class MazePanel extends JPanel implements KeyListener {
 	private Position initialPosition;
 	private int delay = 100;
 	public Maze maze;
+	private MazeGenerator generator = new BacktrackerGenerator();
+	private MazeSolver solver = new BfsSolver();
+	private MazeSolver.Result lastSolve;
+	private final Random seeds = new Random();
 	
 	// Reference to the main frame for callbacks
 	private Main mainFrame;
@@ -47,10 +48,6 @@ class MazePanel extends JPanel implements KeyListener {
 	private static final Color HINT_COLOR = new Color(255, 215, 0);
 	private static final Color SOLUTION_COLOR = new Color(100, 200, 150, 150);
 	private static final Color BACKGROUND_COLOR = new Color(50, 60, 80);
-	
-	// Collectible items
-	private boolean[][] collectibles;
-	private boolean[][] traps;
 
 	/********************************************constructor*/
 	public MazePanel(int cellsMaze) {
@@ -91,11 +88,54 @@ public void setDelay(int delay) {
 	 */
 	public void resetPlayerPosition() {
 		current = new Position(start.getX(), start.getY());
+		updateDistance();
 		repaint();
 	}
+
+	/**
+	 * Steps from the player to the exit (DistanceField.UNREACHABLE if there is no way)
+	 */
+	public int getDistanceToExit() {
+		return maze.getDistanceField(end).get(grid.index(current.getX(), current.getY()));
+	}
+
+	private void updateDistance() {
+		if (mainFrame != null) {
+			mainFrame.updateDistance(getDistanceToExit());
+		}
+	}
 	/************************************************constructor*/
 
 
+	/**
+	 * Generator used for the next maze
+	 */
+	public MazeGenerator getGenerator() {
+		return generator;
+	}
+
+	public void setGenerator(MazeGenerator generator) {
+		this.generator = generator;
+	}
+
+	/**
+	 * Solver used by Auto Solve and Show Algorithm
+	 */
+	public MazeSolver getSolver() {
+		return solver;
+	}
+
+	public void setSolver(MazeSolver solver) {
+		this.solver = solver;
+	}
+
+	/**
+	 * Result of the last Auto Solve or Show Algorithm run
+	 */
+	public MazeSolver.Result getLastSolve() {
+		return lastSolve;
+	}
+
 	public int getCellsMaze() {
 		return this.cellsMaze;
 	}
@@ -108,42 +148,21 @@ public void refresh(int cellsMaze) {
 		setFocusable(true);
 
 		// Maze Object
-		maze = new Maze(cellsMaze - 2);
-		array = maze.getArray();
+		maze = new Maze(cellsMaze - 2, generator, seeds.nextLong());
+		grid = maze.getGrid();
 
 		// Set Position
 		start = current = new Position(1, 0);
 		initialPosition = new Position(1, 0); // Store initial position
 		end = new Position(cellsMaze - 2, cellsMaze - 1);
 
-		// Set maze on panel
-		cells = new Rectangle2D[cellsMaze][cellsMaze];
-		cellsRounded = new RoundRectangle2D[cellsMaze][cellsMaze];
-		float cornerRadius = cell_size * 0.15f; // Rounded corners
-		float cellPadding = cell_size * 0.05f; // Small gap between cells
-		
-		for (int i = 0; i < cellsMaze; i++) {
-			for (int j = 0; j < cellsMaze; j++) {
-				cells[i][j] = new Rectangle2D.Double(j * cell_size, i * cell_size, cell_size, cell_size);
-				cellsRounded[i][j] = new RoundRectangle2D.Double(
-					j * cell_size + cellPadding, 
-					i * cell_size + cellPadding, 
-					cell_size - 2 * cellPadding, 
-					cell_size - 2 * cellPadding, 
-					cornerRadius, cornerRadius);
-			}
-		}
-		
-		// Initialize collectibles and traps
-		collectibles = new boolean[cellsMaze][cellsMaze];
-		traps = new boolean[cellsMaze][cellsMaze];
 		Random random = new Random();
 		
-		// Add collectibles and traps randomly in path cells
+		// Add collectibles and traps randomly in path cells (flags on the maze grid)
 		for (int i = 1; i < cellsMaze - 1; i++) {
 			for (int j = 1; j < cellsMaze - 1; j++) {
 				// Only place items in path cells
-				if (array[i][j] == 0) {
+				if (!grid.isWall(i, j)) {
 					// Skip start and end positions
 					if ((i == start.getX() && j == start.getY()) || 
 						(i == end.getX() && j == end.getY())) {
@@ -152,21 +171,38 @@ public void refresh(int cellsMaze) {
 					
 					// 10% chance for collectible
 					if (random.nextInt(100) < 10) {
-						collectibles[i][j] = true;
+						grid.set(i, j, MazeGrid.COLLECTIBLE);
 					}
 					
 					// 5% chance for trap
 					if (random.nextInt(100) < 5) {
-						traps[i][j] = true;
+						grid.set(i, j, MazeGrid.TRAP);
 					}
 				}
 			}
 		}
 		
+		updateDistance();
+		
 		// Request focus to capture key events
 		requestFocusInWindow();
 	}
 
+	/**
+	 * Rounded shape of cell (i, j); the same instance is reused for every cell
+	 */
+	private RoundRectangle2D cellShape(int i, int j) {
+		float cornerRadius = cell_size * 0.15f; // Rounded corners
+		float cellPadding = cell_size * 0.05f; // Small gap between cells
+		cellShape.setRoundRect(
+			j * cell_size + cellPadding,
+			i * cell_size + cellPadding,
+			cell_size - 2 * cellPadding,
+			cell_size - 2 * cellPadding,
+			cornerRadius, cornerRadius);
+		return cellShape;
+	}
+
 
 	private void drawMaze(Graphics2D g2d) {
 		// Enable antialiasing for smoother rendering
@@ -180,13 +216,14 @@ private void drawMaze(Graphics2D g2d) {
 		// Draw maze cells
 		for (int i = 0; i < cellsMaze; i++) {
 			for (int j = 0; j < cellsMaze; j++) {
-				if (array[i][j] == 0) {
+				int flags = grid.flagsAt(grid.index(i, j));
+				if ((flags & MazeGrid.WALL) == 0) {
 					// Path cells
 					g2d.setColor(PATH_COLOR);
-					g2d.fill(cellsRounded[i][j]);
+					g2d.fill(cellShape(i, j));
 					
 					// Draw collectibles (coins)
-					if (collectibles[i][j]) {
+					if ((flags & MazeGrid.COLLECTIBLE) != 0) {
 						float coinSize = cell_size * 0.4f;
 						float coinX = j * cell_size + (cell_size - coinSize) / 2;
 						float coinY = i * cell_size + (cell_size - coinSize) / 2;
@@ -208,7 +245,7 @@ private void drawMaze(Graphics2D g2d) {
 					}
 					
 					// Draw traps
-					if (traps[i][j]) {
+					if ((flags & MazeGrid.TRAP) != 0) {
 						float trapSize = cell_size * 0.7f;
 						float trapX = j * cell_size + (cell_size - trapSize) / 2;
 						float trapY = i * cell_size + (cell_size - trapSize) / 2;
@@ -230,12 +267,12 @@ private void drawMaze(Graphics2D g2d) {
 				} else {
 					// Wall cells
 					g2d.setColor(WALL_COLOR);
-					g2d.fill(cellsRounded[i][j]);
+					g2d.fill(cellShape(i, j));
 					
 					// Add subtle 3D effect to walls
 					g2d.setColor(new Color(50, 60, 70));
 					g2d.setStroke(new BasicStroke(1.0f));
-					g2d.draw(cellsRounded[i][j]);
+					g2d.draw(cellShape(i, j));
 				}
 			}
 		}
@@ -249,7 +286,7 @@ private void drawMaze(Graphics2D g2d) {
 			(float)((endY + 1) * cell_size), (float)((endX + 1) * cell_size),
 			END_COLOR.brighter());
 		g2d.setPaint(endGradient);
-		g2d.fill(cellsRounded[endX][endY]);
+		g2d.fill(cellShape(endX, endY));
 		
 		// Draw exit sign
 		float exitSize = cell_size * 0.6f;
@@ -265,7 +302,7 @@ private void drawMaze(Graphics2D g2d) {
 		int startX = start.getX();
 		int startY = start.getY();
 		g2d.setColor(START_COLOR);
-		g2d.fill(cellsRounded[startX][startY]);
+		g2d.fill(cellShape(startX, startY));
 		
 		// Draw current position (player)
 		int x = current.getX();
@@ -276,7 +313,7 @@ private void drawMaze(Graphics2D g2d) {
 			(float)((y + 1) * cell_size), (float)((x + 1) * cell_size),
 			PLAYER_COLOR.brighter());
 		g2d.setPaint(playerGradient);
-		g2d.fill(cellsRounded[x][y]);
+		g2d.fill(cellShape(x, y));
 		
 		// Draw player character (smiley face)
 		float faceSize = cell_size * 0.6f;
@@ -300,17 +337,17 @@ private void drawMaze(Graphics2D g2d) {
 	}
 
 	public void autoMove(Graphics2D g2d) {
-		Stack<Position> way = maze.getDirectWay(start, end);
+		lastSolve = maze.solve(solver, start, end);
+		int[] path = lastSolve.getPath();
 		g2d.setColor(SOLUTION_COLOR);
 		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 		
-		while (!way.empty()) {
-			Position next = way.pop();
-			int x = next.getX();
-			int y = next.getY();
+		for (int i = 0; i < path.length; i++) {
+			int x = path[i] / grid.getCols();
+			int y = path[i] % grid.getCols();
 			
 			// Draw solution path with animation
-			g2d.fill(cellsRounded[x][y]);
+			g2d.fill(cellShape(x, y));
 			
 			// Draw a small circle to indicate the path
 			float circleSize = cell_size * 0.3f;
@@ -331,19 +368,20 @@ public void autoMove(Graphics2D g2d) {
 	}
 
 	public void algorithm(Graphics2D g2d) {
-		Stack<Position> way = maze.getWay(start, end);
+		lastSolve = maze.solve(solver, start, end);
+		int[] order = lastSolve.getOrder();
 		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 		
 		Color explorationColor = new Color(255, 180, 100, 180); // Semi-transparent orange
 		
-		while (!way.empty()) {
-			Position next = way.pop();
-			int x = next.getX();
-			int y = next.getY();
+		// Cells in the order the solver processed them
+		for (int i = 0; i < lastSolve.getOrderLength(); i++) {
+			int x = order[i] / grid.getCols();
+			int y = order[i] % grid.getCols();
 			
 			// Draw exploration path
 			g2d.setColor(explorationColor);
-			g2d.fill(cellsRounded[x][y]);
+			g2d.fill(cellShape(x, y));
 			
 			// Draw a small dot to show the exploration path
 			float dotSize = cell_size * 0.2f;
@@ -372,15 +410,16 @@ private void move(Graphics2D g2d, Position current) {
 		int x = current.getX();
 		int y = current.getY();
 		
-		// Update move counter in main frame if available
+		// Update move counter and distance in main frame if available
 		if (mainFrame != null) {
 			mainFrame.incrementMoves();
 		}
+		updateDistance();
 		
 		// Check for collectible
-		if (collectibles[x][y]) {
+		if (grid.has(x, y, MazeGrid.COLLECTIBLE)) {
 			// Collect the item
-			collectibles[x][y] = false;
+			grid.clear(x, y, MazeGrid.COLLECTIBLE);
 			
 			// Award points
 			if (mainFrame != null) {
@@ -392,9 +431,9 @@ private void move(Graphics2D g2d, Position current) {
 		}
 		
 		// Check for trap
-		if (traps[x][y]) {
+		if (grid.has(x, y, MazeGrid.TRAP)) {
 			// Trigger the trap
-			traps[x][y] = false;
+			grid.clear(x, y, MazeGrid.TRAP);
 			
 			// Deduct points
 			if (mainFrame != null) {
@@ -465,21 +504,19 @@ private void move(Graphics2D g2d, Position current) {
 	
 	// Show a hint for the next move
 	public void hint() {
-		Stack<Position> way = maze.getDirectWay(current, end);
-		// Skip current position
-		way.pop();
+		// One lookup in the precomputed distances instead of solving again
+		int next = maze.getDistanceField(end).nextStep(grid.index(current.getX(), current.getY()));
 		
-		if (!way.empty()) {
-			Position next = way.pop();
-			int x = next.getX();
-			int y = next.getY();
+		if (next >= 0) {
+			int x = next / grid.getCols();
+			int y = next % grid.getCols();
 			
 			Graphics2D g2d = (Graphics2D) getGraphics();
 			g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 			
 			// Draw hint with pulsating effect
 			g2d.setColor(HINT_COLOR);
-			g2d.fill(cellsRounded[x][y]);
+			g2d.fill(cellShape(x, y));
 			
 			// Draw arrow indicating direction
 			float arrowSize = cell_size * 0.4f;
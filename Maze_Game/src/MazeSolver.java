@@ -0,0 +1,145 @@
+/**
+ * Finds a path through a MazeGrid between two row-major cell indexes.
+ *
+ * Solvers work on flat int/byte arrays indexed like the grid and report how much
+ * work they did, so the algorithms can be compared from the Computer menu.
+ */
+public interface MazeSolver {
+
+	String getName();
+
+	Result solve(MazeGrid grid, int start, int end);
+
+	/**
+	 * All solvers in menu order; the first one is the default
+	 */
+	static MazeSolver[] all() {
+		return new MazeSolver[] {
+			new BfsSolver(),
+			new AStarSolver(),
+			new BidirectionalBfsSolver(),
+			new DeadEndFillingSolver()
+		};
+	}
+
+	/**
+	 * Open neighbour of a cell in direction 0..3 (up, right, down, left), or -1
+	 */
+	static int neighbor(MazeGrid grid, int index, int direction) {
+		int cols = grid.getCols();
+		int next;
+		switch (direction) {
+		case 0:
+			next = index - cols;
+			break;
+		case 1:
+			if (index % cols == cols - 1)
+				return -1;
+			next = index + 1;
+			break;
+		case 2:
+			next = index + cols;
+			break;
+		default:
+			if (index % cols == 0)
+				return -1;
+			next = index - 1;
+			break;
+		}
+		if (next < 0 || next >= grid.getRows() * cols || grid.hasAt(next, MazeGrid.WALL))
+			return -1;
+		return next;
+	}
+
+	/**
+	 * Whether a solver may start or end at this cell: inside the grid and not a wall.
+	 * neighbor() only checks the cell it steps to, so solvers check both ends up front.
+	 */
+	static boolean isEndpoint(MazeGrid grid, int index) {
+		return index >= 0 && index < grid.getRows() * grid.getCols() && !grid.hasAt(index, MazeGrid.WALL);
+	}
+
+	/**
+	 * Result for a start or end that is not an endpoint: nothing searched, no path
+	 */
+	static Result notFound(long started) {
+		return new Result(new int[0], new int[0], 0, 0, System.nanoTime() - started, 0);
+	}
+
+	/**
+	 * Walks a parent array back from end and returns the path from start to end
+	 */
+	static int[] pathFrom(int[] parent, int start, int end) {
+		int length = 1;
+		for (int k = end; k != start; k = parent[k]) {
+			length++;
+		}
+		int[] path = new int[length];
+		for (int k = end, i = length - 1; i >= 0; k = parent[k], i--) {
+			path[i] = k;
+		}
+		return path;
+	}
+
+	/**
+	 * Path found (start to end, empty when unreachable), the cells in the order the
+	 * solver processed them, and the cost of the run
+	 */
+	class Result {
+		private final int[] path;
+		private final int[] order;
+		private final int orderLength;
+		private final long expanded;
+		private final long nanos;
+		private final long peakBytes;
+
+		public Result(int[] path, int[] order, int orderLength, long expanded, long nanos, long peakBytes) {
+			this.path = path;
+			this.order = order;
+			this.orderLength = orderLength;
+			this.expanded = expanded;
+			this.nanos = nanos;
+			this.peakBytes = peakBytes;
+		}
+
+		public int[] getPath() {
+			return path;
+		}
+
+		public boolean isFound() {
+			return path.length > 0;
+		}
+
+		/**
+		 * Processing order; only the first getOrderLength() entries are valid
+		 */
+		public int[] getOrder() {
+			return order;
+		}
+
+		public int getOrderLength() {
+			return orderLength;
+		}
+
+		public long getExpanded() {
+			return expanded;
+		}
+
+		public long getNanos() {
+			return nanos;
+		}
+
+		/**
+		 * Bytes of working arrays the solver had allocated at its peak
+		 */
+		public long getPeakBytes() {
+			return peakBytes;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("path %d cells, %d nodes expanded, %.2f ms, %d KB",
+				path.length, expanded, nanos / 1e6, (peakBytes + 1023) / 1024);
+		}
+	}
+}
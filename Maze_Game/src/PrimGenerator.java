@@ -0,0 +1,74 @@
+import java.util.SplittableRandom;
+
+/**
+ * Randomized Prim's: grows the maze from a random frontier room each step
+ * (many short dead ends). The frontier is an int array with swap-remove.
+ */
+public class PrimGenerator implements MazeGenerator {
+	private static final byte OUT = 0;
+	private static final byte FRONTIER = 1;
+	private static final byte IN = 2;
+
+	@Override
+	public String getName() {
+		return "Prim's";
+	}
+
+	@Override
+	public void generate(MazeGrid grid, int size, long seed) {
+		MazeGenerator.prepare(grid, size);
+		SplittableRandom random = new SplittableRandom(seed);
+		int n = MazeGenerator.rooms(size);
+		byte[] state = new byte[n * n];
+		int[] frontier = new int[n * n];
+		int[] options = new int[4];
+		int frontierSize = 0;
+
+		int first = random.nextInt(n * n);
+		state[first] = IN;
+		frontierSize = expand(first, n, state, frontier, frontierSize);
+		while (frontierSize > 0) {
+			int pick = random.nextInt(frontierSize);
+			int k = frontier[pick];
+			frontier[pick] = frontier[--frontierSize];
+
+			// Connect to a random room already in the maze
+			int r = k / n;
+			int c = k % n;
+			int count = 0;
+			if (r > 0 && state[k - n] == IN)
+				options[count++] = k - n;
+			if (c < n - 1 && state[k + 1] == IN)
+				options[count++] = k + 1;
+			if (r < n - 1 && state[k + n] == IN)
+				options[count++] = k + n;
+			if (c > 0 && state[k - 1] == IN)
+				options[count++] = k - 1;
+			MazeGenerator.carve(grid, n, k, options[random.nextInt(count)]);
+			state[k] = IN;
+			frontierSize = expand(k, n, state, frontier, frontierSize);
+		}
+	}
+
+	private static int expand(int k, int n, byte[] state, int[] frontier, int frontierSize) {
+		int r = k / n;
+		int c = k % n;
+		if (r > 0 && state[k - n] == OUT) {
+			state[k - n] = FRONTIER;
+			frontier[frontierSize++] = k - n;
+		}
+		if (c < n - 1 && state[k + 1] == OUT) {
+			state[k + 1] = FRONTIER;
+			frontier[frontierSize++] = k + 1;
+		}
+		if (r < n - 1 && state[k + n] == OUT) {
+			state[k + n] = FRONTIER;
+			frontier[frontierSize++] = k + n;
+		}
+		if (c > 0 && state[k - 1] == OUT) {
+			state[k - 1] = FRONTIER;
+			frontier[frontierSize++] = k - 1;
+		}
+		return frontierSize;
+	}
+}
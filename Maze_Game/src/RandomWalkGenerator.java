@@ -0,0 +1,48 @@
+import java.util.SplittableRandom;
+
+/**
+ * The original random walk (Aldous-Broder): wanders until every room has been
+ * seen and opens the wall whenever it enters a new room. Uniform but slow on
+ * large mazes, since the last rooms take a long time to reach.
+ */
+public class RandomWalkGenerator implements MazeGenerator {
+
+	@Override
+	public String getName() {
+		return "Random Walk";
+	}
+
+	@Override
+	public void generate(MazeGrid grid, int size, long seed) {
+		MazeGenerator.prepare(grid, size);
+		SplittableRandom random = new SplittableRandom(seed);
+		int n = MazeGenerator.rooms(size);
+		boolean[] visited = new boolean[n * n];
+		int[] options = new int[4];
+
+		int k = 0;
+		int visitedRooms = 1;
+		visited[0] = true;
+		while (visitedRooms < n * n) {
+			int r = k / n;
+			int c = k % n;
+			int count = 0;
+			if (r > 0)
+				options[count++] = k - n;
+			if (c < n - 1)
+				options[count++] = k + 1;
+			if (r < n - 1)
+				options[count++] = k + n;
+			if (c > 0)
+				options[count++] = k - 1;
+			int next = options[random.nextInt(count)];
+
+			if (!visited[next]) {
+				visited[next] = true;
+				visitedRooms++;
+				MazeGenerator.carve(grid, n, k, next);
+			}
+			k = next;
+		}
+	}
+}
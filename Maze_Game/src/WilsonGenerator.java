@@ -0,0 +1,57 @@
+import java.util.SplittableRandom;
+
+/**
+ * Wilson's algorithm: loop-erased random walks give a uniform spanning tree.
+ * Each walk only remembers the last exit taken from every room (int[]), which
+ * erases loops for free.
+ */
+public class WilsonGenerator implements MazeGenerator {
+
+	@Override
+	public String getName() {
+		return "Wilson's";
+	}
+
+	@Override
+	public void generate(MazeGrid grid, int size, long seed) {
+		MazeGenerator.prepare(grid, size);
+		SplittableRandom random = new SplittableRandom(seed);
+		int n = MazeGenerator.rooms(size);
+		int total = n * n;
+		boolean[] inMaze = new boolean[total];
+		int[] exit = new int[total];
+		int[] options = new int[4];
+
+		inMaze[random.nextInt(total)] = true;
+		for (int start = 0; start < total; start++) {
+			if (inMaze[start])
+				continue;
+
+			// Walk until the maze is hit, overwriting exits on revisits
+			int k = start;
+			while (!inMaze[k]) {
+				int r = k / n;
+				int c = k % n;
+				int count = 0;
+				if (r > 0)
+					options[count++] = k - n;
+				if (c < n - 1)
+					options[count++] = k + 1;
+				if (r < n - 1)
+					options[count++] = k + n;
+				if (c > 0)
+					options[count++] = k - 1;
+				exit[k] = options[random.nextInt(count)];
+				k = exit[k];
+			}
+
+			// Add the loop-erased path
+			k = start;
+			while (!inMaze[k]) {
+				inMaze[k] = true;
+				MazeGenerator.carve(grid, n, k, exit[k]);
+				k = exit[k];
+			}
+		}
+	}
+}
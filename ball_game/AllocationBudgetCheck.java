@@ -0,0 +1,87 @@
+import java.awt.event.KeyEvent;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Runs the game headless and checks per-tick / per-frame allocation against a budget.
+ *
+ * Usage: java -Djava.awt.headless=true AllocationBudgetCheck [budget.properties]
+ * Exits with status 1 when any phase allocates more bytes on average than its budget,
+ * so it can be used as a build step.
+ */
+public class AllocationBudgetCheck {
+    private static final String DEFAULT_BUDGET_FILE = "allocation-budget.properties";
+    private static final int WARMUP_TICKS = 5000;
+    private static final int MEASURED_TICKS = 5000;
+    
+    // Player steering pattern: change direction every this many ticks
+    private static final int STEER_INTERVAL = 90;
+    private static final int[] STEER_KEYS = {
+        KeyEvent.VK_RIGHT, KeyEvent.VK_DOWN, KeyEvent.VK_LEFT, KeyEvent.VK_UP
+    };
+    
+    public static void main(String[] args) throws IOException {
+        String budgetFile = args.length > 0 ? args[0] : DEFAULT_BUDGET_FILE;
+        Properties budget = new Properties();
+        try (InputStream in = new FileInputStream(budgetFile)) {
+            budget.load(in);
+        }
+        
+        if (!AllocationProfiler.isSupported()) {
+            System.out.println("Thread allocation counting is not supported by this JVM");
+            System.exit(2);
+        }
+        GameConfig.profileAllocations = true;
+        
+        HeadlessGame game = new HeadlessGame();
+        game.loadImages();
+        game.getEnemyManager().spawnEnemy(Enemy.EnemyType.TRACKER);
+        game.getEnemyManager().spawnEnemy(Enemy.EnemyType.TRACKER);
+        game.getEnemyManager().spawnEnemy(Enemy.EnemyType.BOMBER);
+        
+        // Warm up so the JIT has compiled (and escape-analysed) the hot paths
+        run(game, WARMUP_TICKS);
+        AllocationProfiler.reset();
+        run(game, MEASURED_TICKS);
+        game.shutdown();
+        
+        System.out.println("=== Allocation per tick / frame ===");
+        System.out.print(AllocationProfiler.report());
+        
+        int failures = 0;
+        for (AllocationProfiler.Phase phase : AllocationProfiler.Phase.values()) {
+            String limit = budget.getProperty(phase.getKey());
+            if (limit == null) {
+                continue;
+            }
+            double average = AllocationProfiler.getAverageBytes(phase);
+            if (average > Double.parseDouble(limit.trim())) {
+                System.out.printf("OVER BUDGET: %s averages %.1f B (budget %s B)%n",
+                    phase.getKey(), average, limit.trim());
+                failures++;
+            }
+        }
+        
+        if (failures > 0) {
+            System.out.println(failures + " phase(s) over allocation budget");
+            System.exit(1);
+        }
+        System.out.println("All phases within allocation budget");
+        System.exit(0);
+    }
+    
+    private static void run(HeadlessGame game, int ticks) {
+        Player player = game.getPlayer();
+        for (int i = 0; i < ticks; i++) {
+            if (i % STEER_INTERVAL == 0) {
+                int step = i / STEER_INTERVAL;
+                player.handleKeyRelease(STEER_KEYS[(step + STEER_KEYS.length - 1) % STEER_KEYS.length]);
+                player.handleKeyPress(STEER_KEYS[step % STEER_KEYS.length]);
+            }
+            game.tick();
+            game.renderFrame();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+import java.lang.management.ManagementFactory;
+
+/**
+ * اندازه‌گیری حافظه تخصیص‌یافته در هر تیک شبیه‌سازی و هر فریم رسم
+ *
+ * هر مرحله با {@link #begin()} شروع و با {@link #end(Phase, long)} پایان می‌یابد.
+ * تعداد بایت‌های تخصیص‌یافته توسط نخ جاری از ThreadMXBean خوانده می‌شود، پس
+ * فقط کار همان نخ (نه نخ‌های زمان‌بند) شمرده می‌شود.
+ * تا وقتی GameConfig.profileAllocations خاموش است هیچ هزینه‌ای ندارد.
+ */
+public class AllocationProfiler {
+    
+    /**
+     * مراحل اندازه‌گیری؛ TICK و FRAME مجموع مراحل زیرمجموعه خود هستند
+     */
+    public enum Phase {
+        TICK("tick"),
+        TICK_PLAYER("tick.player"),
+        TICK_ENEMIES("tick.enemies"),
+        TICK_EFFECTS("tick.effects"),
+        TICK_POWER_UPS("tick.powerUps"),
+        TICK_COLLISIONS("tick.collisions"),
+        FRAME("frame"),
+        FRAME_TRAIL("frame.trail"),
+        FRAME_BALLS("frame.balls"),
+        FRAME_POWER_UPS("frame.powerUps"),
+        FRAME_ENEMIES("frame.enemies"),
+        FRAME_PLAYER("frame.player"),
+        FRAME_EFFECTS("frame.effects"),
+        FRAME_HUD("frame.hud");
+        
+        private final String key;
+        
+        Phase(String key) {
+            this.key = key;
+        }
+        
+        /**
+         * نام مرحله در فایل بودجه و گزارش
+         */
+        public String getKey() {
+            return key;
+        }
+    }
+    
+    private static final com.sun.management.ThreadMXBean threadBean = threadBean();
+    
+    private static final int PHASES = Phase.values().length;
+    private static final long[] totalBytes = new long[PHASES];
+    private static final long[] maxBytes = new long[PHASES];
+    private static final long[] samples = new long[PHASES];
+    
+    // هزینه خود اندازه‌گیری (یک جفت begin/end خالی) که از نمونه‌ها کم می‌شود
+    private static long overheadBytes = -1;
+    
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported()) {
+                sunBean.setThreadAllocatedMemoryEnabled(true);
+                return sunBean;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * آیا اندازه‌گیری فعال و در این JVM پشتیبانی می‌شود
+     */
+    public static boolean isEnabled() {
+        return GameConfig.profileAllocations && threadBean != null;
+    }
+    
+    /**
+     * آیا JVM شمارش تخصیص حافظه نخ‌ها را پشتیبانی می‌کند
+     */
+    public static boolean isSupported() {
+        return threadBean != null;
+    }
+    
+    /**
+     * شروع یک مرحله
+     * @return شمارنده تخصیص نخ جاری که باید به end داده شود
+     */
+    public static long begin() {
+        if (!isEnabled()) {
+            return 0;
+        }
+        return currentThreadAllocatedBytes();
+    }
+    
+    /**
+     * پایان یک مرحله و ثبت بایت‌های تخصیص‌یافته از begin
+     */
+    public static void end(Phase phase, long startBytes) {
+        if (!isEnabled()) {
+            return;
+        }
+        long allocated = currentThreadAllocatedBytes() - startBytes - overhead();
+        if (allocated < 0) {
+            allocated = 0;
+        }
+        
+        int index = phase.ordinal();
+        synchronized (totalBytes) {
+            totalBytes[index] += allocated;
+            samples[index]++;
+            if (allocated > maxBytes[index]) {
+                maxBytes[index] = allocated;
+            }
+        }
+    }
+    
+    /**
+     * میانگین بایت تخصیص‌یافته در هر نمونه از یک مرحله
+     */
+    public static double getAverageBytes(Phase phase) {
+        int index = phase.ordinal();
+        synchronized (totalBytes) {
+            return samples[index] == 0 ? 0 : (double) totalBytes[index] / samples[index];
+        }
+    }
+    
+    /**
+     * بیشترین بایت تخصیص‌یافته در یک نمونه از یک مرحله
+     */
+    public static long getMaxBytes(Phase phase) {
+        synchronized (totalBytes) {
+            return maxBytes[phase.ordinal()];
+        }
+    }
+    
+    /**
+     * تعداد نمونه‌های ثبت‌شده برای یک مرحله
+     */
+    public static long getSamples(Phase phase) {
+        synchronized (totalBytes) {
+            return samples[phase.ordinal()];
+        }
+    }
+    
+    /**
+     * پاک کردن آمار (مثلاً پس از گرم شدن JIT)
+     */
+    public static void reset() {
+        synchronized (totalBytes) {
+            for (int i = 0; i < PHASES; i++) {
+                totalBytes[i] = 0;
+                maxBytes[i] = 0;
+                samples[i] = 0;
+            }
+        }
+    }
+    
+    /**
+     * گزارش متنی میانگین و بیشینه هر مرحله
+     */
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-18s %10s %10s %8s%n", "phase", "avg B", "max B", "samples"));
+        for (Phase phase : Phase.values()) {
+            if (getSamples(phase) > 0) {
+                sb.append(String.format("%-18s %10.1f %10d %8d%n", phase.getKey(),
+                    getAverageBytes(phase), getMaxBytes(phase), getSamples(phase)));
+            }
+        }
+        return sb.toString();
+    }
+    
+    private static long currentThreadAllocatedBytes() {
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    
+    /**
+     * اندازه‌گیری یک بار هزینه خود شمارنده
+     */
+    private static long overhead() {
+        if (overheadBytes < 0) {
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < 16; i++) {
+                long start = currentThreadAllocatedBytes();
+                min = Math.min(min, currentThreadAllocatedBytes() - start);
+            }
+            overheadBytes = min;
+        }
+        return overheadBytes;
+    }
+}
@@ -0,0 +1,206 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * نویسنده فایل AVI ساده با یک جریان تصویر MJPEG (هر فریم یک JPEG کامل)
+ *
+ * سرآیند با اندازه‌های صفر نوشته می‌شود و در close تعداد فریم‌ها، اندازه‌ها و
+ * فهرست idx1 تکمیل می‌شوند. فریم تکراری فقط یک ورودی دیگر در فهرست است که
+ * به داده فریم قبلی اشاره می‌کند، پس زمان‌بندی ویدیو بدون نوشتن داده حفظ می‌شود.
+ */
+public class AviWriter implements AutoCloseable {
+    private static final int AVIF_HASINDEX = 0x10;
+    private static final int AVIIF_KEYFRAME = 0x10;
+    
+    private final FileChannel channel;
+    private final ByteBuffer chunkHeader = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+    
+    // مکان فیلدهایی که در close مقداردهی می‌شوند
+    private int totalFramesPosition;
+    private int lengthPosition;
+    private int moviSizePosition;
+    private long moviStart;
+    
+    // فهرست فریم‌ها: مکان نسبت به 'movi' و اندازه داده
+    private int[] indexOffsets = new int[1024];
+    private int[] indexSizes = new int[1024];
+    private int frames;
+    private int largestFrame;
+    
+    public AviWriter(Path file, int width, int height, int fps) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        writeHeader(width, height, fps);
+    }
+    
+    private void writeHeader(int width, int height, int fps) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+        fourCC(header, "RIFF");
+        header.putInt(0); // اندازه RIFF در close
+        fourCC(header, "AVI ");
+        
+        fourCC(header, "LIST");
+        header.putInt(4 + (8 + 56) + (8 + 4 + (8 + 56) + (8 + 40)));
+        fourCC(header, "hdrl");
+        
+        fourCC(header, "avih");
+        header.putInt(56);
+        header.putInt(1_000_000 / fps); // میکروثانیه هر فریم
+        header.putInt(0); // بیشینه بایت در ثانیه
+        header.putInt(0); // دانه‌بندی پرکننده
+        header.putInt(AVIF_HASINDEX);
+        totalFramesPosition = header.position();
+        header.putInt(0); // تعداد کل فریم‌ها در close
+        header.putInt(0); // فریم‌های اولیه
+        header.putInt(1); // تعداد جریان‌ها
+        header.putInt(0); // اندازه پیشنهادی بافر
+        header.putInt(width);
+        header.putInt(height);
+        header.put(new byte[16]); // رزرو
+        
+        fourCC(header, "LIST");
+        header.putInt(4 + (8 + 56) + (8 + 40));
+        fourCC(header, "strl");
+        
+        fourCC(header, "strh");
+        header.putInt(56);
+        fourCC(header, "vids");
+        fourCC(header, "MJPG");
+        header.putInt(0); // پرچم‌ها
+        header.putShort((short) 0); // اولویت
+        header.putShort((short) 0); // زبان
+        header.putInt(0); // فریم‌های اولیه
+        header.putInt(1); // مقیاس
+        header.putInt(fps); // نرخ (نرخ / مقیاس = فریم بر ثانیه)
+        header.putInt(0); // شروع
+        lengthPosition = header.position();
+        header.putInt(0); // طول جریان در close
+        header.putInt(0); // اندازه پیشنهادی بافر
+        header.putInt(-1); // کیفیت پیش‌فرض
+        header.putInt(0); // اندازه نمونه (متغیر)
+        header.putShort((short) 0);
+        header.putShort((short) 0);
+        header.putShort((short) width);
+        header.putShort((short) height);
+        
+        fourCC(header, "strf");
+        header.putInt(40);
+        header.putInt(40); // BITMAPINFOHEADER
+        header.putInt(width);
+        header.putInt(height);
+        header.putShort((short) 1); // صفحه‌ها
+        header.putShort((short) 24); // بیت در پیکسل
+        fourCC(header, "MJPG");
+        header.putInt(width * height * 3);
+        header.putInt(0);
+        header.putInt(0);
+        header.putInt(0);
+        header.putInt(0);
+        
+        fourCC(header, "LIST");
+        moviSizePosition = header.position();
+        header.putInt(0); // اندازه movi در close
+        moviStart = header.position();
+        fourCC(header, "movi");
+        
+        header.flip();
+        writeFully(header);
+    }
+    
+    /**
+     * افزودن یک فریم JPEG
+     */
+    public void writeFrame(byte[] jpeg, int length) throws IOException {
+        long chunkStart = channel.position();
+        chunkHeader.clear();
+        fourCC(chunkHeader, "00dc");
+        chunkHeader.putInt(length);
+        chunkHeader.flip();
+        writeFully(chunkHeader);
+        writeFully(ByteBuffer.wrap(jpeg, 0, length));
+        if ((length & 1) != 0) {
+            // داده قطعه‌ها در RIFF زوج‌تراز است
+            writeFully(ByteBuffer.wrap(new byte[1]));
+        }
+        addIndex((int) (chunkStart - moviStart), length);
+        largestFrame = Math.max(largestFrame, length);
+    }
+    
+    /**
+     * تکرار فریم قبلی (مثلاً برای فریم‌های جاافتاده) بدون نوشتن داده دوباره
+     */
+    public void repeatFrame() {
+        if (frames > 0) {
+            addIndex(indexOffsets[frames - 1], indexSizes[frames - 1]);
+        }
+    }
+    
+    public int getFrameCount() {
+        return frames;
+    }
+    
+    private void addIndex(int offset, int size) {
+        if (frames == indexOffsets.length) {
+            indexOffsets = Arrays.copyOf(indexOffsets, frames * 2);
+            indexSizes = Arrays.copyOf(indexSizes, frames * 2);
+        }
+        indexOffsets[frames] = offset;
+        indexSizes[frames] = size;
+        frames++;
+    }
+    
+    /**
+     * نوشتن فهرست idx1 و تکمیل اندازه‌ها و تعداد فریم‌ها در سرآیند
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            long moviEnd = channel.position();
+            ByteBuffer index = ByteBuffer.allocate(8 + frames * 16).order(ByteOrder.LITTLE_ENDIAN);
+            fourCC(index, "idx1");
+            index.putInt(frames * 16);
+            for (int i = 0; i < frames; i++) {
+                fourCC(index, "00dc");
+                index.putInt(AVIIF_KEYFRAME);
+                index.putInt(indexOffsets[i]);
+                index.putInt(indexSizes[i]);
+            }
+            index.flip();
+            writeFully(index);
+            long fileEnd = channel.position();
+            
+            patch(4, (int) (fileEnd - 8));
+            patch(totalFramesPosition, frames);
+            patch(totalFramesPosition + 12, largestFrame + 8); // اندازه پیشنهادی بافر
+            patch(lengthPosition, frames);
+            patch(lengthPosition + 4, largestFrame + 8);
+            patch(moviSizePosition, (int) (moviEnd - moviStart));
+        } finally {
+            channel.close();
+        }
+    }
+    
+    private void patch(long position, int value) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(value).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+    
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+    
+    private static void fourCC(ByteBuffer buffer, String code) {
+        buffer.put(code.getBytes(StandardCharsets.US_ASCII));
+    }
+}
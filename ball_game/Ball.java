@@ -1,6 +1,9 @@
 import java.awt.Color;
 import java.awt.Rectangle;
+import java.nio.ByteBuffer;
 import java.util.Random;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * کلاس توپ‌های متحرک در بازی
@@ -23,6 +26,14 @@ public class Ball implements Runnable {
     private int bounceCount;
     private int maxBounces;
     
+    // وظیفه زمان‌بندی‌شده حرکت توپ
+    private volatile Future<?> moveTask;
+    
+    // وضعیت برخورد توپ‌ها با یکدیگر (فقط در نخ BallPhysics)
+    boolean inBroadphase;
+    boolean sleeping;
+    int restSteps;
+    
     // انواع توپ‌ها
     public enum BallType {
         NORMAL,    // توپ معمولی که امتیاز دارد
@@ -136,24 +147,39 @@ public class Ball implements Runnable {
         return (int)(baseScore * (1 + sizeMultiplier) * typeMultiplier);
     }
     
+    /**
+     * زمان‌بندی حرکت دوره‌ای توپ در گروه وظایف بازی
+     * (به جای یک نخ که بیشتر وقتش را در sleep می‌گذراند)
+     */
+    public void start(TaskGroup tasks) {
+        moveTask = tasks.scheduleAtFixedRate(this,
+            GameConfig.BALL_UPDATE_DELAY, GameConfig.BALL_UPDATE_DELAY, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * یک گام حرکت توپ
+     */
     @Override
     public void run() {
-        while (active) {
-            move();
-            
-            try {
-                Thread.sleep(GameConfig.BALL_UPDATE_DELAY);
-            } catch (InterruptedException e) {
-                active = false;
-                break;
-            }
+        if (!active) {
+            cancelMoveTask();
+            return;
+        }
+        move();
+    }
+    
+    private void cancelMoveTask() {
+        Future<?> task = moveTask;
+        if (task != null) {
+            task.cancel(false);
         }
     }
     
     /**
      * به‌روزرسانی موقعیت توپ
+     * (در حالت برخورد توپ‌ها این متد از BallPhysics فراخوانی می‌شود)
      */
-    private void move() {
+    void move() {
         // حرکت برای توپ‌های هوشمند متفاوت است
         if (type == BallType.HOMING && random.nextInt(100) < 30) { // 30% شانس دنبال کردن هر حرکت
             // دریافت موقعیت فعلی بازیکن (از گیم فعلی نمی‌توانیم مستقیم دسترسی داشته باشیم)
@@ -228,7 +254,9 @@ public class Ball implements Runnable {
             return false;
         }
         
-        return getBounds().intersects(other);
+        // بدون ساخت Rectangle جدید
+        return x < other.x + other.width && x + size > other.x &&
+               y < other.y + other.height && y + size > other.y;
     }
     
     /**
@@ -255,10 +283,11 @@ public class Ball implements Runnable {
             newBall.color = GameConfig.BALL_COLOR;
             
             // سرعت تصادفی
-            newBall.xSpeed = random.nextInt(GameConfig.getBallMaxSpeed() * 2 + 1) - GameConfig.getBallMaxSpeed();
+            int maxSpeed = GameConfig.getBallMaxSpeed();
+            newBall.xSpeed = random.nextInt(maxSpeed * 2 + 1) - maxSpeed;
             if (newBall.xSpeed == 0) newBall.xSpeed = 1;
             
-            newBall.ySpeed = random.nextInt(GameConfig.getBallMaxSpeed() * 2 + 1) - GameConfig.getBallMaxSpeed();
+            newBall.ySpeed = random.nextInt(maxSpeed * 2 + 1) - maxSpeed;
             if (newBall.ySpeed == 0) newBall.ySpeed = 1;
             
             newBall.scoreValue = newBall.calculateScoreValue();
@@ -272,6 +301,75 @@ public class Ball implements Runnable {
         return newBalls;
     }
     
+    /**
+     * نوشتن وضعیت توپ در checkpoint
+     */
+    public void writeCheckpoint(ByteBuffer out) {
+        out.putInt(x);
+        out.putInt(y);
+        out.putInt(size);
+        out.putInt(xSpeed);
+        out.putInt(ySpeed);
+        out.put((byte) type.ordinal());
+        out.putInt(color.getRGB());
+        out.putInt(scoreValue);
+        out.putInt(bounceCount);
+        out.putInt(maxBounces);
+    }
+    
+    /**
+     * بازگرداندن وضعیت توپ از checkpoint
+     */
+    public void readCheckpoint(ByteBuffer in) {
+        x = in.getInt();
+        y = in.getInt();
+        size = in.getInt();
+        xSpeed = in.getInt();
+        ySpeed = in.getInt();
+        type = BallType.values()[in.get()];
+        color = new Color(in.getInt(), true);
+        scoreValue = in.getInt();
+        bounceCount = in.getInt();
+        maxBounces = in.getInt();
+        active = true;
+    }
+    
+    /**
+     * قرار دادن توپ با مشخصات معین (برای سنجش کارایی)؛ توپ جهشی در این حالت
+     * محدودیت تعداد جهش ندارد
+     */
+    void place(int x, int y, int size, int xSpeed, int ySpeed, BallType type) {
+        this.x = x;
+        this.y = y;
+        this.size = size;
+        this.xSpeed = xSpeed;
+        this.ySpeed = ySpeed;
+        this.type = type;
+        color = type == BallType.BOUNCY ? new Color(0, 200, 0) : GameConfig.BALL_COLOR;
+        bounceCount = 0;
+        maxBounces = Integer.MAX_VALUE;
+        scoreValue = calculateScoreValue();
+        active = true;
+    }
+    
+    int getXSpeed() {
+        return xSpeed;
+    }
+    
+    int getYSpeed() {
+        return ySpeed;
+    }
+    
+    void setVelocity(int xSpeed, int ySpeed) {
+        this.xSpeed = xSpeed;
+        this.ySpeed = ySpeed;
+    }
+    
+    void moveBy(int dx, int dy) {
+        x += dx;
+        y += dy;
+    }
+    
     /**
      * ایجاد محدوده برخورد برای توپ
      */
@@ -284,6 +382,7 @@ public class Ball implements Runnable {
      */
     public void deactivate() {
         active = false;
+        cancelMoveTask();
     }
     
     /**
@@ -0,0 +1,307 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * برخورد کشسان توپ‌ها با یکدیگر (حالت اختیاری GameConfig.ballCollisions)
+ *
+ * در این حالت توپ‌ها وظیفه حرکت جداگانه ندارند و این کلاس در هر گام همه را
+ * حرکت می‌دهد و برخوردها را حل می‌کند:
+ *   - فاز پهن: مرتب‌سازی و جاروب روی محور x. آرایه مرتب بین گام‌ها نگه داشته
+ *     می‌شود و چون توپ‌ها در هر گام کمی جابه‌جا می‌شوند، مرتب‌سازی درجی
+ *     تقریباً خطی است.
+ *   - فاز باریک: آزمون دایره‌ای و ضربه کشسان با جرم متناسب با مساحت.
+ *   - خواب: توپ‌های در تماس با union-find به جزیره تبدیل می‌شوند؛ جزیره‌ای که
+ *     همه اعضایش چند گام ساکن بوده‌اند می‌خوابد. توپ خواب حرکت داده نمی‌شود و
+ *     جفت دو توپ خواب آزموده نمی‌شود. ضربه یک توپ متحرک آن را بیدار می‌کند.
+ *
+ * فقط از نخ زمان‌بند خودش فراخوانی می‌شود (اجراهای نرخ ثابت هم‌پوشانی ندارند).
+ */
+public class BallPhysics implements Runnable {
+    // تعداد گام‌های سکون پیش از خوابیدن جزیره
+    private static final int SLEEP_STEPS = 30;
+    
+    private final List<Ball> balls;
+    
+    // توپ‌های فعال به ترتیب لبه چپ
+    private Ball[] order = new Ball[64];
+    private int count = 0;
+    
+    // union-find روی اندیس‌های order در گام فعلی
+    private int[] parent = new int[64];
+    private boolean[] islandAwake = new boolean[64];
+    
+    // آمار آخرین گام
+    private volatile long lastStepNanos = 0;
+    private volatile int pairsTested = 0;
+    private volatile int contacts = 0;
+    private volatile int sleepingCount = 0;
+    
+    public BallPhysics(List<Ball> balls) {
+        this.balls = balls;
+    }
+    
+    @Override
+    public void run() {
+        step();
+    }
+    
+    /**
+     * یک گام کامل: به‌روزرسانی فهرست، حرکت، مرتب‌سازی، برخوردها و خواب
+     */
+    public void step() {
+        long start = System.nanoTime();
+        
+        syncMembers();
+        for (int i = 0; i < count; i++) {
+            Ball ball = order[i];
+            if (!ball.sleeping) {
+                ball.move();
+            }
+        }
+        // توپ‌هایی که در حرکت غیرفعال شده‌اند (پایان جهش‌ها) حذف می‌شوند
+        removeInactive();
+        
+        sortByX();
+        for (int i = 0; i < count; i++) {
+            parent[i] = i;
+        }
+        sweep();
+        updateSleep();
+        
+        lastStepNanos = System.nanoTime() - start;
+    }
+    
+    /**
+     * افزودن توپ‌های جدید فهرست بازی و حذف توپ‌های غیرفعال
+     */
+    private void syncMembers() {
+        removeInactive();
+        for (Ball ball : balls) {
+            if (ball.isActive() && !ball.inBroadphase) {
+                ball.inBroadphase = true;
+                ball.sleeping = false;
+                ball.restSteps = 0;
+                if (count == order.length) {
+                    grow();
+                }
+                order[count++] = ball;
+            }
+        }
+    }
+    
+    private void removeInactive() {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            Ball ball = order[i];
+            if (ball.isActive()) {
+                order[kept++] = ball;
+            } else {
+                ball.inBroadphase = false;
+            }
+        }
+        for (int i = kept; i < count; i++) {
+            order[i] = null;
+        }
+        count = kept;
+    }
+    
+    private void grow() {
+        int capacity = order.length * 2;
+        order = Arrays.copyOf(order, capacity);
+        parent = new int[capacity];
+        islandAwake = new boolean[capacity];
+    }
+    
+    /**
+     * مرتب‌سازی درجی بر اساس لبه چپ (آرایه از گام قبل تقریباً مرتب است)
+     */
+    private void sortByX() {
+        for (int i = 1; i < count; i++) {
+            Ball ball = order[i];
+            int x = ball.getX();
+            int j = i - 1;
+            while (j >= 0 && order[j].getX() > x) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = ball;
+        }
+    }
+    
+    /**
+     * جاروب روی محور x و حل برخورد جفت‌هایی که روی هر دو محور هم‌پوشانی دارند
+     */
+    private void sweep() {
+        int tested = 0;
+        int touching = 0;
+        for (int i = 0; i < count; i++) {
+            Ball a = order[i];
+            if (a.getType() == Ball.BallType.GHOST) {
+                continue; // توپ شبح از میان بقیه عبور می‌کند
+            }
+            int ax = a.getX();
+            int ay = a.getY();
+            int aSize = a.getSize();
+            int right = ax + aSize;
+            
+            for (int j = i + 1; j < count; j++) {
+                Ball b = order[j];
+                int bx = b.getX();
+                if (bx >= right) {
+                    break; // بقیه توپ‌ها از لبه راست a جلوترند
+                }
+                if (b.getType() == Ball.BallType.GHOST || (a.sleeping && b.sleeping)) {
+                    continue;
+                }
+                int by = b.getY();
+                int bSize = b.getSize();
+                if (by >= ay + aSize || ay >= by + bSize) {
+                    continue;
+                }
+                
+                tested++;
+                if (collide(a, ax, ay, aSize, b, bx, by, bSize)) {
+                    touching++;
+                    union(i, j);
+                    // موقعیت a ممکن است در حل برخورد تغییر کرده باشد
+                    ax = a.getX();
+                    ay = a.getY();
+                    right = ax + aSize;
+                }
+            }
+        }
+        pairsTested = tested;
+        contacts = touching;
+    }
+    
+    /**
+     * آزمون دایره‌ای و حل برخورد کشسان
+     * @return true اگر دو توپ در تماس بودند
+     */
+    private static boolean collide(Ball a, int ax, int ay, int aSize, Ball b, int bx, int by, int bSize) {
+        double ra = aSize / 2.0;
+        double rb = bSize / 2.0;
+        double dx = (bx + rb) - (ax + ra);
+        double dy = (by + rb) - (ay + ra);
+        double distanceSquared = dx * dx + dy * dy;
+        double radii = ra + rb;
+        if (distanceSquared >= radii * radii) {
+            return false;
+        }
+        
+        double distance = Math.sqrt(distanceSquared);
+        double nx = 1;
+        double ny = 0;
+        if (distance > 0) {
+            nx = dx / distance;
+            ny = dy / distance;
+        }
+        
+        // جرم متناسب با مساحت؛ کار با معکوس جرم
+        double inverseA = 1.0 / (aSize * aSize);
+        double inverseB = 1.0 / (bSize * bSize);
+        double inverseSum = inverseA + inverseB;
+        
+        // ضربه کشسان فقط اگر توپ‌ها به هم نزدیک می‌شوند
+        double approach = (b.getXSpeed() - a.getXSpeed()) * nx + (b.getYSpeed() - a.getYSpeed()) * ny;
+        if (approach < 0) {
+            double impulse = -2 * approach / inverseSum;
+            a.setVelocity((int) Math.round(a.getXSpeed() - impulse * inverseA * nx),
+                          (int) Math.round(a.getYSpeed() - impulse * inverseA * ny));
+            b.setVelocity((int) Math.round(b.getXSpeed() + impulse * inverseB * nx),
+                          (int) Math.round(b.getYSpeed() + impulse * inverseB * ny));
+            wake(a);
+            wake(b);
+        }
+        
+        // جدا کردن توپ‌های درهم‌رفته به نسبت معکوس جرم (دست‌کم یک پیکسل)
+        double penetration = radii - distance;
+        int pushA = (int) Math.ceil(penetration * inverseA / inverseSum);
+        int pushB = (int) Math.ceil(penetration * inverseB / inverseSum);
+        a.moveBy((int) Math.round(-nx * pushA), (int) Math.round(-ny * pushA));
+        b.moveBy((int) Math.round(nx * pushB), (int) Math.round(ny * pushB));
+        return true;
+    }
+    
+    private static void wake(Ball ball) {
+        ball.sleeping = false;
+        ball.restSteps = 0;
+    }
+    
+    /**
+     * شمارش گام‌های سکون و خواباندن جزیره‌هایی که همه اعضایشان ساکن مانده‌اند
+     */
+    private void updateSleep() {
+        for (int i = 0; i < count; i++) {
+            islandAwake[i] = false;
+        }
+        for (int i = 0; i < count; i++) {
+            Ball ball = order[i];
+            if (ball.sleeping) {
+                continue;
+            }
+            if (ball.getXSpeed() == 0 && ball.getYSpeed() == 0) {
+                ball.restSteps++;
+            } else {
+                ball.restSteps = 0;
+            }
+            if (ball.restSteps < SLEEP_STEPS) {
+                islandAwake[find(i)] = true;
+            }
+        }
+        
+        int sleeping = 0;
+        for (int i = 0; i < count; i++) {
+            Ball ball = order[i];
+            if (!ball.sleeping && !islandAwake[find(i)]) {
+                ball.sleeping = true;
+            }
+            if (ball.sleeping) {
+                sleeping++;
+            }
+        }
+        sleepingCount = sleeping;
+    }
+    
+    private int find(int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+    
+    private void union(int i, int j) {
+        int rootI = find(i);
+        int rootJ = find(j);
+        if (rootI != rootJ) {
+            parent[rootJ] = rootI;
+        }
+    }
+    
+    /**
+     * مدت آخرین گام (نانوثانیه)
+     */
+    public long getLastStepNanos() {
+        return lastStepNanos;
+    }
+    
+    /**
+     * تعداد جفت‌هایی که در آخرین گام به فاز باریک رسیدند
+     */
+    public int getPairsTested() {
+        return pairsTested;
+    }
+    
+    public int getContacts() {
+        return contacts;
+    }
+    
+    public int getSleepingCount() {
+        return sleepingCount;
+    }
+    
+    public int getBallCount() {
+        return count;
+    }
+}
@@ -0,0 +1,96 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures BallPhysics step time for thousands of balls, with and without sleeping piles.
+ *
+ * Usage: java BallPhysicsBench [steps=500]
+ * Each scenario runs headless on the calling thread; the budget is one ball update period.
+ */
+public class BallPhysicsBench {
+    private static final int WARMUP_STEPS = 200;
+    private static final int[] BALL_COUNTS = {500, 1000, 2000, 4000};
+    
+    public static void main(String[] args) {
+        int steps = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        GameConfig.soundEnabled = false;
+        
+        System.out.printf("Budget per step: %d ms%n", GameConfig.BALL_UPDATE_DELAY);
+        System.out.println("scenario          balls   avg ms   max ms   pairs/step  naive pairs  sleeping");
+        for (int count : BALL_COUNTS) {
+            run("moving", moving(count), steps);
+        }
+        for (int count : BALL_COUNTS) {
+            run("resting pile", settled(count, 0), steps);
+        }
+        for (int count : BALL_COUNTS) {
+            run("pile + movers", settled(count, count / 100), steps);
+        }
+    }
+    
+    /**
+     * Small bouncy balls with random positions and velocities
+     */
+    private static List<Ball> moving(int count) {
+        Random random = new Random(count);
+        List<Ball> balls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Ball ball = new Ball();
+            ball.place(random.nextInt(GameConfig.WIDTH - GameConfig.BALL_MIN_SIZE),
+                random.nextInt(GameConfig.HEIGHT - GameConfig.BALL_MIN_SIZE),
+                GameConfig.BALL_MIN_SIZE, speed(random), speed(random), Ball.BallType.BOUNCY);
+            balls.add(ball);
+        }
+        return balls;
+    }
+    
+    /**
+     * A packed grid of resting balls, optionally with a few movers passing through it
+     */
+    private static List<Ball> settled(int count, int movers) {
+        Random random = new Random(count);
+        List<Ball> balls = new ArrayList<>(count);
+        int size = GameConfig.BALL_MIN_SIZE;
+        int columns = GameConfig.WIDTH / (size + 1);
+        for (int i = 0; i < count - movers; i++) {
+            Ball ball = new Ball();
+            ball.place((i % columns) * (size + 1), (i / columns) * (size + 1) % (GameConfig.HEIGHT - size),
+                size, 0, 0, Ball.BallType.BOUNCY);
+            balls.add(ball);
+        }
+        for (int i = 0; i < movers; i++) {
+            Ball ball = new Ball();
+            ball.place(random.nextInt(GameConfig.WIDTH - size), random.nextInt(GameConfig.HEIGHT - size),
+                size, speed(random), speed(random), Ball.BallType.BOUNCY);
+            balls.add(ball);
+        }
+        return balls;
+    }
+    
+    private static int speed(Random random) {
+        int speed = random.nextInt(3) + 1;
+        return random.nextBoolean() ? speed : -speed;
+    }
+    
+    private static void run(String name, List<Ball> balls, int steps) {
+        BallPhysics physics = new BallPhysics(balls);
+        for (int i = 0; i < WARMUP_STEPS; i++) {
+            physics.step();
+        }
+        
+        long total = 0;
+        long max = 0;
+        long pairs = 0;
+        for (int i = 0; i < steps; i++) {
+            physics.step();
+            total += physics.getLastStepNanos();
+            max = Math.max(max, physics.getLastStepNanos());
+            pairs += physics.getPairsTested();
+        }
+        
+        long naive = (long) balls.size() * (balls.size() - 1) / 2;
+        System.out.printf("%-16s %6d %8.3f %8.3f %12d %12d %9d%n", name, balls.size(),
+            total / 1e6 / steps, max / 1e6, pairs / steps, naive, physics.getSleepingCount());
+    }
+}
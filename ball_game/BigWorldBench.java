@@ -0,0 +1,106 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Compares chunked simulation of the big world with simulating every ball every tick.
+ *
+ * Usage: java BigWorldBench [ticks=600]
+ * The camera sweeps across the world as a player would; the baseline uses a camera that
+ * sees the whole world, so every chunk is active.
+ *
+ * First checks that an effect spawned at the world centre, far from the origin, is drawn
+ * on screen through the camera with both effect pipelines; exits with status 1 if not.
+ */
+public class BigWorldBench {
+    private static final int WARMUP_TICKS = 300;
+    private static final int[] BALL_COUNTS = {20000, 50000, 100000, 200000};
+    
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 600;
+        int width = GameConfig.BIG_WORLD_WIDTH;
+        int height = GameConfig.BIG_WORLD_HEIGHT;
+        
+        boolean effectsVisible = true;
+        for (boolean software : new boolean[] {true, false}) {
+            int pixels = effectPixelsAtCentre(width, height, software);
+            System.out.printf("Effect at world centre, %s effects: %d pixels on screen%n",
+                software ? "software" : "Java2D", pixels);
+            effectsVisible &= pixels > 0;
+        }
+        if (!effectsVisible) {
+            System.out.println("FAIL: effects away from the world origin are not drawn");
+            System.exit(1);
+        }
+        
+        System.out.printf("World %dx%d, chunk %d, budget %.2f ms per tick%n",
+            width, height, GameConfig.CHUNK_SIZE, 1000.0 / 60);
+        System.out.println("   balls   chunked ms  updated/tick   all-active ms  updated/tick");
+        for (int balls : BALL_COUNTS) {
+            ChunkedWorld chunked = new ChunkedWorld(width, height, GameConfig.CHUNK_SIZE, balls, 42);
+            Camera follow = new Camera(GameConfig.WIDTH, GameConfig.HEIGHT, width, height);
+            double[] chunkedResult = run(chunked, follow, true, ticks);
+            
+            ChunkedWorld full = new ChunkedWorld(width, height, GameConfig.CHUNK_SIZE, balls, 42);
+            Camera everything = new Camera(width, height, width, height);
+            everything.follow(width / 2, height / 2);
+            double[] fullResult = run(full, everything, false, ticks);
+            
+            System.out.printf("%8d %12.3f %13.0f %15.3f %13.0f%n", balls,
+                chunkedResult[0], chunkedResult[1], fullResult[0], fullResult[1]);
+        }
+    }
+    
+    /**
+     * Renders an explosion at the world centre the way BigWorldGame does and counts the
+     * screen pixels it touched
+     */
+    private static int effectPixelsAtCentre(int width, int height, boolean software) {
+        boolean previous = GameConfig.softwareEffects;
+        GameConfig.softwareEffects = software;
+        Camera camera = new Camera(GameConfig.WIDTH, GameConfig.HEIGHT, width, height);
+        camera.follow(width / 2, height / 2);
+        EffectManager.clearEffects();
+        EffectManager.addExplosion(width / 2, height / 2, 60, GameConfig.EXPLOSION_COLOR);
+        EffectManager.update();
+        
+        BufferedImage screen = new BufferedImage(GameConfig.WIDTH, GameConfig.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = screen.createGraphics();
+        try {
+            EffectManager.render(g, camera.getX(), camera.getY());
+        } finally {
+            g.dispose();
+            EffectManager.clearEffects();
+            GameConfig.softwareEffects = previous;
+        }
+        int touched = 0;
+        for (int y = 0; y < screen.getHeight(); y++) {
+            for (int x = 0; x < screen.getWidth(); x++) {
+                if ((screen.getRGB(x, y) & 0xFFFFFF) != 0) {
+                    touched++;
+                }
+            }
+        }
+        return touched;
+    }
+    
+    /**
+     * @return average tick milliseconds and average balls updated per tick
+     */
+    private static double[] run(ChunkedWorld world, Camera camera, boolean sweep, int ticks) {
+        long totalNanos = 0;
+        long updated = 0;
+        for (int i = -WARMUP_TICKS; i < ticks; i++) {
+            if (sweep) {
+                // A player crossing the world diagonally at boosted speed
+                int t = i + WARMUP_TICKS;
+                camera.follow(t * 10 % world.getWorldWidth(), t * 7 % world.getWorldHeight());
+            }
+            world.tick(camera);
+            if (i >= 0) {
+                totalNanos += world.getLastTickNanos();
+                updated += world.getLastUpdated();
+            }
+        }
+        return new double[] {totalNanos / 1e6 / ticks, (double) updated / ticks};
+    }
+}
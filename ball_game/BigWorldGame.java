@@ -0,0 +1,259 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferStrategy;
+import java.util.Random;
+
+/**
+ * حالت میدان بزرگ: دنیایی چندین برابر صفحه با دوربین دنبال‌کننده بازیکن
+ *
+ * اجرا:
+ *   java BigWorldGame [تعداد توپ‌ها]
+ *
+ * توپ‌های کوچک‌تر از بازیکن خورده می‌شوند و توپ‌های بزرگ‌تر جان کم می‌کنند.
+ * نقشه کوچک گوشه صفحه حالت قطعه‌ها را نشان می‌دهد (سبز فعال، زرد درشت، خاکستری منجمد).
+ */
+public class BigWorldGame extends JFrame {
+    private static final long serialVersionUID = 1L;
+    private static final Font HUD_FONT = new Font("Arial", Font.BOLD, 16);
+    private static final Font STATS_FONT = new Font("Arial", Font.PLAIN, 12);
+    private static final Color GRID_COLOR = new Color(30, 30, 30);
+    private static final Color ACTIVE_CHUNK_COLOR = new Color(0, 160, 0);
+    private static final Color COARSE_CHUNK_COLOR = new Color(160, 140, 0);
+    private static final Color FROZEN_CHUNK_COLOR = new Color(50, 50, 50);
+    private static final int MINIMAP_CELL = 4;
+    private static final int START_LIVES = 3;
+    private static final int INVULNERABLE_TICKS = 90;
+    
+    private final ChunkedWorld world;
+    private final Camera camera;
+    private final Player player;
+    private final Random random = new Random();
+    private final Canvas canvas = new Canvas();
+    private volatile boolean running = true;
+    
+    // وضعیت بازی (فقط در نخ حلقه)
+    private int score = 0;
+    private int lives = START_LIVES;
+    private int invulnerableTicks = 0;
+    private volatile boolean gameOver = false;
+    private volatile boolean restartRequested = false;
+    
+    public BigWorldGame(int balls) {
+        world = new ChunkedWorld(GameConfig.BIG_WORLD_WIDTH, GameConfig.BIG_WORLD_HEIGHT,
+            GameConfig.CHUNK_SIZE, balls, System.nanoTime());
+        camera = new Camera(GameConfig.WIDTH, GameConfig.HEIGHT, world.getWorldWidth(), world.getWorldHeight());
+        player = new Player(world.getWorldWidth() / 2, world.getWorldHeight() / 2);
+        player.setMovementBounds(world.getWorldWidth(), world.getWorldHeight());
+        
+        setTitle("Multi-Threaded Ball Game - Big World");
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setResizable(false);
+        canvas.setPreferredSize(new Dimension(GameConfig.WIDTH, GameConfig.HEIGHT));
+        canvas.setFocusable(false);
+        add(canvas);
+        pack();
+        setLocationRelativeTo(null);
+        
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (gameOver && e.getKeyCode() == KeyEvent.VK_ENTER) {
+                    restartRequested = true;
+                } else {
+                    player.handleKeyPress(e.getKeyCode());
+                }
+            }
+            
+            @Override
+            public void keyReleased(KeyEvent e) {
+                player.handleKeyRelease(e.getKeyCode());
+            }
+        });
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                running = false;
+            }
+        });
+    }
+    
+    /**
+     * حلقه بازی با 60 به‌روزرسانی در ثانیه و رسم در همان نخ
+     */
+    public void start() {
+        setVisible(true);
+        canvas.createBufferStrategy(2);
+        Thread loop = new Thread(() -> {
+            BufferStrategy strategy = canvas.getBufferStrategy();
+            long tickNanos = 1_000_000_000L / 60;
+            long next = System.nanoTime();
+            while (running) {
+                long now = System.nanoTime();
+                if (now >= next) {
+                    update();
+                    next += tickNanos;
+                    if (now - next > tickNanos * 5) {
+                        next = now; // پس از توقف طولانی عقب‌افتادگی جبران نمی‌شود
+                    }
+                }
+                render(strategy);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "big-world-loop");
+        loop.setDaemon(true);
+        loop.start();
+    }
+    
+    private void update() {
+        if (restartRequested) {
+            restartRequested = false;
+            restart();
+        }
+        if (gameOver) {
+            return;
+        }
+        
+        player.update();
+        camera.follow(player.getX() + GameConfig.PLAYER_SIZE / 2, player.getY() + GameConfig.PLAYER_SIZE / 2);
+        world.tick(camera);
+        EffectManager.update();
+        checkCollisions();
+    }
+    
+    private void checkCollisions() {
+        if (invulnerableTicks > 0) {
+            invulnerableTicks--;
+        }
+        int id;
+        while ((id = world.findOverlap(player.getX(), player.getY(),
+                GameConfig.PLAYER_SIZE, GameConfig.PLAYER_SIZE)) >= 0) {
+            int size = world.getSize(id);
+            if (size < GameConfig.PLAYER_SIZE) {
+                score += GameConfig.getScoreBall();
+                EffectManager.addBallCollectEffect(world.getX(id) + size / 2, world.getY(id) + size / 2, size);
+            } else if (invulnerableTicks == 0) {
+                lives--;
+                invulnerableTicks = INVULNERABLE_TICKS;
+                EffectManager.addExplosion(player.getX(), player.getY(), 60, GameConfig.EXPLOSION_COLOR);
+                if (lives <= 0) {
+                    gameOver = true;
+                }
+            }
+            // توپ خورده‌شده یا برخوردکرده در جای دیگری از دنیا ظاهر می‌شود
+            world.respawnOutside(id, camera, random);
+        }
+    }
+    
+    private void restart() {
+        score = 0;
+        lives = START_LIVES;
+        invulnerableTicks = 0;
+        player.reset(world.getWorldWidth() / 2, world.getWorldHeight() / 2);
+        EffectManager.clearEffects();
+        gameOver = false;
+    }
+    
+    private void render(BufferStrategy strategy) {
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    renderFrame(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+    
+    private void renderFrame(Graphics2D g) {
+        g.setColor(GameConfig.BACKGROUND_COLOR);
+        g.fillRect(0, 0, GameConfig.WIDTH, GameConfig.HEIGHT);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        
+        // دنیا در مختصات خودش رسم می‌شود
+        int cameraX = camera.getX();
+        int cameraY = camera.getY();
+        g.translate(-cameraX, -cameraY);
+        drawChunkGrid(g, cameraX, cameraY);
+        world.render(g, camera);
+        if (invulnerableTicks % 10 < 5) {
+            g.setColor(GameConfig.PLAYER_COLOR);
+            g.fillRect(player.getX(), player.getY(), GameConfig.PLAYER_SIZE, GameConfig.PLAYER_SIZE);
+        }
+        g.translate(cameraX, cameraY);
+        
+        // بافر جلوه‌ها به اندازه صفحه است، پس جلوه‌ها نسبت به دوربین رسم می‌شوند نه با translate
+        EffectManager.render(g, cameraX, cameraY);
+        
+        drawHud(g);
+    }
+    
+    private void drawChunkGrid(Graphics2D g, int cameraX, int cameraY) {
+        int chunk = GameConfig.CHUNK_SIZE;
+        g.setColor(GRID_COLOR);
+        for (int gx = cameraX / chunk * chunk; gx < cameraX + GameConfig.WIDTH; gx += chunk) {
+            g.drawLine(gx, cameraY, gx, cameraY + GameConfig.HEIGHT);
+        }
+        for (int gy = cameraY / chunk * chunk; gy < cameraY + GameConfig.HEIGHT; gy += chunk) {
+            g.drawLine(cameraX, gy, cameraX + GameConfig.WIDTH, gy);
+        }
+    }
+    
+    private void drawHud(Graphics2D g) {
+        g.setFont(HUD_FONT);
+        g.setColor(GameConfig.TEXT_COLOR);
+        g.drawString("Score: " + score + "   Lives: " + lives, 10, 22);
+        
+        g.setFont(STATS_FONT);
+        g.setColor(Color.YELLOW);
+        g.drawString(String.format("%d balls | updated %d | chunks %d active, %d coarse | tick %.2f ms",
+            world.getCount(), world.getLastUpdated(), world.getLastActiveChunks(),
+            world.getLastCoarseChunks(), world.getLastTickNanos() / 1e6), 10, GameConfig.HEIGHT - 12);
+        
+        // نقشه کوچک حالت قطعه‌ها و موقعیت بازیکن
+        int mapLeft = GameConfig.WIDTH - world.getColumns() * MINIMAP_CELL - 10;
+        int mapTop = 10;
+        for (int row = 0; row < world.getRows(); row++) {
+            for (int column = 0; column < world.getColumns(); column++) {
+                switch (world.getChunkState(column, row)) {
+                    case ACTIVE: g.setColor(ACTIVE_CHUNK_COLOR); break;
+                    case COARSE: g.setColor(COARSE_CHUNK_COLOR); break;
+                    default: g.setColor(FROZEN_CHUNK_COLOR); break;
+                }
+                g.fillRect(mapLeft + column * MINIMAP_CELL, mapTop + row * MINIMAP_CELL,
+                    MINIMAP_CELL - 1, MINIMAP_CELL - 1);
+            }
+        }
+        g.setColor(Color.WHITE);
+        g.fillRect(mapLeft + player.getX() * MINIMAP_CELL / GameConfig.CHUNK_SIZE - 1,
+            mapTop + player.getY() * MINIMAP_CELL / GameConfig.CHUNK_SIZE - 1, 3, 3);
+        
+        if (gameOver) {
+            g.setFont(HUD_FONT);
+            g.setColor(Color.RED);
+            String message = "Game Over - press Enter to play again";
+            g.drawString(message, (GameConfig.WIDTH - g.getFontMetrics().stringWidth(message)) / 2,
+                GameConfig.HEIGHT / 2);
+        }
+    }
+    
+    public static void main(String[] args) {
+        int balls = args.length > 0 ? Integer.parseInt(args[0]) : GameConfig.BIG_WORLD_BALLS;
+        SwingUtilities.invokeLater(() -> {
+            BigWorldGame game = new BigWorldGame(balls);
+            game.start();
+            game.requestFocus();
+        });
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * خواندن مقادیر نوشته‌شده با {@link BitWriter}
+ */
+public class BitReader {
+    private byte[] buffer;
+    private int bitPosition;
+    private int bitLimit;
+    
+    public BitReader() {
+        this(new byte[0], 0, 0);
+    }
+    
+    public BitReader(byte[] buffer, int offset, int length) {
+        wrap(buffer, offset, length);
+    }
+    
+    /**
+     * خواندن از بخشی از یک آرایه بایت
+     */
+    public void wrap(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.bitPosition = offset * 8;
+        this.bitLimit = (offset + length) * 8;
+    }
+    
+    /**
+     * خواندن یک مقدار بدون علامت با تعداد بیت مشخص (حداکثر 32 بیت)
+     */
+    public int readBits(int bits) {
+        if (bitPosition + bits > bitLimit) {
+            throw new IllegalStateException("Read past end of bit buffer");
+        }
+        int value = 0;
+        for (int i = 0; i < bits; i++) {
+            int bit = (buffer[bitPosition >>> 3] >>> (7 - (bitPosition & 7))) & 1;
+            value = (value << 1) | bit;
+            bitPosition++;
+        }
+        return value;
+    }
+    
+    public boolean readBoolean() {
+        return readBits(1) != 0;
+    }
+    
+    /**
+     * خواندن عدد علامت‌دار کدگذاری‌شده با zigzag
+     */
+    public int readSigned(int bits) {
+        int zigzag = readBits(bits);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * نوشتن مقادیر با تعداد بیت دلخواه در یک آرایه بایت
+ *
+ * بیت‌ها از پرارزش‌ترین بیت هر بایت پر می‌شوند. بافر برای ارسال‌های بعدی
+ * با {@link #reset()} دوباره استفاده می‌شود.
+ */
+public class BitWriter {
+    private byte[] buffer;
+    private int bitPosition = 0;
+    
+    public BitWriter(int initialCapacity) {
+        buffer = new byte[Math.max(16, initialCapacity)];
+    }
+    
+    /**
+     * پاک کردن محتوا برای نوشتن پیام جدید
+     */
+    public void reset() {
+        int used = byteLength();
+        for (int i = 0; i < used; i++) {
+            buffer[i] = 0;
+        }
+        bitPosition = 0;
+    }
+    
+    /**
+     * نوشتن بیت‌های پایینی یک مقدار (حداکثر 32 بیت)
+     */
+    public void writeBits(int value, int bits) {
+        ensureCapacity(bitPosition + bits);
+        for (int i = bits - 1; i >= 0; i--) {
+            if (((value >>> i) & 1) != 0) {
+                buffer[bitPosition >>> 3] |= (byte) (0x80 >>> (bitPosition & 7));
+            }
+            bitPosition++;
+        }
+    }
+    
+    public void writeBoolean(boolean value) {
+        writeBits(value ? 1 : 0, 1);
+    }
+    
+    /**
+     * نوشتن عدد علامت‌دار با کدگذاری zigzag (مقادیر کوچک منفی هم کم‌بیت می‌مانند)
+     */
+    public void writeSigned(int value, int bits) {
+        writeBits((value << 1) ^ (value >> 31), bits);
+    }
+    
+    /**
+     * آیا عدد علامت‌دار در تعداد بیت مشخص با zigzag جا می‌شود
+     */
+    public static boolean fitsSigned(int value, int bits) {
+        int zigzag = (value << 1) ^ (value >> 31);
+        return bits >= 32 || (zigzag >>> bits) == 0;
+    }
+    
+    /**
+     * تعداد بایت‌های استفاده‌شده
+     */
+    public int byteLength() {
+        return (bitPosition + 7) >>> 3;
+    }
+    
+    public int bitLength() {
+        return bitPosition;
+    }
+    
+    /**
+     * آرایه داخلی (فقط byteLength بایت اول معتبر است)
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+    
+    private void ensureCapacity(int bits) {
+        int bytes = (bits + 7) >>> 3;
+        if (bytes > buffer.length) {
+            byte[] larger = new byte[Math.max(bytes, buffer.length * 2)];
+            System.arraycopy(buffer, 0, larger, 0, buffer.length);
+            buffer = larger;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 import java.awt.Rectangle;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Random;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public class BomberEnemy implements Enemy {
     private static final Random random = new Random();
@@ -24,7 +27,11 @@ public class BomberEnemy implements Enemy {
     private int bombCooldown;
     private CopyOnWriteArrayList<Bomb> bombs;
     
-    public BomberEnemy(int x, int y) {
+    // گروه وظایف دور فعلی بازی برای اجرای بمب‌ها
+    private final TaskGroup tasks;
+    private volatile Future<?> tickTask;
+    
+    public BomberEnemy(int x, int y, TaskGroup tasks) {
         this.x = x;
         this.y = y;
         this.size = GameConfig.BOMBER_SIZE;
@@ -43,31 +50,44 @@ public class BomberEnemy implements Enemy {
         this.lastBombTime = System.currentTimeMillis();
         this.bombCooldown = 2000 + random.nextInt(3000); // 2-5 ثانیه
         this.bombs = new CopyOnWriteArrayList<>();
+        this.tasks = tasks;
+    }
+    
+    /**
+     * زمان‌بندی بررسی دوره‌ای بمب‌گذاری در گروه وظایف بازی
+     */
+    public void start() {
+        tickTask = tasks.scheduleAtFixedRate(this,
+            GameConfig.ENEMY_UPDATE_DELAY, GameConfig.ENEMY_UPDATE_DELAY, TimeUnit.MILLISECONDS);
     }
     
+    /**
+     * یک گام بررسی بمب‌گذاری
+     * (حرکت براساس به‌روزرسانی توسط EnemyManager انجام می‌شود)
+     */
     @Override
     public void run() {
-        while (running) {
-            try {
-                Thread.sleep(GameConfig.ENEMY_UPDATE_DELAY);
-                
-                // حرکت براساس به‌روزرسانی توسط EnemyManager انجام می‌شود
-                
-                // بررسی زمان ایجاد بمب جدید
-                long currentTime = System.currentTimeMillis();
-                if (active && currentTime - lastBombTime > bombCooldown) {
-                    dropBomb();
-                    lastBombTime = currentTime;
-                    bombCooldown = 2000 + random.nextInt(3000);
-                }
-                
-                // به‌روزرسانی بمب‌های فعال
-                updateBombs();
-                
-            } catch (InterruptedException e) {
-                running = false;
-                break;
-            }
+        if (!running) {
+            cancelTick();
+            return;
+        }
+        
+        // بررسی زمان ایجاد بمب جدید
+        long currentTime = System.currentTimeMillis();
+        if (active && currentTime - lastBombTime > bombCooldown) {
+            dropBomb();
+            lastBombTime = currentTime;
+            bombCooldown = 2000 + random.nextInt(3000);
+        }
+        
+        // به‌روزرسانی بمب‌های فعال
+        updateBombs();
+    }
+    
+    private void cancelTick() {
+        Future<?> task = tickTask;
+        if (task != null) {
+            task.cancel(false);
         }
     }
     
@@ -124,9 +144,7 @@ public class BomberEnemy implements Enemy {
         Bomb bomb = new Bomb(x + size/2, y + size/2);
         bombs.add(bomb);
         
-        Thread bombThread = new Thread(bomb);
-        bombThread.setDaemon(true);
-        bombThread.start();
+        bomb.start(tasks);
     }
     
     private void updateBombs() {
@@ -152,7 +170,9 @@ public class BomberEnemy implements Enemy {
     
     @Override
     public boolean checkCollision(Rectangle rect) {
-        return getBounds().intersects(rect);
+        // بدون ساخت Rectangle جدید
+        return x < rect.x + rect.width && x + size > rect.x &&
+               y < rect.y + rect.height && y + size > rect.y;
     }
     
     @Override
@@ -176,6 +196,7 @@ public class BomberEnemy implements Enemy {
     @Override
     public void shutdown() {
         running = false;
+        cancelTick();
         
         // غیرفعال کردن همه بمب‌ها
         for (Bomb bomb : bombs) {
@@ -184,6 +205,49 @@ public class BomberEnemy implements Enemy {
         bombs.clear();
     }
     
+    @Override
+    public void writeCheckpoint(ByteBuffer out, long now) {
+        out.putInt(x);
+        out.putInt(y);
+        out.putInt(health);
+        out.put((byte) directionX);
+        out.put((byte) directionY);
+        out.putInt((int) Math.max(0, bombCooldown - (now - lastBombTime)));
+        
+        int countPosition = out.position();
+        int count = 0;
+        out.putInt(0);
+        for (Bomb bomb : bombs) {
+            if (bomb.isActive()) {
+                bomb.writeCheckpoint(out, now);
+                count++;
+            }
+        }
+        out.putInt(countPosition, count);
+    }
+    
+    /**
+     * بازگرداندن وضعیت از checkpoint؛ بمب‌ها در گروه وظایف این دشمن از سر گرفته می‌شوند
+     */
+    @Override
+    public void readCheckpoint(ByteBuffer in, long now) {
+        x = in.getInt();
+        y = in.getInt();
+        health = in.getInt();
+        active = health > 0;
+        directionX = in.get();
+        directionY = in.get();
+        lastBombTime = now;
+        bombCooldown = in.getInt();
+        
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            Bomb bomb = Bomb.fromCheckpoint(in, now);
+            bombs.add(bomb);
+            bomb.start(tasks);
+        }
+    }
+    
     @Override
     public int getX() {
         return x;
@@ -204,7 +268,7 @@ public class BomberEnemy implements Enemy {
         return EnemyType.BOMBER;
     }
     
-    public static class Bomb implements Runnable {
+    public static class Bomb {
         private volatile int x, y;
         private volatile int size;
         private volatile boolean active;
@@ -220,23 +284,43 @@ public class BomberEnemy implements Enemy {
             this.createTime = System.currentTimeMillis();
         }
         
-        @Override
-        public void run() {
-            try {
-                // بمب به مدت 2 ثانیه وجود دارد و سپس منفجر می‌شود
-                Thread.sleep(GameConfig.getBombLifetime());
-                
-                if (active) {
-                    explode();
+        /**
+         * زمان‌بندی انفجار و پایان بمب به جای نخی که فقط می‌خوابد
+         */
+        public void start(TaskGroup tasks) {
+            if (exploding) {
+                // بمب بازیابی‌شده در حال انفجار
+                tasks.schedule(this::deactivate, GameConfig.BOMB_EXPLOSION_DURATION, TimeUnit.MILLISECONDS);
+                return;
+            }
+            
+            // بمب به مدت مشخص (از زمان ساخت) وجود دارد و سپس منفجر می‌شود
+            long remaining = Math.max(0, GameConfig.getBombLifetime() - (System.currentTimeMillis() - createTime));
+            tasks.schedule(() -> {
+                if (!active) {
+                    return;
                 }
+                explode();
                 
                 // انفجار به مدت 0.5 ثانیه باقی می‌ماند
-                Thread.sleep(GameConfig.BOMB_EXPLOSION_DURATION);
-                active = false;
-                
-            } catch (InterruptedException e) {
-                active = false;
+                tasks.schedule(this::deactivate, GameConfig.BOMB_EXPLOSION_DURATION, TimeUnit.MILLISECONDS);
+            }, remaining, TimeUnit.MILLISECONDS);
+        }
+        
+        void writeCheckpoint(ByteBuffer out, long now) {
+            out.putInt(x);
+            out.putInt(y);
+            WorldCheckpoint.putBoolean(out, exploding);
+            out.putInt((int) (now - createTime));
+        }
+        
+        static Bomb fromCheckpoint(ByteBuffer in, long now) {
+            Bomb bomb = new Bomb(in.getInt(), in.getInt());
+            if (WorldCheckpoint.getBoolean(in)) {
+                bomb.explode();
             }
+            bomb.createTime = now - in.getInt();
+            return bomb;
         }
         
         public void explode() {
@@ -0,0 +1,158 @@
+import java.awt.event.KeyEvent;
+import java.util.List;
+
+/**
+ * بازیکن خودکار که Player را با همان رویدادهای کلید یک انسان هدایت می‌کند
+ *
+ * در هر تصمیم یک بردار مطلوب ساخته می‌شود: دوری از دشمنان و توپ‌های بزرگ‌تر
+ * (با وزن عکس مجذور فاصله)، دوری از دیوارها و کشش به سمت نزدیک‌ترین توپ کوچک‌تر
+ * یا قدرت. جهت نهایی به کلیدهای جهت تبدیل و فقط تغییرات فشرده یا رها می‌شوند.
+ */
+public class BotPlayer {
+    // ترتیب بیت‌ها: بالا، پایین، چپ، راست
+    private static final int[] DIRECTION_KEYS = {
+        KeyEvent.VK_UP, KeyEvent.VK_DOWN, KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT
+    };
+    private static final int UP = 1;
+    private static final int DOWN = 2;
+    private static final int LEFT = 4;
+    private static final int RIGHT = 8;
+    
+    // هر چند تیک یک تصمیم (واکنش انسانی و کلیدهای کمتر)
+    private static final int DECISION_INTERVAL = 3;
+    private static final float DANGER_RADIUS = 140;
+    private static final float DANGER_WEIGHT = 4000;
+    private static final float WALL_MARGIN = 60;
+    private static final float WALL_WEIGHT = 30;
+    private static final float TARGET_WEIGHT = 0.6f;
+    // اجزای کوچک‌تر از این مقدار جهتی را فشار نمی‌دهند
+    private static final float DEAD_ZONE = 0.2f;
+    
+    private final Player player;
+    private int heldKeys = 0;
+    private int ticks = 0;
+    
+    // بردار مطلوب تصمیم فعلی
+    private float desireX;
+    private float desireY;
+    
+    public BotPlayer(Player player) {
+        this.player = player;
+    }
+    
+    /**
+     * تصمیم‌گیری براساس وضعیت فعلی دنیا؛ باید پیش از هر تیک بازی فراخوانی شود
+     */
+    public void update(List<Ball> balls, List<PowerUp> powerUps, List<Enemy> enemies) {
+        if (ticks++ % DECISION_INTERVAL != 0) {
+            return;
+        }
+        
+        float centerX = player.getX() + GameConfig.PLAYER_SIZE / 2f;
+        float centerY = player.getY() + GameConfig.PLAYER_SIZE / 2f;
+        desireX = 0;
+        desireY = 0;
+        
+        // دوری از خطرها
+        for (Enemy enemy : enemies) {
+            if (enemy.isActive()) {
+                repel(centerX, centerY, enemy.getX(), enemy.getY(), enemy.getSize());
+            }
+        }
+        float targetDistanceSq = Float.MAX_VALUE;
+        float targetX = 0;
+        float targetY = 0;
+        for (Ball ball : balls) {
+            if (!ball.isActive()) {
+                continue;
+            }
+            if (ball.getSize() >= GameConfig.PLAYER_SIZE) {
+                repel(centerX, centerY, ball.getX(), ball.getY(), ball.getSize());
+            } else {
+                float dx = ball.getX() + ball.getSize() / 2f - centerX;
+                float dy = ball.getY() + ball.getSize() / 2f - centerY;
+                if (dx * dx + dy * dy < targetDistanceSq) {
+                    targetDistanceSq = dx * dx + dy * dy;
+                    targetX = dx;
+                    targetY = dy;
+                }
+            }
+        }
+        for (PowerUp powerUp : powerUps) {
+            if (powerUp.isActive()) {
+                float dx = powerUp.getX() + powerUp.getSize() / 2f - centerX;
+                float dy = powerUp.getY() + powerUp.getSize() / 2f - centerY;
+                // قدرت‌ها با اولویت بیشتر از توپ‌ها هدف می‌شوند
+                float distanceSq = (dx * dx + dy * dy) / 4;
+                if (distanceSq < targetDistanceSq) {
+                    targetDistanceSq = distanceSq;
+                    targetX = dx;
+                    targetY = dy;
+                }
+            }
+        }
+        
+        // کشش به سمت هدف
+        if (targetDistanceSq != Float.MAX_VALUE) {
+            float distance = (float) Math.sqrt(targetX * targetX + targetY * targetY);
+            if (distance > 1) {
+                desireX += targetX / distance * TARGET_WEIGHT;
+                desireY += targetY / distance * TARGET_WEIGHT;
+            }
+        }
+        
+        // دوری از دیوارها تا بازیکن در گوشه گیر نیفتد
+        float right = GameConfig.WIDTH - centerX;
+        float bottom = GameConfig.HEIGHT - centerY;
+        if (centerX < WALL_MARGIN) desireX += WALL_WEIGHT / Math.max(1, centerX);
+        if (right < WALL_MARGIN) desireX -= WALL_WEIGHT / Math.max(1, right);
+        if (centerY < WALL_MARGIN) desireY += WALL_WEIGHT / Math.max(1, centerY);
+        if (bottom < WALL_MARGIN) desireY -= WALL_WEIGHT / Math.max(1, bottom);
+        
+        int wanted = 0;
+        if (desireX > DEAD_ZONE) wanted |= RIGHT;
+        if (desireX < -DEAD_ZONE) wanted |= LEFT;
+        if (desireY > DEAD_ZONE) wanted |= DOWN;
+        if (desireY < -DEAD_ZONE) wanted |= UP;
+        applyKeys(wanted);
+    }
+    
+    /**
+     * نیروی دوری از یک خطر در شعاع خطر (عکس مجذور فاصله تا لبه آن)
+     */
+    private void repel(float centerX, float centerY, int x, int y, int size) {
+        float dx = centerX - (x + size / 2f);
+        float dy = centerY - (y + size / 2f);
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+        float gap = Math.max(1, distance - (size + GameConfig.PLAYER_SIZE) / 2f);
+        if (gap > DANGER_RADIUS || distance < 0.001f) {
+            return;
+        }
+        float strength = DANGER_WEIGHT / (gap * gap);
+        desireX += dx / distance * strength;
+        desireY += dy / distance * strength;
+    }
+    
+    /**
+     * فشردن کلیدهای تازه و رها کردن کلیدهایی که دیگر لازم نیستند
+     */
+    private void applyKeys(int wanted) {
+        for (int i = 0; i < DIRECTION_KEYS.length; i++) {
+            int bit = 1 << i;
+            if ((wanted & bit) != 0 && (heldKeys & bit) == 0) {
+                player.handleKeyPress(DIRECTION_KEYS[i]);
+            } else if ((wanted & bit) == 0 && (heldKeys & bit) != 0) {
+                player.handleKeyRelease(DIRECTION_KEYS[i]);
+            }
+        }
+        heldKeys = wanted;
+    }
+    
+    /**
+     * رها کردن همه کلیدها (مثلاً پیش از شروع دور جدید)
+     */
+    public void releaseAll() {
+        applyKeys(0);
+        ticks = 0;
+    }
+}
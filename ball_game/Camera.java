@@ -0,0 +1,52 @@
+/**
+ * دوربین دنبال‌کننده بازیکن در دنیای بزرگ‌تر از صفحه
+ *
+ * مختصات دوربین گوشه بالا-چپ بخش دیده‌شده در مختصات دنیاست و همیشه داخل
+ * دنیا می‌ماند.
+ */
+public class Camera {
+    private final int viewWidth;
+    private final int viewHeight;
+    private final int worldWidth;
+    private final int worldHeight;
+    private volatile int x;
+    private volatile int y;
+    
+    public Camera(int viewWidth, int viewHeight, int worldWidth, int worldHeight) {
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+    }
+    
+    /**
+     * قرار دادن نقطه هدف در مرکز دید (در لبه‌های دنیا دوربین متوقف می‌شود)
+     */
+    public void follow(int targetX, int targetY) {
+        x = Math.max(0, Math.min(targetX - viewWidth / 2, worldWidth - viewWidth));
+        y = Math.max(0, Math.min(targetY - viewHeight / 2, worldHeight - viewHeight));
+    }
+    
+    /**
+     * آیا مستطیل داده‌شده (مختصات دنیا) در دید است
+     */
+    public boolean isVisible(int left, int top, int width, int height) {
+        return left < x + viewWidth && left + width > x && top < y + viewHeight && top + height > y;
+    }
+    
+    public int getX() {
+        return x;
+    }
+    
+    public int getY() {
+        return y;
+    }
+    
+    public int getViewWidth() {
+        return viewWidth;
+    }
+    
+    public int getViewHeight() {
+        return viewHeight;
+    }
+}
@@ -0,0 +1,358 @@
+import java.awt.Color;
+import java.awt.Graphics;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * دنیای بزرگ‌تر از صفحه که به قطعه‌های مربعی تقسیم شده است
+ *
+ * هر قطعه فهرست توپ‌های داخل خود را نگه می‌دارد و در هر تیک بسته به فاصله‌اش
+ * از دوربین یکی از سه حالت را دارد:
+ *   ACTIVE  دید دوربین و حاشیه‌ای دور آن؛ هر تیک شبیه‌سازی می‌شود
+ *   COARSE  حلقه بیرونی‌تر؛ هر COARSE_TICK_INTERVAL تیک یک گام بزرگ برمی‌دارد
+ *           (نوبت قطعه‌ها پخش شده تا هزینه در همه تیک‌ها یکسان باشد)
+ *   FROZEN  بقیه دنیا؛ اصلاً به‌روزرسانی نمی‌شود
+ * پس هزینه هر تیک به تعداد توپ‌های نزدیک بازیکن بستگی دارد، نه به کل دنیا.
+ *
+ * توپ‌ها به صورت آرایه‌های موازی نگه داشته می‌شوند (نه شیء Ball) تا ده‌ها هزار
+ * توپ بدون وظیفه زمان‌بندی جداگانه و با دسترسی پیوسته به حافظه جابه‌جا شوند.
+ * فقط از نخ حلقه بازی فراخوانی می‌شود.
+ */
+public class ChunkedWorld {
+    public enum ChunkState { ACTIVE, COARSE, FROZEN }
+    
+    private static final Color[] BALL_COLORS = {
+        GameConfig.BALL_COLOR, new Color(0, 200, 0), new Color(255, 165, 0),
+        new Color(200, 200, 255), new Color(255, 0, 255)
+    };
+    
+    private final int worldWidth;
+    private final int worldHeight;
+    private final int chunkSize;
+    private final int columns;
+    private final int rows;
+    
+    // توپ‌ها (اندیس = شناسه توپ)
+    private final int count;
+    private final int[] x;
+    private final int[] y;
+    private final int[] xSpeed;
+    private final int[] ySpeed;
+    private final int[] size;
+    private final byte[] type;
+    private final int[] chunkOf;
+    private final int[] slotOf;     // جایگاه توپ در فهرست قطعه‌اش
+    private final long[] steppedAt; // آخرین تیکی که توپ جابه‌جا شده (جلوگیری از دو گام در یک تیک)
+    
+    // فهرست توپ‌های هر قطعه
+    private final int[][] members;
+    private final int[] memberCount;
+    
+    // محدوده قطعه‌های فعال و درشت در آخرین تیک (شامل)
+    private int activeLeft, activeTop, activeRight, activeBottom;
+    private int coarseLeft, coarseTop, coarseRight, coarseBottom;
+    private long tick = 0;
+    
+    // آمار آخرین تیک
+    private volatile long lastTickNanos = 0;
+    private volatile int lastUpdated = 0;
+    private volatile int lastActiveChunks = 0;
+    private volatile int lastCoarseChunks = 0;
+    
+    public ChunkedWorld(int worldWidth, int worldHeight, int chunkSize, int count, long seed) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.chunkSize = chunkSize;
+        this.columns = (worldWidth + chunkSize - 1) / chunkSize;
+        this.rows = (worldHeight + chunkSize - 1) / chunkSize;
+        this.count = count;
+        
+        x = new int[count];
+        y = new int[count];
+        xSpeed = new int[count];
+        ySpeed = new int[count];
+        size = new int[count];
+        type = new byte[count];
+        chunkOf = new int[count];
+        slotOf = new int[count];
+        steppedAt = new long[count];
+        Arrays.fill(steppedAt, -1);
+        
+        members = new int[columns * rows][];
+        memberCount = new int[columns * rows];
+        int expected = Math.max(4, count / (columns * rows) * 2);
+        for (int i = 0; i < members.length; i++) {
+            members[i] = new int[expected];
+        }
+        
+        Random random = new Random(seed);
+        int maxSpeed = GameConfig.getBallMaxSpeed();
+        Ball.BallType[] types = Ball.BallType.values();
+        for (int id = 0; id < count; id++) {
+            size[id] = GameConfig.BALL_MIN_SIZE + random.nextInt(GameConfig.BALL_MAX_SIZE - GameConfig.BALL_MIN_SIZE + 1);
+            x[id] = random.nextInt(worldWidth - size[id]);
+            y[id] = random.nextInt(worldHeight - size[id]);
+            xSpeed[id] = randomSpeed(random, maxSpeed);
+            ySpeed[id] = randomSpeed(random, maxSpeed);
+            type[id] = (byte) types[random.nextInt(types.length)].ordinal();
+            addToChunk(id, chunkIndex(x[id], y[id]));
+        }
+    }
+    
+    private static int randomSpeed(Random random, int maxSpeed) {
+        int speed = random.nextInt(maxSpeed) + 1;
+        return random.nextBoolean() ? speed : -speed;
+    }
+    
+    private int chunkIndex(int px, int py) {
+        int column = Math.max(0, Math.min(columns - 1, px / chunkSize));
+        int row = Math.max(0, Math.min(rows - 1, py / chunkSize));
+        return row * columns + column;
+    }
+    
+    private void addToChunk(int id, int chunk) {
+        int n = memberCount[chunk];
+        if (n == members[chunk].length) {
+            members[chunk] = Arrays.copyOf(members[chunk], n * 2);
+        }
+        members[chunk][n] = id;
+        memberCount[chunk] = n + 1;
+        chunkOf[id] = chunk;
+        slotOf[id] = n;
+    }
+    
+    private void removeFromChunk(int id) {
+        int chunk = chunkOf[id];
+        int last = --memberCount[chunk];
+        int slot = slotOf[id];
+        int moved = members[chunk][last];
+        members[chunk][slot] = moved;
+        slotOf[moved] = slot;
+    }
+    
+    /**
+     * یک تیک شبیه‌سازی بر اساس موقعیت دوربین
+     */
+    public void tick(Camera camera) {
+        long start = System.nanoTime();
+        tick++;
+        
+        activeLeft = Math.max(0, camera.getX() / chunkSize - GameConfig.ACTIVE_CHUNK_MARGIN);
+        activeTop = Math.max(0, camera.getY() / chunkSize - GameConfig.ACTIVE_CHUNK_MARGIN);
+        activeRight = Math.min(columns - 1,
+            (camera.getX() + camera.getViewWidth() - 1) / chunkSize + GameConfig.ACTIVE_CHUNK_MARGIN);
+        activeBottom = Math.min(rows - 1,
+            (camera.getY() + camera.getViewHeight() - 1) / chunkSize + GameConfig.ACTIVE_CHUNK_MARGIN);
+        coarseLeft = Math.max(0, activeLeft - GameConfig.COARSE_CHUNK_MARGIN);
+        coarseTop = Math.max(0, activeTop - GameConfig.COARSE_CHUNK_MARGIN);
+        coarseRight = Math.min(columns - 1, activeRight + GameConfig.COARSE_CHUNK_MARGIN);
+        coarseBottom = Math.min(rows - 1, activeBottom + GameConfig.COARSE_CHUNK_MARGIN);
+        
+        int updated = 0;
+        int activeChunks = 0;
+        int coarseChunks = 0;
+        int interval = GameConfig.COARSE_TICK_INTERVAL;
+        for (int row = coarseTop; row <= coarseBottom; row++) {
+            for (int column = coarseLeft; column <= coarseRight; column++) {
+                if (isActive(column, row)) {
+                    updated += stepChunk(row * columns + column, 1);
+                    activeChunks++;
+                } else if ((tick + column * 3 + row * 5) % interval == 0) {
+                    // هر قطعه درشت در نوبت خودش یک گام به اندازه چند تیک برمی‌دارد
+                    updated += stepChunk(row * columns + column, interval);
+                    coarseChunks++;
+                }
+            }
+        }
+        
+        lastUpdated = updated;
+        lastActiveChunks = activeChunks;
+        lastCoarseChunks = coarseChunks;
+        lastTickNanos = System.nanoTime() - start;
+    }
+    
+    private boolean isActive(int column, int row) {
+        return column >= activeLeft && column <= activeRight && row >= activeTop && row <= activeBottom;
+    }
+    
+    /**
+     * حرکت توپ‌های یک قطعه به اندازه steps تیک
+     * @return تعداد توپ‌های جابه‌جا شده
+     */
+    private int stepChunk(int chunk, int steps) {
+        int moved = 0;
+        int[] list = members[chunk];
+        // از انتها به ابتدا تا جابه‌جایی توپ خارج‌شده با آخرین عضو، عضوی را جا نیندازد
+        for (int i = memberCount[chunk] - 1; i >= 0; i--) {
+            int id = list[i];
+            if (steppedAt[id] == tick) {
+                continue; // در همین تیک از قطعه دیگری به اینجا آمده است
+            }
+            steppedAt[id] = tick;
+            moved++;
+            
+            int s = size[id];
+            int nx = x[id] + xSpeed[id] * steps;
+            int ny = y[id] + ySpeed[id] * steps;
+            if (nx < 0) {
+                nx = -nx;
+                xSpeed[id] = -xSpeed[id];
+            } else if (nx > worldWidth - s) {
+                nx = 2 * (worldWidth - s) - nx;
+                xSpeed[id] = -xSpeed[id];
+            }
+            if (ny < 0) {
+                ny = -ny;
+                ySpeed[id] = -ySpeed[id];
+            } else if (ny > worldHeight - s) {
+                ny = 2 * (worldHeight - s) - ny;
+                ySpeed[id] = -ySpeed[id];
+            }
+            x[id] = nx;
+            y[id] = ny;
+            
+            int target = chunkIndex(nx, ny);
+            if (target != chunk) {
+                removeFromChunk(id);
+                addToChunk(id, target);
+                list = members[chunk];
+            }
+        }
+        return moved;
+    }
+    
+    /**
+     * اولین توپی که با مستطیل داده‌شده هم‌پوشانی دارد (فقط قطعه‌های اطراف آن بررسی می‌شوند)
+     * @return شناسه توپ یا -1
+     */
+    public int findOverlap(int left, int top, int width, int height) {
+        int margin = GameConfig.BALL_MAX_SIZE;
+        int firstColumn = Math.max(0, (left - margin) / chunkSize);
+        int lastColumn = Math.min(columns - 1, (left + width) / chunkSize);
+        int firstRow = Math.max(0, (top - margin) / chunkSize);
+        int lastRow = Math.min(rows - 1, (top + height) / chunkSize);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int chunk = row * columns + column;
+                int[] list = members[chunk];
+                for (int i = 0; i < memberCount[chunk]; i++) {
+                    int id = list[i];
+                    if (x[id] < left + width && x[id] + size[id] > left
+                            && y[id] < top + height && y[id] + size[id] > top) {
+                        return id;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * انتقال توپ به نقطه‌ای تصادفی خارج از دید دوربین (پس از خورده شدن)
+     */
+    public void respawnOutside(int id, Camera camera, Random random) {
+        int s = size[id];
+        int nx;
+        int ny;
+        do {
+            nx = random.nextInt(worldWidth - s);
+            ny = random.nextInt(worldHeight - s);
+        } while (camera.isVisible(nx, ny, s, s));
+        x[id] = nx;
+        y[id] = ny;
+        removeFromChunk(id);
+        addToChunk(id, chunkIndex(nx, ny));
+    }
+    
+    /**
+     * رسم توپ‌های قطعه‌هایی که در دید دوربین هستند
+     * (g باید از قبل به اندازه موقعیت دوربین جابه‌جا شده باشد)
+     */
+    public void render(Graphics g, Camera camera) {
+        int margin = GameConfig.BALL_MAX_SIZE;
+        int firstColumn = Math.max(0, (camera.getX() - margin) / chunkSize);
+        int lastColumn = Math.min(columns - 1, (camera.getX() + camera.getViewWidth()) / chunkSize);
+        int firstRow = Math.max(0, (camera.getY() - margin) / chunkSize);
+        int lastRow = Math.min(rows - 1, (camera.getY() + camera.getViewHeight()) / chunkSize);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int chunk = row * columns + column;
+                int[] list = members[chunk];
+                for (int i = 0; i < memberCount[chunk]; i++) {
+                    int id = list[i];
+                    if (camera.isVisible(x[id], y[id], size[id], size[id])) {
+                        g.setColor(BALL_COLORS[type[id]]);
+                        g.fillOval(x[id], y[id], size[id], size[id]);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * حالت یک قطعه در آخرین تیک
+     */
+    public ChunkState getChunkState(int column, int row) {
+        if (isActive(column, row)) {
+            return ChunkState.ACTIVE;
+        }
+        if (column >= coarseLeft && column <= coarseRight && row >= coarseTop && row <= coarseBottom) {
+            return ChunkState.COARSE;
+        }
+        return ChunkState.FROZEN;
+    }
+    
+    public int getX(int id) {
+        return x[id];
+    }
+    
+    public int getY(int id) {
+        return y[id];
+    }
+    
+    public int getSize(int id) {
+        return size[id];
+    }
+    
+    public int getCount() {
+        return count;
+    }
+    
+    public int getColumns() {
+        return columns;
+    }
+    
+    public int getRows() {
+        return rows;
+    }
+    
+    public int getWorldWidth() {
+        return worldWidth;
+    }
+    
+    public int getWorldHeight() {
+        return worldHeight;
+    }
+    
+    /**
+     * مدت آخرین تیک (نانوثانیه)
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+    
+    /**
+     * تعداد توپ‌های جابه‌جا شده در آخرین تیک
+     */
+    public int getLastUpdated() {
+        return lastUpdated;
+    }
+    
+    public int getLastActiveChunks() {
+        return lastActiveChunks;
+    }
+    
+    public int getLastCoarseChunks() {
+        return lastCoarseChunks;
+    }
+}
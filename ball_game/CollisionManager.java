@@ -13,6 +13,9 @@ public class CollisionManager {
     private PowerUpManager powerUpManager;
     private GameStateManager gameStateManager;
     
+    // مستطیل بازیکن که در هر تیک دوباره استفاده می‌شود
+    private final Rectangle playerRect = new Rectangle();
+    
     public CollisionManager(Player player, CopyOnWriteArrayList<Ball> balls, 
                            List<PowerUp> powerUps, EnemyManager enemyManager,
                            PowerUpManager powerUpManager, GameStateManager gameStateManager) {
@@ -28,7 +31,7 @@ public class CollisionManager {
      * بررسی همه برخوردها
      */
     public void checkAllCollisions() {
-        Rectangle playerRect = player.getBounds();
+        playerRect.setBounds(player.getX(), player.getY(), GameConfig.PLAYER_SIZE, GameConfig.PLAYER_SIZE);
         
         checkBallCollisions(playerRect);
         checkPowerUpCollisions(playerRect);
@@ -50,6 +53,7 @@ public class CollisionManager {
      * پردازش برخورد با توپ
      */
     private void handleBallCollision(Ball ball) {
+        GameEvents.Collision event = GameEvents.beginCollision();
         if (ball.getSize() < GameConfig.PLAYER_SIZE || powerUpManager.isPlayerInvincible()) {
             // بازیکن توپ کوچکتر را می‌خورد یا شکست‌ناپذیر است
             int ballScore = powerUpManager.calculateScore(ball.getScoreValue());
@@ -75,15 +79,18 @@ public class CollisionManager {
             }
             
             ball.reset();
+            GameEvents.endCollision(event, "ball", "collected", ballScore);
         } else {
             // برخورد با توپ بزرگتر
             if (player.useShield()) {
                 // اگر سپر داشته باشد، از آن استفاده می‌کند
                 ball.reset();
                 SoundManager.playSound(SoundManager.SoundEffect.ENEMY_HIT);
+                GameEvents.endCollision(event, "ball", "shielded", 0);
             } else {
                 // در غیر این صورت، کاهش جان
                 handlePlayerDamage();
+                GameEvents.endCollision(event, "ball", "damage", 0);
             }
         }
     }
@@ -104,11 +111,13 @@ public class CollisionManager {
      * پردازش جمع‌آوری قدرت
      */
     private void handlePowerUpCollection(PowerUp powerUp) {
-        long duration = GameConfig.getPowerUpEffectDuration();
+        GameEvents.Collision event = GameEvents.beginCollision();
+        DifficultyProfile profile = GameConfig.getProfile();
+        long duration = profile.powerUpEffectDuration;
         
         switch (powerUp.getType()) {
             case SPEED_BOOST:
-                player.setSpeed(GameConfig.getPlayerBoostedSpeed());
+                player.setSpeed(profile.playerBoostedSpeed);
                 player.setPowerUpEndTime(System.currentTimeMillis() + duration);
                 break;
                 
@@ -119,7 +128,7 @@ public class CollisionManager {
                 break;
                 
             case SCORE_MULTIPLIER:
-                powerUpManager.activateScoreMultiplier(GameConfig.getScoreMultiplier(), duration);
+                powerUpManager.activateScoreMultiplier(profile.scoreMultiplier, duration);
                 break;
                 
             case SHIELD:
@@ -144,6 +153,7 @@ public class CollisionManager {
             powerUp.getY() + powerUp.getSize() / 2, 
             powerUp.getColor()
         );
+        GameEvents.endCollision(event, "powerUp", powerUp.getType().name(), 0);
     }
     
     /**
@@ -161,8 +171,7 @@ public class CollisionManager {
     private void checkEnemyCollisions(Rectangle playerRect) {
         enemyManager.checkHit(player.getX(), player.getY(), GameConfig.PLAYER_SIZE);
         
-        List<Enemy> enemies = enemyManager.getEnemies();
-        for (Enemy enemy : enemies) {
+        for (Enemy enemy : enemyManager.getEnemies()) {
             if (enemy.isActive() && enemy.checkCollision(playerRect)) {
                 handleEnemyCollision(enemy);
             }
@@ -173,6 +182,7 @@ public class CollisionManager {
      * پردازش برخورد با دشمن
      */
     private void handleEnemyCollision(Enemy enemy) {
+        GameEvents.Collision event = GameEvents.beginCollision();
         if (powerUpManager.isPlayerInvincible()) {
             // بازیکن شکست‌ناپذیر است، دشمن آسیب می‌بیند
             enemy.hit();
@@ -191,18 +201,20 @@ public class CollisionManager {
                     enemy.getX() + enemy.getSize() / 2,
                     enemy.getY() + enemy.getSize() / 2,
                     enemy.getSize(),
-                    enemy.getType() == Enemy.EnemyType.TRACKER ? 
-                        GameConfig.TRACKER_ENEMY_COLOR : GameConfig.BOMBER_ENEMY_COLOR
+                    GameConfig.getEnemyColor(enemy.getType())
                 );
                 SoundManager.playSound(SoundManager.SoundEffect.ENEMY_DESTROY);
             }
+            GameEvents.endCollision(event, enemy.getType().name(), enemy.isActive() ? "hit" : "destroyed", enemyScore);
         } else if (player.useShield()) {
             // اگر سپر داشته باشد، از آن استفاده می‌کند
             enemy.hit();
             SoundManager.playSound(SoundManager.SoundEffect.ENEMY_HIT);
+            GameEvents.endCollision(event, enemy.getType().name(), "shielded", 0);
         } else {
             // در غیر این صورت، کاهش جان
             handlePlayerDamage();
+            GameEvents.endCollision(event, enemy.getType().name(), "damage", 0);
         }
     }
     
@@ -0,0 +1,190 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * بارگذاری تنظیمات سطوح سختی از فایل و بارگذاری دوباره آن هنگام تغییر
+ *
+ * قالب فایل: کلیدهای «سختی.نام» مانند hard.ballMaxSpeed=7 (نام‌ها در DifficultyProfile.KEYS).
+ * کلیدهایی که در فایل نیستند از مقادیر داخلی خوانده می‌شوند. اگر فایل نامعتبر باشد کل آن
+ * رد می‌شود و تنظیمات قبلی باقی می‌ماند، پس ذخیره نیمه‌کاره فایل بازی را خراب نمی‌کند.
+ *
+ * مقادیری که فقط در شروع هر دور خوانده می‌شوند (مثل نرخ ایجاد توپ در زمان‌بند)
+ * از دور بعد اعمال می‌شوند؛ بقیه بلافاصله.
+ */
+public class DifficultyConfig {
+    // چند رویداد پشت سر هم ویرایشگرها (truncate و سپس write) یک بار بارگذاری شوند
+    private static final long RELOAD_SETTLE_MS = 100;
+    
+    private final Path file;
+    private Thread watcherThread;
+    private WatchService watchService;
+    private volatile int reloadCount = 0;
+    
+    public DifficultyConfig(Path file) {
+        this.file = file.toAbsolutePath();
+    }
+    
+    /**
+     * خواندن فایل و جایگزینی تنظیمات فعال
+     * @return true اگر فایل خوانده و اعمال شد
+     */
+    public boolean reload() {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try {
+            GameConfig.applyProfiles(load(file));
+            reloadCount++;
+            System.out.println("Loaded difficulty profiles from " + file.getFileName()
+                + " (" + GameConfig.getCurrentDifficulty() + " active)");
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ignoring " + file.getFileName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * خواندن تنظیمات همه سطوح از فایل
+     * @throws IllegalArgumentException اگر مقداری نامعتبر باشد
+     */
+    public static EnumMap<GameConfig.Difficulty, DifficultyProfile> load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        
+        // نام سختی در کلید یک بار یکسان‌سازی می‌شود تا HARD.x و hard.x هر دو خوانده شوند
+        Properties normalized = new Properties();
+        for (String key : properties.stringPropertyNames()) {
+            String normalizedKey = normalizeKey(key);
+            if (isKnownKey(normalizedKey)) {
+                normalized.setProperty(normalizedKey, properties.getProperty(key));
+            } else {
+                System.err.println("Unknown difficulty setting in " + file.getFileName() + ": " + key);
+            }
+        }
+        
+        EnumMap<GameConfig.Difficulty, DifficultyProfile> profiles = new EnumMap<>(GameConfig.Difficulty.class);
+        for (GameConfig.Difficulty difficulty : GameConfig.Difficulty.values()) {
+            profiles.put(difficulty, DifficultyProfile.fromProperties(difficulty, normalized,
+                DifficultyProfile.builtIn(difficulty)));
+        }
+        return profiles;
+    }
+    
+    /**
+     * حروف کوچک برای بخش سختی کلید (مستقل از زبان سیستم)؛ نام تنظیم همان‌طور می‌ماند
+     */
+    private static String normalizeKey(String key) {
+        int dot = key.indexOf('.');
+        if (dot < 0) {
+            return key;
+        }
+        return key.substring(0, dot).toLowerCase(Locale.ROOT) + key.substring(dot);
+    }
+    
+    private static boolean isKnownKey(String normalizedKey) {
+        for (GameConfig.Difficulty difficulty : GameConfig.Difficulty.values()) {
+            String prefix = DifficultyProfile.keyPrefix(difficulty);
+            if (!normalizedKey.startsWith(prefix)) {
+                continue;
+            }
+            String name = normalizedKey.substring(prefix.length());
+            for (String known : DifficultyProfile.KEYS) {
+                if (known.equals(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * شروع نخ پس‌زمینه‌ای که با تغییر فایل آن را دوباره بارگذاری می‌کند
+     */
+    public synchronized void startWatching() {
+        if (watcherThread != null) {
+            return;
+        }
+        Path directory = file.getParent();
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            System.err.println("Cannot watch " + file.getFileName() + ": " + e.getMessage());
+            return;
+        }
+        
+        watcherThread = new Thread(this::watch, "difficulty-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+    
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = containsFile(key);
+                key.reset();
+                if (!changed) {
+                    continue;
+                }
+                
+                // صبر تا ویرایشگر نوشتن را تمام کند و رویدادهای تکراری جمع شوند
+                Thread.sleep(RELOAD_SETTLE_MS);
+                WatchKey extra;
+                while ((extra = watchService.poll()) != null) {
+                    extra.pollEvents();
+                    extra.reset();
+                }
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // توقف نخ
+        }
+    }
+    
+    private boolean containsFile(WatchKey key) {
+        boolean found = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || (context instanceof Path && file.getFileName().equals(context))) {
+                found = true;
+            }
+        }
+        return found;
+    }
+    
+    public synchronized void stopWatching() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                // از قبل بسته شده است
+            }
+        }
+        watcherThread = null;
+        watchService = null;
+    }
+    
+    /**
+     * تعداد بارگذاری‌های موفق فایل
+     */
+    public int getReloadCount() {
+        return reloadCount;
+    }
+}
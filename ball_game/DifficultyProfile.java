@@ -0,0 +1,185 @@
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * تنظیمات یک سطح سختی به صورت فیلدهای ساده و تغییرناپذیر
+ *
+ * نمونه فعال در GameConfig یک‌جا جایگزین می‌شود (با تغییر سختی یا بارگذاری دوباره
+ * فایل تنظیمات)، پس کدی که چند مقدار را از یک نمونه می‌خواند همیشه مقادیر
+ * سازگار با هم می‌بیند و حلقه‌های داغ فقط یک فیلد final می‌خوانند.
+ */
+public final class DifficultyProfile {
+    // نام کلیدها در فایل تنظیمات (پس از پیشوند سختی، مثلاً "hard.ballMaxSpeed")
+    static final String[] KEYS = {
+        "playerDefaultSpeed", "playerBoostedSpeed",
+        "ballMaxSpeed", "initialBalls", "maxBalls", "ballSpawnRate",
+        "powerUpEffectDuration", "numPowerUps",
+        "maxTrackerEnemies", "maxBomberEnemies", "maxTotalEnemies",
+        "trackerSpeed", "trackerHealth", "bomberSpeed", "bomberHealth", "enemySpawnDelay",
+        "bombLifetime",
+        "scoreBall", "scoreEnemy", "scoreMultiplier"
+    };
+    
+    // مقادیر پیش‌فرض داخلی به ترتیب KEYS (زمان‌ها: نرخ‌ها و تأخیرها به ثانیه، مدت‌ها به میلی‌ثانیه)
+    private static final int[] EASY_VALUES = {
+        6, 12,
+        3, 5, 15, 8,
+        15000, 4,
+        3, 1, 4,
+        1, 5, 1, 8, 10,
+        3000,
+        5, 10, 2
+    };
+    private static final int[] MEDIUM_VALUES = {
+        5, 10,
+        5, 10, 30, 5,
+        10000, 3,
+        5, 3, 8,
+        2, 3, 1, 5, 5,
+        2000,
+        10, 20, 3
+    };
+    private static final int[] HARD_VALUES = {
+        5, 9,
+        6, 15, 40, 3,
+        7000, 2,
+        7, 5, 12,
+        3, 2, 2, 4, 3,
+        1500,
+        15, 30, 4
+    };
+    private static final int[] INSANE_VALUES = {
+        4, 8,
+        8, 20, 50, 2,
+        5000, 1,
+        10, 7, 15,
+        4, 1, 2, 3, 2,
+        1000,
+        20, 50, 5
+    };
+    
+    public final GameConfig.Difficulty difficulty;
+    
+    // بازیکن
+    public final int playerDefaultSpeed;
+    public final int playerBoostedSpeed;
+    
+    // توپ‌ها
+    public final int ballMaxSpeed;
+    public final int initialBalls;
+    public final int maxBalls;
+    public final int ballSpawnRate; // seconds
+    
+    // قدرت‌ها
+    public final int powerUpEffectDuration; // milliseconds
+    public final int numPowerUps;
+    
+    // دشمنان
+    public final int maxTrackerEnemies;
+    public final int maxBomberEnemies;
+    public final int maxTotalEnemies;
+    public final int trackerSpeed;
+    public final int trackerHealth;
+    public final int bomberSpeed;
+    public final int bomberHealth;
+    public final int enemySpawnDelay; // seconds
+    public final int bombLifetime; // milliseconds
+    
+    // امتیاز
+    public final int scoreBall;
+    public final int scoreEnemy;
+    public final int scoreMultiplier;
+    
+    private DifficultyProfile(GameConfig.Difficulty difficulty, int[] values) {
+        this.difficulty = difficulty;
+        int i = 0;
+        playerDefaultSpeed = values[i++];
+        playerBoostedSpeed = values[i++];
+        ballMaxSpeed = values[i++];
+        initialBalls = values[i++];
+        maxBalls = values[i++];
+        ballSpawnRate = values[i++];
+        powerUpEffectDuration = values[i++];
+        numPowerUps = values[i++];
+        maxTrackerEnemies = values[i++];
+        maxBomberEnemies = values[i++];
+        maxTotalEnemies = values[i++];
+        trackerSpeed = values[i++];
+        trackerHealth = values[i++];
+        bomberSpeed = values[i++];
+        bomberHealth = values[i++];
+        enemySpawnDelay = values[i++];
+        bombLifetime = values[i++];
+        scoreBall = values[i++];
+        scoreEnemy = values[i++];
+        scoreMultiplier = values[i++];
+    }
+    
+    /**
+     * تنظیمات داخلی یک سطح سختی (وقتی فایل تنظیمات وجود ندارد یا کلیدی در آن نیست)
+     */
+    public static DifficultyProfile builtIn(GameConfig.Difficulty difficulty) {
+        switch (difficulty) {
+            case EASY: return new DifficultyProfile(difficulty, EASY_VALUES);
+            case HARD: return new DifficultyProfile(difficulty, HARD_VALUES);
+            case INSANE: return new DifficultyProfile(difficulty, INSANE_VALUES);
+            default: return new DifficultyProfile(difficulty, MEDIUM_VALUES);
+        }
+    }
+    
+    /**
+     * پیشوند کلیدهای یک سطح سختی در فایل، مانند «hard.» (مستقل از زبان سیستم)
+     */
+    public static String keyPrefix(GameConfig.Difficulty difficulty) {
+        return difficulty.name().toLowerCase(Locale.ROOT) + ".";
+    }
+    
+    /**
+     * ساخت تنظیمات یک سطح سختی از فایل؛ کلیدهایی که در فایل نیستند از defaults خوانده می‌شوند
+     * @throws IllegalArgumentException اگر مقداری عدد صحیح مثبت نباشد
+     */
+    public static DifficultyProfile fromProperties(GameConfig.Difficulty difficulty, Properties properties,
+                                                   DifficultyProfile defaults) {
+        String prefix = keyPrefix(difficulty);
+        int[] values = defaults.toValues();
+        for (int i = 0; i < KEYS.length; i++) {
+            String text = properties.getProperty(prefix + KEYS[i]);
+            if (text == null) {
+                continue;
+            }
+            int value;
+            try {
+                value = Integer.parseInt(text.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(prefix + KEYS[i] + " is not a number: " + text);
+            }
+            if (value <= 0) {
+                throw new IllegalArgumentException(prefix + KEYS[i] + " must be positive: " + value);
+            }
+            values[i] = value;
+        }
+        
+        DifficultyProfile profile = new DifficultyProfile(difficulty, values);
+        if (profile.maxTotalEnemies < Math.max(profile.maxTrackerEnemies, profile.maxBomberEnemies)
+                || profile.initialBalls > profile.maxBalls) {
+            throw new IllegalArgumentException(prefix + "* limits are inconsistent "
+                + "(maxTotalEnemies below a per-type enemy limit or initialBalls above maxBalls)");
+        }
+        return profile;
+    }
+    
+    /**
+     * مقادیر به ترتیب KEYS
+     */
+    int[] toValues() {
+        return new int[] {
+            playerDefaultSpeed, playerBoostedSpeed,
+            ballMaxSpeed, initialBalls, maxBalls, ballSpawnRate,
+            powerUpEffectDuration, numPowerUps,
+            maxTrackerEnemies, maxBomberEnemies, maxTotalEnemies,
+            trackerSpeed, trackerHealth, bomberSpeed, bomberHealth, enemySpawnDelay,
+            bombLifetime,
+            scoreBall, scoreEnemy, scoreMultiplier
+        };
+    }
+}
@@ -1,10 +1,10 @@
 import java.awt.AlphaComposite;
 import java.awt.Color;
+import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Point;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -16,18 +16,22 @@ public class EffectManager {
     private static final Random random = new Random();
     private static final CopyOnWriteArrayList<Effect> effects = new CopyOnWriteArrayList<>();
     
+    // رسترایزر نرم‌افزاری لایه جلوه‌ها (فقط از نخ رسم استفاده می‌شود)
+    private static EffectRasterizer rasterizer;
+    
     /**
      * به‌روزرسانی همه جلوه‌های ویژه فعال
      */
     public static void update() {
-        Iterator<Effect> iterator = effects.iterator();
-        while (iterator.hasNext()) {
-            Effect effect = iterator.next();
+        boolean anyFinished = false;
+        for (Effect effect : effects) {
             effect.update();
-            
-            if (effect.isFinished()) {
-                effects.remove(effect);
-            }
+            anyFinished |= effect.isFinished();
+        }
+        
+        // حذف همه جلوه‌های تمام‌شده با یک کپی آرایه به جای یک کپی برای هر جلوه
+        if (anyFinished) {
+            effects.removeIf(Effect::isFinished);
         }
     }
     
@@ -35,8 +39,49 @@ public class EffectManager {
      * رسم همه جلوه‌های ویژه فعال
      */
     public static void render(Graphics g) {
+        render(g, 0, 0);
+    }
+    
+    /**
+     * رسم همه جلوه‌های ویژه فعال وقتی مختصات جلوه‌ها با مختصات صفحه فرق دارد
+     * @param originX مختصات جلوه‌ای که در گوشه بالا-چپ صفحه دیده می‌شود (مثلاً دوربین دنیای بزرگ)
+     * @param originY مختصات جلوه‌ای که در گوشه بالا-چپ صفحه دیده می‌شود
+     */
+    public static void render(Graphics g, int originX, int originY) {
+        if (!GameConfig.softwareEffects) {
+            g.translate(-originX, -originY);
+            for (Effect effect : effects) {
+                effect.render(g);
+            }
+            g.translate(originX, originY);
+            return;
+        }
+        
+        if (rasterizer == null) {
+            rasterizer = new EffectRasterizer(GameConfig.WIDTH, GameConfig.HEIGHT);
+        }
+        
+        // اشکال هندسی در بافر رسترایزر و متن‌ها بعد از آن با Graphics رسم می‌شوند
+        boolean hasText = false;
+        rasterizer.begin();
+        rasterizer.setOrigin(originX, originY);
         for (Effect effect : effects) {
-            effect.render(g);
+            if (effect.isRasterizable()) {
+                effect.rasterize(rasterizer);
+            } else {
+                hasText = true;
+            }
+        }
+        rasterizer.draw(g);
+        
+        if (hasText) {
+            g.translate(-originX, -originY);
+            for (Effect effect : effects) {
+                if (!effect.isRasterizable()) {
+                    effect.render(g);
+                }
+            }
+            g.translate(originX, originY);
         }
     }
     
@@ -44,6 +89,7 @@ public class EffectManager {
      * اضافه کردن جلوه انفجار
      */
     public static void addExplosion(int x, int y, int size, Color color) {
+        GameEvents.EffectBurst event = GameEvents.beginEffectBurst();
         effects.add(new ExplosionEffect(x, y, size, color));
         
         // اضافه کردن ذرات پراکنده
@@ -54,12 +100,14 @@ public class EffectManager {
                 color,
                 random.nextInt(20) + 10));
         }
+        GameEvents.endEffectBurst(event, "explosion", 1 + size / 5, effects.size());
     }
     
     /**
      * اضافه کردن جلوه جمع‌آوری توپ
      */
     public static void addBallCollectEffect(int x, int y, int size) {
+        GameEvents.EffectBurst event = GameEvents.beginEffectBurst();
         effects.add(new ScorePopupEffect(x, y, "+" + GameConfig.getScoreBall(), Color.WHITE));
         
         // افکت دایره‌ای اطراف نقطه جمع‌آوری
@@ -73,12 +121,14 @@ public class EffectManager {
                 Color.RED,
                 random.nextInt(15) + 5));
         }
+        GameEvents.endEffectBurst(event, "ballCollect", 12, effects.size());
     }
     
     /**
      * اضافه کردن جلوه جمع‌آوری قدرت
      */
     public static void addPowerUpEffect(int x, int y, Color color) {
+        GameEvents.EffectBurst event = GameEvents.beginEffectBurst();
         effects.add(new RippleEffect(x, y, 60, color));
         effects.add(new ScorePopupEffect(x, y, "POWER UP!", color));
         
@@ -90,12 +140,14 @@ public class EffectManager {
                 color,
                 random.nextInt(20) + 15));
         }
+        GameEvents.endEffectBurst(event, "powerUp", 17, effects.size());
     }
     
     /**
      * اضافه کردن جلوه برخورد با دشمن
      */
     public static void addEnemyHitEffect(int x, int y, int score) {
+        GameEvents.EffectBurst event = GameEvents.beginEffectBurst();
         effects.add(new ScorePopupEffect(x, y, "+" + score, Color.ORANGE));
         
         // ایجاد ذرات متناسب با برخورد
@@ -106,12 +158,14 @@ public class EffectManager {
                 Color.ORANGE,
                 random.nextInt(10) + 5));
         }
+        GameEvents.endEffectBurst(event, "enemyHit", 9, effects.size());
     }
     
     /**
      * اضافه کردن جلوه نابودی دشمن
      */
     public static void addEnemyDestroyEffect(int x, int y, int size, Color color) {
+        GameEvents.EffectBurst event = GameEvents.beginEffectBurst();
         effects.add(new ExplosionEffect(x, y, size * 2, color));
         
         // اضافه کردن ذرات پراکنده
@@ -122,6 +176,7 @@ public class EffectManager {
                 color,
                 random.nextInt(30) + 10));
         }
+        GameEvents.endEffectBurst(event, "enemyDestroy", 1 + size, effects.size());
     }
     
     /**
@@ -156,6 +211,16 @@ public class EffectManager {
         
         public abstract void render(Graphics g);
         
+        /**
+         * آیا این جلوه می‌تواند در رسترایزر نرم‌افزاری رسم شود
+         */
+        public boolean isRasterizable() {
+            return false;
+        }
+        
+        public void rasterize(EffectRasterizer rasterizer) {
+        }
+        
         protected float getAlpha() {
             return 1.0f - (float)lifetime / maxLifetime;
         }
@@ -194,6 +259,17 @@ public class EffectManager {
             // بازگرداندن شفافیت به حالت عادی
             g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
         }
+        
+        @Override
+        public boolean isRasterizable() {
+            return true;
+        }
+        
+        @Override
+        public void rasterize(EffectRasterizer rasterizer) {
+            rasterizer.fillCircle(x, y, size / 2f, color.getRGB(), getAlpha(),
+                EffectRasterizer.BlendMode.ALPHA);
+        }
     }
     
     // جلوه ذرات
@@ -240,17 +316,33 @@ public class EffectManager {
             // بازگرداندن شفافیت به حالت عادی
             g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
         }
+        
+        @Override
+        public boolean isRasterizable() {
+            return true;
+        }
+        
+        @Override
+        public void rasterize(EffectRasterizer rasterizer) {
+            // ذرات روی هم جمع می‌شوند تا انفجارهای شلوغ درخشان‌تر دیده شوند
+            rasterizer.fillCircle(x, y, size / 2f, color.getRGB(), getAlpha(),
+                EffectRasterizer.BlendMode.ADDITIVE);
+        }
     }
     
     // جلوه نمایش امتیاز
     private static class ScorePopupEffect extends Effect {
+        private static final Font POPUP_FONT = new Font(Font.DIALOG, Font.PLAIN, 12);
+        
         private String text;
         private int yOffset;
+        private final TextCache.Style style;
         
         public ScorePopupEffect(int x, int y, String text, Color color) {
             super(x, y, color, 60);
             this.text = text;
             this.yOffset = 0;
+            this.style = TextCache.style(POPUP_FONT, color);
         }
         
         @Override
@@ -268,9 +360,8 @@ public class EffectManager {
                 AlphaComposite.SRC_OVER, getAlpha());
             g2d.setComposite(alphaComposite);
             
-            // رسم متن
-            g2d.setColor(color);
-            g2d.drawString(text, x, y + yOffset);
+            // رسم متن از کش متن‌ها
+            style.draw(g2d, text, x, y + yOffset);
             
             // بازگرداندن شفافیت به حالت عادی
             g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
@@ -310,5 +401,16 @@ public class EffectManager {
             // بازگرداندن شفافیت به حالت عادی
             g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
         }
+        
+        @Override
+        public boolean isRasterizable() {
+            return true;
+        }
+        
+        @Override
+        public void rasterize(EffectRasterizer rasterizer) {
+            rasterizer.strokeCircle(x, y, size / 2f, color.getRGB(), getAlpha(),
+                EffectRasterizer.BlendMode.ALPHA);
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,344 @@
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * رسترایزر نرم‌افزاری کاشی‌بندی‌شده برای لایه جلوه‌های ویژه
+ *
+ * دایره‌ها و حلقه‌های جلوه‌ها مستقیماً در یک بافر int[] با فرمت ARGB
+ * (پیش‌ضرب‌شده) رسم می‌شوند. صفحه به کاشی‌های ثابت تقسیم می‌شود و هر کاشی
+ * به طور مستقل روی استخر fork-join پر می‌شود. نتیجه در نهایت با یک
+ * فراخوانی drawImage روی صفحه ترکیب می‌شود.
+ */
+public class EffectRasterizer {
+    // اندازه هر کاشی به پیکسل
+    private static final int TILE_SIZE = 64;
+
+    // زیر این تعداد جفت (اولیه، کاشی) موازی‌سازی ارزش سربار را ندارد
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    // انواع اولیه‌ها
+    private static final byte KIND_DISK = 0;
+    private static final byte KIND_RING = 1;
+
+    /**
+     * حالت‌های ترکیب رنگ
+     */
+    public enum BlendMode {
+        ALPHA,    // ترکیب معمولی SRC_OVER
+        ADDITIVE  // جمع رنگ‌ها برای جلوه‌های درخشان
+    }
+
+    private final int width;
+    private final int height;
+    private final BufferedImage image;
+    private final int[] pixels;
+
+    // مشخصات کاشی‌ها
+    private final int tilesX;
+    private final int tilesY;
+    private final int[] tileCounts;
+    private final int[][] tileItems;
+    private final boolean[] tileDirty;
+    private final int[] activeTiles;
+
+    // اولیه‌های فریم جاری (ساختار آرایه‌ای برای جلوگیری از ساخت شیء)
+    private int count = 0;
+    private float[] centerX = new float[256];
+    private float[] centerY = new float[256];
+    private float[] radius = new float[256];
+    private int[] colors = new int[256];
+    private byte[] kinds = new byte[256];
+    private byte[] blends = new byte[256];
+
+    // گوشه بالا-چپ بافر در مختصاتی که اولیه‌ها با آن اضافه می‌شوند (مثلاً دوربین دنیای بزرگ)
+    private int originX = 0;
+    private int originY = 0;
+
+    public EffectRasterizer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+        this.tilesX = (width + TILE_SIZE - 1) / TILE_SIZE;
+        this.tilesY = (height + TILE_SIZE - 1) / TILE_SIZE;
+        int numTiles = tilesX * tilesY;
+        this.tileCounts = new int[numTiles];
+        this.tileItems = new int[numTiles][16];
+        this.tileDirty = new boolean[numTiles];
+        this.activeTiles = new int[numTiles];
+    }
+
+    /**
+     * شروع فریم جدید و پاک کردن لیست اولیه‌ها
+     */
+    public void begin() {
+        count = 0;
+    }
+
+    /**
+     * تنظیم مبدأ بافر؛ اولیه‌های بعدی نسبت به آن جابه‌جا می‌شوند
+     */
+    public void setOrigin(int x, int y) {
+        originX = x;
+        originY = y;
+    }
+
+    /**
+     * افزودن دایره توپر
+     */
+    public void fillCircle(float cx, float cy, float r, int rgb, float alpha, BlendMode blend) {
+        add(KIND_DISK, cx, cy, r, rgb, alpha, blend);
+    }
+
+    /**
+     * افزودن حلقه توخالی با ضخامت یک پیکسل
+     */
+    public void strokeCircle(float cx, float cy, float r, int rgb, float alpha, BlendMode blend) {
+        add(KIND_RING, cx, cy, r, rgb, alpha, blend);
+    }
+
+    private void add(byte kind, float cx, float cy, float r, int rgb, float alpha, BlendMode blend) {
+        int a = Math.round(Math.max(0f, Math.min(1f, alpha)) * 255);
+        if (a == 0 || r <= 0) {
+            return;
+        }
+
+        if (count == centerX.length) {
+            int newLength = count * 2;
+            centerX = Arrays.copyOf(centerX, newLength);
+            centerY = Arrays.copyOf(centerY, newLength);
+            radius = Arrays.copyOf(radius, newLength);
+            colors = Arrays.copyOf(colors, newLength);
+            kinds = Arrays.copyOf(kinds, newLength);
+            blends = Arrays.copyOf(blends, newLength);
+        }
+
+        centerX[count] = cx - originX;
+        centerY[count] = cy - originY;
+        radius[count] = r;
+        colors[count] = (a << 24) | (rgb & 0xFFFFFF);
+        kinds[count] = kind;
+        blends[count] = (byte) blend.ordinal();
+        count++;
+    }
+
+    /**
+     * رسترایز کردن همه اولیه‌ها و ترکیب نتیجه روی گرافیک مقصد
+     */
+    public void draw(Graphics g) {
+        int activeCount = binPrimitives();
+        if (activeCount == 0) {
+            return;
+        }
+
+        int work = 0;
+        for (int i = 0; i < activeCount; i++) {
+            work += tileCounts[activeTiles[i]] + 1;
+        }
+
+        if (work < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < activeCount; i++) {
+                rasterizeTile(activeTiles[i]);
+            }
+        } else {
+            ForkJoinPool.commonPool().invoke(new TileTask(0, activeCount));
+        }
+
+        // کاشی‌هایی که در این فریم چیزی دارند در فریم بعد باید پاک شوند
+        boolean anyDirty = false;
+        for (int i = 0; i < activeCount; i++) {
+            int tile = activeTiles[i];
+            tileDirty[tile] = tileCounts[tile] > 0;
+            anyDirty |= tileDirty[tile];
+        }
+
+        if (anyDirty) {
+            g.drawImage(image, 0, 0, null);
+        }
+    }
+
+    /**
+     * توزیع اولیه‌ها بین کاشی‌ها و ساخت لیست کاشی‌های فعال
+     */
+    private int binPrimitives() {
+        Arrays.fill(tileCounts, 0);
+
+        for (int p = 0; p < count; p++) {
+            float extent = radius[p] + 1;
+            int minTx = clamp((int) Math.floor(centerX[p] - extent) / TILE_SIZE, 0, tilesX - 1);
+            int maxTx = clamp((int) Math.ceil(centerX[p] + extent) / TILE_SIZE, 0, tilesX - 1);
+            int minTy = clamp((int) Math.floor(centerY[p] - extent) / TILE_SIZE, 0, tilesY - 1);
+            int maxTy = clamp((int) Math.ceil(centerY[p] + extent) / TILE_SIZE, 0, tilesY - 1);
+
+            // اولیه‌های کاملاً خارج از صفحه
+            if (centerX[p] + extent < 0 || centerX[p] - extent >= width ||
+                centerY[p] + extent < 0 || centerY[p] - extent >= height) {
+                continue;
+            }
+
+            for (int ty = minTy; ty <= maxTy; ty++) {
+                for (int tx = minTx; tx <= maxTx; tx++) {
+                    int tile = ty * tilesX + tx;
+                    int[] items = tileItems[tile];
+                    if (tileCounts[tile] == items.length) {
+                        items = Arrays.copyOf(items, items.length * 2);
+                        tileItems[tile] = items;
+                    }
+                    items[tileCounts[tile]++] = p;
+                }
+            }
+        }
+
+        int activeCount = 0;
+        for (int tile = 0; tile < tileCounts.length; tile++) {
+            if (tileCounts[tile] > 0 || tileDirty[tile]) {
+                activeTiles[activeCount++] = tile;
+            }
+        }
+        return activeCount;
+    }
+
+    /**
+     * پاک کردن و پر کردن یک کاشی
+     */
+    private void rasterizeTile(int tile) {
+        int x0 = (tile % tilesX) * TILE_SIZE;
+        int y0 = (tile / tilesX) * TILE_SIZE;
+        int x1 = Math.min(x0 + TILE_SIZE, width);
+        int y1 = Math.min(y0 + TILE_SIZE, height);
+
+        for (int y = y0; y < y1; y++) {
+            Arrays.fill(pixels, y * width + x0, y * width + x1, 0);
+        }
+
+        int[] items = tileItems[tile];
+        int n = tileCounts[tile];
+        for (int i = 0; i < n; i++) {
+            int p = items[i];
+            rasterizePrimitive(p, x0, y0, x1, y1);
+        }
+    }
+
+    /**
+     * رسم یک اولیه در محدوده کاشی با ضدپله‌سازی ساده لبه‌ها
+     */
+    private void rasterizePrimitive(int p, int x0, int y0, int x1, int y1) {
+        float cx = centerX[p];
+        float cy = centerY[p];
+        float r = radius[p];
+        int color = colors[p];
+        boolean additive = blends[p] == BlendMode.ADDITIVE.ordinal();
+        boolean ring = kinds[p] == KIND_RING;
+
+        int minX = Math.max(x0, (int) Math.floor(cx - r - 1));
+        int maxX = Math.min(x1, (int) Math.ceil(cx + r + 1));
+        int minY = Math.max(y0, (int) Math.floor(cy - r - 1));
+        int maxY = Math.min(y1, (int) Math.ceil(cy + r + 1));
+
+        float inner = ring ? Math.max(0f, r - 1f) : Math.max(0f, r - 0.5f);
+        float outer = ring ? r + 1f : r + 0.5f;
+        float inner2 = inner * inner;
+        float outer2 = outer * outer;
+
+        for (int y = minY; y < maxY; y++) {
+            float dy = y + 0.5f - cy;
+            float dy2 = dy * dy;
+            int row = y * width;
+
+            for (int x = minX; x < maxX; x++) {
+                float dx = x + 0.5f - cx;
+                float d2 = dx * dx + dy2;
+                if (d2 >= outer2) {
+                    continue;
+                }
+
+                float coverage;
+                if (ring) {
+                    if (d2 <= inner2) {
+                        continue;
+                    }
+                    coverage = 1f - Math.abs((float) Math.sqrt(d2) - r);
+                } else if (d2 <= inner2) {
+                    coverage = 1f;
+                } else {
+                    coverage = r + 0.5f - (float) Math.sqrt(d2);
+                }
+
+                if (coverage > 0f) {
+                    int index = row + x;
+                    pixels[index] = blend(pixels[index], color, coverage, additive);
+                }
+            }
+        }
+    }
+
+    /**
+     * ترکیب یک رنگ با پیکسل مقصد پیش‌ضرب‌شده
+     */
+    private static int blend(int dst, int color, float coverage, boolean additive) {
+        int sa = (int) (((color >>> 24) * Math.min(1f, coverage)) + 0.5f);
+        if (sa == 0) {
+            return dst;
+        }
+
+        int sr = (((color >> 16) & 0xFF) * sa + 127) / 255;
+        int sg = (((color >> 8) & 0xFF) * sa + 127) / 255;
+        int sb = ((color & 0xFF) * sa + 127) / 255;
+
+        int da = dst >>> 24;
+        int dr = (dst >> 16) & 0xFF;
+        int dg = (dst >> 8) & 0xFF;
+        int db = dst & 0xFF;
+
+        if (additive) {
+            da = Math.min(255, da + sa);
+            dr = Math.min(255, dr + sr);
+            dg = Math.min(255, dg + sg);
+            db = Math.min(255, db + sb);
+        } else {
+            int inv = 255 - sa;
+            da = sa + (da * inv + 127) / 255;
+            dr = sr + (dr * inv + 127) / 255;
+            dg = sg + (dg * inv + 127) / 255;
+            db = sb + (db * inv + 127) / 255;
+        }
+
+        return (da << 24) | (dr << 16) | (dg << 8) | db;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * وظیفه fork-join برای پر کردن بازه‌ای از کاشی‌های فعال
+     */
+    private class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+
+        TileTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 2) {
+                for (int i = from; i < to; i++) {
+                    rasterizeTile(activeTiles[i]);
+                }
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new TileTask(from, mid), new TileTask(mid, to));
+        }
+    }
+}
@@ -1,4 +1,5 @@
 import java.awt.Rectangle;
+import java.nio.ByteBuffer;
 
 public interface Enemy extends Runnable {
     
@@ -80,11 +81,28 @@ public interface Enemy extends Runnable {
      */
     void shutdown();
     
+    /**
+     * Write the enemy's state to a world checkpoint
+     * 
+     * @param out The checkpoint buffer
+     * @param now The capture time; timers are stored relative to it
+     */
+    void writeCheckpoint(ByteBuffer out, long now);
+    
+    /**
+     * Restore the enemy's state from a world checkpoint
+     * 
+     * @param in The checkpoint buffer
+     * @param now The restore time; saved timers continue from it
+     */
+    void readCheckpoint(ByteBuffer in, long now);
+    
     /**
      * Enum representing different enemy types
      */
     enum EnemyType {
         TRACKER,
-        BOMBER
+        BOMBER,
+        FLOCKER
     }
 } 
\ No newline at end of file
@@ -1,59 +1,97 @@
 import java.awt.Rectangle;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class EnemyManager {
     private final CopyOnWriteArrayList<Enemy> enemies;
+    private final List<Enemy> enemiesView;
     private final ReadWriteLock lock;
     private final Random random;
     private final int screenWidth;
     private final int screenHeight;
-    private ScheduledExecutorService scheduler;
+    private final ThreadManager threadManager;
+    private final Flock flock;
+    private final List<Future<?>> spawnTasks = new ArrayList<>();
+    private volatile TaskGroup tasks;
     private volatile boolean running = true;
     
-    public EnemyManager(int screenWidth, int screenHeight) {
+    public EnemyManager(int screenWidth, int screenHeight, ThreadManager threadManager) {
         this.enemies = new CopyOnWriteArrayList<>();
+        this.enemiesView = Collections.unmodifiableList(enemies);
         this.lock = new ReentrantReadWriteLock();
         this.random = new Random();
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
+        this.threadManager = threadManager;
+        this.flock = new Flock(screenWidth, screenHeight);
         
-        // ایجاد و زمان‌بندی نخ‌های ایجاد دشمن
-        this.scheduler = Executors.newScheduledThreadPool(3);
+        start();
+    }
+    
+    /**
+     * زمان‌بندی ایجاد دشمنان در گروه وظایف دور فعلی بازی
+     */
+    public synchronized void start() {
+        running = true;
+        tasks = threadManager.getSession();
         
         // ایجادکننده دشمن‌های ردگیر
-        scheduler.scheduleAtFixedRate(
+        spawnTasks.add(tasks.scheduleAtFixedRate(
             new TrackerSpawner(), 
             3, 
             GameConfig.getEnemySpawnDelay(), 
             TimeUnit.SECONDS
-        );
+        ));
         
         // ایجادکننده دشمن‌های بمب‌انداز
-        scheduler.scheduleAtFixedRate(
+        spawnTasks.add(tasks.scheduleAtFixedRate(
             new BomberSpawner(), 
             5, 
             GameConfig.getEnemySpawnDelay() * 2, // بمب‌اندازها کمتر ظاهر می‌شوند
             TimeUnit.SECONDS
-        );
+        ));
+        
+        // ایجادکننده دسته دشمنان گروهی (هر بار فقط یک دسته در صفحه)
+        if (GameConfig.enemySwarms) {
+            spawnTasks.add(tasks.scheduleAtFixedRate(
+                new SwarmSpawner(),
+                8,
+                GameConfig.getEnemySpawnDelay() * 4,
+                TimeUnit.SECONDS
+            ));
+        }
         
         // پاکسازی دشمنان غیرفعال
-        scheduler.scheduleAtFixedRate(
+        spawnTasks.add(tasks.scheduleAtFixedRate(
             new CleanupTask(), 
             2, 
             2, 
             TimeUnit.SECONDS
-        );
+        ));
+    }
+    
+    /**
+     * بازنشانی دشمنان برای دور جدید بازی بدون ساخت مدیر جدید
+     */
+    public synchronized void reset() {
+        shutdown();
+        clearEnemies();
+        start();
     }
     
     public void updateEnemies(int playerX, int playerY) {
+        // همه اعضای دسته با هم و به صورت موازی جابه‌جا می‌شوند
+        flock.update(playerX, playerY);
+        
         lock.readLock().lock();
         try {
             for (Enemy enemy : enemies) {
@@ -64,25 +102,21 @@ public class EnemyManager {
         }
     }
     
+    /**
+     * نمای فقط‌خواندنی دشمنان؛ پیمایش آن روی نسخه ثابت CopyOnWriteArrayList
+     * انجام می‌شود و نیازی به کپی در هر فراخوانی نیست
+     */
     public List<Enemy> getEnemies() {
-        List<Enemy> enemiesCopy = new ArrayList<>();
-        lock.readLock().lock();
-        try {
-            enemiesCopy.addAll(enemies);
-        } finally {
-            lock.readLock().unlock();
-        }
-        return enemiesCopy;
+        return enemiesView;
     }
     
     public boolean checkHit(int x, int y, int size) {
         boolean hit = false;
-        Rectangle playerRect = new Rectangle(x, y, size, size);
         
         lock.readLock().lock();
         try {
             for (Enemy enemy : enemies) {
-                if (enemy.isActive() && enemy.checkCollision(playerRect)) {
+                if (enemy.isActive() && enemy.checkCollision(x, y, size)) {
                     enemy.hit();
                     hit = true;
                 }
@@ -118,45 +152,171 @@ public class EnemyManager {
         return count;
     }
     
+    /**
+     * تعداد دشمنان فعال غیر از اعضای دسته (سقف تعداد دشمنان فقط برای این‌ها است)
+     */
+    private int countSoloEnemies() {
+        int count = 0;
+        for (Enemy enemy : enemies) {
+            if (enemy.isActive() && enemy.getType() != Enemy.EnemyType.FLOCKER) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
     public void clearEnemies() {
         lock.writeLock().lock();
         try {
             for (Enemy enemy : enemies) {
-                if (enemy instanceof TrackerEnemy) {
-                    ((TrackerEnemy) enemy).shutdown();
-                } else if (enemy instanceof BomberEnemy) {
-                    ((BomberEnemy) enemy).shutdown();
-                }
+                enemy.shutdown();
             }
             enemies.clear();
+            flock.clear();
         } finally {
             lock.writeLock().unlock();
         }
     }
     
-    public void shutdown() {
+    public synchronized void shutdown() {
         running = false;
         
         // بستن نخ‌های همه دشمنان
         lock.writeLock().lock();
         try {
             for (Enemy enemy : enemies) {
-                if (enemy instanceof TrackerEnemy) {
-                    ((TrackerEnemy) enemy).shutdown();
-                } else if (enemy instanceof BomberEnemy) {
-                    ((BomberEnemy) enemy).shutdown();
-                }
+                enemy.shutdown();
             }
         } finally {
             lock.writeLock().unlock();
         }
         
-        // بستن زمان‌بند
-        scheduler.shutdownNow();
+        // لغو زمان‌بندی‌های ایجاد دشمن (نخ‌های استخر مشترک بسته نمی‌شوند)
+        for (Future<?> task : spawnTasks) {
+            task.cancel(false);
+        }
+        spawnTasks.clear();
+    }
+    
+    /**
+     * ایجاد یک دشمن در لبه صفحه (بدون بررسی سقف تعداد دشمنان)
+     */
+    public Enemy spawnEnemy(Enemy.EnemyType type) {
+        int enemySize = type == Enemy.EnemyType.TRACKER ? GameConfig.TRACKER_SIZE
+            : type == Enemy.EnemyType.BOMBER ? GameConfig.BOMBER_SIZE : GameConfig.FLOCKER_SIZE;
+        
+        int x, y;
+        // ایجاد موقعیت خارج از مرکز صفحه
+        if (random.nextBoolean()) {
+            // ایجاد از لبه افقی
+            x = random.nextInt(screenWidth);
+            y = random.nextBoolean() ? -enemySize : screenHeight;
+        } else {
+            // ایجاد از لبه عمودی
+            x = random.nextBoolean() ? -enemySize : screenWidth;
+            y = random.nextInt(screenHeight);
+        }
+        
+        Enemy enemy = createEnemy(type, x, y);
+        addEnemy(enemy);
+        GameEvents.enemySpawned(type, enemies.size());
+        return enemy;
+    }
+    
+    /**
+     * ایجاد یک دسته دشمن گروهی در نزدیکی یک لبه تصادفی صفحه
+     */
+    public void spawnSwarm(int size) {
+        int margin = GameConfig.FLOCKER_SIZE * 4;
+        float centerX, centerY;
+        if (random.nextBoolean()) {
+            centerX = random.nextInt(screenWidth);
+            centerY = random.nextBoolean() ? margin : screenHeight - margin;
+        } else {
+            centerX = random.nextBoolean() ? margin : screenWidth - margin;
+            centerY = random.nextInt(screenHeight);
+        }
+        
+        // اعضا با پراکندگی تصادفی و سرعت اولیه به سمت مرکز صفحه
+        float spread = (float) Math.sqrt(size) * GameConfig.FLOCK_SEPARATION_RADIUS / 2;
+        float dx = screenWidth / 2f - centerX;
+        float dy = screenHeight / 2f - centerY;
+        float length = Math.max(1, (float) Math.sqrt(dx * dx + dy * dy));
+        List<FlockingEnemy> swarm = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            float x = Math.max(0, Math.min(centerX + (random.nextFloat() * 2 - 1) * spread,
+                screenWidth - GameConfig.FLOCKER_SIZE));
+            float y = Math.max(0, Math.min(centerY + (random.nextFloat() * 2 - 1) * spread,
+                screenHeight - GameConfig.FLOCKER_SIZE));
+            swarm.add(new FlockingEnemy(x, y, dx / length * GameConfig.FLOCK_MIN_SPEED,
+                dy / length * GameConfig.FLOCK_MIN_SPEED));
+        }
+        
+        // افزودن یک‌جای دسته تا CopyOnWriteArrayList فقط یک بار کپی شود
+        lock.writeLock().lock();
+        try {
+            enemies.addAll(swarm);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        flock.addAll(swarm);
+        GameEvents.enemySpawned(Enemy.EnemyType.FLOCKER, enemies.size());
+    }
+    
+    private Enemy createEnemy(Enemy.EnemyType type, int x, int y) {
+        if (type == Enemy.EnemyType.TRACKER) {
+            // حرکت ردگیر در حلقه بازی انجام می‌شود و نخی لازم ندارد
+            return new TrackerEnemy(x, y);
+        }
+        if (type == Enemy.EnemyType.FLOCKER) {
+            // حرکت اعضای دسته در Flock انجام می‌شود
+            return new FlockingEnemy(x, y, 0, 0);
+        }
+        return new BomberEnemy(x, y, tasks);
+    }
+    
+    private void addEnemy(Enemy enemy) {
+        lock.writeLock().lock();
         try {
-            scheduler.awaitTermination(2, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            enemies.add(enemy);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        // زمان‌بندی بمب‌گذاری در گروه وظایف دور فعلی
+        if (enemy instanceof BomberEnemy) {
+            ((BomberEnemy) enemy).start();
+        } else if (enemy instanceof FlockingEnemy) {
+            flock.add((FlockingEnemy) enemy);
+        }
+    }
+    
+    /**
+     * نوشتن دشمنان فعال در checkpoint
+     */
+    public void writeCheckpoint(ByteBuffer out, long now) {
+        int countPosition = out.position();
+        int count = 0;
+        out.putInt(0);
+        for (Enemy enemy : enemies) {
+            if (enemy.isActive()) {
+                out.put((byte) enemy.getType().ordinal());
+                enemy.writeCheckpoint(out, now);
+                count++;
+            }
+        }
+        out.putInt(countPosition, count);
+    }
+    
+    /**
+     * بازگرداندن دشمنان از checkpoint در گروه وظایف دور فعلی
+     */
+    public void readCheckpoint(ByteBuffer in, long now) {
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            Enemy enemy = createEnemy(Enemy.EnemyType.values()[in.get()], 0, 0);
+            enemy.readCheckpoint(in, now);
+            addEnemy(enemy);
         }
     }
     
@@ -167,36 +327,12 @@ public class EnemyManager {
             
             // ایجاد دشمن ردگیر جدید اگر از حد مجاز کمتر است
             int trackerCount = countEnemiesByType(Enemy.EnemyType.TRACKER);
-            int totalEnemies = enemies.size();
+            int totalEnemies = countSoloEnemies();
+            DifficultyProfile profile = GameConfig.getProfile();
             
-            if (trackerCount < GameConfig.getMaxTrackerEnemies() && 
-                totalEnemies < GameConfig.getMaxTotalEnemies()) {
-                
-                int x, y;
-                // ایجاد موقعیت خارج از مرکز صفحه
-                if (random.nextBoolean()) {
-                    // ایجاد از لبه افقی
-                    x = random.nextInt(screenWidth);
-                    y = random.nextBoolean() ? -GameConfig.TRACKER_SIZE : screenHeight;
-                } else {
-                    // ایجاد از لبه عمودی
-                    x = random.nextBoolean() ? -GameConfig.TRACKER_SIZE : screenWidth;
-                    y = random.nextInt(screenHeight);
-                }
-                
-                TrackerEnemy tracker = new TrackerEnemy(x, y);
-                
-                lock.writeLock().lock();
-                try {
-                    enemies.add(tracker);
-                } finally {
-                    lock.writeLock().unlock();
-                }
-                
-                // اجرای نخ دشمن
-                Thread trackerThread = new Thread(tracker);
-                trackerThread.setDaemon(true);
-                trackerThread.start();
+            if (trackerCount < profile.maxTrackerEnemies && 
+                totalEnemies < profile.maxTotalEnemies) {
+                spawnEnemy(Enemy.EnemyType.TRACKER);
             }
         }
     }
@@ -208,36 +344,24 @@ public class EnemyManager {
             
             // ایجاد بمب‌انداز جدید اگر از حد مجاز کمتر است
             int bomberCount = countEnemiesByType(Enemy.EnemyType.BOMBER);
-            int totalEnemies = enemies.size();
+            int totalEnemies = countSoloEnemies();
+            DifficultyProfile profile = GameConfig.getProfile();
             
-            if (bomberCount < GameConfig.getMaxBomberEnemies() &&
-                totalEnemies < GameConfig.getMaxTotalEnemies()) {
-                
-                int x, y;
-                // ایجاد موقعیت خارج از مرکز صفحه
-                if (random.nextBoolean()) {
-                    // ایجاد از لبه افقی
-                    x = random.nextInt(screenWidth);
-                    y = random.nextBoolean() ? -GameConfig.BOMBER_SIZE : screenHeight;
-                } else {
-                    // ایجاد از لبه عمودی
-                    x = random.nextBoolean() ? -GameConfig.BOMBER_SIZE : screenWidth;
-                    y = random.nextInt(screenHeight);
-                }
-                
-                BomberEnemy bomber = new BomberEnemy(x, y);
-                
-                lock.writeLock().lock();
-                try {
-                    enemies.add(bomber);
-                } finally {
-                    lock.writeLock().unlock();
-                }
-                
-                // اجرای نخ دشمن
-                Thread bomberThread = new Thread(bomber);
-                bomberThread.setDaemon(true);
-                bomberThread.start();
+            if (bomberCount < profile.maxBomberEnemies &&
+                totalEnemies < profile.maxTotalEnemies) {
+                spawnEnemy(Enemy.EnemyType.BOMBER);
+            }
+        }
+    }
+    
+    private class SwarmSpawner implements Runnable {
+        @Override
+        public void run() {
+            if (!running) return;
+            
+            // دسته جدید فقط وقتی دسته قبلی از بین رفته باشد
+            if (flock.size() == 0) {
+                spawnSwarm(GameConfig.FLOCK_SWARM_SIZE);
             }
         }
     }
@@ -245,6 +369,8 @@ public class EnemyManager {
     private class CleanupTask implements Runnable {
         @Override
         public void run() {
+            GameEvents.EnemyCleanup event = GameEvents.beginEnemyCleanup();
+            int removed = 0;
             lock.writeLock().lock();
             try {
                 List<Enemy> toRemove = new ArrayList<>();
@@ -255,18 +381,18 @@ public class EnemyManager {
                     }
                 }
                 
-                // حذف دشمنان غیرفعال
+                // حذف دشمنان غیرفعال با یک کپی (دسته‌ها هزاران عضو دارند)
                 for (Enemy enemy : toRemove) {
-                    if (enemy instanceof TrackerEnemy) {
-                        ((TrackerEnemy) enemy).shutdown();
-                    } else if (enemy instanceof BomberEnemy) {
-                        ((BomberEnemy) enemy).shutdown();
-                    }
-                    enemies.remove(enemy);
+                    enemy.shutdown();
+                }
+                if (!toRemove.isEmpty()) {
+                    enemies.removeAll(new HashSet<>(toRemove));
                 }
+                removed = toRemove.size();
             } finally {
                 lock.writeLock().unlock();
             }
+            GameEvents.endEnemyCleanup(event, removed, enemies.size());
         }
     }
 } 
\ No newline at end of file
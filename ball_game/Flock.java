@@ -0,0 +1,295 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * حرکت گروهی همه دشمنان FlockingEnemy در یک گام
+ *
+ * در هر گام یک شاخص سلولی (cell list) با اندازه سلول برابر شعاع همسایگی ساخته می‌شود:
+ * اعضا با مرتب‌سازی شمارشی بر اساس سلول در آرایه‌های موازی کپی می‌شوند تا همسایه‌های
+ * هر عضو فقط در 9 سلول اطرافش و به صورت پیوسته در حافظه پیمایش شوند.
+ * محاسبه نیروها از روی این کپی انجام می‌شود و هر عضو فقط وضعیت خودش را می‌نویسد،
+ * پس بخش‌های آرایه بدون قفل و به صورت موازی در ForkJoinPool به‌روز می‌شوند.
+ */
+public class Flock {
+    private final int maxX;
+    private final int maxY;
+    private final float cellSize;
+    private final int columns;
+    private final int rows;
+    private final float neighborRadiusSq;
+    private final float separationRadiusSq;
+    private final int[] cellStart;
+    
+    // اعضای فعال گروه
+    private FlockingEnemy[] members = new FlockingEnemy[64];
+    private int count;
+    
+    // کپی مرتب‌شده بر اساس سلول برای گام فعلی
+    private FlockingEnemy[] sorted = new FlockingEnemy[64];
+    private float[] px = new float[64];
+    private float[] py = new float[64];
+    private float[] pvx = new float[64];
+    private float[] pvy = new float[64];
+    private int[] cellOf = new int[64];
+    
+    // هدف گام فعلی (مرکز بازیکن)
+    private float targetX;
+    private float targetY;
+    
+    private boolean parallel = true;
+    
+    // آمار آخرین گام
+    private volatile long lastTickNanos;
+    private volatile long lastNeighborChecks;
+    
+    public Flock(int width, int height) {
+        this.maxX = width - GameConfig.FLOCKER_SIZE;
+        this.maxY = height - GameConfig.FLOCKER_SIZE;
+        this.cellSize = GameConfig.FLOCK_NEIGHBOR_RADIUS;
+        this.columns = (int) Math.ceil(width / cellSize);
+        this.rows = (int) Math.ceil(height / cellSize);
+        this.neighborRadiusSq = GameConfig.FLOCK_NEIGHBOR_RADIUS * GameConfig.FLOCK_NEIGHBOR_RADIUS;
+        this.separationRadiusSq = GameConfig.FLOCK_SEPARATION_RADIUS * GameConfig.FLOCK_SEPARATION_RADIUS;
+        this.cellStart = new int[columns * rows + 1];
+    }
+    
+    public synchronized void add(FlockingEnemy enemy) {
+        if (count == members.length) {
+            members = Arrays.copyOf(members, count * 2);
+        }
+        members[count++] = enemy;
+    }
+    
+    public synchronized void addAll(List<FlockingEnemy> enemies) {
+        for (FlockingEnemy enemy : enemies) {
+            add(enemy);
+        }
+    }
+    
+    public synchronized void clear() {
+        Arrays.fill(members, 0, count, null);
+        Arrays.fill(sorted, null);
+        count = 0;
+    }
+    
+    public synchronized int size() {
+        return count;
+    }
+    
+    /**
+     * اجرای موازی بخش‌ها (برای مقایسه در FlockBench می‌توان آن را خاموش کرد)
+     */
+    public synchronized void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+    
+    /**
+     * یک گام حرکت همه اعضا به سمت بازیکن
+     */
+    public synchronized void update(int playerX, int playerY) {
+        long start = System.nanoTime();
+        removeInactive();
+        if (count == 0) {
+            lastTickNanos = 0;
+            lastNeighborChecks = 0;
+            return;
+        }
+        
+        targetX = playerX + (GameConfig.PLAYER_SIZE - GameConfig.FLOCKER_SIZE) / 2f;
+        targetY = playerY + (GameConfig.PLAYER_SIZE - GameConfig.FLOCKER_SIZE) / 2f;
+        buildIndex();
+        
+        if (parallel && count > GameConfig.FLOCK_PARALLEL_CHUNK) {
+            lastNeighborChecks = ForkJoinPool.commonPool().invoke(new SteerTask(0, count));
+        } else {
+            lastNeighborChecks = steer(0, count);
+        }
+        lastTickNanos = System.nanoTime() - start;
+    }
+    
+    private void removeInactive() {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (members[i].isActive()) {
+                members[kept++] = members[i];
+            }
+        }
+        Arrays.fill(members, kept, count, null);
+        count = kept;
+    }
+    
+    /**
+     * ساخت شاخص سلولی با مرتب‌سازی شمارشی اعضا بر اساس سلول
+     */
+    private void buildIndex() {
+        if (sorted.length < count) {
+            int length = members.length;
+            sorted = new FlockingEnemy[length];
+            px = new float[length];
+            py = new float[length];
+            pvx = new float[length];
+            pvy = new float[length];
+            cellOf = new int[length];
+        }
+        
+        Arrays.fill(cellStart, 0);
+        for (int i = 0; i < count; i++) {
+            FlockingEnemy enemy = members[i];
+            int cell = cellIndex(enemy.fx, enemy.fy);
+            cellOf[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0; c < columns * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        
+        // قرار دادن اعضا در جایگاه سلولشان؛ cellStart موقتاً به انتهای هر سلول جابه‌جا می‌شود
+        for (int i = 0; i < count; i++) {
+            FlockingEnemy enemy = members[i];
+            int slot = cellStart[cellOf[i]]++;
+            sorted[slot] = enemy;
+            px[slot] = enemy.fx;
+            py[slot] = enemy.fy;
+            pvx[slot] = enemy.vx;
+            pvy[slot] = enemy.vy;
+        }
+        for (int c = columns * rows; c > 0; c--) {
+            cellStart[c] = cellStart[c - 1];
+        }
+        cellStart[0] = 0;
+        Arrays.fill(sorted, count, sorted.length, null);
+    }
+    
+    private int cellIndex(float x, float y) {
+        int column = Math.max(0, Math.min((int) (x / cellSize), columns - 1));
+        int row = Math.max(0, Math.min((int) (y / cellSize), rows - 1));
+        return row * columns + column;
+    }
+    
+    /**
+     * محاسبه سرعت جدید و جابه‌جایی اعضای مرتب‌شده در بازه [from, to)
+     *
+     * @return تعداد همسایه‌های بررسی‌شده
+     */
+    private long steer(int from, int to) {
+        long checks = 0;
+        int maxNeighbors = GameConfig.FLOCK_MAX_NEIGHBORS;
+        for (int i = from; i < to; i++) {
+            float x = px[i];
+            float y = py[i];
+            int column = Math.max(0, Math.min((int) (x / cellSize), columns - 1));
+            int row = Math.max(0, Math.min((int) (y / cellSize), rows - 1));
+            
+            int neighbors = 0;
+            float sumX = 0, sumY = 0, sumVx = 0, sumVy = 0, separationX = 0, separationY = 0;
+            search:
+            for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+                for (int c = Math.max(0, column - 1); c <= Math.min(columns - 1, column + 1); c++) {
+                    int cell = r * columns + c;
+                    for (int j = cellStart[cell]; j < cellStart[cell + 1]; j++) {
+                        if (j == i) {
+                            continue;
+                        }
+                        checks++;
+                        float dx = x - px[j];
+                        float dy = y - py[j];
+                        float distanceSq = dx * dx + dy * dy;
+                        if (distanceSq >= neighborRadiusSq) {
+                            continue;
+                        }
+                        sumX += px[j];
+                        sumY += py[j];
+                        sumVx += pvx[j];
+                        sumVy += pvy[j];
+                        if (distanceSq < separationRadiusSq) {
+                            if (distanceSq == 0) {
+                                // اعضای هم‌مکان با ترتیبشان از هم جدا می‌شوند
+                                separationX += i < j ? 1 : -1;
+                            } else {
+                                separationX += dx / distanceSq;
+                                separationY += dy / distanceSq;
+                            }
+                        }
+                        if (++neighbors == maxNeighbors) {
+                            break search;
+                        }
+                    }
+                }
+            }
+            
+            float vx = pvx[i];
+            float vy = pvy[i];
+            if (neighbors > 0) {
+                float inverse = 1f / neighbors;
+                vx += (sumVx * inverse - pvx[i]) * GameConfig.FLOCK_ALIGNMENT_WEIGHT
+                    + (sumX * inverse - x) * GameConfig.FLOCK_COHESION_WEIGHT
+                    + separationX * GameConfig.FLOCK_SEPARATION_WEIGHT;
+                vy += (sumVy * inverse - pvy[i]) * GameConfig.FLOCK_ALIGNMENT_WEIGHT
+                    + (sumY * inverse - y) * GameConfig.FLOCK_COHESION_WEIGHT
+                    + separationY * GameConfig.FLOCK_SEPARATION_WEIGHT;
+            }
+            
+            // کشش به سمت بازیکن؛ نزدیک بازیکن کم می‌شود تا دسته روی یک نقطه فشرده نشود
+            float toTargetX = targetX - x;
+            float toTargetY = targetY - y;
+            float distance = (float) Math.sqrt(toTargetX * toTargetX + toTargetY * toTargetY);
+            if (distance > 1) {
+                float seek = GameConfig.FLOCK_SEEK_WEIGHT * Math.min(1, distance / GameConfig.FLOCK_ARRIVE_RADIUS);
+                vx += toTargetX / distance * seek;
+                vy += toTargetY / distance * seek;
+            }
+            
+            // محدود کردن سرعت بین کمینه و بیشینه
+            float speed = (float) Math.sqrt(vx * vx + vy * vy);
+            if (speed > GameConfig.FLOCK_MAX_SPEED) {
+                float scale = GameConfig.FLOCK_MAX_SPEED / speed;
+                vx *= scale;
+                vy *= scale;
+            } else if (speed < GameConfig.FLOCK_MIN_SPEED && speed > 0) {
+                float scale = GameConfig.FLOCK_MIN_SPEED / speed;
+                vx *= scale;
+                vy *= scale;
+            }
+            
+            sorted[i].integrate(vx, vy, maxX, maxY);
+        }
+        return checks;
+    }
+    
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+    
+    public long getLastNeighborChecks() {
+        return lastNeighborChecks;
+    }
+    
+    /**
+     * تقسیم بازگشتی اعضای مرتب‌شده به بخش‌هایی به اندازه FLOCK_PARALLEL_CHUNK
+     */
+    private class SteerTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+        
+        SteerTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected Long compute() {
+            if (to - from <= GameConfig.FLOCK_PARALLEL_CHUNK) {
+                return steer(from, to);
+            }
+            
+            int mid = (from + to) >>> 1;
+            SteerTask left = new SteerTask(from, mid);
+            left.fork();
+            long right = new SteerTask(mid, to).compute();
+            return left.join() + right;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+import java.util.Random;
+
+/**
+ * Measures Flock step time for swarms of thousands, sequential and in parallel chunks.
+ *
+ * Usage: java FlockBench [ticks=600]
+ * The player target circles the screen so the swarm keeps turning; the budget is one 60 UPS tick.
+ */
+public class FlockBench {
+    private static final int WARMUP_TICKS = 300;
+    private static final int[] SWARM_SIZES = {1000, 2000, 4000, 8000};
+    
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 600;
+        
+        System.out.printf("Budget per tick: %.2f ms, %d cores%n", 1000.0 / 60,
+            Runtime.getRuntime().availableProcessors());
+        System.out.println("  boids   sequential ms   max ms   parallel ms   max ms   checks/boid");
+        for (int size : SWARM_SIZES) {
+            double[] sequential = run(size, false, ticks);
+            double[] parallel = run(size, true, ticks);
+            System.out.printf("%7d %15.3f %8.3f %13.3f %8.3f %13.1f%n", size,
+                sequential[0], sequential[1], parallel[0], parallel[1], parallel[2]);
+        }
+    }
+    
+    /**
+     * @return average tick milliseconds, worst tick milliseconds and neighbor checks per boid
+     */
+    private static double[] run(int size, boolean parallel, int ticks) {
+        Random random = new Random(size);
+        Flock flock = new Flock(GameConfig.WIDTH, GameConfig.HEIGHT);
+        flock.setParallel(parallel);
+        for (int i = 0; i < size; i++) {
+            flock.add(new FlockingEnemy(random.nextInt(GameConfig.WIDTH - GameConfig.FLOCKER_SIZE),
+                random.nextInt(GameConfig.HEIGHT - GameConfig.FLOCKER_SIZE),
+                random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1));
+        }
+        
+        long total = 0;
+        long max = 0;
+        long checks = 0;
+        for (int i = -WARMUP_TICKS; i < ticks; i++) {
+            double angle = i * 0.01;
+            flock.update(GameConfig.WIDTH / 2 + (int) (Math.cos(angle) * 250),
+                GameConfig.HEIGHT / 2 + (int) (Math.sin(angle) * 200));
+            if (i >= 0) {
+                total += flock.getLastTickNanos();
+                max = Math.max(max, flock.getLastTickNanos());
+                checks += flock.getLastNeighborChecks();
+            }
+        }
+        return new double[] {total / 1e6 / ticks, max / 1e6, (double) checks / ticks / size};
+    }
+}
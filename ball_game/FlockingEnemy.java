@@ -0,0 +1,138 @@
+import java.awt.Rectangle;
+import java.nio.ByteBuffer;
+
+/**
+ * دشمن گروهی؛ هر عضو با جدایی، هم‌راستایی و پیوستگی نسبت به همسایه‌هایش حرکت می‌کند
+ *
+ * حرکت همه اعضا یک‌جا در Flock انجام می‌شود و update هر دشمن کاری نمی‌کند.
+ */
+public class FlockingEnemy implements Enemy {
+    private volatile int x, y;
+    private final int size;
+    private volatile boolean active;
+    private volatile int health;
+    
+    // وضعیت دقیق حرکت (فقط در گام Flock خوانده و نوشته می‌شود)
+    float fx, fy;
+    float vx, vy;
+    
+    public FlockingEnemy(float x, float y, float vx, float vy) {
+        this.size = GameConfig.FLOCKER_SIZE;
+        this.active = true;
+        this.health = 1;
+        this.fx = x;
+        this.fy = y;
+        this.vx = vx;
+        this.vy = vy;
+        this.x = (int) x;
+        this.y = (int) y;
+    }
+    
+    @Override
+    public void run() {
+        // دشمن گروهی نخ جداگانه ندارد؛ Flock همه اعضا را با هم جابه‌جا می‌کند
+    }
+    
+    @Override
+    public void update(int playerX, int playerY) {
+        // حرکت در Flock.update انجام می‌شود
+    }
+    
+    /**
+     * اعمال سرعت جدید و جابه‌جایی؛ در برخورد با لبه صفحه سرعت آن محور برعکس می‌شود
+     */
+    void integrate(float newVx, float newVy, int maxX, int maxY) {
+        vx = newVx;
+        vy = newVy;
+        fx += vx;
+        fy += vy;
+        if (fx < 0 || fx > maxX) {
+            fx = Math.max(0, Math.min(fx, maxX));
+            vx = -vx;
+        }
+        if (fy < 0 || fy > maxY) {
+            fy = Math.max(0, Math.min(fy, maxY));
+            vy = -vy;
+        }
+        x = (int) fx;
+        y = (int) fy;
+    }
+    
+    @Override
+    public boolean checkCollision(int objX, int objY, int objSize) {
+        return x < objX + objSize &&
+               x + size > objX &&
+               y < objY + objSize &&
+               y + size > objY;
+    }
+    
+    @Override
+    public boolean checkCollision(Rectangle rect) {
+        return x < rect.x + rect.width && x + size > rect.x &&
+               y < rect.y + rect.height && y + size > rect.y;
+    }
+    
+    @Override
+    public Rectangle getBounds() {
+        return new Rectangle(x, y, size, size);
+    }
+    
+    @Override
+    public void hit() {
+        health--;
+        if (health <= 0) {
+            active = false;
+        }
+    }
+    
+    @Override
+    public boolean isActive() {
+        return active;
+    }
+    
+    @Override
+    public void shutdown() {
+        active = false;
+    }
+    
+    @Override
+    public void writeCheckpoint(ByteBuffer out, long now) {
+        out.putFloat(fx);
+        out.putFloat(fy);
+        out.putFloat(vx);
+        out.putFloat(vy);
+        out.putInt(health);
+    }
+    
+    @Override
+    public void readCheckpoint(ByteBuffer in, long now) {
+        fx = in.getFloat();
+        fy = in.getFloat();
+        vx = in.getFloat();
+        vy = in.getFloat();
+        health = in.getInt();
+        x = (int) fx;
+        y = (int) fy;
+        active = health > 0;
+    }
+    
+    @Override
+    public int getX() {
+        return x;
+    }
+    
+    @Override
+    public int getY() {
+        return y;
+    }
+    
+    @Override
+    public int getSize() {
+        return size;
+    }
+    
+    @Override
+    public EnemyType getType() {
+        return EnemyType.FLOCKER;
+    }
+}
@@ -0,0 +1,350 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+/**
+ * ضبط بازی به دنباله PNG یا ویدیوی AVI/MJPEG بدون متوقف کردن نخ رسم
+ *
+ * هنگام ضبط، فریمی که نوبت ضبطش رسیده به جای بافر نمایش در یک تصویر از استخر
+ * رسم و سپس با یک کپی روی صفحه نمایش داده می‌شود. تصویر به صف محدود رمزگذار
+ * داده می‌شود و نخ رمزگذار پس از نوشتن آن را به استخر برمی‌گرداند. اگر رمزگذار
+ * عقب بماند و تصویر آزادی نباشد، فریم رها و شمرده می‌شود؛ نخ رسم هیچ‌وقت منتظر
+ * نمی‌ماند. در AVI فریم‌های جاافتاده با تکرار فریم قبلی پر می‌شوند تا زمان‌بندی
+ * ویدیو درست بماند.
+ */
+public class FrameCapture {
+    public enum Format {
+        PNG, MJPEG
+    }
+    
+    /**
+     * یک تصویر از استخر همراه با شماره فریم (نوبت زمانی) آن
+     */
+    public static class Frame {
+        final BufferedImage image;
+        Graphics2D graphics;
+        long sequence;
+        
+        Frame(int width, int height) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        
+        public Graphics getGraphics() {
+            return graphics;
+        }
+    }
+    
+    private static final TextCache.Style OVERLAY_TEXT =
+        TextCache.style(new Font("Arial", Font.BOLD, 12), new Color(255, 60, 60));
+    
+    private final int width;
+    private final int height;
+    private final long frameIntervalNanos;
+    private final BlockingQueue<Frame> freeFrames;
+    private final BlockingQueue<Frame> pendingFrames;
+    private final Frame endOfCapture;
+    
+    // درخواست شروع/پایان از نخ ورودی؛ در نخ رسم اعمال می‌شود
+    private volatile boolean toggleRequested = false;
+    
+    // وضعیت ضبط فعلی (فقط در نخ رسم نوشته می‌شود)
+    private volatile boolean recording = false;
+    private long startNanos;
+    private long lastSequence;
+    private volatile Thread encoder;
+    
+    // آمار ضبط فعلی
+    private volatile long capturedFrames;
+    private volatile long droppedFrames;
+    private volatile long encodedFrames;
+    private volatile String lastResult = null;
+    
+    public FrameCapture(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.frameIntervalNanos = 1_000_000_000L / GameConfig.CAPTURE_FPS;
+        this.freeFrames = new ArrayBlockingQueue<>(GameConfig.CAPTURE_POOL_SIZE);
+        // یک جای اضافه برای نشانه پایان ضبط
+        this.pendingFrames = new ArrayBlockingQueue<>(GameConfig.CAPTURE_POOL_SIZE + 1);
+        this.endOfCapture = new Frame(1, 1);
+        
+        // بستن درست فایل AVI اگر برنامه هنگام ضبط بسته شود
+        Runtime.getRuntime().addShutdownHook(new Thread(this::finishOnExit, "frame-capture-exit"));
+    }
+    
+    /**
+     * درخواست شروع یا پایان ضبط (از هر نخی)؛ در فریم بعدی اعمال می‌شود
+     */
+    public void toggle() {
+        toggleRequested = true;
+    }
+    
+    /**
+     * شروع ضبط در پوشه ضبط‌ها؛ نوشتن در نخ رمزگذار جدید انجام می‌شود
+     */
+    private void start(Format format) {
+        if (encoder != null && encoder.isAlive()) {
+            // ضبط قبلی هنوز در حال نوشتن است
+            return;
+        }
+        if (encoder == null) {
+            // تصاویر استخر با اولین ضبط ساخته می‌شوند و برای ضبط‌های بعدی می‌مانند
+            for (int i = 0; i < GameConfig.CAPTURE_POOL_SIZE; i++) {
+                freeFrames.offer(new Frame(width, height));
+            }
+        }
+        String name = "capture-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        Path target = Paths.get(GameConfig.CAPTURE_DIRECTORY, format == Format.PNG ? name : name + ".avi");
+        
+        capturedFrames = 0;
+        droppedFrames = 0;
+        encodedFrames = 0;
+        lastResult = null;
+        startNanos = System.nanoTime();
+        lastSequence = -1;
+        
+        encoder = new Thread(() -> encode(format, target), "frame-capture-encoder");
+        encoder.setDaemon(true);
+        encoder.setPriority(Thread.MIN_PRIORITY);
+        encoder.start();
+        recording = true;
+    }
+    
+    /**
+     * پایان ضبط؛ رمزگذار فریم‌های باقی‌مانده را می‌نویسد و فایل را می‌بندد
+     */
+    private void stop() {
+        recording = false;
+        pendingFrames.offer(endOfCapture);
+    }
+    
+    private void finishOnExit() {
+        Thread running = encoder;
+        if (recording) {
+            stop();
+        }
+        if (running != null) {
+            try {
+                running.join(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    public boolean isRecording() {
+        return recording;
+    }
+    
+    /**
+     * گرفتن تصویر برای رسم فریم فعلی
+     *
+     * @return null اگر ضبط خاموش است، نوبت فریم بعدی نرسیده یا تصویر آزادی نیست (فریم رها می‌شود)
+     */
+    public Frame beginFrame() {
+        if (toggleRequested) {
+            toggleRequested = false;
+            if (recording) {
+                stop();
+            } else {
+                start(GameConfig.captureFormat);
+            }
+        }
+        if (!recording) {
+            return null;
+        }
+        long sequence = (System.nanoTime() - startNanos) / frameIntervalNanos;
+        if (sequence <= lastSequence) {
+            return null;
+        }
+        lastSequence = sequence;
+        
+        Frame frame = freeFrames.poll();
+        if (frame == null) {
+            droppedFrames++;
+            return null;
+        }
+        frame.sequence = sequence;
+        frame.graphics = frame.image.createGraphics();
+        return frame;
+    }
+    
+    /**
+     * نمایش فریم رسم‌شده روی صفحه و سپردن آن به رمزگذار (بدون انتظار)
+     */
+    public void endFrame(Frame frame, Graphics screen) {
+        frame.graphics.dispose();
+        frame.graphics = null;
+        screen.drawImage(frame.image, 0, 0, null);
+        if (pendingFrames.offer(frame)) {
+            capturedFrames++;
+        } else {
+            droppedFrames++;
+            freeFrames.offer(frame);
+        }
+    }
+    
+    /**
+     * نمایش وضعیت ضبط (فقط روی صفحه و نه در فایل ضبط‌شده)
+     */
+    public void drawOverlay(Graphics g) {
+        if (!recording) {
+            return;
+        }
+        int y = height - 12;
+        int x = 10;
+        g.setColor(Color.RED);
+        g.fillOval(x, y - 10, 10, 10);
+        x += 16;
+        OVERLAY_TEXT.draw(g, "REC ", x, y);
+        x += OVERLAY_TEXT.stringWidth("REC ");
+        x = OVERLAY_TEXT.drawNumber(g, capturedFrames, x, y);
+        OVERLAY_TEXT.draw(g, " frames | dropped ", x, y);
+        x += OVERLAY_TEXT.stringWidth(" frames | dropped ");
+        x = OVERLAY_TEXT.drawNumber(g, droppedFrames, x, y);
+        OVERLAY_TEXT.draw(g, " | queue ", x, y);
+        x += OVERLAY_TEXT.stringWidth(" | queue ");
+        OVERLAY_TEXT.drawNumber(g, pendingFrames.size(), x, y);
+    }
+    
+    public long getCapturedFrames() {
+        return capturedFrames;
+    }
+    
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+    
+    public long getEncodedFrames() {
+        return encodedFrames;
+    }
+    
+    /**
+     * خلاصه آخرین ضبط تمام‌شده (null تا پایان نوشتن)
+     */
+    public String getLastResult() {
+        return lastResult;
+    }
+    
+    /**
+     * حلقه نخ رمزگذار تا رسیدن نشانه پایان ضبط
+     */
+    private void encode(Format format, Path target) {
+        AviWriter avi = null;
+        ImageWriter jpegWriter = null;
+        ImageWriteParam jpegParam = null;
+        ByteArrayOutputStream jpegBytes = new ByteArrayOutputStream(256 * 1024);
+        long lastWritten = -1;
+        String error = null;
+        try {
+            if (format == Format.PNG) {
+                Files.createDirectories(target);
+            } else {
+                Files.createDirectories(target.getParent());
+                avi = new AviWriter(target, width, height, GameConfig.CAPTURE_FPS);
+                jpegWriter = ImageIO.getImageWritersByFormatName("jpeg").next();
+                jpegParam = jpegWriter.getDefaultWriteParam();
+                jpegParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                jpegParam.setCompressionQuality(GameConfig.CAPTURE_JPEG_QUALITY);
+            }
+            
+            Frame frame;
+            while ((frame = pendingFrames.take()) != endOfCapture) {
+                try {
+                    if (format == Format.PNG) {
+                        writePng(frame, target);
+                    } else {
+                        // فریم‌های جاافتاده یا رسم‌نشده (مثلاً منوی ثابت) تکرار فریم قبلی‌اند
+                        for (long s = lastWritten + 1; s < frame.sequence && lastWritten >= 0; s++) {
+                            avi.repeatFrame();
+                        }
+                        jpegBytes.reset();
+                        try (ImageOutputStream out = new MemoryCacheImageOutputStream(jpegBytes)) {
+                            jpegWriter.setOutput(out);
+                            jpegWriter.write(null, new IIOImage(frame.image, null, null), jpegParam);
+                        }
+                        avi.writeFrame(jpegBytes.toByteArray(), jpegBytes.size());
+                    }
+                    lastWritten = frame.sequence;
+                    encodedFrames++;
+                } finally {
+                    freeFrames.offer(frame);
+                }
+            }
+        } catch (IOException e) {
+            error = e.getMessage();
+            // بقیه فریم‌ها فقط به استخر برمی‌گردند تا ضبط بعدی ممکن باشد
+            drainAfterError();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (jpegWriter != null) {
+                jpegWriter.dispose();
+            }
+            if (avi != null) {
+                try {
+                    avi.close();
+                } catch (IOException e) {
+                    error = e.getMessage();
+                }
+            }
+        }
+        
+        lastResult = error != null
+            ? "Capture failed: " + error
+            : "Capture saved to " + target + " (" + encodedFrames + " frames, " + droppedFrames + " dropped)";
+        System.out.println(lastResult);
+    }
+    
+    private void writePng(Frame frame, Path directory) throws IOException {
+        Path file = directory.resolve(String.format("frame-%06d.png", frame.sequence));
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("png");
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                // کمترین فشرده‌سازی: PNG برای عقب نماندن از بازی سریع نوشته می‌شود
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(1.0f);
+            }
+            writer.write(null, new IIOImage(frame.image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+    
+    private void drainAfterError() {
+        while (true) {
+            Frame frame;
+            try {
+                frame = pendingFrames.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (frame == endOfCapture) {
+                return;
+            }
+            freeFrames.offer(frame);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/**
+ * حالت تمام‌صفحه انحصاری با استراتژی بافر ورق‌زنی (page flipping)
+ *
+ * در حالت پنجره‌ای هر show() یک کپی (blit) از بافر پشتی روی پنجره است؛ در تمام‌صفحه
+ * انحصاری کارت گرافیک فقط اشاره‌گر بافر نمایش را عوض می‌کند که هم ارزان‌تر است و هم
+ * با همگام‌سازی عمودی پارگی تصویر ندارد.
+ *
+ * اگر دستگاه تمام‌صفحه یا ورق‌زنی را پشتیبانی نکند، enter() مقدار null برمی‌گرداند
+ * و بازی پنجره‌ای می‌ماند؛ createBufferStrategy() هم در صورت شکست ورق‌زنی به بهترین
+ * استراتژی موجود (کپی شتاب‌دار یا نرم‌افزاری) برمی‌گردد.
+ */
+public class FullScreenDisplay {
+    private final GraphicsDevice device;
+    private final Window window;
+    private final DisplayMode mode;
+    private final int scale;
+    private final int offsetX;
+    private final int offsetY;
+    
+    private FullScreenDisplay(GraphicsDevice device, Window window, DisplayMode mode) {
+        this.device = device;
+        this.window = window;
+        this.mode = mode;
+        // بزرگ‌ترین بزرگ‌نمایی صحیح که جا شود؛ باقی صفحه حاشیه سیاه است
+        this.scale = Math.max(1, Math.min(mode.getWidth() / GameConfig.WIDTH, mode.getHeight() / GameConfig.HEIGHT));
+        this.offsetX = (mode.getWidth() - GameConfig.WIDTH * scale) / 2;
+        this.offsetY = (mode.getHeight() - GameConfig.HEIGHT * scale) / 2;
+    }
+    
+    /**
+     * رفتن به تمام‌صفحه انحصاری پیش از نمایش پنجره
+     * @param frame پنجره‌ای که هنوز نمایش داده نشده است
+     * @param targetScale بزرگ‌نمایی دلخواه (حالت نمایش کوچک‌ترین حالت حداقل این اندازه است)
+     * @return نمایش تمام‌صفحه یا null اگر پشتیبانی نشود (بازی پنجره‌ای می‌ماند)
+     */
+    public static FullScreenDisplay enter(Frame frame, int targetScale) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        GraphicsDevice device = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+        if (!device.isFullScreenSupported()) {
+            // setFullScreenWindow در این حالت فقط پنجره را بزرگ می‌کند و ورق‌زنی ندارد
+            System.out.println("Full-screen exclusive mode not supported; staying windowed");
+            return null;
+        }
+        
+        DisplayMode current = device.getDisplayMode();
+        DisplayMode chosen = device.isDisplayChangeSupported()
+            ? chooseDisplayMode(device.getDisplayModes(), current,
+                GameConfig.WIDTH * targetScale, GameConfig.HEIGHT * targetScale)
+            : current;
+        if (chosen.getWidth() < GameConfig.WIDTH || chosen.getHeight() < GameConfig.HEIGHT) {
+            System.out.println("Display smaller than the game; staying windowed");
+            return null;
+        }
+        
+        frame.setUndecorated(true);
+        frame.setIgnoreRepaint(true);
+        frame.setResizable(false);
+        device.setFullScreenWindow(frame);
+        if (chosen != current) {
+            try {
+                device.setDisplayMode(chosen);
+            } catch (IllegalArgumentException | UnsupportedOperationException e) {
+                // تغییر حالت نمایش ناموفق؛ در حالت فعلی صفحه می‌مانیم
+                System.out.println("Display mode change failed: " + e.getMessage());
+                chosen = current;
+            }
+        }
+        FullScreenDisplay display = new FullScreenDisplay(device, frame, chosen);
+        System.out.printf("Full screen %dx%d @ %d Hz, game scale %d%n",
+            chosen.getWidth(), chosen.getHeight(), chosen.getRefreshRate(), display.scale);
+        return display;
+    }
+    
+    /**
+     * انتخاب کوچک‌ترین حالت نمایش که حداقل به اندازه هدف است
+     *
+     * فقط عمق رنگ فعلی پذیرفته می‌شود؛ در اندازه برابر، نرخ تازه‌سازی حالت فعلی و
+     * سپس بالاترین نرخ ترجیح داده می‌شود. اگر حالتی بزرگ‌تر از هدف نباشد حالت فعلی می‌ماند.
+     */
+    static DisplayMode chooseDisplayMode(DisplayMode[] modes, DisplayMode current, int width, int height) {
+        DisplayMode best = null;
+        for (DisplayMode candidate : modes) {
+            if (candidate.getWidth() < width || candidate.getHeight() < height) {
+                continue;
+            }
+            if (!sameBitDepth(candidate, current)) {
+                continue;
+            }
+            if (best == null || isBetter(candidate, best, current)) {
+                best = candidate;
+            }
+        }
+        if (best == null) {
+            return current;
+        }
+        // حالت فعلی با همان اندازه از تغییر حالت بی‌مورد جلوگیری می‌کند
+        if (best.getWidth() == current.getWidth() && best.getHeight() == current.getHeight()
+                && best.getRefreshRate() == current.getRefreshRate()) {
+            return current;
+        }
+        return best;
+    }
+    
+    private static boolean sameBitDepth(DisplayMode candidate, DisplayMode current) {
+        return candidate.getBitDepth() == current.getBitDepth()
+            || candidate.getBitDepth() == DisplayMode.BIT_DEPTH_MULTI
+            || current.getBitDepth() == DisplayMode.BIT_DEPTH_MULTI;
+    }
+    
+    private static boolean isBetter(DisplayMode candidate, DisplayMode best, DisplayMode current) {
+        long candidateArea = (long) candidate.getWidth() * candidate.getHeight();
+        long bestArea = (long) best.getWidth() * best.getHeight();
+        if (candidateArea != bestArea) {
+            return candidateArea < bestArea;
+        }
+        boolean candidateMatches = candidate.getRefreshRate() == current.getRefreshRate();
+        boolean bestMatches = best.getRefreshRate() == current.getRefreshRate();
+        if (candidateMatches != bestMatches) {
+            return candidateMatches;
+        }
+        return candidate.getRefreshRate() > best.getRefreshRate();
+    }
+    
+    /**
+     * ساخت استراتژی بافر با ورق‌زنی و در صورت شکست بهترین استراتژی موجود
+     *
+     * محتوای بافر پشتی پس از ورق‌زنی تعریف‌نشده است؛ هر فریم باید کل صفحه (یا دست‌کم
+     * حاشیه‌ها و ناحیه بازی) را دوباره رسم کند.
+     */
+    public static BufferStrategy createBufferStrategy(Canvas canvas, int buffers) {
+        BufferCapabilities flipping = new BufferCapabilities(new ImageCapabilities(true),
+            new ImageCapabilities(true), BufferCapabilities.FlipContents.UNDEFINED);
+        try {
+            canvas.createBufferStrategy(buffers, flipping);
+        } catch (AWTException e) {
+            // createBufferStrategy(int) خودش ورق‌زنی، کپی شتاب‌دار و کپی نرم‌افزاری را امتحان می‌کند
+            canvas.createBufferStrategy(buffers);
+        }
+        BufferStrategy strategy = canvas.getBufferStrategy();
+        System.out.println("Buffer strategy: " + buffers + " buffers, "
+            + (strategy.getCapabilities().isPageFlipping() ? "page flipping" : "blit"));
+        return strategy;
+    }
+    
+    /**
+     * پاک کردن حاشیه‌های اطراف ناحیه بازی و انتقال مبدأ به گوشه ناحیه بازی
+     */
+    public void beginFrame(Graphics g) {
+        if (offsetX > 0 || offsetY > 0) {
+            int gameWidth = GameConfig.WIDTH * scale;
+            int gameHeight = GameConfig.HEIGHT * scale;
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, mode.getWidth(), offsetY);
+            g.fillRect(0, offsetY + gameHeight, mode.getWidth(), mode.getHeight() - offsetY - gameHeight);
+            g.fillRect(0, offsetY, offsetX, gameHeight);
+            g.fillRect(offsetX + gameWidth, offsetY, mode.getWidth() - offsetX - gameWidth, gameHeight);
+        }
+        g.translate(offsetX, offsetY);
+    }
+    
+    /**
+     * خروج از تمام‌صفحه؛ حالت نمایش اصلی هم بازگردانده می‌شود
+     */
+    public void exit() {
+        if (device.getFullScreenWindow() == window) {
+            device.setFullScreenWindow(null);
+        }
+    }
+    
+    public int getWidth() {
+        return mode.getWidth();
+    }
+    
+    public int getHeight() {
+        return mode.getHeight();
+    }
+    
+    /**
+     * بزرگ‌نمایی صحیح ناحیه بازی روی صفحه
+     */
+    public int getScale() {
+        return scale;
+    }
+}
@@ -17,13 +17,14 @@ public class Game extends JFrame {
     // منابع و مدیریت نخ‌ها
     private Canvas gameCanvas;
     private BufferStrategy bufferStrategy;
+    private FullScreenDisplay fullScreenDisplay; // null در حالت پنجره‌ای
     private final Random random = new Random();
-    private ExecutorService ballThreadPool;
-    private ScheduledExecutorService scheduledExecutor;
+    private final ThreadManager threadManager = new ThreadManager();
     
     // مدیریت منوها
     private GameMenu gameMenu;
     private boolean showingMenu = true;
+    private boolean menuWasShowing = false;
     
     // عناصر بازی
     private Player player;
@@ -61,10 +62,10 @@ public class Game extends JFrame {
     private int selectedMenuIndex = 0; // انتخاب فعال در منو
 
     // تصاویر
-    private Image imgPlayer;
-    private Image imgFood;
-    private Image imgEnemy;
-    private Image imgPowerUp;
+    private volatile Image imgPlayer;
+    private volatile Image imgFood;
+    private volatile Image imgEnemy;
+    private volatile Image imgPowerUp;
     
     /**
      * سازنده اصلی بازی
@@ -83,6 +84,16 @@ public class Game extends JFrame {
         gameCanvas.setFocusable(false);
         add(gameCanvas);
         
+        // تمام‌صفحه انحصاری؛ اگر پشتیبانی نشود پنجره‌ای می‌مانیم
+        if (GameConfig.fullScreen) {
+            fullScreenDisplay = FullScreenDisplay.enter(this, 1);
+            if (fullScreenDisplay != null) {
+                gameCanvas.setIgnoreRepaint(true);
+                gameCanvas.setPreferredSize(new Dimension(fullScreenDisplay.getWidth(), fullScreenDisplay.getHeight()));
+                validate();
+            }
+        }
+        
         // ایجاد منوی بازی
         gameMenu = new GameMenu(this, GameConfig.WIDTH, GameConfig.HEIGHT);
         
@@ -96,9 +107,13 @@ public class Game extends JFrame {
         setFocusable(true);
         setVisible(true);
         
-        // ایجاد استراتژی بافر دوتایی برای رسم روان‌تر
-        gameCanvas.createBufferStrategy(2);
-        bufferStrategy = gameCanvas.getBufferStrategy();
+        // ایجاد استراتژی بافر: ورق‌زنی در تمام‌صفحه، بافر دوتایی در پنجره
+        if (fullScreenDisplay != null) {
+            bufferStrategy = FullScreenDisplay.createBufferStrategy(gameCanvas, GameConfig.fullScreenBuffers);
+        } else {
+            gameCanvas.createBufferStrategy(2);
+            bufferStrategy = gameCanvas.getBufferStrategy();
+        }
         
         // شروع حلقه اصلی بازی
         startGameLoop();
@@ -118,11 +133,7 @@ public class Game extends JFrame {
         powerUps = new ArrayList<>();
         
         // ایجاد مدیریت دشمنان
-        enemyManager = new EnemyManager(GameConfig.WIDTH, GameConfig.HEIGHT);
-        
-        // راه‌اندازی مدیریت نخ‌ها
-        ballThreadPool = Executors.newFixedThreadPool(GameConfig.getMaxBalls());
-        scheduledExecutor = Executors.newScheduledThreadPool(5);
+        enemyManager = new EnemyManager(GameConfig.WIDTH, GameConfig.HEIGHT, threadManager);
         
         // ایجاد توپ‌های اولیه
         for (int i = 0; i < GameConfig.getInitialBalls(); i++) {
@@ -133,27 +144,58 @@ public class Game extends JFrame {
         for (int i = 0; i < GameConfig.getNumPowerUps(); i++) {
             PowerUp powerUp = new PowerUp();
             powerUps.add(powerUp);
-            Thread powerUpThread = new Thread(powerUp);
-            powerUpThread.setDaemon(true);
-            powerUpThread.start();
+            threadManager.startPowerUpThread(powerUp);
         }
         
+        // راه‌اندازی زمان‌بندی‌ها
+        setupSchedulers();
+        
+        gameStartTime = System.currentTimeMillis();
+
+        // بارگذاری تصاویر از کلاس‌پس یا فایل سیستم در پس‌زمینه
+        threadManager.executeBackground(() -> {
+            long start = System.nanoTime();
+            loadImages();
+            StartupTrace.record("sprite loading", start);
+        });
+        SoundManager.initializeAsync();
+        
+        // همگام‌سازی تنظیمات صدا با GameConfig قبل از پخش
+        SoundManager.setEffectVolume(GameConfig.soundVolume);
+        SoundManager.setMusicVolume(GameConfig.musicVolume);
+        if (!GameConfig.soundEnabled) {
+            SoundManager.toggleSoundEffects();
+        }
+        if (!GameConfig.musicEnabled) {
+            SoundManager.toggleMusic();
+        }
+        
+        // پخش موسیقی پس‌زمینه بازی (اگر فعال باشد)
+        SoundManager.playMusic(SoundManager.Music.MENU, true);
+    }
+    
+    /**
+     * راه‌اندازی زمان‌بندی‌های دور فعلی بازی
+     */
+    private void setupSchedulers() {
+        TaskGroup session = threadManager.getSession();
+        
         // تنظیم زمان‌بندی ایجاد توپ‌های جدید
-        scheduledExecutor.scheduleAtFixedRate(() -> {
+        session.scheduleAtFixedRate(() -> {
             if (balls.size() < GameConfig.getMaxBalls() && gameRunning && !gamePaused) {
                 createNewBall();
             }
         }, GameConfig.getBallSpawnRate(), GameConfig.getBallSpawnRate() - ballSpawnAcceleration, TimeUnit.SECONDS);
         
         // تنظیم زمان‌بندی برای افزایش سختی بازی بر اساس زمان
-        scheduledExecutor.scheduleAtFixedRate(() -> {
+        session.scheduleAtFixedRate(() -> {
             if (gameRunning && !gamePaused) {
                 increaseDifficulty();
             }
         }, 60, 60, TimeUnit.SECONDS);
         
         // تنظیم زمان‌بندی محاسبه FPS
-        scheduledExecutor.scheduleAtFixedRate(() -> {
+        session.scheduleAtFixedRate(() -> {
             framesPerSecond = frameCount;
             updatesPerSecond = updateCount;
             frameCount = 0;
@@ -162,24 +204,6 @@ public class Game extends JFrame {
                 gameTime = (System.currentTimeMillis() - gameStartTime) / 1000;
             }
         }, 0, 1, TimeUnit.SECONDS);
-        
-        gameStartTime = System.currentTimeMillis();
-
-        // بارگذاری تصاویر از کلاس‌پس یا فایل سیستم
-        loadImages();
-        
-        // همگام‌سازی تنظیمات صدا با GameConfig قبل از پخش
-        SoundManager.setEffectVolume(GameConfig.soundVolume);
-        SoundManager.setMusicVolume(GameConfig.musicVolume);
-        if (!GameConfig.soundEnabled) {
-            SoundManager.toggleSoundEffects();
-        }
-        if (!GameConfig.musicEnabled) {
-            SoundManager.toggleMusic();
-        }
-        
-        // پخش موسیقی پس‌زمینه بازی (اگر فعال باشد)
-        SoundManager.playMusic(SoundManager.Music.MENU, true);
     }
     
     /**
@@ -210,9 +234,14 @@ public class Game extends JFrame {
                 // رسم بازی
                 render();
                 
-                // کمی استراحت برای کاهش مصرف CPU
+                // کمی استراحت برای کاهش مصرف CPU؛ در منو استراحت طولانی‌تر
                 try {
-                    Thread.sleep(2);
+                    if (showingMenu) {
+                        delta = 0;
+                        Thread.sleep(GameConfig.MENU_IDLE_SLEEP_MS);
+                    } else {
+                        Thread.sleep(2);
+                    }
                 } catch (InterruptedException e) {
                     e.printStackTrace();
                 }
@@ -288,10 +317,28 @@ public class Game extends JFrame {
      * رسم بازی
      */
     private void render() {
+        // منو فقط در صورت تغییر دوباره رسم می‌شود
+        if (showingMenu) {
+            if (!menuWasShowing) {
+                gameMenu.markDirty();
+            }
+            menuWasShowing = true;
+            if (!gameMenu.needsRender() && !bufferStrategy.contentsLost()) {
+                return;
+            }
+        } else {
+            menuWasShowing = false;
+        }
+        
         frameCount++;
         
         // دریافت گرافیک از بافر
         Graphics g = bufferStrategy.getDrawGraphics();
+        if (fullScreenDisplay != null) {
+            // ناحیه بازی 800x600 با بزرگ‌نمایی صحیح در وسط صفحه
+            fullScreenDisplay.beginFrame(g);
+            ((Graphics2D) g).scale(fullScreenDisplay.getScale(), fullScreenDisplay.getScale());
+        }
         
         try {
             // پاکسازی صفحه
@@ -312,6 +359,10 @@ public class Game extends JFrame {
         
         // نمایش بافر
         bufferStrategy.show();
+        
+        if (showingMenu) {
+            StartupTrace.firstFrame();
+        }
     }
     
     /**
@@ -623,7 +674,7 @@ public class Game extends JFrame {
                         Ball[] newBalls = ball.split();
                         for (Ball newBall : newBalls) {
                             balls.add(newBall);
-                            ballThreadPool.execute(newBall);
+                            threadManager.executeBall(newBall);
                         }
                     }
                     
@@ -737,7 +788,7 @@ public class Game extends JFrame {
     private void createNewBall() {
         Ball ball = new Ball();
         balls.add(ball);
-        ballThreadPool.execute(ball);
+        threadManager.executeBall(ball);
     }
     
     /**
@@ -756,34 +807,22 @@ public class Game extends JFrame {
         enemySpawnAcceleration = 0;
         gameStartTime = System.currentTimeMillis();
         
+        // لغو وظایف دور قبلی؛ استخرهای نخ برای دور جدید دوباره استفاده می‌شوند
+        threadManager.shutdownAllThreads(balls, powerUps, enemyManager);
+        threadManager.newSession();
+        
         // پاکسازی عناصر بازی
-        for (Ball ball : balls) {
-            ball.deactivate();
-        }
         balls.clear();
+        powerUps.clear();
         
         // بازنشانی دشمنان
-        enemyManager.shutdown();
-        enemyManager = new EnemyManager(GameConfig.WIDTH, GameConfig.HEIGHT);
-        
-        // بازنشانی قدرت‌ها
-        for (PowerUp powerUp : powerUps) {
-            powerUp.shutdown();
-        }
-        powerUps.clear();
+        enemyManager.reset();
         
         // پاکسازی افکت‌های بصری
         EffectManager.clearEffects();
         
-        // بازنشانی و اجرای مجدد نخ‌ها
-        shutdownThreads();
-        
-        // راه‌اندازی مجدد نخ‌ها
-        ballThreadPool = Executors.newFixedThreadPool(GameConfig.getMaxBalls());
-        scheduledExecutor = Executors.newScheduledThreadPool(5);
-        
-        // ایجاد مجدد بازیکن
-        player = new Player(GameConfig.WIDTH / 2, GameConfig.HEIGHT / 2);
+        // بازنشانی بازیکن
+        player.reset(GameConfig.WIDTH / 2, GameConfig.HEIGHT / 2);
         
         // ایجاد توپ‌های اولیه
         for (int i = 0; i < GameConfig.getInitialBalls(); i++) {
@@ -794,35 +833,11 @@ public class Game extends JFrame {
         for (int i = 0; i < GameConfig.getNumPowerUps(); i++) {
             PowerUp powerUp = new PowerUp();
             powerUps.add(powerUp);
-            Thread powerUpThread = new Thread(powerUp);
-            powerUpThread.setDaemon(true);
-            powerUpThread.start();
+            threadManager.startPowerUpThread(powerUp);
         }
         
-        // تنظیم زمان‌بندی ایجاد توپ‌های جدید
-        scheduledExecutor.scheduleAtFixedRate(() -> {
-            if (balls.size() < GameConfig.getMaxBalls() && gameRunning && !gamePaused) {
-                createNewBall();
-            }
-        }, GameConfig.getBallSpawnRate(), GameConfig.getBallSpawnRate() - ballSpawnAcceleration, TimeUnit.SECONDS);
-        
-        // تنظیم زمان‌بندی برای افزایش سختی بازی بر اساس زمان
-        scheduledExecutor.scheduleAtFixedRate(() -> {
-            if (gameRunning && !gamePaused) {
-                increaseDifficulty();
-            }
-        }, 60, 60, TimeUnit.SECONDS);
-        
-        // تنظیم زمان‌بندی محاسبه FPS
-        scheduledExecutor.scheduleAtFixedRate(() -> {
-            framesPerSecond = frameCount;
-            updatesPerSecond = updateCount;
-            frameCount = 0;
-            updateCount = 0;
-            if (gameRunning && !gamePaused) {
-                gameTime = (System.currentTimeMillis() - gameStartTime) / 1000;
-            }
-        }, 0, 1, TimeUnit.SECONDS);
+        // راه‌اندازی زمان‌بندی‌ها
+        setupSchedulers();
         
         // پخش موسیقی بازی
         SoundManager.playMusic(SoundManager.Music.GAMEPLAY, true);
@@ -929,47 +944,13 @@ public class Game extends JFrame {
      */
     @Override
     public void dispose() {
-        shutdownThreads();
+        threadManager.shutdownAllThreads(balls, powerUps, enemyManager);
+        threadManager.shutdown();
         SoundManager.cleanup();
-        super.dispose();
-    }
-    
-    /**
-     * بستن نخ‌ها
-     */
-    private void shutdownThreads() {
-        // غیرفعال کردن نخ‌های توپ‌ها
-        for (Ball ball : balls) {
-            ball.deactivate();
-        }
-        
-        // بستن نخ‌های قدرت‌ها
-        for (PowerUp powerUp : powerUps) {
-            powerUp.shutdown();
-        }
-        
-        // بستن مدیریت دشمنان
-        enemyManager.shutdown();
-        
-        // بستن اجراکننده زمان‌بندی‌شده
-        if (scheduledExecutor != null) {
-            scheduledExecutor.shutdownNow();
-            try {
-                scheduledExecutor.awaitTermination(2, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
-        
-        // بستن استخر نخ‌های توپ‌ها
-        if (ballThreadPool != null) {
-            ballThreadPool.shutdownNow();
-            try {
-                ballThreadPool.awaitTermination(2, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+        if (fullScreenDisplay != null) {
+            fullScreenDisplay.exit();
         }
+        super.dispose();
     }
     
     /**
@@ -1104,6 +1085,16 @@ public class Game extends JFrame {
      * متد اصلی
      */
     public static void main(String[] args) {
+        StartupTrace.mark("main");
+        for (String arg : args) {
+            if (arg.equals("--fullscreen")) {
+                GameConfig.fullScreen = true;
+            } else if (arg.startsWith("--buffers=")) {
+                int buffers = Integer.parseInt(arg.substring("--buffers=".length()));
+                GameConfig.fullScreenBuffers = Math.max(GameConfig.MIN_BUFFER_COUNT,
+                    Math.min(buffers, GameConfig.MAX_BUFFER_COUNT));
+            }
+        }
         SwingUtilities.invokeLater(() -> {
             Game game = new Game();
             game.requestFocus();
@@ -1,4 +1,6 @@
 import java.awt.Color;
+import java.util.EnumMap;
+import java.util.Map;
 
 public class GameConfig {
     // Game dimensions
@@ -10,134 +12,85 @@ public class GameConfig {
         EASY, MEDIUM, HARD, INSANE
     }
     
-    // Current difficulty (can be changed)
-    private static Difficulty currentDifficulty = Difficulty.MEDIUM;
+    // Difficulty profiles (built-in values until difficulty.properties is loaded)
+    public static final String DIFFICULTY_FILE = "difficulty.properties";
+    private static volatile EnumMap<Difficulty, DifficultyProfile> profiles = builtInProfiles();
+    
+    // Current difficulty profile (swapped atomically; can be changed)
+    private static volatile DifficultyProfile activeProfile = profiles.get(Difficulty.MEDIUM);
     
     // Player settings
     public static final int PLAYER_SIZE = 30;
-    private static final int PLAYER_DEFAULT_SPEED_EASY = 6;
-    private static final int PLAYER_DEFAULT_SPEED_MEDIUM = 5;
-    private static final int PLAYER_DEFAULT_SPEED_HARD = 5;
-    private static final int PLAYER_DEFAULT_SPEED_INSANE = 4;
-    
-    private static final int PLAYER_BOOSTED_SPEED_EASY = 12;
-    private static final int PLAYER_BOOSTED_SPEED_MEDIUM = 10;
-    private static final int PLAYER_BOOSTED_SPEED_HARD = 9;
-    private static final int PLAYER_BOOSTED_SPEED_INSANE = 8;
     
     // Ball settings
     public static final int BALL_MIN_SIZE = 10;
     public static final int BALL_MAX_SIZE = 50;
     
-    private static final int BALL_MAX_SPEED_EASY = 3;
-    private static final int BALL_MAX_SPEED_MEDIUM = 5;
-    private static final int BALL_MAX_SPEED_HARD = 6;
-    private static final int BALL_MAX_SPEED_INSANE = 8;
-    
-    private static final int INITIAL_BALLS_EASY = 5;
-    private static final int INITIAL_BALLS_MEDIUM = 10;
-    private static final int INITIAL_BALLS_HARD = 15;
-    private static final int INITIAL_BALLS_INSANE = 20;
-    
-    private static final int MAX_BALLS_EASY = 15;
-    private static final int MAX_BALLS_MEDIUM = 30;
-    private static final int MAX_BALLS_HARD = 40;
-    private static final int MAX_BALLS_INSANE = 50;
-    
-    private static final int BALL_SPAWN_RATE_EASY = 8; // seconds
-    private static final int BALL_SPAWN_RATE_MEDIUM = 5;
-    private static final int BALL_SPAWN_RATE_HARD = 3;
-    private static final int BALL_SPAWN_RATE_INSANE = 2;
-    
     // Power-up settings
     public static final int POWER_UP_SIZE = 20;
     public static final int POWER_UP_LIFETIME = 5000; // milliseconds
     
-    private static final int POWER_UP_EFFECT_DURATION_EASY = 15000; // milliseconds
-    private static final int POWER_UP_EFFECT_DURATION_MEDIUM = 10000;
-    private static final int POWER_UP_EFFECT_DURATION_HARD = 7000;
-    private static final int POWER_UP_EFFECT_DURATION_INSANE = 5000;
-    
-    private static final int NUM_POWER_UPS_EASY = 4;
-    private static final int NUM_POWER_UPS_MEDIUM = 3;
-    private static final int NUM_POWER_UPS_HARD = 2;
-    private static final int NUM_POWER_UPS_INSANE = 1;
-    
     // Enemy settings
-    private static final int MAX_TRACKER_ENEMIES_EASY = 3;
-    private static final int MAX_TRACKER_ENEMIES_MEDIUM = 5;
-    private static final int MAX_TRACKER_ENEMIES_HARD = 7;
-    private static final int MAX_TRACKER_ENEMIES_INSANE = 10;
-    
-    private static final int MAX_BOMBER_ENEMIES_EASY = 1;
-    private static final int MAX_BOMBER_ENEMIES_MEDIUM = 3;
-    private static final int MAX_BOMBER_ENEMIES_HARD = 5;
-    private static final int MAX_BOMBER_ENEMIES_INSANE = 7;
-    
-    private static final int MAX_TOTAL_ENEMIES_EASY = 4;
-    private static final int MAX_TOTAL_ENEMIES_MEDIUM = 8;
-    private static final int MAX_TOTAL_ENEMIES_HARD = 12;
-    private static final int MAX_TOTAL_ENEMIES_INSANE = 15;
-    
     public static final int TRACKER_SIZE = 20;
-    private static final int TRACKER_SPEED_EASY = 1;
-    private static final int TRACKER_SPEED_MEDIUM = 2;
-    private static final int TRACKER_SPEED_HARD = 3;
-    private static final int TRACKER_SPEED_INSANE = 4;
-    
-    private static final int TRACKER_HEALTH_EASY = 5;
-    private static final int TRACKER_HEALTH_MEDIUM = 3;
-    private static final int TRACKER_HEALTH_HARD = 2;
-    private static final int TRACKER_HEALTH_INSANE = 1;
-    
     public static final int BOMBER_SIZE = 30;
-    private static final int BOMBER_SPEED_EASY = 1;
-    private static final int BOMBER_SPEED_MEDIUM = 1;
-    private static final int BOMBER_SPEED_HARD = 2;
-    private static final int BOMBER_SPEED_INSANE = 2;
-    
-    private static final int BOMBER_HEALTH_EASY = 8;
-    private static final int BOMBER_HEALTH_MEDIUM = 5;
-    private static final int BOMBER_HEALTH_HARD = 4;
-    private static final int BOMBER_HEALTH_INSANE = 3;
-    
-    private static final int ENEMY_SPAWN_DELAY_EASY = 10; // seconds
-    private static final int ENEMY_SPAWN_DELAY_MEDIUM = 5;
-    private static final int ENEMY_SPAWN_DELAY_HARD = 3;
-    private static final int ENEMY_SPAWN_DELAY_INSANE = 2;
+    public static final int FLOCKER_SIZE = 8;
+    
+    // Flock settings (FlockingEnemy swarms)
+    public static final int FLOCK_SWARM_SIZE = 1500;
+    public static final float FLOCK_NEIGHBOR_RADIUS = 40f; // also the cell size of the neighbor index
+    public static final float FLOCK_SEPARATION_RADIUS = 14f;
+    public static final int FLOCK_MAX_NEIGHBORS = 48; // neighbors considered per boid in dense swarms
+    public static final float FLOCK_SEPARATION_WEIGHT = 6.0f;
+    public static final float FLOCK_ALIGNMENT_WEIGHT = 0.05f;
+    public static final float FLOCK_COHESION_WEIGHT = 0.004f;
+    public static final float FLOCK_SEEK_WEIGHT = 0.06f; // pull towards the player
+    public static final float FLOCK_ARRIVE_RADIUS = 150f; // the pull fades inside this distance
+    public static final float FLOCK_MIN_SPEED = 1.0f; // pixels per tick
+    public static final float FLOCK_MAX_SPEED = 3.0f;
+    public static final int FLOCK_PARALLEL_CHUNK = 512; // boids per fork/join task
     
     // Bomb settings
     public static final int BOMB_SIZE = 10;
     public static final int BOMB_EXPLOSION_SIZE = 50;
-    
-    private static final int BOMB_LIFETIME_EASY = 3000; // milliseconds
-    private static final int BOMB_LIFETIME_MEDIUM = 2000;
-    private static final int BOMB_LIFETIME_HARD = 1500;
-    private static final int BOMB_LIFETIME_INSANE = 1000;
-    
     public static final int BOMB_EXPLOSION_DURATION = 500; // milliseconds
     
-    // Score settings
-    private static final int SCORE_BALL_EASY = 5;
-    private static final int SCORE_BALL_MEDIUM = 10;
-    private static final int SCORE_BALL_HARD = 15;
-    private static final int SCORE_BALL_INSANE = 20;
-    
-    private static final int SCORE_ENEMY_EASY = 10;
-    private static final int SCORE_ENEMY_MEDIUM = 20;
-    private static final int SCORE_ENEMY_HARD = 30;
-    private static final int SCORE_ENEMY_INSANE = 50;
-    
-    private static final int SCORE_MULTIPLIER_EASY = 2;
-    private static final int SCORE_MULTIPLIER_MEDIUM = 3;
-    private static final int SCORE_MULTIPLIER_HARD = 4;
-    private static final int SCORE_MULTIPLIER_INSANE = 5;
-    
     // Thread settings
     public static final int RENDER_DELAY = 16; // ~60 FPS
     public static final int BALL_UPDATE_DELAY = 20;
     public static final int ENEMY_UPDATE_DELAY = 30;
     public static final int POWER_UP_UPDATE_DELAY = 100;
+    public static final int MENU_IDLE_SLEEP_MS = 16; // poll interval while a menu is showing
+    
+    // Render scale settings (world resolution relative to the window; the HUD stays sharp)
+    public static final double[] RENDER_SCALES = {0.5, 0.75, 1.0};
+    public static final int MAX_WINDOW_SCALE = 4;
+    public static final int MIN_BUFFER_COUNT = 2;
+    public static final int MAX_BUFFER_COUNT = 4;
+    
+    // Big world settings (BigWorldGame)
+    public static final int BIG_WORLD_WIDTH = WIDTH * 16;
+    public static final int BIG_WORLD_HEIGHT = HEIGHT * 16;
+    public static final int BIG_WORLD_BALLS = 20000;
+    public static final int CHUNK_SIZE = 400;
+    public static final int ACTIVE_CHUNK_MARGIN = 1; // chunks around the view simulated every tick
+    public static final int COARSE_CHUNK_MARGIN = 4; // chunks beyond those ticked coarsely; the rest are frozen
+    public static final int COARSE_TICK_INTERVAL = 8; // ticks per coarse step
+    
+    // Capture settings (F9 starts/stops recording)
+    public static final String CAPTURE_DIRECTORY = "captures";
+    public static final int CAPTURE_FPS = 30;
+    public static final int CAPTURE_POOL_SIZE = 6; // frames in flight before new ones are dropped
+    public static final float CAPTURE_JPEG_QUALITY = 0.85f;
+    
+    // Checkpoint settings
+    public static final String CHECKPOINT_FILE = "checkpoint.dat";
+    public static final int AUTOSAVE_INTERVAL_TICKS = 60 * 10; // every 10 seconds of play
+    
+    // Leaderboard settings (the service listens on loopback only)
+    public static final String LEADERBOARD_LOG_FILE = "leaderboard.log";
+    public static final int LEADERBOARD_PORT = 4780;
+    public static final int LEADERBOARD_MAX_PAGE = 500; // entries per page request
+    public static final int LEADERBOARD_TIMEOUT_MS = 2000;
     
     // Sound settings
     public static boolean soundEnabled = true;
@@ -152,6 +105,7 @@ public class GameConfig {
     public static final Color BALL_COLOR = new Color(255, 0, 0);
     public static final Color TRACKER_ENEMY_COLOR = new Color(255, 165, 0);
     public static final Color BOMBER_ENEMY_COLOR = new Color(0, 255, 255);
+    public static final Color FLOCKER_ENEMY_COLOR = new Color(200, 90, 255);
     public static final Color BOMB_COLOR = new Color(64, 64, 64);
     public static final Color EXPLOSION_COLOR = new Color(255, 0, 0);
     public static final Color SPEEDBOOST_POWERUP_COLOR = new Color(0, 0, 255);
@@ -160,197 +114,137 @@ public class GameConfig {
     public static final Color TEXT_COLOR = new Color(255, 255, 255);
     public static final Color HUD_BACKGROUND_COLOR = new Color(0, 0, 0, 128);
     
-    // Getter methods to access difficulty-specific settings
-    public static int getPlayerDefaultSpeed() {
-        switch (currentDifficulty) {
-            case EASY: return PLAYER_DEFAULT_SPEED_EASY;
-            case HARD: return PLAYER_DEFAULT_SPEED_HARD;
-            case INSANE: return PLAYER_DEFAULT_SPEED_INSANE;
-            default: return PLAYER_DEFAULT_SPEED_MEDIUM;
+    // Enemy color by type
+    public static Color getEnemyColor(Enemy.EnemyType type) {
+        switch (type) {
+            case TRACKER: return TRACKER_ENEMY_COLOR;
+            case BOMBER: return BOMBER_ENEMY_COLOR;
+            default: return FLOCKER_ENEMY_COLOR;
         }
     }
     
+    // Getter methods to access difficulty-specific settings (plain reads of the active profile)
+    public static DifficultyProfile getProfile() {
+        return activeProfile;
+    }
+    
+    public static int getPlayerDefaultSpeed() {
+        return activeProfile.playerDefaultSpeed;
+    }
+    
     public static int getPlayerBoostedSpeed() {
-        switch (currentDifficulty) {
-            case EASY: return PLAYER_BOOSTED_SPEED_EASY;
-            case HARD: return PLAYER_BOOSTED_SPEED_HARD;
-            case INSANE: return PLAYER_BOOSTED_SPEED_INSANE;
-            default: return PLAYER_BOOSTED_SPEED_MEDIUM;
-        }
+        return activeProfile.playerBoostedSpeed;
     }
     
     public static int getBallMaxSpeed() {
-        switch (currentDifficulty) {
-            case EASY: return BALL_MAX_SPEED_EASY;
-            case HARD: return BALL_MAX_SPEED_HARD;
-            case INSANE: return BALL_MAX_SPEED_INSANE;
-            default: return BALL_MAX_SPEED_MEDIUM;
-        }
+        return activeProfile.ballMaxSpeed;
     }
     
     public static int getInitialBalls() {
-        switch (currentDifficulty) {
-            case EASY: return INITIAL_BALLS_EASY;
-            case HARD: return INITIAL_BALLS_HARD;
-            case INSANE: return INITIAL_BALLS_INSANE;
-            default: return INITIAL_BALLS_MEDIUM;
-        }
+        return activeProfile.initialBalls;
     }
     
     public static int getMaxBalls() {
-        switch (currentDifficulty) {
-            case EASY: return MAX_BALLS_EASY;
-            case HARD: return MAX_BALLS_HARD;
-            case INSANE: return MAX_BALLS_INSANE;
-            default: return MAX_BALLS_MEDIUM;
-        }
+        return activeProfile.maxBalls;
     }
     
     public static int getBallSpawnRate() {
-        switch (currentDifficulty) {
-            case EASY: return BALL_SPAWN_RATE_EASY;
-            case HARD: return BALL_SPAWN_RATE_HARD;
-            case INSANE: return BALL_SPAWN_RATE_INSANE;
-            default: return BALL_SPAWN_RATE_MEDIUM;
-        }
+        return activeProfile.ballSpawnRate;
     }
     
     public static int getPowerUpEffectDuration() {
-        switch (currentDifficulty) {
-            case EASY: return POWER_UP_EFFECT_DURATION_EASY;
-            case HARD: return POWER_UP_EFFECT_DURATION_HARD;
-            case INSANE: return POWER_UP_EFFECT_DURATION_INSANE;
-            default: return POWER_UP_EFFECT_DURATION_MEDIUM;
-        }
+        return activeProfile.powerUpEffectDuration;
     }
     
     public static int getNumPowerUps() {
-        switch (currentDifficulty) {
-            case EASY: return NUM_POWER_UPS_EASY;
-            case HARD: return NUM_POWER_UPS_HARD;
-            case INSANE: return NUM_POWER_UPS_INSANE;
-            default: return NUM_POWER_UPS_MEDIUM;
-        }
+        return activeProfile.numPowerUps;
     }
     
     public static int getMaxTrackerEnemies() {
-        switch (currentDifficulty) {
-            case EASY: return MAX_TRACKER_ENEMIES_EASY;
-            case HARD: return MAX_TRACKER_ENEMIES_HARD;
-            case INSANE: return MAX_TRACKER_ENEMIES_INSANE;
-            default: return MAX_TRACKER_ENEMIES_MEDIUM;
-        }
+        return activeProfile.maxTrackerEnemies;
     }
     
     public static int getMaxBomberEnemies() {
-        switch (currentDifficulty) {
-            case EASY: return MAX_BOMBER_ENEMIES_EASY;
-            case HARD: return MAX_BOMBER_ENEMIES_HARD;
-            case INSANE: return MAX_BOMBER_ENEMIES_INSANE;
-            default: return MAX_BOMBER_ENEMIES_MEDIUM;
-        }
+        return activeProfile.maxBomberEnemies;
     }
     
     public static int getMaxTotalEnemies() {
-        switch (currentDifficulty) {
-            case EASY: return MAX_TOTAL_ENEMIES_EASY;
-            case HARD: return MAX_TOTAL_ENEMIES_HARD;
-            case INSANE: return MAX_TOTAL_ENEMIES_INSANE;
-            default: return MAX_TOTAL_ENEMIES_MEDIUM;
-        }
+        return activeProfile.maxTotalEnemies;
     }
     
     public static int getTrackerSpeed() {
-        switch (currentDifficulty) {
-            case EASY: return TRACKER_SPEED_EASY;
-            case HARD: return TRACKER_SPEED_HARD;
-            case INSANE: return TRACKER_SPEED_INSANE;
-            default: return TRACKER_SPEED_MEDIUM;
-        }
+        return activeProfile.trackerSpeed;
     }
     
     public static int getTrackerHealth() {
-        switch (currentDifficulty) {
-            case EASY: return TRACKER_HEALTH_EASY;
-            case HARD: return TRACKER_HEALTH_HARD;
-            case INSANE: return TRACKER_HEALTH_INSANE;
-            default: return TRACKER_HEALTH_MEDIUM;
-        }
+        return activeProfile.trackerHealth;
     }
     
     public static int getBomberSpeed() {
-        switch (currentDifficulty) {
-            case EASY: return BOMBER_SPEED_EASY;
-            case HARD: return BOMBER_SPEED_HARD;
-            case INSANE: return BOMBER_SPEED_INSANE;
-            default: return BOMBER_SPEED_MEDIUM;
-        }
+        return activeProfile.bomberSpeed;
     }
     
     public static int getBomberHealth() {
-        switch (currentDifficulty) {
-            case EASY: return BOMBER_HEALTH_EASY;
-            case HARD: return BOMBER_HEALTH_HARD;
-            case INSANE: return BOMBER_HEALTH_INSANE;
-            default: return BOMBER_HEALTH_MEDIUM;
-        }
+        return activeProfile.bomberHealth;
     }
     
     public static int getEnemySpawnDelay() {
-        switch (currentDifficulty) {
-            case EASY: return ENEMY_SPAWN_DELAY_EASY;
-            case HARD: return ENEMY_SPAWN_DELAY_HARD;
-            case INSANE: return ENEMY_SPAWN_DELAY_INSANE;
-            default: return ENEMY_SPAWN_DELAY_MEDIUM;
-        }
+        return activeProfile.enemySpawnDelay;
     }
     
     public static int getBombLifetime() {
-        switch (currentDifficulty) {
-            case EASY: return BOMB_LIFETIME_EASY;
-            case HARD: return BOMB_LIFETIME_HARD;
-            case INSANE: return BOMB_LIFETIME_INSANE;
-            default: return BOMB_LIFETIME_MEDIUM;
-        }
+        return activeProfile.bombLifetime;
     }
     
     public static int getScoreBall() {
-        switch (currentDifficulty) {
-            case EASY: return SCORE_BALL_EASY;
-            case HARD: return SCORE_BALL_HARD;
-            case INSANE: return SCORE_BALL_INSANE;
-            default: return SCORE_BALL_MEDIUM;
-        }
+        return activeProfile.scoreBall;
     }
     
     public static int getScoreEnemy() {
-        switch (currentDifficulty) {
-            case EASY: return SCORE_ENEMY_EASY;
-            case HARD: return SCORE_ENEMY_HARD;
-            case INSANE: return SCORE_ENEMY_INSANE;
-            default: return SCORE_ENEMY_MEDIUM;
-        }
+        return activeProfile.scoreEnemy;
     }
     
     public static int getScoreMultiplier() {
-        switch (currentDifficulty) {
-            case EASY: return SCORE_MULTIPLIER_EASY;
-            case HARD: return SCORE_MULTIPLIER_HARD;
-            case INSANE: return SCORE_MULTIPLIER_INSANE;
-            default: return SCORE_MULTIPLIER_MEDIUM;
-        }
+        return activeProfile.scoreMultiplier;
     }
     
     // Methods to change difficulty
-    public static void setDifficulty(Difficulty difficulty) {
-        currentDifficulty = difficulty;
+    public static synchronized void setDifficulty(Difficulty difficulty) {
+        activeProfile = profiles.get(difficulty);
     }
     
     public static Difficulty getCurrentDifficulty() {
-        return currentDifficulty;
+        return activeProfile.difficulty;
+    }
+    
+    /**
+     * Replaces every difficulty profile at once (used when the config file is reloaded).
+     */
+    public static synchronized void applyProfiles(Map<Difficulty, DifficultyProfile> newProfiles) {
+        EnumMap<Difficulty, DifficultyProfile> copy = new EnumMap<>(newProfiles);
+        profiles = copy;
+        activeProfile = copy.get(activeProfile.difficulty);
+    }
+    
+    private static EnumMap<Difficulty, DifficultyProfile> builtInProfiles() {
+        EnumMap<Difficulty, DifficultyProfile> builtIn = new EnumMap<>(Difficulty.class);
+        for (Difficulty difficulty : Difficulty.values()) {
+            builtIn.put(difficulty, DifficultyProfile.builtIn(difficulty));
+        }
+        return builtIn;
     }
     
     // Game state flags
     public static boolean debugMode = false;
     public static boolean showFPS = true;
+    public static boolean softwareEffects = true; // رسم جلوه‌ها با رسترایزر کاشی‌بندی‌شده
+    public static boolean profileAllocations = false; // شمارش تخصیص حافظه هر تیک و فریم
+    public static boolean autosaveEnabled = true; // ذخیره خودکار دوره‌ای برای بازیابی پس از خرابی
+    public static boolean ballCollisions = false; // برخورد کشسان توپ‌ها با یکدیگر (از دور بعد)
+    public static boolean enemySwarms = false; // دسته‌های بزرگ دشمنان گروهی (از دور بعد)
+    public static double renderScale = 1.0; // یکی از RENDER_SCALES
+    public static int windowScale = 1; // بزرگ‌نمایی صحیح پنجره (فقط هنگام شروع: --window-scale=N)
+    public static boolean fullScreen = false; // تمام‌صفحه انحصاری با ورق‌زنی (فقط هنگام شروع: --fullscreen)
+    public static int fullScreenBuffers = 3; // تعداد بافرهای ورق‌زنی در تمام‌صفحه (--buffers=N)
+    public static FrameCapture.Format captureFormat = FrameCapture.Format.MJPEG; // قالب ضبط با F9
 } 
\ No newline at end of file
@@ -1,3 +1,4 @@
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -14,6 +15,7 @@ public class GameController {
     private ThreadManager threadManager;
     private GameMenu gameMenu;
     private PowerUpManager powerUpManager;
+    private WorldCheckpoint checkpoint;
     
     public GameController(GameStateManager gameStateManager, Player player,
                          BallManager ballManager, List<PowerUp> powerUps,
@@ -65,6 +67,7 @@ public class GameController {
         gameStateManager.setGamePaused(true);
         gameMenu.showPauseMenu();
         SoundManager.playMusic(SoundManager.Music.MENU, true);
+        saveCheckpoint();
     }
     
     /**
@@ -75,6 +78,7 @@ public class GameController {
         if (gameStateManager.isGamePaused()) {
             gameMenu.showPauseMenu();
             SoundManager.playMusic(SoundManager.Music.MENU, true);
+            saveCheckpoint();
         } else {
             SoundManager.playMusic(SoundManager.Music.GAMEPLAY, true);
         }
@@ -84,46 +88,109 @@ public class GameController {
      * راه‌اندازی مجدد بازی
      */
     public void restartGame() {
+        // checkpoint دور قبلی دیگر معتبر نیست
+        if (checkpoint != null) {
+            checkpoint.discard();
+        }
+        
+        resetWorld();
+        
+        // پخش موسیقی بازی
+        SoundManager.playMusic(SoundManager.Music.GAMEPLAY, true);
+    }
+    
+    /**
+     * خالی کردن دنیا و چیدن عناصر دور جدید، بدون checkpoint و موسیقی
+     * (HeadlessGame هم برای شروع دور جدید از همین استفاده می‌کند)
+     */
+    void resetWorld() {
+        clearWorld();
+        
+        // بازنشانی بازیکن (همان شیء تا ارجاع‌های حلقه و برخوردها معتبر بمانند)
+        player.reset(GameConfig.WIDTH / 2, GameConfig.HEIGHT / 2);
+        
+        // ایجاد توپ‌های اولیه
+        ballManager.createInitialBalls();
+        
+        // ایجاد قدرت‌های اولیه
+        createInitialPowerUps();
+        
+        // راه‌اندازی زمان‌بندی‌ها
+        threadManager.setupGameSchedulers(ballManager.getBalls(), gameStateManager, ballManager);
+    }
+    
+    /**
+     * لغو وظایف دور فعلی و خالی کردن دنیای بازی
+     */
+    private void clearWorld() {
         // بازنشانی وضعیت بازی
         gameStateManager.resetGame();
         
         // بازنشانی اثرات قدرت‌ها
         powerUpManager.resetAllEffects();
         
+        // لغو وظایف دور قبلی؛ استخرهای نخ برای دور جدید دوباره استفاده می‌شوند
+        threadManager.shutdownAllThreads(ballManager.getBalls(), powerUps, enemyManager);
+        threadManager.newSession();
+        
         // پاکسازی عناصر بازی
         ballManager.clearAllBalls();
-        
-        // بازنشانی دشمنان
-        enemyManager.shutdown();
-        enemyManager = new EnemyManager(GameConfig.WIDTH, GameConfig.HEIGHT);
-        
-        // بازنشانی قدرت‌ها
-        for (PowerUp powerUp : powerUps) {
-            powerUp.shutdown();
-        }
         powerUps.clear();
         
+        // بازنشانی دشمنان در دور جدید
+        enemyManager.reset();
+        
         // پاکسازی افکت‌های بصری
         EffectManager.clearEffects();
+    }
+    
+    /**
+     * تنظیم ذخیره‌کننده checkpoint
+     */
+    public void setCheckpoint(WorldCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+    
+    /**
+     * ذخیره وضعیت فعلی (هنگام توقف) اگر بازی در جریان است
+     */
+    private void saveCheckpoint() {
+        if (checkpoint != null && gameStateManager.isGameRunning()) {
+            checkpoint.save();
+        }
+    }
+    
+    /**
+     * بازگرداندن آخرین checkpoint (مثلاً پس از خرابی برنامه) و نمایش منوی توقف
+     * @return true اگر بازی از checkpoint بازیابی شد
+     */
+    public boolean restoreCheckpoint() {
+        if (checkpoint == null) {
+            return false;
+        }
+        ByteBuffer data = checkpoint.load();
+        if (data == null) {
+            return false;
+        }
         
-        // بازنشانی و اجرای مجدد نخ‌ها
-        threadManager.shutdownAllThreads(ballManager.getBalls(), powerUps, enemyManager);
-        threadManager.restart();
-        
-        // ایجاد مجدد بازیکن
-        player = new Player(GameConfig.WIDTH / 2, GameConfig.HEIGHT / 2);
-        
-        // ایجاد توپ‌های اولیه
-        ballManager.createInitialBalls();
-        
-        // ایجاد قدرت‌های اولیه
-        createInitialPowerUps();
-        
-        // راه‌اندازی زمان‌بندی‌ها
+        clearWorld();
+        try {
+            checkpoint.restore(data, threadManager);
+        } catch (RuntimeException e) {
+            // داده معتبر بود اما با این نسخه بازی سازگار نیست
+            System.err.println("Error restoring checkpoint: " + e);
+            checkpoint.discard();
+            restartGame();
+            goToMainMenu();
+            return false;
+        }
         threadManager.setupGameSchedulers(ballManager.getBalls(), gameStateManager, ballManager);
         
-        // پخش موسیقی بازی
-        SoundManager.playMusic(SoundManager.Music.GAMEPLAY, true);
+        // بازی متوقف می‌ماند تا بازیکن آن را ادامه دهد
+        gameStateManager.setShowingMenu(true);
+        gameStateManager.setGamePaused(true);
+        gameMenu.showPauseMenu();
+        return true;
     }
     
     /**
@@ -151,6 +218,7 @@ public class GameController {
      */
     public void shutdown() {
         threadManager.shutdownAllThreads(ballManager.getBalls(), powerUps, enemyManager);
+        threadManager.shutdown();
         SoundManager.cleanup();
     }
     
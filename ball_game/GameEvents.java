@@ -0,0 +1,269 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * رویدادهای سفارشی Java Flight Recorder برای بازی
+ *
+ * برای ضبط یک جلسه:
+ *   java -XX:StartFlightRecording=filename=game.jfr,settings=profile GameRefactored
+ * و سپس باز کردن فایل در JDK Mission Control یا «jfr print --events ballgame.* game.jfr».
+ *
+ * تا وقتی ضبطی فعال نیست، متدهای begin* مقدار null برمی‌گردانند و هیچ شیئی
+ * ساخته نمی‌شود؛ بررسی فعال بودن فقط خواندن یک فیلد است، پس این رویدادها
+ * می‌توانند در نسخه نهایی هم روشن بمانند.
+ */
+public final class GameEvents {
+    private static final String CATEGORY = "Ball Game";
+    
+    // نمونه‌های ثابت فقط برای پرسیدن فعال بودن هر نوع رویداد
+    private static final TickPhase TICK_PHASE_PROBE = new TickPhase();
+    private static final EnemySpawn ENEMY_SPAWN_PROBE = new EnemySpawn();
+    private static final EnemyCleanup ENEMY_CLEANUP_PROBE = new EnemyCleanup();
+    private static final Collision COLLISION_PROBE = new Collision();
+    private static final EffectBurst EFFECT_BURST_PROBE = new EffectBurst();
+    private static final SoundPlay SOUND_PLAY_PROBE = new SoundPlay();
+    private static final ScoreIo SCORE_IO_PROBE = new ScoreIo();
+    
+    private GameEvents() {
+    }
+    
+    @Name("ballgame.TickPhase")
+    @Label("Tick Phase")
+    @Description("One phase of a game loop tick; phase 'tick' spans the whole tick")
+    @Category({CATEGORY, "Game Loop"})
+    @StackTrace(false)
+    public static class TickPhase extends Event {
+        @Label("Phase")
+        String phase;
+    }
+    
+    @Name("ballgame.EnemySpawn")
+    @Label("Enemy Spawn")
+    @Category({CATEGORY, "Enemies"})
+    @StackTrace(false)
+    public static class EnemySpawn extends Event {
+        @Label("Enemy Type")
+        String enemyType;
+        
+        @Label("Enemies After Spawn")
+        int enemyCount;
+    }
+    
+    @Name("ballgame.EnemyCleanup")
+    @Label("Enemy Cleanup")
+    @Description("Removal of inactive enemies while holding the enemy write lock")
+    @Category({CATEGORY, "Enemies"})
+    @StackTrace(false)
+    public static class EnemyCleanup extends Event {
+        @Label("Removed")
+        int removed;
+        
+        @Label("Remaining")
+        int remaining;
+    }
+    
+    @Name("ballgame.Collision")
+    @Label("Collision Resolution")
+    @Category({CATEGORY, "Collisions"})
+    @StackTrace(false)
+    public static class Collision extends Event {
+        @Label("Object")
+        String object;
+        
+        @Label("Outcome")
+        String outcome;
+        
+        @Label("Score Added")
+        int score;
+    }
+    
+    @Name("ballgame.EffectBurst")
+    @Label("Effect Burst")
+    @Description("Effects and particles added by one visual effect")
+    @Category({CATEGORY, "Effects"})
+    @StackTrace(false)
+    public static class EffectBurst extends Event {
+        @Label("Effect")
+        String effect;
+        
+        @Label("Effects Added")
+        int added;
+        
+        @Label("Active Effects")
+        int active;
+    }
+    
+    @Name("ballgame.SoundPlay")
+    @Label("Sound Play")
+    @Description("Opening and starting an audio clip on the sound thread pool")
+    @Category({CATEGORY, "Audio"})
+    @StackTrace(false)
+    public static class SoundPlay extends Event {
+        @Label("Sound")
+        String sound;
+        
+        @Label("Music")
+        boolean music;
+        
+        @Label("Queue Delay")
+        @Timespan(Timespan.NANOSECONDS)
+        long queueDelay;
+    }
+    
+    @Name("ballgame.ScoreIo")
+    @Label("High Score I/O")
+    @Category({CATEGORY, "Storage"})
+    public static class ScoreIo extends Event {
+        @Label("Operation")
+        String operation;
+        
+        @Label("Entries")
+        int entries;
+        
+        @Label("File Size")
+        @DataAmount
+        long bytes;
+        
+        @Label("Succeeded")
+        boolean succeeded;
+    }
+    
+    /**
+     * شروع اندازه‌گیری یک مرحله تیک (null اگر ضبطی فعال نیست)
+     */
+    public static TickPhase beginTickPhase() {
+        if (!TICK_PHASE_PROBE.isEnabled()) {
+            return null;
+        }
+        TickPhase event = new TickPhase();
+        event.begin();
+        return event;
+    }
+    
+    public static void endTickPhase(TickPhase event, AllocationProfiler.Phase phase) {
+        if (event != null) {
+            event.phase = phase.getKey();
+            event.commit();
+        }
+    }
+    
+    public static void enemySpawned(Enemy.EnemyType type, int enemyCount) {
+        if (ENEMY_SPAWN_PROBE.isEnabled()) {
+            EnemySpawn event = new EnemySpawn();
+            event.enemyType = type.name();
+            event.enemyCount = enemyCount;
+            event.commit();
+        }
+    }
+    
+    public static EnemyCleanup beginEnemyCleanup() {
+        if (!ENEMY_CLEANUP_PROBE.isEnabled()) {
+            return null;
+        }
+        EnemyCleanup event = new EnemyCleanup();
+        event.begin();
+        return event;
+    }
+    
+    public static void endEnemyCleanup(EnemyCleanup event, int removed, int remaining) {
+        if (event != null) {
+            event.removed = removed;
+            event.remaining = remaining;
+            event.commit();
+        }
+    }
+    
+    public static Collision beginCollision() {
+        if (!COLLISION_PROBE.isEnabled()) {
+            return null;
+        }
+        Collision event = new Collision();
+        event.begin();
+        return event;
+    }
+    
+    public static void endCollision(Collision event, String object, String outcome, int score) {
+        if (event != null) {
+            event.object = object;
+            event.outcome = outcome;
+            event.score = score;
+            event.commit();
+        }
+    }
+    
+    public static EffectBurst beginEffectBurst() {
+        if (!EFFECT_BURST_PROBE.isEnabled()) {
+            return null;
+        }
+        EffectBurst event = new EffectBurst();
+        event.begin();
+        return event;
+    }
+    
+    public static void endEffectBurst(EffectBurst event, String effect, int added, int active) {
+        if (event != null) {
+            event.effect = effect;
+            event.added = added;
+            event.active = active;
+            event.commit();
+        }
+    }
+    
+    /**
+     * زمان درخواست پخش صدا (برای محاسبه تأخیر صف) یا 0 اگر ضبطی فعال نیست
+     */
+    public static long soundRequested() {
+        return SOUND_PLAY_PROBE.isEnabled() ? System.nanoTime() : 0;
+    }
+    
+    public static SoundPlay beginSoundPlay(String sound, boolean music, long requestedNanos) {
+        if (requestedNanos == 0 || !SOUND_PLAY_PROBE.isEnabled()) {
+            return null;
+        }
+        SoundPlay event = new SoundPlay();
+        event.begin();
+        event.sound = sound;
+        event.music = music;
+        event.queueDelay = System.nanoTime() - requestedNanos;
+        return event;
+    }
+    
+    public static void endSoundPlay(SoundPlay event) {
+        if (event != null) {
+            event.commit();
+        }
+    }
+    
+    public static ScoreIo beginScoreIo(String operation) {
+        if (!SCORE_IO_PROBE.isEnabled()) {
+            return null;
+        }
+        ScoreIo event = new ScoreIo();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+    
+    public static void endScoreIo(ScoreIo event, int entries, Path file, boolean succeeded) {
+        if (event != null) {
+            event.entries = entries;
+            try {
+                event.bytes = Files.exists(file) ? Files.size(file) : 0;
+            } catch (IOException e) {
+                event.bytes = 0;
+            }
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+}
@@ -8,6 +8,8 @@ public class GameLoop {
     private EnemyManager enemyManager;
     private CollisionManager collisionManager;
     private PowerUpManager powerUpManager;
+    private WorldCheckpoint checkpoint;
+    private int ticksSinceCheckpoint = 0;
     
     public GameLoop(GameStateManager gameStateManager, Player player, 
                    EnemyManager enemyManager, CollisionManager collisionManager,
@@ -45,12 +47,18 @@ public class GameLoop {
                     delta--;
                 }
                 
-                // رسم بازی
+                // رسم بازی (منو فقط در صورت تغییر رسم می‌شود)
                 renderCallback.run();
                 
-                // کمی استراحت برای کاهش مصرف CPU
+                // کمی استراحت برای کاهش مصرف CPU؛ در منو استراحت طولانی‌تر
                 try {
-                    Thread.sleep(2);
+                    if (gameStateManager.isShowingMenu()) {
+                        // در منو منطق بازی اجرا نمی‌شود، پس عقب‌افتادگی جمع نمی‌شود
+                        delta = 0;
+                        Thread.sleep(GameConfig.MENU_IDLE_SLEEP_MS);
+                    } else {
+                        Thread.sleep(2);
+                    }
                 } catch (InterruptedException e) {
                     e.printStackTrace();
                 }
@@ -64,12 +72,19 @@ public class GameLoop {
      * به‌روزرسانی منطق بازی
      */
     private void updateGame() {
+        long tickStart = AllocationProfiler.begin();
+        GameEvents.TickPhase tickEvent = GameEvents.beginTickPhase();
         gameStateManager.updateFrameStats();
         
         // به‌روزرسانی بازیکن
+        long phaseStart = AllocationProfiler.begin();
+        GameEvents.TickPhase phaseEvent = GameEvents.beginTickPhase();
         player.update();
+        endPhase(AllocationProfiler.Phase.TICK_PLAYER, phaseStart, phaseEvent);
         
         // به‌روزرسانی دشمنان با سرعت متناسب با اثر کند کردن زمان
+        phaseStart = AllocationProfiler.begin();
+        phaseEvent = GameEvents.beginTickPhase();
         if (powerUpManager.isTimeSlowEffect()) {
             // در حالت کند شدن زمان، دشمنان را کمتر به‌روزرسانی می‌کنیم
             if (gameStateManager.getUpdatesPerSecond() % 3 == 0) {
@@ -78,20 +93,75 @@ public class GameLoop {
         } else {
             enemyManager.updateEnemies(player.getX(), player.getY());
         }
+        endPhase(AllocationProfiler.Phase.TICK_ENEMIES, phaseStart, phaseEvent);
         
         // به‌روزرسانی افکت‌ها
+        phaseStart = AllocationProfiler.begin();
+        phaseEvent = GameEvents.beginTickPhase();
         EffectManager.update();
+        endPhase(AllocationProfiler.Phase.TICK_EFFECTS, phaseStart, phaseEvent);
         
         // به‌روزرسانی اثرات قدرت‌ها
+        phaseStart = AllocationProfiler.begin();
+        phaseEvent = GameEvents.beginTickPhase();
         powerUpManager.updateEffects();
+        endPhase(AllocationProfiler.Phase.TICK_POWER_UPS, phaseStart, phaseEvent);
         
         // بررسی برخوردها
+        phaseStart = AllocationProfiler.begin();
+        phaseEvent = GameEvents.beginTickPhase();
         collisionManager.checkAllCollisions();
+        endPhase(AllocationProfiler.Phase.TICK_COLLISIONS, phaseStart, phaseEvent);
         
         // بررسی شرایط افزایش سطح
         if (gameStateManager.checkLevelUp()) {
             gameStateManager.increaseDifficulty();
         }
+        endPhase(AllocationProfiler.Phase.TICK, tickStart, tickEvent);
+        
+        updateCheckpoint();
+    }
+    
+    /**
+     * ذخیره خودکار دوره‌ای؛ با پایان بازی checkpoint حذف می‌شود
+     */
+    private void updateCheckpoint() {
+        if (checkpoint == null) {
+            return;
+        }
+        if (!gameStateManager.isGameRunning()) {
+            if (ticksSinceCheckpoint >= 0) {
+                checkpoint.discard();
+                ticksSinceCheckpoint = -1;
+            }
+            return;
+        }
+        if (++ticksSinceCheckpoint >= GameConfig.AUTOSAVE_INTERVAL_TICKS && GameConfig.autosaveEnabled) {
+            checkpoint.save();
+            ticksSinceCheckpoint = 0;
+        }
+    }
+    
+    /**
+     * تنظیم ذخیره‌کننده checkpoint برای ذخیره خودکار
+     */
+    public void setCheckpoint(WorldCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+    
+    /**
+     * پایان یک مرحله تیک در پروفایلر تخصیص حافظه و رویدادهای JFR
+     */
+    private static void endPhase(AllocationProfiler.Phase phase, long allocationStart, GameEvents.TickPhase event) {
+        AllocationProfiler.end(phase, allocationStart);
+        GameEvents.endTickPhase(event, phase);
+    }
+    
+    /**
+     * اجرای یک تیک شبیه‌سازی بدون نخ حلقه (برای اجرای بدون پنجره)
+     */
+    public void tick() {
+        updateGame();
     }
     
     /**
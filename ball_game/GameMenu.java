@@ -1,6 +1,7 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,6 +16,7 @@ public class GameMenu {
     private MenuState currentState = MenuState.MAIN_MENU;
     private MenuState previousState = MenuState.MAIN_MENU;
     private Game gameInstance;
+    private Runnable restartAction;
     private int selectedIndex = 0;
     private boolean returnToGame = false;
     
@@ -31,6 +33,9 @@ public class GameMenu {
         "Sound Volume: " + (int)(GameConfig.soundVolume * 100) + "%",
         "Music Volume: " + (int)(GameConfig.musicVolume * 100) + "%",
         "Show FPS: " + (GameConfig.showFPS ? "ON" : "OFF"),
+        "Ball Collisions: " + (GameConfig.ballCollisions ? "ON" : "OFF"),
+        "Enemy Swarms: " + (GameConfig.enemySwarms ? "ON" : "OFF"),
+        renderScaleLabel(),
         "Back"
     };
     
@@ -44,6 +49,7 @@ public class GameMenu {
         "Arrow Keys / WASD: Move",
         "P / ESC: Pause Game",
         "R: Restart (when game over)",
+        "F9: Start / Stop Recording",
         "Back"
     };
     
@@ -74,6 +80,39 @@ public class GameMenu {
     // آیا کلیدی فشرده شده و هنوز پردازش نشده
     private boolean keyProcessed = true;
     
+    // سبک‌های متن کش‌شده برای عنوان‌ها و گزینه‌های منو
+    private static final Font GAME_TITLE_FONT = new Font("Arial", Font.BOLD, 48);
+    private static final Font MENU_TITLE_FONT = new Font("Arial", Font.BOLD, 28);
+    private static final Font OPTION_FONT = new Font("Arial", Font.BOLD, 20);
+    private static final TextCache.Style GAME_TITLE_TEXT = TextCache.style(GAME_TITLE_FONT, Color.WHITE);
+    private static final TextCache.Style MENU_TITLE_TEXT = TextCache.style(MENU_TITLE_FONT, Color.WHITE);
+    private static final TextCache.Style OPTION_TEXT = TextCache.style(OPTION_FONT, Color.WHITE);
+    private static final TextCache.Style SELECTED_OPTION_TEXT = TextCache.style(OPTION_FONT, Color.YELLOW);
+    private static final TextCache.Style NAME_TEXT =
+        TextCache.style(new Font("Arial", Font.PLAIN, 24), Color.WHITE);
+    private static final TextCache.Style CONFIRM_TEXT =
+        TextCache.style(new Font("Arial", Font.BOLD, 24), Color.WHITE);
+    private static final TextCache.Style SELECTED_CONFIRM_TEXT =
+        TextCache.style(new Font("Arial", Font.BOLD, 24), Color.YELLOW);
+    private static final Color MENU_BACKGROUND_COLOR = new Color(0, 0, 0, 200);
+    
+    // اندازه فیلد ورود نام
+    private static final int NAME_FIELD_WIDTH = 300;
+    private static final int NAME_FIELD_HEIGHT = 40;
+    
+    // فاصله رسم مجدد منو حتی بدون تغییر (برای بازیابی صفحه)
+    private static final long MENU_REDRAW_INTERVAL_MS = 500;
+    
+    // آیا منو از آخرین رسم تغییر کرده است
+    private volatile boolean dirty = true;
+    private volatile long lastRenderTime = 0;
+    
+    // لایه‌های ثابت کش‌شده، با وضوح خروجی (اندازه منو ضرب در layerScale)
+    private volatile BufferedImage backgroundLayer;
+    private volatile BufferedImage stateLayer;
+    private volatile boolean stateLayerInvalid = true;
+    private volatile double layerScale = 1;
+    
     /**
      * ایجاد یک نمونه از منوی بازی
      * @param gameInstance نمونه بازی اصلی
@@ -101,33 +140,154 @@ public class GameMenu {
         this.screenHeight = height;
     }
     
+    /**
+     * تنظیم عمل شروع مجدد برای کلاس‌های بازی غیر از Game
+     */
+    public void setRestartAction(Runnable restartAction) {
+        this.restartAction = restartAction;
+    }
+    
+    /**
+     * شروع مجدد بازی از طریق نمونه بازی یا عمل تنظیم‌شده
+     */
+    private void restartGame() {
+        if (gameInstance != null) {
+            gameInstance.restartGame();
+        } else if (restartAction != null) {
+            restartAction.run();
+        }
+    }
+    
+    /**
+     * آیا منو باید دوباره رسم شود
+     *
+     * منو فقط با تغییر انتخاب، وضعیت یا متن رسم می‌شود؛ هر چند صد میلی‌ثانیه
+     * نیز یک بار برای بازیابی صفحه (مثلاً پس از پوشیده شدن پنجره) رسم می‌شود.
+     */
+    public boolean needsRender() {
+        return dirty || System.currentTimeMillis() - lastRenderTime >= MENU_REDRAW_INTERVAL_MS;
+    }
+    
+    /**
+     * علامت‌گذاری منو برای رسم مجدد در فریم بعد
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+    
     /**
      * رسم منوی فعلی
      * @param g شیء گرافیکی برای رسم
      */
     public void render(Graphics g) {
-        // رسم پس‌زمینه
-        drawMenuBackground(g);
+        dirty = false;
+        lastRenderTime = System.currentTimeMillis();
         
-        // رسم منوی فعلی بر اساس وضعیت
+        // رسم لایه‌های ثابت پس‌زمینه و عنوان‌ها؛ با بزرگ‌نمایی پنجره لایه‌ها با همان
+        // ضریب ساخته می‌شوند و پیکسل‌هایشان یک‌به‌یک روی خروجی می‌نشینند
+        double scale = TextCache.outputScale(g);
+        if (scale != layerScale) {
+            layerScale = scale;
+            backgroundLayer = null;
+            stateLayer = null;
+        }
+        g.drawImage(getBackgroundLayer(), 0, 0, screenWidth, screenHeight, null);
+        g.drawImage(getStateLayer(), 0, 0, screenWidth, screenHeight, null);
+        
+        // رسم بخش‌های متغیر منوی فعلی بر اساس وضعیت
+        switch (currentState) {
+            case OPTIONS:
+                // به‌روزرسانی گزینه‌های منوی تنظیمات
+                updateOptionsMenu();
+                drawMenuOptions(g, optionsMenuOptions);
+                break;
+            case HIGH_SCORES:
+                drawHighScoresBackOption(g);
+                break;
+            case NAME_INPUT:
+                drawNameInputField(g);
+                break;
+            default:
+                drawMenuOptions(g, getCurrentMenuOptions());
+                break;
+        }
+    }
+    
+    /**
+     * لایه پس‌زمینه منو که فقط یک بار ساخته می‌شود
+     *
+     * منو همیشه روی صفحه پاک‌شده رسم می‌شود، پس رنگ زمینه، پوشش نیمه‌شفاف و
+     * عنوان بازی در یک تصویر مات ترکیب می‌شوند.
+     */
+    private BufferedImage getBackgroundLayer() {
+        BufferedImage layer = backgroundLayer;
+        if (layer == null) {
+            layer = new BufferedImage(layerWidth(), layerHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2d = layer.createGraphics();
+            g2d.scale(layerScale, layerScale);
+            g2d.setColor(GameConfig.BACKGROUND_COLOR);
+            g2d.fillRect(0, 0, screenWidth, screenHeight);
+            drawMenuBackground(g2d);
+            g2d.dispose();
+            backgroundLayer = layer;
+        }
+        return layer;
+    }
+    
+    /**
+     * لایه عنوان‌ها و محتوای ثابت وضعیت فعلی؛ با تغییر وضعیت دوباره ساخته می‌شود
+     */
+    private BufferedImage getStateLayer() {
+        BufferedImage layer = stateLayer;
+        if (layer == null || stateLayerInvalid) {
+            stateLayerInvalid = false;
+            if (layer == null) {
+                layer = new BufferedImage(layerWidth(), layerHeight(), BufferedImage.TYPE_INT_ARGB);
+            }
+            Graphics2D g2d = layer.createGraphics();
+            g2d.setComposite(AlphaComposite.Clear);
+            g2d.fillRect(0, 0, layer.getWidth(), layer.getHeight());
+            g2d.setComposite(AlphaComposite.SrcOver);
+            g2d.scale(layerScale, layerScale);
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            drawStateLayer(g2d);
+            g2d.dispose();
+            stateLayer = layer;
+        }
+        return layer;
+    }
+    
+    private int layerWidth() {
+        return (int) Math.ceil(screenWidth * layerScale);
+    }
+    
+    private int layerHeight() {
+        return (int) Math.ceil(screenHeight * layerScale);
+    }
+    
+    /**
+     * رسم محتوای ثابت وضعیت فعلی در لایه
+     */
+    private void drawStateLayer(Graphics g) {
         switch (currentState) {
             case MAIN_MENU:
-                drawMainMenu(g);
+                drawMenuTitle(g, "Main Menu");
                 break;
             case OPTIONS:
-                drawOptionsMenu(g);
+                drawMenuTitle(g, "Options");
                 break;
             case HIGH_SCORES:
                 drawHighScoresMenu(g);
                 break;
             case DIFFICULTY:
-                drawDifficultyMenu(g);
+                drawMenuTitle(g, "Select Difficulty");
                 break;
             case CONTROLS:
-                drawControlsMenu(g);
+                drawMenuTitle(g, "Controls");
                 break;
             case GAME_PAUSED:
-                drawPauseMenu(g);
+                drawMenuTitle(g, "Game Paused");
                 break;
             case GAME_OVER:
                 drawGameOverMenu(g);
@@ -143,33 +303,11 @@ public class GameMenu {
      */
     private void drawMenuBackground(Graphics g) {
         // پس‌زمینه نیمه‌شفاف
-        g.setColor(new Color(0, 0, 0, 200));
+        g.setColor(MENU_BACKGROUND_COLOR);
         g.fillRect(0, 0, screenWidth, screenHeight);
         
         // عنوان بازی
-        g.setFont(new Font("Arial", Font.BOLD, 48));
-        g.setColor(Color.WHITE);
-        String title = "Multi-Threaded Ball Game";
-        FontMetrics metrics = g.getFontMetrics();
-        int titleX = (screenWidth - metrics.stringWidth(title)) / 2;
-        g.drawString(title, titleX, 100);
-    }
-    
-    /**
-     * رسم منوی اصلی
-     */
-    private void drawMainMenu(Graphics g) {
-        drawMenu(g, mainMenuOptions, "Main Menu");
-    }
-    
-    /**
-     * رسم منوی تنظیمات
-     */
-    private void drawOptionsMenu(Graphics g) {
-        // به‌روزرسانی گزینه‌های منوی تنظیمات
-        updateOptionsMenu();
-        
-        drawMenu(g, optionsMenuOptions, "Options");
+        GAME_TITLE_TEXT.drawCentered(g, "Multi-Threaded Ball Game", screenWidth, 100);
     }
     
     /**
@@ -182,10 +320,23 @@ public class GameMenu {
         optionsMenuOptions[3] = "Sound Volume: " + (int)(GameConfig.soundVolume * 100) + "%";
         optionsMenuOptions[4] = "Music Volume: " + (int)(GameConfig.musicVolume * 100) + "%";
         optionsMenuOptions[5] = "Show FPS: " + (GameConfig.showFPS ? "ON" : "OFF");
+        optionsMenuOptions[6] = "Ball Collisions: " + (GameConfig.ballCollisions ? "ON" : "OFF");
+        optionsMenuOptions[7] = "Enemy Swarms: " + (GameConfig.enemySwarms ? "ON" : "OFF");
+        optionsMenuOptions[8] = renderScaleLabel();
     }
     
     /**
-     * رسم منوی امتیازات برتر
+     * مقیاس رسم کمتر از 100% فقط با بافر شتاب‌دار ارائه می‌شود (در غیر این صورت کندتر است)
+     */
+    private static String renderScaleLabel() {
+        if (!GameRenderer.isScaledRenderingAvailable()) {
+            return "Render Scale: 100% (no GPU)";
+        }
+        return "Render Scale: " + Math.round(GameConfig.renderScale * 100) + "%";
+    }
+    
+    /**
+     * رسم منوی امتیازات برتر (فقط هنگام ساخت لایه وضعیت)
      */
     private void drawHighScoresMenu(Graphics g) {
         g.setFont(new Font("Arial", Font.BOLD, 28));
@@ -218,45 +369,18 @@ public class GameMenu {
                 if (rank > 10) break;
             }
         }
-        
-        // دکمه بازگشت
-        g.setFont(new Font("Arial", Font.BOLD, 20));
-        String backOption = "Back";
-        int optionWidth = g.getFontMetrics().stringWidth(backOption);
-        int backX = (screenWidth - optionWidth) / 2;
-        int backY = screenHeight - 100;
-        
-        if (selectedIndex == 0) {
-            g.setColor(Color.YELLOW);
-        } else {
-            g.setColor(Color.WHITE);
-        }
-        g.drawString(backOption, backX, backY);
     }
     
     /**
-     * رسم منوی انتخاب سختی
+     * رسم دکمه بازگشت منوی امتیازات برتر
      */
-    private void drawDifficultyMenu(Graphics g) {
-        drawMenu(g, difficultyOptions, "Select Difficulty");
+    private void drawHighScoresBackOption(Graphics g) {
+        TextCache.Style style = selectedIndex == 0 ? SELECTED_OPTION_TEXT : OPTION_TEXT;
+        style.drawCentered(g, "Back", screenWidth, screenHeight - 100);
     }
     
     /**
-     * رسم منوی راهنمای کنترل‌ها
-     */
-    private void drawControlsMenu(Graphics g) {
-        drawMenu(g, controlsOptions, "Controls");
-    }
-    
-    /**
-     * رسم منوی توقف بازی
-     */
-    private void drawPauseMenu(Graphics g) {
-        drawMenu(g, pauseMenuOptions, "Game Paused");
-    }
-    
-    /**
-     * رسم منوی پایان بازی
+     * رسم منوی پایان بازی (فقط هنگام ساخت لایه وضعیت)
      */
     private void drawGameOverMenu(Graphics g) {
         g.setFont(new Font("Arial", Font.BOLD, 48));
@@ -283,12 +407,10 @@ public class GameMenu {
             int highScoreX = (screenWidth - metrics.stringWidth(newHighScore)) / 2;
             g.drawString(newHighScore, highScoreX, 210);
         }
-        
-        drawMenu(g, gameOverOptions, "");
     }
     
     /**
-     * رسم منوی ورود نام
+     * رسم منوی ورود نام (فقط هنگام ساخت لایه وضعیت)
      */
     private void drawNameInputMenu(Graphics g) {
         g.setFont(new Font("Arial", Font.BOLD, 28));
@@ -304,73 +426,62 @@ public class GameMenu {
         int promptX = (screenWidth - metrics.stringWidth(prompt)) / 2;
         g.drawString(prompt, promptX, MENU_Y_OFFSET + 60);
         
-        // نمایش فیلد ورود نام
-        g.setFont(new Font("Arial", Font.PLAIN, 24));
-        metrics = g.getFontMetrics();
-        int fieldWidth = 300;
-        int fieldHeight = 40;
-        int fieldX = (screenWidth - fieldWidth) / 2;
+        // نمایش کادر فیلد ورود نام
+        int fieldX = (screenWidth - NAME_FIELD_WIDTH) / 2;
         int fieldY = MENU_Y_OFFSET + 100;
         
         g.setColor(Color.DARK_GRAY);
-        g.fillRect(fieldX, fieldY, fieldWidth, fieldHeight);
+        g.fillRect(fieldX, fieldY, NAME_FIELD_WIDTH, NAME_FIELD_HEIGHT);
         
         g.setColor(Color.WHITE);
-        g.drawRect(fieldX, fieldY, fieldWidth, fieldHeight);
+        g.drawRect(fieldX, fieldY, NAME_FIELD_WIDTH, NAME_FIELD_HEIGHT);
+    }
+    
+    /**
+     * رسم نام واردشده و دکمه تایید منوی ورود نام
+     */
+    private void drawNameInputField(Graphics g) {
+        int fieldX = (screenWidth - NAME_FIELD_WIDTH) / 2;
+        int fieldY = MENU_Y_OFFSET + 100;
         
-        String nameToShow = playerName + "_";
-        int nameX = fieldX + 10;
-        int nameY = fieldY + 30;
-        g.drawString(nameToShow, nameX, nameY);
+        NAME_TEXT.draw(g, playerName + "_", fieldX + 10, fieldY + 30);
         
         // دکمه تایید
-        g.setFont(new Font("Arial", Font.BOLD, 24));
-        String confirm = "Save";
-        metrics = g.getFontMetrics();
-        int confirmWidth = metrics.stringWidth(confirm);
-        int confirmX = (screenWidth - confirmWidth) / 2;
-        int confirmY = fieldY + 80;
-        
-        if (selectedIndex == 0) {
-            g.setColor(Color.YELLOW);
-        } else {
-            g.setColor(Color.WHITE);
-        }
-        g.drawString(confirm, confirmX, confirmY);
+        TextCache.Style style = selectedIndex == 0 ? SELECTED_CONFIRM_TEXT : CONFIRM_TEXT;
+        style.drawCentered(g, "Save", screenWidth, fieldY + 80);
     }
     
     /**
-     * رسم یک منوی استاندارد
+     * رسم عنوان یک منوی استاندارد
      */
-    private void drawMenu(Graphics g, String[] options, String title) {
-        if (!title.isEmpty()) {
-            g.setFont(new Font("Arial", Font.BOLD, 28));
-            g.setColor(Color.WHITE);
-            FontMetrics metrics = g.getFontMetrics();
-            int titleX = (screenWidth - metrics.stringWidth(title)) / 2;
-            g.drawString(title, titleX, MENU_Y_OFFSET);
-        }
-        
-        g.setFont(new Font("Arial", Font.BOLD, 20));
-        
-        int totalButtonsHeight = options.length * (BUTTON_HEIGHT + BUTTON_SPACING);
+    private void drawMenuTitle(Graphics g, String title) {
+        MENU_TITLE_TEXT.drawCentered(g, title, screenWidth, MENU_Y_OFFSET);
+    }
+    
+    /**
+     * رسم گزینه‌های یک منوی استاندارد
+     */
+    private void drawMenuOptions(Graphics g, String[] options) {
         int startY = MENU_Y_OFFSET + 80;
         
+        // فاصله گزینه‌ها کمتر می‌شود تا همه در صفحه جا شوند
+        int step = BUTTON_HEIGHT + BUTTON_SPACING;
+        if (options.length > 1) {
+            step = Math.min(step, (screenHeight - startY - BUTTON_SPACING) / (options.length - 1));
+        }
+        
         for (int i = 0; i < options.length; i++) {
-            int buttonY = startY + i * (BUTTON_HEIGHT + BUTTON_SPACING);
-            
-            FontMetrics metrics = g.getFontMetrics();
-            int optionWidth = metrics.stringWidth(options[i]);
-            int buttonX = (screenWidth - optionWidth) / 2;
+            int buttonY = startY + i * step;
             
             // رسم دکمه با رنگ مناسب
+            TextCache.Style style;
             if (i == selectedIndex) {
-                g.setColor(Color.YELLOW);  // رنگ دکمه انتخاب شده
+                style = SELECTED_OPTION_TEXT;  // رنگ دکمه انتخاب شده
             } else {
-                g.setColor(Color.WHITE);   // رنگ دکمه‌های دیگر
+                style = OPTION_TEXT;           // رنگ دکمه‌های دیگر
             }
             
-            g.drawString(options[i], buttonX, buttonY);
+            style.drawCentered(g, options[i], screenWidth, buttonY);
         }
     }
     
@@ -383,6 +494,9 @@ public class GameMenu {
             return; // اگر کلید قبلی هنوز پردازش نشده
         }
         
+        // هر کلید ممکن است انتخاب، متن یا وضعیت منو را تغییر دهد
+        dirty = true;
+        
         switch (keyCode) {
             case KeyEvent.VK_UP:
             case KeyEvent.VK_W:
@@ -571,12 +685,36 @@ public class GameMenu {
                 GameConfig.showFPS = !GameConfig.showFPS;
                 updateOptionsMenu();
                 break;
-            case 6: // Back
+            case 6: // Ball Collisions (از دور بعد اعمال می‌شود)
+                GameConfig.ballCollisions = !GameConfig.ballCollisions;
+                updateOptionsMenu();
+                break;
+            case 7: // Enemy Swarms (از دور بعد اعمال می‌شود)
+                GameConfig.enemySwarms = !GameConfig.enemySwarms;
+                updateOptionsMenu();
+                break;
+            case 8: // Render Scale (گردش بین مقیاس‌ها، فوراً اعمال می‌شود؛ بدون شتاب غیرفعال)
+                if (GameRenderer.isScaledRenderingAvailable()) {
+                    GameConfig.renderScale = nextRenderScale(GameConfig.renderScale);
+                    updateOptionsMenu();
+                }
+                break;
+            case 9: // Back
                 goBack();
                 break;
         }
     }
     
+    private static double nextRenderScale(double current) {
+        double[] scales = GameConfig.RENDER_SCALES;
+        for (int i = 0; i < scales.length - 1; i++) {
+            if (current < scales[i + 1]) {
+                return scales[i + 1];
+            }
+        }
+        return scales[0];
+    }
+    
     /**
      * پردازش انتخاب سطح سختی
      */
@@ -617,7 +755,7 @@ public class GameMenu {
                 changeMenuState(MenuState.OPTIONS);
                 break;
             case 2: // Restart
-                gameInstance.restartGame();
+                restartGame();
                 returnToGame = true;
                 break;
             case 3: // Main Menu
@@ -635,7 +773,7 @@ public class GameMenu {
     private void handleGameOverSelection() {
         switch (selectedIndex) {
             case 0: // Play Again
-                gameInstance.restartGame();
+                restartGame();
                 returnToGame = true;
                 break;
             case 1: // Save Score
@@ -679,6 +817,8 @@ public class GameMenu {
         previousState = currentState;
         currentState = newState;
         selectedIndex = 0; // بازنشانی انتخاب
+        stateLayerInvalid = true;
+        dirty = true;
     }
     
     /**
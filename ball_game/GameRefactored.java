@@ -1,6 +1,7 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferStrategy;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -30,15 +31,25 @@ public class GameRefactored extends JFrame {
     private List<PowerUp> powerUps;
     private EnemyManager enemyManager;
     private GameMenu gameMenu;
+    private boolean menuWasShowing = false;
+    private FrameCapture frameCapture;
+    private FullScreenDisplay fullScreenDisplay; // null در حالت پنجره‌ای
     
     /**
      * سازنده اصلی بازی
      */
     public GameRefactored() {
         setupWindow();
+        StartupTrace.mark("window setup");
+        setupDifficultyConfig();
         initializeManagers();
+        StartupTrace.mark("managers");
         setupComponents();
+        StartupTrace.mark("components");
+        setupCheckpoint();
+        startBackgroundInitialization();
         startGame();
+        StartupTrace.mark("game loop started");
     }
     
     /**
@@ -46,16 +57,37 @@ public class GameRefactored extends JFrame {
      */
     private void setupWindow() {
         setTitle("Multi-Threaded Ball Game - Refactored");
-        setSize(GameConfig.WIDTH, GameConfig.HEIGHT);
+        setSize(GameConfig.WIDTH * GameConfig.windowScale, GameConfig.HEIGHT * GameConfig.windowScale);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setResizable(false);
         setLocationRelativeTo(null);
         
         // ایجاد کنواس برای رسم بازی
         gameCanvas = new Canvas();
-        gameCanvas.setPreferredSize(new Dimension(GameConfig.WIDTH, GameConfig.HEIGHT));
+        gameCanvas.setPreferredSize(new Dimension(GameConfig.WIDTH * GameConfig.windowScale,
+            GameConfig.HEIGHT * GameConfig.windowScale));
         gameCanvas.setFocusable(false);
         add(gameCanvas);
+        
+        // تمام‌صفحه انحصاری؛ اگر پشتیبانی نشود پنجره‌ای می‌مانیم
+        if (GameConfig.fullScreen) {
+            fullScreenDisplay = FullScreenDisplay.enter(this, GameConfig.windowScale);
+            if (fullScreenDisplay != null) {
+                GameConfig.windowScale = fullScreenDisplay.getScale();
+                gameCanvas.setIgnoreRepaint(true);
+                gameCanvas.setPreferredSize(new Dimension(fullScreenDisplay.getWidth(), fullScreenDisplay.getHeight()));
+                validate();
+            }
+        }
+    }
+    
+    /**
+     * بارگذاری تنظیمات سطوح سختی و بارگذاری دوباره آن هنگام ویرایش فایل
+     */
+    private void setupDifficultyConfig() {
+        DifficultyConfig difficultyConfig = new DifficultyConfig(Paths.get(GameConfig.DIFFICULTY_FILE));
+        difficultyConfig.reload();
+        difficultyConfig.startWatching();
     }
     
     /**
@@ -71,17 +103,18 @@ public class GameRefactored extends JFrame {
         player = new Player(GameConfig.WIDTH / 2, GameConfig.HEIGHT / 2);
         balls = new CopyOnWriteArrayList<>();
         powerUps = new ArrayList<>();
-        enemyManager = new EnemyManager(GameConfig.WIDTH, GameConfig.HEIGHT);
-        // gameMenu = new GameMenu(this, GameConfig.WIDTH, GameConfig.HEIGHT);
+        enemyManager = new EnemyManager(GameConfig.WIDTH, GameConfig.HEIGHT, threadManager);
+        gameMenu = new GameMenu(this, GameConfig.WIDTH, GameConfig.HEIGHT);
+        gameMenu.setRestartAction(this::restartGame);
         
         // مدیریت کننده‌های پیشرفته
         ballManager = new BallManager(balls, threadManager);
         collisionManager = new CollisionManager(player, balls, powerUps, 
                                               enemyManager, powerUpManager, gameStateManager);
         
-        // بارگذاری تصاویر
-        ImageLoader.GameImages images = ImageLoader.loadAllImages();
-        gameRenderer = new GameRenderer(images.player, images.food, images.enemy, images.powerUp);
+        // تصاویر در پس‌زمینه بارگذاری می‌شوند؛ تا آن زمان اشکال جایگزین رسم می‌شوند
+        gameRenderer = new GameRenderer(null, null, null, null);
+        gameRenderer.setOutputSize(GameConfig.WIDTH * GameConfig.windowScale, GameConfig.HEIGHT * GameConfig.windowScale);
         
         // کنترلر بازی
         gameController = new GameController(gameStateManager, player, ballManager, 
@@ -92,8 +125,12 @@ public class GameRefactored extends JFrame {
         gameLoop = new GameLoop(gameStateManager, player, enemyManager, 
                                collisionManager, powerUpManager);
         
+        // ضبط بازی (با F9)
+        frameCapture = new FrameCapture(GameConfig.WIDTH * GameConfig.windowScale,
+            GameConfig.HEIGHT * GameConfig.windowScale);
+        
         // مدیریت ورودی
-        inputHandler = new InputHandler(gameStateManager, gameMenu, player, gameController);
+        inputHandler = new InputHandler(gameStateManager, gameMenu, player, gameController, frameCapture);
     }
     
     /**
@@ -107,9 +144,13 @@ public class GameRefactored extends JFrame {
         setFocusable(true);
         setVisible(true);
         
-        // ایجاد استراتژی بافر دوتایی برای رسم روان‌تر
-        gameCanvas.createBufferStrategy(2);
-        bufferStrategy = gameCanvas.getBufferStrategy();
+        // ایجاد استراتژی بافر: ورق‌زنی در تمام‌صفحه، بافر دوتایی در پنجره
+        if (fullScreenDisplay != null) {
+            bufferStrategy = FullScreenDisplay.createBufferStrategy(gameCanvas, GameConfig.fullScreenBuffers);
+        } else {
+            gameCanvas.createBufferStrategy(2);
+            bufferStrategy = gameCanvas.getBufferStrategy();
+        }
         
         // ایجاد عناصر اولیه
         ballManager.createInitialBalls();
@@ -122,6 +163,19 @@ public class GameRefactored extends JFrame {
         setupAudio();
     }
     
+    /**
+     * راه‌اندازی ذخیره خودکار و بازیابی بازی قطع‌شده قبلی
+     */
+    private void setupCheckpoint() {
+        WorldCheckpoint checkpoint = new WorldCheckpoint(Paths.get(GameConfig.CHECKPOINT_FILE),
+            gameStateManager, player, powerUpManager, balls, enemyManager, powerUps);
+        gameLoop.setCheckpoint(checkpoint);
+        gameController.setCheckpoint(checkpoint);
+        if (gameController.restoreCheckpoint()) {
+            StartupTrace.mark("checkpoint restored");
+        }
+    }
+    
     /**
      * ایجاد قدرت‌های اولیه
      */
@@ -148,6 +202,28 @@ public class GameRefactored extends JFrame {
         SoundManager.playMusic(SoundManager.Music.MENU, true);
     }
     
+    /**
+     * انتقال کارهای سنگین راه‌اندازی به پس‌زمینه تا منو زودتر نمایش داده شود
+     */
+    private void startBackgroundInitialization() {
+        // رمزگشایی افکت‌های صوتی
+        SoundManager.initializeAsync();
+        
+        // بارگذاری تصاویر
+        threadManager.executeBackground(() -> {
+            long start = System.nanoTime();
+            gameRenderer.setImages(ImageLoader.loadAllImages());
+            StartupTrace.record("sprite loading", start);
+        });
+        
+        // آماده‌سازی نخ‌های زمان‌بند
+        threadManager.executeBackground(() -> {
+            long start = System.nanoTime();
+            threadManager.warmUp();
+            StartupTrace.record("executor warm-up", start);
+        });
+    }
+    
     /**
      * شروع بازی
      */
@@ -162,31 +238,82 @@ public class GameRefactored extends JFrame {
     private void render() {
         if (bufferStrategy == null) return;
         
+        // منو فقط در صورت تغییر دوباره رسم می‌شود
+        boolean showingMenu = gameStateManager.isShowingMenu();
+        if (showingMenu) {
+            if (!menuWasShowing) {
+                gameMenu.markDirty();
+            }
+            menuWasShowing = true;
+            if (!gameMenu.needsRender() && !bufferStrategy.contentsLost()) {
+                return;
+            }
+        } else {
+            menuWasShowing = false;
+        }
+        
         gameStateManager.updateFrameStats();
         
         // دریافت گرافیک از بافر
         Graphics g = bufferStrategy.getDrawGraphics();
+        if (fullScreenDisplay != null) {
+            fullScreenDisplay.beginFrame(g);
+        }
+        
+        // هنگام ضبط، فریم در تصویر ضبط رسم و سپس روی بافر کپی می‌شود
+        FrameCapture.Frame captureFrame = frameCapture.beginFrame();
+        Graphics target = captureFrame != null ? captureFrame.getGraphics() : g;
         
         try {
             // پاکسازی صفحه
-            g.setColor(GameConfig.BACKGROUND_COLOR);
-            g.fillRect(0, 0, GameConfig.WIDTH, GameConfig.HEIGHT);
+            target.setColor(GameConfig.BACKGROUND_COLOR);
+            target.fillRect(0, 0, GameConfig.WIDTH * GameConfig.windowScale, GameConfig.HEIGHT * GameConfig.windowScale);
             
             // رسم عناصر بازی یا منو
-            if (gameStateManager.isShowingMenu()) {
-                gameMenu.render(g);
+            if (showingMenu) {
+                renderMenu(target);
             } else {
-                gameRenderer.renderGame(g, player, balls, powerUps, 
+                gameRenderer.renderGame(target, player, balls, powerUps, 
                                       enemyManager, powerUpManager, gameStateManager);
             }
             
+            if (captureFrame != null) {
+                frameCapture.endFrame(captureFrame, g);
+            }
+            frameCapture.drawOverlay(g);
         } finally {
             // آزادسازی منابع گرافیکی
             g.dispose();
         }
         
         // نمایش بافر
+        long presentStart = System.nanoTime();
         bufferStrategy.show();
+        gameStateManager.recordPresent(System.nanoTime() - presentStart);
+        
+        // ثبت تأخیر ورودی‌هایی که در این فریم به نمایش رسیدند
+        gameStateManager.recordFramePresented(player.takePendingInputNanos());
+        
+        if (showingMenu) {
+            StartupTrace.firstFrame();
+        }
+    }
+    
+    /**
+     * رسم منو با وضوح پنجره (مختصات منو 800x600 است)
+     */
+    private void renderMenu(Graphics g) {
+        if (GameConfig.windowScale == 1) {
+            gameMenu.render(g);
+            return;
+        }
+        Graphics2D scaled = (Graphics2D) g.create();
+        try {
+            scaled.scale(GameConfig.windowScale, GameConfig.windowScale);
+            gameMenu.render(scaled);
+        } finally {
+            scaled.dispose();
+        }
     }
     
     /**
@@ -244,6 +371,9 @@ public class GameRefactored extends JFrame {
     public void dispose() {
         gameLoop.stop();
         gameController.shutdown();
+        if (fullScreenDisplay != null) {
+            fullScreenDisplay.exit();
+        }
         super.dispose();
     }
     
@@ -251,7 +381,21 @@ public class GameRefactored extends JFrame {
      * متد اصلی
      */
     public static void main(String[] args) {
+        StartupTrace.mark("main");
+        for (String arg : args) {
+            if (arg.startsWith("--window-scale=")) {
+                int scale = Integer.parseInt(arg.substring("--window-scale=".length()));
+                GameConfig.windowScale = Math.max(1, Math.min(scale, GameConfig.MAX_WINDOW_SCALE));
+            } else if (arg.equals("--fullscreen")) {
+                GameConfig.fullScreen = true;
+            } else if (arg.startsWith("--buffers=")) {
+                int buffers = Integer.parseInt(arg.substring("--buffers=".length()));
+                GameConfig.fullScreenBuffers = Math.max(GameConfig.MIN_BUFFER_COUNT,
+                    Math.min(buffers, GameConfig.MAX_BUFFER_COUNT));
+            }
+        }
         SwingUtilities.invokeLater(() -> {
+            StartupTrace.mark("EDT ready");
             GameRefactored game = new GameRefactored();
             game.requestFocus();
         });
@@ -1,55 +1,260 @@
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * کلاس رندرر بازی برای رسم همه عناصر
  */
 public class GameRenderer {
-    private Image imgPlayer;
-    private Image imgFood;
-    private Image imgEnemy;
-    private Image imgPowerUp;
+    // فونت‌ها و سبک‌های متن کش‌شده
+    private static final Font HUD_FONT = new Font("Arial", Font.BOLD, 20);
+    private static final Font FPS_FONT = new Font("Arial", Font.PLAIN, 12);
+    private static final Font ICON_FONT = new Font(Font.DIALOG, Font.PLAIN, 12);
+    private static final TextCache.Style HUD_TEXT = TextCache.style(HUD_FONT, GameConfig.TEXT_COLOR);
+    private static final TextCache.Style POWER_UP_TEXT = TextCache.style(HUD_FONT, Color.CYAN);
+    private static final TextCache.Style FPS_TEXT = TextCache.style(FPS_FONT, Color.YELLOW);
+    private static final TextCache.Style ICON_TEXT = TextCache.style(ICON_FONT, Color.WHITE);
+    
+    // ترکیب‌ها و رنگ‌های ثابت تا در هر فریم شیء جدید ساخته نشود
+    private static final AlphaComposite OPAQUE = AlphaComposite.SrcOver;
+    private static final AlphaComposite GHOST_COMPOSITE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f);
+    private static final AlphaComposite GLOW_COMPOSITE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.3f);
+    private static final AlphaComposite SHIELD_COMPOSITE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.7f);
+    private static final Color SHIELD_COLOR = new Color(0, 200, 200);
+    private AlphaComposite[] trailComposites = new AlphaComposite[0];
+    private final Map<PowerUp.PowerUpType, BufferedImage> shapeIcons = new EnumMap<>(PowerUp.PowerUpType.class);
+    
+    // تصاویر با کش نسخه‌های تغییر اندازه یافته (null یعنی رسم اشکال جایگزین)
+    private volatile ScaledSprite imgPlayer;
+    private volatile ScaledSprite imgFood;
+    private volatile ScaledSprite imgEnemy;
+    private volatile ScaledSprite imgPowerUp;
+    
+    // اندازه خروجی (پنجره) و بافر دنیا برای مقیاس رسم کمتر یا بیشتر از اندازه اصلی
+    private int outputWidth = GameConfig.WIDTH;
+    private int outputHeight = GameConfig.HEIGHT;
+    private VolatileImage worldBuffer;
+    
+    // آیا بافر دنیا روی این پیکربندی شتاب‌دار است (در خط لوله نرم‌افزاری مقیاس کمتر کندتر است)
+    private static volatile Boolean screenAccelerated;
+    private GraphicsConfiguration probedConfig;
+    private boolean probedAccelerated;
+    private boolean forceWorldBuffer = false;
     
     public GameRenderer(Image imgPlayer, Image imgFood, Image imgEnemy, Image imgPowerUp) {
-        this.imgPlayer = imgPlayer;
-        this.imgFood = imgFood;
-        this.imgEnemy = imgEnemy;
-        this.imgPowerUp = imgPowerUp;
+        this.imgPlayer = ScaledSprite.of(imgPlayer);
+        this.imgFood = ScaledSprite.of(imgFood);
+        this.imgEnemy = ScaledSprite.of(imgEnemy);
+        this.imgPowerUp = ScaledSprite.of(imgPowerUp);
+    }
+    
+    /**
+     * تنظیم تصاویر پس از بارگذاری در پس‌زمینه
+     * (تا آن زمان اشکال رنگی جایگزین رسم می‌شوند)
+     */
+    public void setImages(ImageLoader.GameImages images) {
+        this.imgPlayer = ScaledSprite.of(images.player);
+        this.imgFood = ScaledSprite.of(images.food);
+        this.imgEnemy = ScaledSprite.of(images.enemy);
+        this.imgPowerUp = ScaledSprite.of(images.powerUp);
+    }
+    
+    /**
+     * تنظیم اندازه خروجی؛ مختصات بازی همیشه 800x600 است و به این اندازه کشیده می‌شود
+     */
+    public void setOutputSize(int width, int height) {
+        this.outputWidth = width;
+        this.outputHeight = height;
+    }
+    
+    /**
+     * آیا مقیاس رسم کمتر از 100% روی صفحه اصلی در دسترس است
+     * (فقط با بافر شتاب‌دار؛ در خط لوله نرم‌افزاری رسم با تبدیل مقیاس چند برابر کندتر است)
+     */
+    public static boolean isScaledRenderingAvailable() {
+        Boolean accelerated = screenAccelerated;
+        if (accelerated == null) {
+            accelerated = !GraphicsEnvironment.isHeadless() && isAccelerated(GraphicsEnvironment
+                .getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration());
+            screenAccelerated = accelerated;
+        }
+        return accelerated;
+    }
+    
+    static boolean isAccelerated(GraphicsConfiguration config) {
+        VolatileImage probe = config.createCompatibleVolatileImage(1, 1);
+        try {
+            return probe.getCapabilities().isAccelerated();
+        } finally {
+            probe.flush();
+        }
     }
     
     /**
      * رسم عناصر بازی
+     *
+     * با مقیاس 100% یا وقتی بافر شتاب‌دار در دسترس نیست، دنیا مستقیم روی g رسم می‌شود
+     * (در صورت نیاز با تبدیل به اندازه خروجی). در غیر این صورت دنیا در بافری به اندازه
+     * خروجی ضرب در GameConfig.renderScale رسم و با یک drawImage به اندازه خروجی کشیده
+     * می‌شود؛ رابط کاربری همیشه با وضوح خروجی رسم می‌شود.
      */
     public void renderGame(Graphics g, Player player, CopyOnWriteArrayList<Ball> balls,
                           List<PowerUp> powerUps, EnemyManager enemyManager,
                           PowerUpManager powerUpManager, GameStateManager gameStateManager) {
+        long frameStart = AllocationProfiler.begin();
+        
+        double outputScale = (double) outputWidth / GameConfig.WIDTH;
+        boolean buffered = useWorldBuffer((Graphics2D) g);
+        if (outputScale == 1 && !buffered) {
+            renderWorld(g, true, player, balls, powerUps, enemyManager, powerUpManager);
+            renderHUD(g, gameStateManager, powerUpManager);
+        } else {
+            if (buffered) {
+                renderWorldScaled((Graphics2D) g, outputScale * GameConfig.renderScale,
+                    player, balls, powerUps, enemyManager, powerUpManager);
+            } else {
+                Graphics2D world = (Graphics2D) g.create();
+                try {
+                    world.scale(outputScale, (double) outputHeight / GameConfig.HEIGHT);
+                    renderWorld(world, true, player, balls, powerUps, enemyManager, powerUpManager);
+                } finally {
+                    world.dispose();
+                }
+            }
+            Graphics2D hud = (Graphics2D) g.create();
+            try {
+                hud.scale(outputScale, (double) outputHeight / GameConfig.HEIGHT);
+                renderHUD(hud, gameStateManager, powerUpManager);
+            } finally {
+                hud.dispose();
+            }
+        }
+        
+        AllocationProfiler.end(AllocationProfiler.Phase.FRAME, frameStart);
+    }
+    
+    /**
+     * استفاده از بافر دنیا برای مقیاس کمتر از 100% حتی بدون شتاب (برای اندازه‌گیری در RenderScaleBench)
+     */
+    void setForceWorldBuffer(boolean force) {
+        this.forceWorldBuffer = force;
+    }
+    
+    /**
+     * بافر دنیا فقط برای مقیاس کمتر از 100% و فقط وقتی روی پیکربندی g شتاب‌دار است
+     */
+    private boolean useWorldBuffer(Graphics2D g) {
+        if (GameConfig.renderScale >= 1) {
+            return false;
+        }
+        if (forceWorldBuffer) {
+            return true;
+        }
+        GraphicsConfiguration config = g.getDeviceConfiguration();
+        if (config != probedConfig) {
+            probedConfig = config;
+            probedAccelerated = isAccelerated(config);
+        }
+        return probedAccelerated;
+    }
+    
+    /**
+     * رسم دنیا در بافر کوچک‌تر یا بزرگ‌تر و کشیدن آن روی خروجی
+     */
+    private void renderWorldScaled(Graphics2D g, double worldScale, Player player,
+                                   CopyOnWriteArrayList<Ball> balls, List<PowerUp> powerUps,
+                                   EnemyManager enemyManager, PowerUpManager powerUpManager) {
+        int bufferWidth = Math.max(1, (int) Math.round(GameConfig.WIDTH * worldScale));
+        int bufferHeight = Math.max(1, (int) Math.round(GameConfig.HEIGHT * worldScale));
+        GraphicsConfiguration config = g.getDeviceConfiguration();
+        
+        do {
+            if (worldBuffer == null || worldBuffer.getWidth() != bufferWidth
+                    || worldBuffer.getHeight() != bufferHeight
+                    || worldBuffer.validate(config) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (worldBuffer != null) {
+                    worldBuffer.flush();
+                }
+                worldBuffer = config.createCompatibleVolatileImage(bufferWidth, bufferHeight);
+            }
+            
+            Graphics2D world = worldBuffer.createGraphics();
+            try {
+                world.setColor(GameConfig.BACKGROUND_COLOR);
+                world.fillRect(0, 0, bufferWidth, bufferHeight);
+                world.scale(worldScale, worldScale);
+                // زیر مقیاس 100% آنتی‌آلیاسینگ خاموش است: لبه‌ها در بزرگ‌نمایی نرم می‌شوند و
+                // ساخت ماسک پوشش پرهزینه‌ترین بخش پر کردن اشکال است
+                renderWorld(world, worldScale >= 1, player, balls, powerUps, enemyManager, powerUpManager);
+            } finally {
+                world.dispose();
+            }
+        } while (worldBuffer.contentsLost());
+        
+        // بزرگ‌نمایی با ضریب صحیح پیکسل‌ها را تیز نگه می‌دارد؛ ضرایب دیگر دوخطی
+        // درون‌یابی می‌شوند (بافر شتاب‌دار است و کپی روی کارت گرافیک انجام می‌شود)
+        double upscale = outputWidth / (double) bufferWidth;
+        boolean integral = upscale >= 1 && Math.abs(upscale - Math.rint(upscale)) < 1e-6;
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, !integral
+            ? RenderingHints.VALUE_INTERPOLATION_BILINEAR
+            : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g.drawImage(worldBuffer, 0, 0, outputWidth, outputHeight, null);
+    }
+    
+    /**
+     * رسم دنیای بازی (همه چیز غیر از رابط کاربری) در مختصات 800x600
+     */
+    private void renderWorld(Graphics g, boolean antialias, Player player, CopyOnWriteArrayList<Ball> balls,
+                             List<PowerUp> powerUps, EnemyManager enemyManager,
+                             PowerUpManager powerUpManager) {
         Graphics2D g2d = (Graphics2D) g;
         
         // فعال کردن آنتی‌آلیاسینگ برای رسم بهتر
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+            antialias ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
         
         // رسم دنباله بازیکن
+        long phaseStart = AllocationProfiler.begin();
         drawPlayerTrail(g2d, player, powerUpManager.isPlayerInvincible());
+        AllocationProfiler.end(AllocationProfiler.Phase.FRAME_TRAIL, phaseStart);
         
         // رسم توپ‌ها
+        phaseStart = AllocationProfiler.begin();
         drawBalls(g, balls);
+        AllocationProfiler.end(AllocationProfiler.Phase.FRAME_BALLS, phaseStart);
         
         // رسم قدرت‌ها
+        phaseStart = AllocationProfiler.begin();
         drawPowerUps(g, powerUps);
+        AllocationProfiler.end(AllocationProfiler.Phase.FRAME_POWER_UPS, phaseStart);
         
         // رسم دشمنان
+        phaseStart = AllocationProfiler.begin();
         drawEnemies(g, enemyManager);
+        AllocationProfiler.end(AllocationProfiler.Phase.FRAME_ENEMIES, phaseStart);
         
         // رسم بازیکن
+        phaseStart = AllocationProfiler.begin();
         drawPlayer(g, g2d, player, powerUpManager.isPlayerInvincible());
+        AllocationProfiler.end(AllocationProfiler.Phase.FRAME_PLAYER, phaseStart);
         
         // رسم افکت‌های ویژه
+        phaseStart = AllocationProfiler.begin();
         EffectManager.render(g);
-        
-        // رسم رابط کاربری و آمار بازی
+        AllocationProfiler.end(AllocationProfiler.Phase.FRAME_EFFECTS, phaseStart);
+    }
+    
+    /**
+     * رسم رابط کاربری و آمار بازی
+     */
+    private void renderHUD(Graphics g, GameStateManager gameStateManager, PowerUpManager powerUpManager) {
+        long phaseStart = AllocationProfiler.begin();
         drawHUD(g, gameStateManager, powerUpManager);
+        AllocationProfiler.end(AllocationProfiler.Phase.FRAME_HUD, phaseStart);
     }
     
     /**
@@ -60,12 +265,12 @@ public class GameRenderer {
         
         // رسم دنباله فقط اگر بازیکن در حال حرکت باشد
         int trailSize = trail.size();
+        AlphaComposite[] composites = trailComposites(trailSize);
         for (int i = 0; i < trailSize - 1; i++) {
             Player.Point current = trail.get(i);
             
-            // محاسبه شفافیت براساس فاصله از موقعیت فعلی
-            float alpha = (float)i / trailSize * 0.5f;
-            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+            // شفافیت براساس فاصله از موقعیت فعلی
+            g.setComposite(composites[i]);
             
             // محاسبه اندازه براساس فاصله از موقعیت فعلی
             int size = GameConfig.PLAYER_SIZE - (trailSize - i) * 2;
@@ -80,7 +285,22 @@ public class GameRenderer {
         }
         
         // بازگرداندن شفافیت به حالت عادی
-        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+        g.setComposite(OPAQUE);
+    }
+    
+    /**
+     * ترکیب‌های شفافیت نقاط دنباله (فقط با تغییر طول دنباله دوباره ساخته می‌شوند)
+     */
+    private AlphaComposite[] trailComposites(int trailSize) {
+        if (trailComposites.length != trailSize) {
+            AlphaComposite[] composites = new AlphaComposite[trailSize];
+            for (int i = 0; i < trailSize; i++) {
+                float alpha = (float)i / trailSize * 0.5f;
+                composites[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha);
+            }
+            trailComposites = composites;
+        }
+        return trailComposites;
     }
     
     /**
@@ -94,24 +314,24 @@ public class GameRenderer {
                 int bx = ball.getX();
                 int by = ball.getY();
                 int bs = ball.getSize();
-                Image useImg = (bs < GameConfig.PLAYER_SIZE) ? imgFood : imgEnemy;
+                ScaledSprite useImg = (bs < GameConfig.PLAYER_SIZE) ? imgFood : imgEnemy;
                 
                 if (useImg != null) {
-                    g.drawImage(useImg, bx, by, bs, bs, null);
+                    useImg.draw(g, bx, by, bs);
                     // اگر توپ شبح است، نیمه‌شفاف دوباره رسم شود برای افکت
                     if (ball.getType() == Ball.BallType.GHOST) {
-                        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
-                        g.drawImage(useImg, bx, by, bs, bs, null);
-                        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+                        g2d.setComposite(GHOST_COMPOSITE);
+                        useImg.draw(g, bx, by, bs);
+                        g2d.setComposite(OPAQUE);
                     }
                 } else {
                     // رسم توپ با رنگ مناسب نوع آن (fallback)
                     g.setColor(ball.getColor());
                     g.fillOval(bx, by, bs, bs);
                     if (ball.getType() == Ball.BallType.GHOST) {
-                        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
+                        g2d.setComposite(GHOST_COMPOSITE);
                         g.fillOval(bx, by, bs, bs);
-                        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+                        g2d.setComposite(OPAQUE);
                     }
                 }
             }
@@ -130,7 +350,7 @@ public class GameRenderer {
                 int drawY = powerUp.getY() - (powerUp.getSize()/2 + pulse);
                 
                 if (imgPowerUp != null) {
-                    g.drawImage(imgPowerUp, drawX, drawY, size, size, null);
+                    imgPowerUp.draw(g, drawX, drawY, size);
                 } else {
                     // fallback: رسم دایره رنگی
                     g.setColor(powerUp.getColor());
@@ -154,29 +374,52 @@ public class GameRenderer {
         
         switch (powerUp.getType()) {
             case SPEED_BOOST:
-                g.drawString("S", x + size/2 - 5, y + size/2 + 5);
+                ICON_TEXT.draw(g, "S", x + size/2 - 5, y + size/2 + 5);
                 break;
             case INVINCIBILITY:
-                g.drawString("I", x + size/2 - 3, y + size/2 + 5);
+                ICON_TEXT.draw(g, "I", x + size/2 - 3, y + size/2 + 5);
                 break;
             case SCORE_MULTIPLIER:
-                g.drawString("x" + GameConfig.getScoreMultiplier(), x + size/2 - 5, y + size/2 + 5);
+                int textX = x + size/2 - 5;
+                ICON_TEXT.draw(g, "x", textX, y + size/2 + 5);
+                ICON_TEXT.drawNumber(g, GameConfig.getScoreMultiplier(),
+                    textX + ICON_TEXT.stringWidth("x"), y + size/2 + 5);
                 break;
             case SHIELD:
-                int[] xPoints = {x + size/2, x + size - 3, x + 3};
-                int[] yPoints = {y + 3, y + size - 3, y + size - 3};
-                g.drawPolygon(xPoints, yPoints, 3);
-                break;
             case TIME_SLOW:
-                g.drawOval(x + 5, y + 5, size - 10, size - 10);
-                g.drawLine(x + size/2, y + size/2, x + size/2, y + 8);
+                // نمادهای هندسی یک بار در تصویر رسم می‌شوند
+                g.drawImage(shapeIcon(powerUp.getType(), size), x, y, null);
                 break;
             case CLEAR_SCREEN:
-                g.drawString("C", x + size/2 - 5, y + size/2 + 5);
+                ICON_TEXT.draw(g, "C", x + size/2 - 5, y + size/2 + 5);
                 break;
         }
     }
     
+    /**
+     * تصویر نماد هندسی یک نوع قدرت (سپر یا کند کردن زمان)
+     */
+    private BufferedImage shapeIcon(PowerUp.PowerUpType type, int size) {
+        BufferedImage icon = shapeIcons.get(type);
+        if (icon == null || icon.getWidth() != size) {
+            icon = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g2d = icon.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setColor(Color.WHITE);
+            if (type == PowerUp.PowerUpType.SHIELD) {
+                int[] xPoints = {size/2, size - 3, 3};
+                int[] yPoints = {3, size - 3, size - 3};
+                g2d.drawPolygon(xPoints, yPoints, 3);
+            } else {
+                g2d.drawOval(5, 5, size - 10, size - 10);
+                g2d.drawLine(size/2, size/2, size/2, 8);
+            }
+            g2d.dispose();
+            shapeIcons.put(type, icon);
+        }
+        return icon;
+    }
+    
     /**
      * رسم دشمنان
      */
@@ -185,14 +428,10 @@ public class GameRenderer {
         
         for (Enemy enemy : enemies) {
             if (enemy.isActive()) {
-                if (enemy.getType() == Enemy.EnemyType.TRACKER) {
-                    g.setColor(GameConfig.TRACKER_ENEMY_COLOR);
-                } else {
-                    g.setColor(GameConfig.BOMBER_ENEMY_COLOR);
-                }
+                g.setColor(GameConfig.getEnemyColor(enemy.getType()));
                 
                 if (imgEnemy != null) {
-                    g.drawImage(imgEnemy, enemy.getX(), enemy.getY(), enemy.getSize(), enemy.getSize(), null);
+                    imgEnemy.draw(g, enemy.getX(), enemy.getY(), enemy.getSize());
                 } else {
                     g.fillRect(enemy.getX(), enemy.getY(), enemy.getSize(), enemy.getSize());
                 }
@@ -235,7 +474,7 @@ public class GameRenderer {
         if (isInvincible) {
             // اگر شکست‌ناپذیر باشد، با افکت ویژه رسم می‌شود
             if (imgPlayer != null) {
-                g.drawImage(imgPlayer, player.getX(), player.getY(), ps, ps, null);
+                imgPlayer.draw(g, player.getX(), player.getY(), ps);
             } else {
                 g.setColor(GameConfig.PLAYER_INVINCIBLE_COLOR);
                 g.fillRect(player.getX(), player.getY(), ps, ps);
@@ -243,17 +482,17 @@ public class GameRenderer {
             
             // افکت نورانی
             int glowSize = 6;
-            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.3f));
+            g2d.setComposite(GLOW_COMPOSITE);
             g.fillRect(
                 player.getX() - glowSize, 
                 player.getY() - glowSize, 
                 GameConfig.PLAYER_SIZE + glowSize * 2, 
                 GameConfig.PLAYER_SIZE + glowSize * 2
             );
-            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+            g2d.setComposite(OPAQUE);
         } else {
             if (imgPlayer != null) {
-                g.drawImage(imgPlayer, player.getX(), player.getY(), ps, ps, null);
+                imgPlayer.draw(g, player.getX(), player.getY(), ps);
             } else {
                 g.setColor(GameConfig.PLAYER_COLOR);
                 g.fillRect(player.getX(), player.getY(), ps, ps);
@@ -273,8 +512,8 @@ public class GameRenderer {
             int shieldX = player.getX() - 5;
             int shieldY = player.getY() - 5;
             
-            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.7f));
-            g.setColor(new Color(0, 200, 200));
+            g2d.setComposite(SHIELD_COMPOSITE);
+            g.setColor(SHIELD_COLOR);
             g.drawOval(shieldX, shieldY, shieldSize, shieldSize);
             
             // رسم خطوط بیشتر برای قدرت سپر
@@ -282,7 +521,7 @@ public class GameRenderer {
                 g.drawOval(shieldX - i, shieldY - i, shieldSize + i * 2, shieldSize + i * 2);
             }
             
-            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+            g2d.setComposite(OPAQUE);
         }
     }
     
@@ -294,26 +533,30 @@ public class GameRenderer {
         g.setColor(GameConfig.HUD_BACKGROUND_COLOR);
         g.fillRect(0, 0, GameConfig.WIDTH, 50);
         
-        // رسم امتیاز
-        g.setColor(GameConfig.TEXT_COLOR);
-        g.setFont(new Font("Arial", Font.BOLD, 20));
-        g.drawString("Score: " + gameStateManager.getScore(), 20, 30);
+        // رسم امتیاز (برچسب‌ها و ارقام از کش متن)
+        HUD_TEXT.draw(g, "Score: ", 20, 30);
+        HUD_TEXT.drawNumber(g, gameStateManager.getScore(), 20 + HUD_TEXT.stringWidth("Score: "), 30);
         
         // رسم سطح بازی
-        g.drawString("Level: " + gameStateManager.getLevel(), 150, 30);
+        HUD_TEXT.draw(g, "Level: ", 150, 30);
+        HUD_TEXT.drawNumber(g, gameStateManager.getLevel(), 150 + HUD_TEXT.stringWidth("Level: "), 30);
         
         // رسم تعداد جان‌ها
-        g.drawString("Lives: " + gameStateManager.getLives(), 250, 30);
+        HUD_TEXT.draw(g, "Lives: ", 250, 30);
+        HUD_TEXT.drawNumber(g, gameStateManager.getLives(), 250 + HUD_TEXT.stringWidth("Lives: "), 30);
         
         // رسم زمان بازی
         long gameTime = gameStateManager.getGameTime();
         int minutes = (int)(gameTime / 60);
         int seconds = (int)(gameTime % 60);
-        g.drawString(String.format("Time: %02d:%02d", minutes, seconds), 350, 30);
+        int timeX = 350 + HUD_TEXT.stringWidth("Time: ");
+        HUD_TEXT.draw(g, "Time: ", 350, 30);
+        timeX = HUD_TEXT.drawTwoDigits(g, minutes, timeX, 30);
+        HUD_TEXT.draw(g, ":", timeX, 30);
+        HUD_TEXT.drawTwoDigits(g, seconds, timeX + HUD_TEXT.stringWidth(":"), 30);
         
         // رسم قدرت فعال
         if (powerUpManager.getRemainingTime() > 0) {
-            g.setColor(Color.CYAN);
             long remainingTime = powerUpManager.getRemainingTime() / 1000;
             
             String powerUpName = "";
@@ -321,15 +564,81 @@ public class GameRenderer {
                 powerUpName = powerUpManager.getActivePowerUpType().toString();
             }
             
-            g.drawString(powerUpName + ": " + remainingTime + "s", 20, 60);
+            int textX = 20;
+            POWER_UP_TEXT.draw(g, powerUpName, textX, 60);
+            textX += POWER_UP_TEXT.stringWidth(powerUpName);
+            POWER_UP_TEXT.draw(g, ": ", textX, 60);
+            textX += POWER_UP_TEXT.stringWidth(": ");
+            textX = POWER_UP_TEXT.drawNumber(g, remainingTime, textX, 60);
+            POWER_UP_TEXT.draw(g, "s", textX, 60);
         }
         
         // نمایش FPS اگر فعال باشد
         if (GameConfig.showFPS) {
-            g.setColor(Color.YELLOW);
-            g.setFont(new Font("Arial", Font.PLAIN, 12));
-            g.drawString("FPS: " + gameStateManager.getFramesPerSecond() + " | UPS: " + gameStateManager.getUpdatesPerSecond(), 
-                        GameConfig.WIDTH - 150, 20);
+            int textX = GameConfig.WIDTH - 150;
+            FPS_TEXT.draw(g, "FPS: ", textX, 20);
+            textX = FPS_TEXT.drawNumber(g, gameStateManager.getFramesPerSecond(),
+                textX + FPS_TEXT.stringWidth("FPS: "), 20);
+            FPS_TEXT.draw(g, " | UPS: ", textX, 20);
+            FPS_TEXT.drawNumber(g, gameStateManager.getUpdatesPerSecond(),
+                textX + FPS_TEXT.stringWidth(" | UPS: "), 20);
+            
+            // تأخیر ورودی تا نمایش (میانگین و بیشینه ثانیه گذشته)
+            textX = GameConfig.WIDTH - 150;
+            FPS_TEXT.draw(g, "Input: ", textX, 34);
+            textX = FPS_TEXT.drawNumber(g, Math.round(gameStateManager.getAverageInputLatencyMs()),
+                textX + FPS_TEXT.stringWidth("Input: "), 34);
+            FPS_TEXT.draw(g, " ms | max ", textX, 34);
+            textX = FPS_TEXT.drawNumber(g, Math.round(gameStateManager.getMaxInputLatencyMs()),
+                textX + FPS_TEXT.stringWidth(" ms | max "), 34);
+            FPS_TEXT.draw(g, " ms", textX, 34);
+            
+            // زمان show() بافر به میکروثانیه
+            textX = GameConfig.WIDTH - 150;
+            FPS_TEXT.draw(g, "Present: ", textX, 48);
+            textX = FPS_TEXT.drawNumber(g, Math.round(gameStateManager.getAveragePresentMs() * 1000),
+                textX + FPS_TEXT.stringWidth("Present: "), 48);
+            FPS_TEXT.draw(g, " us", textX, 48);
+        }
+    }
+    
+    /**
+     * یک تصویر با نسخه‌های از پیش تغییر اندازه یافته برای هر اندازه مربعی
+     *
+     * drawImage با تغییر اندازه در هر فراخوانی شیء می‌سازد؛ رسم نسخه هم‌اندازه
+     * فقط یک کپی پیکسلی است.
+     */
+    private static class ScaledSprite {
+        private static final int MAX_CACHED_SIZE = 256;
+        
+        private final Image source;
+        private final BufferedImage[] bySize = new BufferedImage[MAX_CACHED_SIZE + 1];
+        
+        private ScaledSprite(Image source) {
+            this.source = source;
+        }
+        
+        static ScaledSprite of(Image source) {
+            return source == null ? null : new ScaledSprite(source);
+        }
+        
+        void draw(Graphics g, int x, int y, int size) {
+            if (size <= 0 || size > MAX_CACHED_SIZE) {
+                g.drawImage(source, x, y, size, size, null);
+                return;
+            }
+            
+            BufferedImage scaled = bySize[size];
+            if (scaled == null) {
+                scaled = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+                Graphics2D g2d = scaled.createGraphics();
+                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2d.drawImage(source, 0, 0, size, size, null);
+                g2d.dispose();
+                bySize[size] = scaled;
+            }
+            g.drawImage(scaled, x, y, null);
         }
     }
 }
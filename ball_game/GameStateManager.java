@@ -25,6 +25,18 @@ public class GameStateManager {
     private long gameTime = 0;
     private int selectedMenuIndex = 0;
     
+    // تأخیر ورودی تا نمایش فریم (ثبت در نخ بازی، جمع‌بندی در زمان‌بند ثانیه‌ای)
+    private long inputLatencySumNanos = 0;
+    private long inputLatencyMaxNanos = 0;
+    private int inputLatencySamples = 0;
+    private volatile double averageInputLatencyMs = 0;
+    private volatile double maxInputLatencyMs = 0;
+    
+    // زمان show() استراتژی بافر (کپی در حالت پنجره‌ای، ورق‌زنی در تمام‌صفحه)
+    private long presentSumNanos = 0;
+    private int presentSamples = 0;
+    private volatile double averagePresentMs = 0;
+    
     public GameStateManager() {
         gameStartTime = System.currentTimeMillis();
     }
@@ -95,6 +107,28 @@ public class GameStateManager {
         updateCount++;
     }
     
+    /**
+     * ثبت نمایش یک فریم؛ اگر ورودی جدیدی در آن اعمال شده باشد تأخیر آن ثبت می‌شود
+     * @param inputNanos زمان قدیمی‌ترین ورودی اعمال‌شده در این فریم یا 0
+     */
+    public synchronized void recordFramePresented(long inputNanos) {
+        if (inputNanos == 0) {
+            return;
+        }
+        long latency = System.nanoTime() - inputNanos;
+        inputLatencySumNanos += latency;
+        inputLatencyMaxNanos = Math.max(inputLatencyMaxNanos, latency);
+        inputLatencySamples++;
+    }
+    
+    /**
+     * ثبت مدت نمایش بافر یک فریم
+     */
+    public synchronized void recordPresent(long nanos) {
+        presentSumNanos += nanos;
+        presentSamples++;
+    }
+    
     /**
      * به‌روزرسانی آمار ثانیه‌ای
      */
@@ -103,11 +137,56 @@ public class GameStateManager {
         updatesPerSecond = updateCount;
         frameCount = 0;
         updateCount = 0;
+        updateFrameTimingStats();
         if (gameRunning && !gamePaused) {
             gameTime = (System.currentTimeMillis() - gameStartTime) / 1000;
         }
     }
     
+    /**
+     * جمع‌بندی تأخیر ورودی و زمان نمایش ثانیه گذشته (بدون نمونه، مقادیر قبلی حفظ می‌شوند)
+     */
+    private synchronized void updateFrameTimingStats() {
+        if (inputLatencySamples > 0) {
+            averageInputLatencyMs = inputLatencySumNanos / (inputLatencySamples * 1_000_000.0);
+            maxInputLatencyMs = inputLatencyMaxNanos / 1_000_000.0;
+        }
+        inputLatencySumNanos = 0;
+        inputLatencyMaxNanos = 0;
+        inputLatencySamples = 0;
+        if (presentSamples > 0) {
+            averagePresentMs = presentSumNanos / (presentSamples * 1_000_000.0);
+        }
+        presentSumNanos = 0;
+        presentSamples = 0;
+    }
+    
+    /**
+     * نوشتن وضعیت پیشرفت بازی در checkpoint
+     */
+    public void writeCheckpoint(java.nio.ByteBuffer out, long now) {
+        out.putInt(score);
+        out.putInt(level);
+        out.putInt(lives);
+        out.putInt(ballSpawnAcceleration);
+        out.putInt(enemySpawnAcceleration);
+        out.putLong(now - gameStartTime);
+    }
+    
+    /**
+     * بازگرداندن وضعیت پیشرفت بازی از checkpoint
+     */
+    public void readCheckpoint(java.nio.ByteBuffer in, long now) {
+        score = in.getInt();
+        level = in.getInt();
+        lives = in.getInt();
+        ballSpawnAcceleration = in.getInt();
+        enemySpawnAcceleration = in.getInt();
+        gameStartTime = now - in.getLong();
+        gameTime = (now - gameStartTime) / 1000;
+        gameRunning = true;
+    }
+    
     /**
      * تغییر وضعیت توقف
      */
@@ -128,6 +207,9 @@ public class GameStateManager {
     public int getBallSpawnAcceleration() { return ballSpawnAcceleration; }
     public int getFramesPerSecond() { return framesPerSecond; }
     public int getUpdatesPerSecond() { return updatesPerSecond; }
+    public double getAverageInputLatencyMs() { return averageInputLatencyMs; }
+    public double getMaxInputLatencyMs() { return maxInputLatencyMs; }
+    public double getAveragePresentMs() { return averagePresentMs; }
     public long getGameTime() { return gameTime; }
     public int getSelectedMenuIndex() { return selectedMenuIndex; }
     
@@ -0,0 +1,137 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * اجرای بازی بدون پنجره برای اندازه‌گیری‌ها و آزمون‌های خودکار
+ *
+ * همان مدیرها، حلقه بازی و رندرر نسخه اصلی ساخته می‌شوند، اما تیک‌ها و فریم‌ها
+ * با فراخوانی مستقیم {@link #tick()} و {@link #renderFrame()} اجرا می‌شوند و
+ * فریم‌ها در یک تصویر حافظه‌ای رسم می‌شوند.
+ */
+public class HeadlessGame {
+    private final GameStateManager gameStateManager;
+    private final PowerUpManager powerUpManager;
+    private final ThreadManager threadManager;
+    private final Player player;
+    private final CopyOnWriteArrayList<Ball> balls;
+    private final List<PowerUp> powerUps;
+    private final EnemyManager enemyManager;
+    private final BallManager ballManager;
+    private final GameRenderer gameRenderer;
+    private final GameLoop gameLoop;
+    private final GameController gameController;
+    
+    private BufferedImage frame;
+    private Graphics2D frameGraphics;
+    
+    public HeadlessGame() {
+        gameStateManager = new GameStateManager();
+        gameStateManager.resetGame();
+        powerUpManager = new PowerUpManager();
+        threadManager = new ThreadManager();
+        
+        player = new Player(GameConfig.WIDTH / 2, GameConfig.HEIGHT / 2);
+        balls = new CopyOnWriteArrayList<>();
+        powerUps = new ArrayList<>();
+        enemyManager = new EnemyManager(GameConfig.WIDTH, GameConfig.HEIGHT, threadManager);
+        ballManager = new BallManager(balls, threadManager);
+        CollisionManager collisionManager = new CollisionManager(player, balls, powerUps,
+            enemyManager, powerUpManager, gameStateManager);
+        gameRenderer = new GameRenderer(null, null, null, null);
+        gameLoop = new GameLoop(gameStateManager, player, enemyManager,
+            collisionManager, powerUpManager);
+        // بدون منو؛ فقط بازنشانی دنیا از کنترلر استفاده می‌شود
+        gameController = new GameController(gameStateManager, player, ballManager, powerUps,
+            enemyManager, threadManager, null, powerUpManager);
+        
+        frame = new BufferedImage(GameConfig.WIDTH, GameConfig.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        frameGraphics = frame.createGraphics();
+        
+        // عناصر اولیه مانند شروع بازی در پنجره
+        ballManager.createInitialBalls();
+        for (int i = 0; i < GameConfig.getNumPowerUps(); i++) {
+            PowerUp powerUp = new PowerUp();
+            powerUps.add(powerUp);
+            threadManager.startPowerUpThread(powerUp);
+        }
+        threadManager.setupGameSchedulers(balls, gameStateManager, ballManager);
+    }
+    
+    /**
+     * بارگذاری تصاویر بازی تا مسیر رسم همان مسیر بازی اصلی باشد
+     * (بدون آن اشکال رنگی جایگزین رسم می‌شوند)
+     */
+    public void loadImages() {
+        gameRenderer.setImages(ImageLoader.loadAllImages());
+    }
+    
+    /**
+     * اجرای یک تیک شبیه‌سازی
+     */
+    public void tick() {
+        gameLoop.tick();
+    }
+    
+    /**
+     * رسم یک فریم کامل بازی در تصویر حافظه‌ای
+     */
+    public void renderFrame() {
+        frameGraphics.setColor(GameConfig.BACKGROUND_COLOR);
+        frameGraphics.fillRect(0, 0, frame.getWidth(), frame.getHeight());
+        gameRenderer.renderGame(frameGraphics, player, balls, powerUps,
+            enemyManager, powerUpManager, gameStateManager);
+    }
+    
+    /**
+     * تغییر اندازه تصویر خروجی به ضریب صحیحی از اندازه بازی (مانند --window-scale)
+     */
+    public void setOutputScale(int windowScale) {
+        frameGraphics.dispose();
+        frame = new BufferedImage(GameConfig.WIDTH * windowScale, GameConfig.HEIGHT * windowScale,
+            BufferedImage.TYPE_INT_RGB);
+        frameGraphics = frame.createGraphics();
+        gameRenderer.setOutputSize(frame.getWidth(), frame.getHeight());
+    }
+    
+    /**
+     * آیا بافر دنیای رندرر برای تصویر خروجی شتاب‌دار است (برای تصویر خارج از صفحه هرگز)
+     */
+    public boolean isScaledRenderingAccelerated() {
+        return GameRenderer.isAccelerated(frameGraphics.getDeviceConfiguration());
+    }
+    
+    /**
+     * شروع دور جدید مانند GameController.restartGame (بدون موسیقی و checkpoint)
+     */
+    public void restart() {
+        gameController.resetWorld();
+    }
+    
+    /**
+     * آیا بازیکن همه جان‌هایش را از دست داده است
+     */
+    public boolean isGameOver() {
+        return !gameStateManager.isGameRunning();
+    }
+    
+    /**
+     * بستن وظایف بازی و آزادسازی گرافیک
+     */
+    public void shutdown() {
+        threadManager.shutdownAllThreads(balls, powerUps, enemyManager);
+        threadManager.shutdown();
+        frameGraphics.dispose();
+    }
+    
+    public Player getPlayer() { return player; }
+    public EnemyManager getEnemyManager() { return enemyManager; }
+    public GameStateManager getGameStateManager() { return gameStateManager; }
+    public CopyOnWriteArrayList<Ball> getBalls() { return balls; }
+    public List<PowerUp> getPowerUps() { return powerUps; }
+    public ThreadManager getThreadManager() { return threadManager; }
+    public BufferedImage getFrame() { return frame; }
+    public GameRenderer getGameRenderer() { return gameRenderer; }
+}
@@ -9,13 +9,15 @@ public class InputHandler extends KeyAdapter {
     private GameMenu gameMenu;
     private Player player;
     private GameController gameController;
+    private FrameCapture frameCapture;
     
     public InputHandler(GameStateManager gameStateManager, GameMenu gameMenu, 
-                       Player player, GameController gameController) {
+                       Player player, GameController gameController, FrameCapture frameCapture) {
         this.gameStateManager = gameStateManager;
         this.gameMenu = gameMenu;
         this.player = player;
         this.gameController = gameController;
+        this.frameCapture = frameCapture;
     }
     
     @Override
@@ -77,6 +79,9 @@ public class InputHandler extends KeyAdapter {
             case KeyEvent.VK_M:
                 gameController.showPauseMenu();
                 break;
+            case KeyEvent.VK_F9:
+                frameCapture.toggle();
+                break;
         }
     }
 }
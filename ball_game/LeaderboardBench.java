@@ -0,0 +1,263 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load generator for the leaderboard: bulk-loads millions of players, then measures rank queries.
+ *
+ * Usage: java -Xmx3g LeaderboardBench [players=2000000] [queryThreads=4] [queriesPerThread=200000]
+ * The players are spread over all difficulties through a throw-away append-only log, with a
+ * share of repeat submissions. Phases: bulk load, in-process queries from several threads while a
+ * writer keeps submitting, the same queries over loopback HTTP, and a log reopen that must restore
+ * every table. Exit status 1 when the in-process p99 rank query is over one millisecond or the
+ * reopened tables differ.
+ */
+public class LeaderboardBench {
+    private static final int BATCH = 10_000;
+    private static final int MAX_SCORE = 1_000_000;
+    private static final double RESUBMIT_FRACTION = 0.1;
+    private static final long BUDGET_NANOS = 1_000_000;
+    private static final int HTTP_QUERIES_PER_THREAD = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+
+        Path log = Files.createTempFile("leaderboard-bench", ".log");
+        boolean passed;
+        try {
+            passed = run(log, players, threads, queries);
+        } finally {
+            Files.deleteIfExists(log);
+            Files.deleteIfExists(log.resolveSibling(log.getFileName() + ".tmp"));
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static boolean run(Path log, int players, int threads, int queries) throws Exception {
+        GameConfig.Difficulty[] difficulties = GameConfig.Difficulty.values();
+        int[] sizes = new int[difficulties.length];
+        long p99;
+
+        try (LeaderboardService service = new LeaderboardService(log)) {
+            long start = System.nanoTime();
+            int submitted = load(service, players);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Loaded %d submissions in %.1f s (%.0f/s), log %d MB%n", submitted, seconds,
+                submitted / seconds, Files.size(log) >> 20);
+            for (int i = 0; i < difficulties.length; i++) {
+                sizes[i] = service.size(difficulties[i]);
+            }
+
+            System.out.println("query              threads   count     p50 us     p99 us   p99.9 us     max us");
+            p99 = queryInProcess(service, players, threads, queries);
+
+            LeaderboardServer server = new LeaderboardServer(service, 0);
+            server.start();
+            try {
+                queryOverHttp(server.getPort(), players, threads);
+            } finally {
+                server.stop();
+            }
+        }
+
+        long start = System.nanoTime();
+        boolean restored = true;
+        try (LeaderboardService reopened = new LeaderboardService(log)) {
+            System.out.printf("Reopened log in %.1f s%n", (System.nanoTime() - start) / 1e9);
+            for (int i = 0; i < difficulties.length; i++) {
+                // the writer phase may have added players after the sizes were taken
+                if (reopened.size(difficulties[i]) < sizes[i]) {
+                    System.out.printf("FAIL: %s has %d entries after reopen, expected at least %d%n",
+                        difficulties[i], reopened.size(difficulties[i]), sizes[i]);
+                    restored = false;
+                }
+            }
+        }
+
+        boolean fast = p99 <= BUDGET_NANOS;
+        if (!fast) {
+            System.out.printf("FAIL: p99 rank query %.1f us is over the %d us budget%n", p99 / 1e3,
+                BUDGET_NANOS / 1000);
+        }
+        return fast && restored;
+    }
+
+    /**
+     * Bulk submission in batches; a share of batches repeat existing players with new scores
+     */
+    private static int load(LeaderboardService service, int players) throws IOException {
+        Random random = new Random(42);
+        GameConfig.Difficulty[] difficulties = GameConfig.Difficulty.values();
+        List<LeaderboardService.Submission> batch = new ArrayList<>(BATCH);
+        int submitted = 0;
+        int total = (int) (players * (1 + RESUBMIT_FRACTION));
+        for (int i = 0; i < total; i++) {
+            int player = i < players ? i : random.nextInt(players);
+            batch.add(new LeaderboardService.Submission(difficulties[player % difficulties.length],
+                name(player), random.nextInt(MAX_SCORE), i));
+            if (batch.size() == BATCH) {
+                service.submitAll(batch);
+                submitted += batch.size();
+                batch.clear();
+            }
+        }
+        service.submitAll(batch);
+        return submitted + batch.size();
+    }
+
+    private static String name(int player) {
+        return "player-" + player;
+    }
+
+    /**
+     * Player lookups, score ranks and deep pages from several threads, with one writer running
+     */
+    private static long queryInProcess(LeaderboardService service, int players, int threads, int queries)
+            throws Exception {
+        GameConfig.Difficulty[] difficulties = GameConfig.Difficulty.values();
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        try {
+            // warm-up
+            measure(pool, threads, queries / 4, random -> service.rankForScore(
+                difficulties[random.nextInt(difficulties.length)], random.nextInt(MAX_SCORE)));
+
+            Future<?> writer = pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (!Thread.currentThread().isInterrupted()) {
+                    int player = random.nextInt(players);
+                    service.submit(difficulties[player % difficulties.length], name(player),
+                        random.nextInt(MAX_SCORE), System.currentTimeMillis());
+                }
+                return null;
+            });
+
+            long[] find = measure(pool, threads, queries, random -> {
+                int player = random.nextInt(players);
+                service.find(difficulties[player % difficulties.length], name(player));
+            });
+            report("find player", threads, find);
+            long[] rank = measure(pool, threads, queries, random -> service.rankForScore(
+                difficulties[random.nextInt(difficulties.length)], random.nextInt(MAX_SCORE)));
+            report("rank for score", threads, rank);
+            long[] page = measure(pool, threads, queries / 10, random -> {
+                GameConfig.Difficulty difficulty = difficulties[random.nextInt(difficulties.length)];
+                service.page(difficulty, random.nextInt(Math.max(1, service.size(difficulty))), 20);
+            });
+            report("page of 20", threads, page);
+
+            writer.cancel(true);
+            return Math.max(percentile(find, 0.99), percentile(rank, 0.99));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void queryOverHttp(int port, int players, int threads) throws Exception {
+        GameConfig.Difficulty[] difficulties = GameConfig.Difficulty.values();
+        String base = "http://127.0.0.1:" + port;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            long[] rank = measure(pool, threads, HTTP_QUERIES_PER_THREAD, random -> get(base + "/rank?difficulty="
+                + difficulties[random.nextInt(difficulties.length)] + "&score=" + random.nextInt(MAX_SCORE)));
+            report("HTTP rank", threads, rank);
+            long[] player = measure(pool, threads, HTTP_QUERIES_PER_THREAD, random -> {
+                int id = random.nextInt(players);
+                get(base + "/player?difficulty=" + difficulties[id % difficulties.length] + "&name=" + name(id));
+            });
+            report("HTTP player", threads, player);
+
+            StringBuilder body = new StringBuilder();
+            for (int i = 0; i < 1000; i++) {
+                int id = players + i;
+                body.append(difficulties[id % difficulties.length]).append('\t').append(name(id))
+                    .append('\t').append(i).append('\n');
+            }
+            long start = System.nanoTime();
+            post(base + "/submit", body.toString());
+            System.out.printf("HTTP bulk submit of 1000 lines: %.2f ms%n", (System.nanoTime() - start) / 1e6);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private interface Query {
+        void run(ThreadLocalRandom random) throws Exception;
+    }
+
+    /**
+     * Runs the query count times on each thread and returns the sorted latencies
+     */
+    private static long[] measure(ExecutorService pool, int threads, int count, Query query) throws Exception {
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long[] nanos = new long[count];
+                for (int i = 0; i < count; i++) {
+                    long start = System.nanoTime();
+                    query.run(random);
+                    nanos[i] = System.nanoTime() - start;
+                }
+                return nanos;
+            }));
+        }
+        long[] all = new long[threads * count];
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(futures.get(t).get(), 0, all, t * count, count);
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))];
+    }
+
+    private static void report(String name, int threads, long[] sorted) {
+        System.out.printf("%-18s %7d %7d %10.1f %10.1f %10.1f %10.1f%n", name, threads, sorted.length,
+            percentile(sorted, 0.5) / 1e3, percentile(sorted, 0.99) / 1e3, percentile(sorted, 0.999) / 1e3,
+            sorted[sorted.length - 1] / 1e3);
+    }
+
+    private static void get(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        drain(connection);
+    }
+
+    private static void post(String url, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        drain(connection);
+    }
+
+    private static void drain(HttpURLConnection connection) throws IOException {
+        int status = connection.getResponseCode();
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            if (in != null) {
+                in.readAllBytes(); // keeps the connection reusable
+            }
+        }
+        if (status != 200 && status != 404) {
+            throw new IOException("HTTP " + status);
+        }
+    }
+}
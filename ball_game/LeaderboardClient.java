@@ -0,0 +1,101 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ارسال ناهمگام امتیازها به سرور جدول رتبه‌بندی محلی
+ *
+ * امتیازها در صف جمع می‌شوند و یک نخ پس‌زمینه همه امتیازهای منتظر را با یک
+ * درخواست POST /submit می‌فرستد؛ نخ بازی هرگز منتظر شبکه نمی‌ماند. اگر سرور در
+ * دسترس نباشد امتیازها دور ریخته می‌شوند (جدول محلی ScoreManager همچنان ذخیره می‌شود).
+ */
+public class LeaderboardClient {
+    private static final int MAX_PENDING = 1000;
+
+    private static final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+    private static final ExecutorService sender = new ThreadPoolExecutor(0, 1, 30, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+    private static volatile boolean warned = false;
+
+    private LeaderboardClient() {
+    }
+
+    /**
+     * سپردن یک امتیاز برای ارسال (از هر نخی، بدون انتظار)
+     */
+    public static void submitAsync(GameConfig.Difficulty difficulty, String player, int score) {
+        if (pending.size() >= MAX_PENDING) {
+            return;
+        }
+        pending.add(difficulty + "\t" + LeaderboardService.normalizeName(player) + "\t" + score
+            + "\t" + System.currentTimeMillis());
+        sender.execute(LeaderboardClient::flush);
+    }
+
+    /**
+     * ارسال همه امتیازهای منتظر در یک درخواست
+     */
+    private static void flush() {
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = pending.poll()) != null) {
+            lines.add(line);
+        }
+        if (lines.isEmpty()) {
+            return; // یک اجرای قبلی این امتیازها را فرستاده است
+        }
+
+        try {
+            post(String.join("\n", lines));
+            warned = false;
+        } catch (IOException e) {
+            if (!warned) {
+                System.err.println("Leaderboard unavailable, " + lines.size() + " score(s) dropped: "
+                    + e.getMessage());
+                warned = true;
+            }
+        }
+    }
+
+    private static void post(String body) throws IOException {
+        URL url = new URL("http://127.0.0.1:" + GameConfig.LEADERBOARD_PORT + "/submit");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setConnectTimeout(GameConfig.LEADERBOARD_TIMEOUT_MS);
+            connection.setReadTimeout(GameConfig.LEADERBOARD_TIMEOUT_MS);
+            connection.setRequestProperty("Content-Type", "text/plain; charset=utf-8");
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            connection.setFixedLengthStreamingMode(bytes.length);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(bytes);
+            }
+            int status = connection.getResponseCode();
+            try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (in != null) {
+                    in.readAllBytes();
+                }
+            }
+            if (status != 200) {
+                throw new IOException("HTTP " + status);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,296 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * جدول رتبه‌بندی یک سطح سختی: بهترین امتیاز هر بازیکن در یک skip list شاخص‌دار
+ *
+ * هر پیوند skip list طول پرش خود (تعداد رکوردهای رد شده) را هم نگه می‌دارد، پس
+ * رتبه یک رکورد و رکورد رتبه n هر دو در O(log n) پیدا می‌شوند. ترتیب: امتیاز بیشتر
+ * اول، و در امتیاز برابر کسی که زودتر به آن رسیده است.
+ *
+ * خواندن‌ها همزمان زیر قفل خواندن و نوشتن‌ها زیر قفل نوشتن انجام می‌شوند.
+ */
+public class LeaderboardIndex {
+    private static final int MAX_LEVEL = 32;
+
+    private final Node head = new Node(Integer.MAX_VALUE, Long.MIN_VALUE, 0, null, MAX_LEVEL);
+    private final Map<String, Node> players = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Random random = new Random();
+    private final Node[] update = new Node[MAX_LEVEL]; // فقط زیر قفل نوشتن
+    private final int[] updateRank = new int[MAX_LEVEL];
+    private int level = 1;
+    private int size = 0;
+    private long sequence = 0;
+
+    /**
+     * یک رکورد جدول (فقط خواندنی برای بیرون)
+     */
+    public static class Entry {
+        private final int rank;
+        private final String player;
+        private final int score;
+        private final long time;
+
+        Entry(int rank, String player, int score, long time) {
+            this.rank = rank;
+            this.player = player;
+            this.score = score;
+            this.time = time;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+
+        public String getPlayer() {
+            return player;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public long getTime() {
+            return time;
+        }
+    }
+
+    private static class Node {
+        final int score;
+        final long seq;
+        final long time;
+        final String player;
+        final Node[] next;
+        final int[] span; // تعداد رکوردهایی که پیوند هر سطح از رویشان می‌پرد
+
+        Node(int score, long seq, long time, String player, int levels) {
+            this.score = score;
+            this.seq = seq;
+            this.time = time;
+            this.player = player;
+            this.next = new Node[levels];
+            this.span = new int[levels];
+        }
+
+        /**
+         * آیا این رکورد در جدول پیش از رکورد (score, seq) قرار می‌گیرد
+         */
+        boolean before(int otherScore, long otherSeq) {
+            return score > otherScore || (score == otherScore && seq < otherSeq);
+        }
+    }
+
+    /**
+     * ثبت امتیاز؛ فقط اگر از بهترین امتیاز قبلی بازیکن بیشتر باشد جایگزین می‌شود
+     * @return true اگر جدول تغییر کرد
+     */
+    public boolean submit(String player, int score, long time) {
+        lock.writeLock().lock();
+        try {
+            return submitLocked(player, score, time);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * ثبت چند امتیاز با یک بار گرفتن قفل
+     * @return تعداد امتیازهایی که جدول را تغییر دادند
+     */
+    public int submitAll(List<String> names, int[] scores, long[] times) {
+        lock.writeLock().lock();
+        try {
+            int improved = 0;
+            for (int i = 0; i < names.size(); i++) {
+                if (submitLocked(names.get(i), scores[i], times[i])) {
+                    improved++;
+                }
+            }
+            return improved;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean submitLocked(String player, int score, long time) {
+        Node existing = players.get(player);
+        if (existing != null) {
+            if (existing.score >= score) {
+                return false;
+            }
+            delete(existing);
+        }
+        players.put(player, insert(player, score, time));
+        return true;
+    }
+
+    private Node insert(String player, int score, long time) {
+        long seq = ++sequence;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            updateRank[i] = i == level - 1 ? 0 : updateRank[i + 1];
+            while (x.next[i] != null && x.next[i].before(score, seq)) {
+                updateRank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                updateRank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node node = new Node(score, seq, time, player, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            // پرش قبلی بین رکورد جدید و بعدی تقسیم می‌شود
+            node.span[i] = update[i].span[i] - (updateRank[0] - updateRank[i]);
+            update[i].span[i] = updateRank[0] - updateRank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+        return node;
+    }
+
+    private void delete(Node node) {
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].before(node.score, node.seq)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == node) {
+                update[i].span[i] += node.span[i] - 1;
+                update[i].next[i] = node.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+    }
+
+    /**
+     * سطح تصادفی با احتمال 1/4 برای هر سطح بالاتر (میانگین 1.33 پیوند برای هر رکورد)
+     */
+    private int randomLevel() {
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && (random.nextInt() & 3) == 0) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    /**
+     * رکورد و رتبه یک بازیکن
+     * @return null اگر بازیکن امتیازی ثبت نکرده باشد
+     */
+    public Entry find(String player) {
+        lock.readLock().lock();
+        try {
+            Node node = players.get(player);
+            if (node == null) {
+                return null;
+            }
+            int rank = 0;
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && (x.next[i] == node || x.next[i].before(node.score, node.seq))) {
+                    rank += x.span[i];
+                    x = x.next[i];
+                }
+                if (x == node) {
+                    break;
+                }
+            }
+            return new Entry(rank, node.player, node.score, node.time);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * رتبه‌ای که یک امتیاز جدید با این مقدار می‌گرفت (1 + تعداد امتیازهای بیشتر یا برابر)
+     */
+    public int rankForScore(int score) {
+        lock.readLock().lock();
+        try {
+            int passed = 0;
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && x.next[i].score >= score) {
+                    passed += x.span[i];
+                    x = x.next[i];
+                }
+            }
+            return passed + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * یک صفحه از جدول
+     * @param offset تعداد رکوردهای رد شده از ابتدای جدول
+     * @param limit بیشترین تعداد رکورد صفحه
+     */
+    public List<Entry> page(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Entry> page = new ArrayList<>(Math.max(0, Math.min(limit, size - offset)));
+            if (offset < 0 || offset >= size || limit <= 0) {
+                return page;
+            }
+            // پرش به رکورد رتبه offset + 1 از بالاترین سطح
+            int traversed = 0;
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && traversed + x.span[i] <= offset + 1) {
+                    traversed += x.span[i];
+                    x = x.next[i];
+                }
+            }
+            for (int rank = offset + 1; x != null && page.size() < limit; rank++, x = x.next[0]) {
+                page.add(new Entry(rank, x.player, x.score, x.time));
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * همه رکوردها به ترتیب جدول (برای فشرده‌سازی لاگ)
+     */
+    List<Entry> snapshot() {
+        return page(0, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,300 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * سرور HTTP جدول رتبه‌بندی روی loopback
+ *
+ * مسیرها (پاسخ‌ها JSON هستند):
+ *   GET  /top?difficulty=EASY&offset=0&limit=20   یک صفحه از جدول
+ *   GET  /player?difficulty=EASY&name=Ali         رکورد و رتبه یک بازیکن
+ *   GET  /rank?difficulty=EASY&score=1200         رتبه‌ای که این امتیاز می‌گرفت
+ *   POST /submit                                  ثبت گروهی؛ هر خط: سختی، نام، امتیاز، زمان (با tab)
+ *
+ * اجرای مستقل: java LeaderboardServer [port] [logFile]
+ */
+public class LeaderboardServer {
+    private static final int WORKER_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int MAX_SUBMIT_LINES = 100_000;
+
+    static {
+        // بدون این، پاسخ‌های کوچک پشت Nagle و ACK تأخیری کلاینت حدود 40 میلی‌ثانیه می‌مانند
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final LeaderboardService service;
+    private final int requestedPort;
+    private HttpServer server;
+    private ExecutorService workers;
+
+    public LeaderboardServer(LeaderboardService service, int port) {
+        this.service = service;
+        this.requestedPort = port;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : GameConfig.LEADERBOARD_PORT;
+        String file = args.length > 1 ? args[1] : GameConfig.LEADERBOARD_LOG_FILE;
+
+        LeaderboardService service = new LeaderboardService(Paths.get(file));
+        LeaderboardServer server = new LeaderboardServer(service, port);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            try {
+                service.close();
+            } catch (IOException e) {
+                System.err.println("Error closing leaderboard log: " + e.getMessage());
+            }
+        }));
+        System.out.println("Leaderboard listening on 127.0.0.1:" + server.getPort());
+    }
+
+    /**
+     * شروع گوش دادن روی 127.0.0.1 (پورت 0 یعنی یک پورت آزاد)
+     */
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), requestedPort), 0);
+        AtomicInteger counter = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(WORKER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-http-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(workers);
+        server.createContext("/top", exchange -> handle(exchange, "GET", this::top));
+        server.createContext("/player", exchange -> handle(exchange, "GET", this::player));
+        server.createContext("/rank", exchange -> handle(exchange, "GET", this::rank));
+        server.createContext("/submit", exchange -> handle(exchange, "POST", this::submit));
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            workers.shutdownNow();
+            server = null;
+        }
+    }
+
+    /**
+     * پاسخ یک مسیر: کد وضعیت و بدنه JSON
+     */
+    private static class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    private interface Route {
+        Response apply(HttpExchange exchange, Map<String, String> query) throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, String method, Route route) throws IOException {
+        Response response;
+        try {
+            if (!method.equals(exchange.getRequestMethod())) {
+                response = error(405, "use " + method);
+            } else {
+                response = route.apply(exchange, parseQuery(exchange.getRequestURI().getRawQuery()));
+            }
+        } catch (IllegalArgumentException e) {
+            response = error(400, e.getMessage());
+        } catch (IOException e) {
+            response = error(500, e.getMessage());
+        }
+
+        byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private Response top(HttpExchange exchange, Map<String, String> query) {
+        GameConfig.Difficulty difficulty = difficulty(query);
+        int offset = intParam(query, "offset", 0);
+        int limit = Math.min(intParam(query, "limit", 20), GameConfig.LEADERBOARD_MAX_PAGE);
+        List<LeaderboardIndex.Entry> page = service.page(difficulty, offset, limit);
+
+        StringBuilder json = new StringBuilder(64 + page.size() * 64);
+        json.append("{\"difficulty\":\"").append(difficulty)
+            .append("\",\"total\":").append(service.size(difficulty))
+            .append(",\"entries\":[");
+        for (int i = 0; i < page.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendEntry(json, page.get(i));
+        }
+        return new Response(200, json.append("]}").toString());
+    }
+
+    private Response player(HttpExchange exchange, Map<String, String> query) {
+        GameConfig.Difficulty difficulty = difficulty(query);
+        String name = query.get("name");
+        if (name == null) {
+            throw new IllegalArgumentException("missing name");
+        }
+        LeaderboardIndex.Entry entry = service.find(difficulty, name);
+        if (entry == null) {
+            return error(404, "no score for player");
+        }
+        StringBuilder json = new StringBuilder(96);
+        appendEntry(json, entry);
+        return new Response(200, json.toString());
+    }
+
+    private Response rank(HttpExchange exchange, Map<String, String> query) {
+        GameConfig.Difficulty difficulty = difficulty(query);
+        String value = query.get("score");
+        if (value == null) {
+            throw new IllegalArgumentException("missing score");
+        }
+        int score = parseInt(value, "score");
+        return new Response(200, "{\"rank\":" + service.rankForScore(difficulty, score)
+            + ",\"total\":" + service.size(difficulty) + "}");
+    }
+
+    private Response submit(HttpExchange exchange, Map<String, String> query) throws IOException {
+        List<LeaderboardService.Submission> submissions = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (submissions.size() >= MAX_SUBMIT_LINES) {
+                    throw new IllegalArgumentException("too many lines (max " + MAX_SUBMIT_LINES + ")");
+                }
+                submissions.add(parseSubmission(line));
+            }
+        }
+        int improved = service.submitAll(submissions);
+        return new Response(200, "{\"received\":" + submissions.size() + ",\"improved\":" + improved + "}");
+    }
+
+    /**
+     * یک خط ثبت: سختی، نام، امتیاز و زمان (میلی‌ثانیه؛ اختیاری) جدا شده با tab
+     */
+    static LeaderboardService.Submission parseSubmission(String line) {
+        String[] fields = line.split("\t");
+        if (fields.length < 3 || fields.length > 4) {
+            throw new IllegalArgumentException("bad submission line");
+        }
+        GameConfig.Difficulty difficulty = parseDifficulty(fields[0]);
+        int score = parseInt(fields[2], "score");
+        long time = fields.length == 4 ? parseLong(fields[3]) : System.currentTimeMillis();
+        return new LeaderboardService.Submission(difficulty, fields[1], score, time);
+    }
+
+    private static void appendEntry(StringBuilder json, LeaderboardIndex.Entry entry) {
+        json.append("{\"rank\":").append(entry.getRank())
+            .append(",\"player\":");
+        appendString(json, entry.getPlayer());
+        json.append(",\"score\":").append(entry.getScore())
+            .append(",\"time\":").append(entry.getTime())
+            .append('}');
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    private static Response error(int status, String message) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        appendString(json, message == null ? "error" : message);
+        return new Response(status, json.append('}').toString());
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static GameConfig.Difficulty difficulty(Map<String, String> query) {
+        String value = query.get("difficulty");
+        if (value == null) {
+            throw new IllegalArgumentException("missing difficulty");
+        }
+        return parseDifficulty(value);
+    }
+
+    private static GameConfig.Difficulty parseDifficulty(String value) {
+        try {
+            return GameConfig.Difficulty.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown difficulty: " + value);
+        }
+    }
+
+    private static int intParam(Map<String, String> query, String name, int fallback) {
+        String value = query.get(name);
+        return value == null ? fallback : parseInt(value, name);
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bad " + name + ": " + value);
+        }
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bad time: " + value);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * سرویس جدول رتبه‌بندی قابل جاسازی: یک LeaderboardIndex برای هر سطح سختی
+ * و یک لاگ فقط‌افزودنی برای ماندگاری
+ *
+ * فقط امتیازهایی که رکورد بازیکن را بهتر می‌کنند در لاگ نوشته می‌شوند. هنگام باز
+ * شدن لاگ از ابتدا بازپخش می‌شود؛ رکورد ناقص انتهای فایل (قطع برنامه وسط نوشتن)
+ * بریده می‌شود و اگر بیشتر لاگ رکوردهای جایگزین‌شده باشد فشرده می‌شود.
+ *
+ * قالب هر رکورد: سختی (byte)، امتیاز (int)، زمان (long)، طول نام (short)، نام UTF-8
+ */
+public class LeaderboardService implements AutoCloseable {
+    public static final int MAX_NAME_BYTES = 64;
+    // فشرده‌سازی وقتی رکوردهای لاگ حداقل این ضریب از رکوردهای زنده باشند
+    private static final int COMPACT_RATIO = 2;
+    private static final int COMPACT_MIN_RECORDS = 10_000;
+
+    private final EnumMap<GameConfig.Difficulty, LeaderboardIndex> indexes =
+        new EnumMap<>(GameConfig.Difficulty.class);
+    private final Path logFile;
+    private DataOutputStream log; // فقط زیر قفل this
+    private long logRecords = 0;
+
+    /**
+     * یک امتیاز برای ثبت گروهی
+     */
+    public static class Submission {
+        final GameConfig.Difficulty difficulty;
+        final String player;
+        final int score;
+        final long time;
+
+        public Submission(GameConfig.Difficulty difficulty, String player, int score, long time) {
+            this.difficulty = difficulty;
+            this.player = player;
+            this.score = score;
+            this.time = time;
+        }
+    }
+
+    /**
+     * باز کردن سرویس و بازپخش لاگ
+     * @param logFile فایل لاگ یا null برای سرویس فقط در حافظه
+     */
+    public LeaderboardService(Path logFile) throws IOException {
+        for (GameConfig.Difficulty difficulty : GameConfig.Difficulty.values()) {
+            indexes.put(difficulty, new LeaderboardIndex());
+        }
+        this.logFile = logFile;
+        if (logFile == null) {
+            return;
+        }
+
+        replay();
+        if (logRecords >= COMPACT_MIN_RECORDS && logRecords >= (long) COMPACT_RATIO * totalSize()) {
+            compact();
+        }
+        log = new DataOutputStream(new BufferedOutputStream(
+            new FileOutputStream(logFile.toFile(), true), 64 * 1024));
+    }
+
+    /**
+     * خواندن لاگ و بریدن رکورد ناقص انتها
+     */
+    private void replay() throws IOException {
+        if (!Files.exists(logFile)) {
+            return;
+        }
+        GameConfig.Difficulty[] difficulties = GameConfig.Difficulty.values();
+        long validBytes = 0;
+        try (InputStream file = Files.newInputStream(logFile);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 64 * 1024))) {
+            byte[] nameBytes = new byte[MAX_NAME_BYTES];
+            while (true) {
+                int ordinal;
+                try {
+                    ordinal = in.readUnsignedByte();
+                } catch (EOFException end) {
+                    break;
+                }
+                int score;
+                long time;
+                int length;
+                try {
+                    score = in.readInt();
+                    time = in.readLong();
+                    length = in.readUnsignedShort();
+                    if (ordinal >= difficulties.length || length > MAX_NAME_BYTES) {
+                        break; // داده خراب؛ از اینجا به بعد کنار گذاشته می‌شود
+                    }
+                    in.readFully(nameBytes, 0, length);
+                } catch (EOFException partial) {
+                    break;
+                }
+                String player = new String(nameBytes, 0, length, StandardCharsets.UTF_8);
+                indexes.get(difficulties[ordinal]).submit(player, score, time);
+                validBytes += 1 + 4 + 8 + 2 + length;
+                logRecords++;
+            }
+        }
+        if (validBytes < Files.size(logFile)) {
+            System.err.println("Leaderboard log: dropping " + (Files.size(logFile) - validBytes)
+                + " bytes of incomplete data");
+            try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+            }
+        }
+    }
+
+    /**
+     * بازنویسی لاگ فقط با رکوردهای زنده (نوشتن در فایل موقت و جایگزینی اتمی)
+     */
+    private void compact() throws IOException {
+        Path temp = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+        long records = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(temp), 64 * 1024))) {
+            for (GameConfig.Difficulty difficulty : GameConfig.Difficulty.values()) {
+                // بازپخش به ترتیب جدول، امتیازهای برابر را به همان ترتیب قبلی می‌چیند
+                for (LeaderboardIndex.Entry entry : indexes.get(difficulty).snapshot()) {
+                    writeRecord(out, difficulty, entry.getPlayer(), entry.getScore(), entry.getTime());
+                    records++;
+                }
+            }
+        }
+        Files.move(temp, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logRecords = records;
+    }
+
+    private static void writeRecord(DataOutputStream out, GameConfig.Difficulty difficulty,
+                                    String player, int score, long time) throws IOException {
+        byte[] name = player.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(difficulty.ordinal());
+        out.writeInt(score);
+        out.writeLong(time);
+        out.writeShort(name.length);
+        out.write(name);
+    }
+
+    /**
+     * ثبت یک امتیاز
+     * @return true اگر رکورد بازیکن بهتر شد
+     */
+    public boolean submit(GameConfig.Difficulty difficulty, String player, int score, long time) throws IOException {
+        player = normalizeName(player);
+        LeaderboardIndex index = indexes.get(difficulty);
+        if (!index.submit(player, score, time)) {
+            return false;
+        }
+        synchronized (this) {
+            if (log != null) {
+                writeRecord(log, difficulty, player, score, time);
+                logRecords++;
+                log.flush();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * ثبت گروهی: برای هر سطح سختی یک بار قفل گرفته و لاگ یک بار flush می‌شود
+     * @return تعداد امتیازهایی که رکورد بازیکن را بهتر کردند
+     */
+    public int submitAll(List<Submission> submissions) throws IOException {
+        int improved = 0;
+        for (GameConfig.Difficulty difficulty : GameConfig.Difficulty.values()) {
+            List<String> names = new ArrayList<>();
+            List<Submission> group = new ArrayList<>();
+            for (Submission submission : submissions) {
+                if (submission.difficulty == difficulty) {
+                    names.add(normalizeName(submission.player));
+                    group.add(submission);
+                }
+            }
+            if (group.isEmpty()) {
+                continue;
+            }
+            int[] scores = new int[group.size()];
+            long[] times = new long[group.size()];
+            for (int i = 0; i < group.size(); i++) {
+                scores[i] = group.get(i).score;
+                times[i] = group.get(i).time;
+            }
+            improved += indexes.get(difficulty).submitAll(names, scores, times);
+            synchronized (this) {
+                if (log != null) {
+                    // امتیازهای رد شده هم نوشته می‌شوند؛ بازپخش دوباره ردشان می‌کند
+                    for (int i = 0; i < group.size(); i++) {
+                        writeRecord(log, difficulty, names.get(i), scores[i], times[i]);
+                    }
+                    logRecords += group.size();
+                }
+            }
+        }
+        synchronized (this) {
+            if (log != null) {
+                log.flush();
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * حذف نویسه‌های کنترلی و کوتاه کردن نام به MAX_NAME_BYTES بایت UTF-8
+     */
+    static String normalizeName(String player) {
+        String name = player.replaceAll("\\p{Cntrl}", " ").trim();
+        if (name.isEmpty()) {
+            name = "Player";
+        }
+        while (name.getBytes(StandardCharsets.UTF_8).length > MAX_NAME_BYTES) {
+            name = name.substring(0, name.length() - 1);
+        }
+        return name;
+    }
+
+    public LeaderboardIndex.Entry find(GameConfig.Difficulty difficulty, String player) {
+        return indexes.get(difficulty).find(normalizeName(player));
+    }
+
+    public int rankForScore(GameConfig.Difficulty difficulty, int score) {
+        return indexes.get(difficulty).rankForScore(score);
+    }
+
+    public List<LeaderboardIndex.Entry> page(GameConfig.Difficulty difficulty, int offset, int limit) {
+        return indexes.get(difficulty).page(offset, limit);
+    }
+
+    public int size(GameConfig.Difficulty difficulty) {
+        return indexes.get(difficulty).size();
+    }
+
+    private long totalSize() {
+        long total = 0;
+        for (LeaderboardIndex index : indexes.values()) {
+            total += index.size();
+        }
+        return total;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (log != null) {
+            log.close();
+            log = null;
+        }
+    }
+}
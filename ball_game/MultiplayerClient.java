@@ -0,0 +1,247 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * کلاینت بازی چندنفره
+ *
+ * یک نخ پس‌زمینه snapshotهای تفاضلی را می‌خواند و با snapshot پایه‌ای که
+ * سرور اعلام کرده بازسازی می‌کند. پس از هر snapshot شماره تیک آن همراه با
+ * وضعیت کلیدها تأیید می‌شود تا سرور snapshot بعدی را نسبت به آن بفرستد.
+ */
+public class MultiplayerClient implements Runnable {
+    private static final int MAX_FRAME_SIZE = 64 * 1024;
+    
+    private final SocketChannel channel;
+    private final ByteBuffer header = ByteBuffer.allocate(4);
+    private ByteBuffer frame = ByteBuffer.allocate(4096);
+    private final ByteBuffer inputMessage = ByteBuffer.allocate(13);
+    private final BitReader bitReader = new BitReader();
+    
+    // snapshotهای دریافت‌شده اخیر به عنوان پایه تفاضل‌های بعدی
+    private final WorldSnapshot[] received = new WorldSnapshot[MultiplayerServer.HISTORY];
+    private final WorldSnapshot latest = new WorldSnapshot();
+    
+    private Thread thread;
+    private volatile boolean running;
+    private volatile int slot = -1;
+    private volatile int inputBits = 0;
+    private volatile int lastTick = -1;
+    private volatile String error;
+    
+    // آمار دریافت
+    private volatile long bytesReceived = 0;
+    private volatile long snapshotsReceived = 0;
+    private volatile long bytesPerSecond = 0;
+    private long bytesAtLastSecond = 0;
+    private long lastSecondStart = System.nanoTime();
+    
+    public MultiplayerClient(String host, int port) throws IOException {
+        channel = SocketChannel.open();
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.connect(new InetSocketAddress(host, port));
+        for (int i = 0; i < received.length; i++) {
+            received[i] = new WorldSnapshot();
+        }
+        latest.clear();
+    }
+    
+    /**
+     * شروع نخ دریافت
+     */
+    public void start() {
+        running = true;
+        thread = new Thread(this, "multiplayer-client");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    public void stop() {
+        running = false;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // از قبل بسته شده است
+        }
+        if (thread != null) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                readFrame();
+                handleFrame();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (running) {
+                error = e.getMessage() != null ? e.getMessage() : e.toString();
+            }
+        } finally {
+            running = false;
+        }
+    }
+    
+    private void readFrame() throws IOException {
+        header.clear();
+        readFully(header);
+        header.flip();
+        int length = header.getInt();
+        if (length <= 0 || length > MAX_FRAME_SIZE) {
+            throw new IOException("Bad frame length " + length);
+        }
+        if (frame.capacity() < length) {
+            frame = ByteBuffer.allocate(length);
+        }
+        frame.clear();
+        frame.limit(length);
+        readFully(frame);
+        frame.flip();
+        bytesReceived += 4 + length;
+    }
+    
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Server closed the connection");
+            }
+        }
+    }
+    
+    private void handleFrame() throws IOException {
+        byte type = frame.get();
+        if (type == MultiplayerServer.MSG_WELCOME) {
+            slot = frame.get();
+        } else if (type == MultiplayerServer.MSG_SNAPSHOT) {
+            int baseTick = frame.getInt();
+            WorldSnapshot baseline = WorldSnapshot.EMPTY;
+            if (baseTick >= 0) {
+                baseline = received[baseTick % received.length];
+                if (baseline.tick != baseTick) {
+                    throw new IOException("Missing baseline snapshot " + baseTick);
+                }
+            }
+            
+            bitReader.wrap(frame.array(), frame.position(), frame.remaining());
+            int tick = peekTick();
+            WorldSnapshot snapshot = received[tick % received.length];
+            snapshot.decode(bitReader, baseline);
+            snapshotsReceived++;
+            
+            synchronized (latest) {
+                latest.copyFrom(snapshot);
+            }
+            lastTick = tick;
+            sendInput();
+            updateBandwidth();
+        }
+    }
+    
+    /**
+     * شماره تیک در ابتدای snapshot (خانه مقصد در حلقه به آن بستگی دارد)
+     */
+    private int peekTick() {
+        int position = frame.position();
+        return frame.getInt(position);
+    }
+    
+    private void updateBandwidth() {
+        long now = System.nanoTime();
+        if (now - lastSecondStart >= 1_000_000_000L) {
+            bytesPerSecond = bytesReceived - bytesAtLastSecond;
+            bytesAtLastSecond = bytesReceived;
+            lastSecondStart = now;
+        }
+    }
+    
+    /**
+     * تنظیم کلیدهای فشرده (ترکیب بیت‌های INPUT_* سرور)
+     */
+    public void setInput(int bits) {
+        if (bits == inputBits) {
+            return;
+        }
+        inputBits = bits;
+        try {
+            sendInput();
+        } catch (IOException e) {
+            error = e.getMessage();
+        }
+    }
+    
+    public int getInput() {
+        return inputBits;
+    }
+    
+    /**
+     * ارسال تأیید آخرین تیک همراه با وضعیت کلیدها
+     * (از نخ دریافت و نخ ورودی فراخوانی می‌شود)
+     */
+    private synchronized void sendInput() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        inputMessage.clear();
+        inputMessage.putInt(6);
+        inputMessage.put(MultiplayerServer.MSG_INPUT);
+        inputMessage.putInt(lastTick);
+        inputMessage.put((byte) inputBits);
+        inputMessage.flip();
+        while (inputMessage.hasRemaining()) {
+            channel.write(inputMessage);
+        }
+    }
+    
+    /**
+     * کپی آخرین snapshot دریافت‌شده در target
+     */
+    public void copyLatest(WorldSnapshot target) {
+        synchronized (latest) {
+            target.copyFrom(latest);
+        }
+    }
+    
+    /**
+     * snapshot دریافت‌شده برای یک تیک یا null (فقط پس از توقف ایمن است)
+     */
+    WorldSnapshot getReceivedSnapshot(int tick) {
+        WorldSnapshot snapshot = received[tick % received.length];
+        return snapshot.tick == tick ? snapshot : null;
+    }
+    
+    public int getSlot() {
+        return slot;
+    }
+    
+    public int getLastTick() {
+        return lastTick;
+    }
+    
+    public boolean isConnected() {
+        return running;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+    
+    public long getSnapshotsReceived() {
+        return snapshotsReceived;
+    }
+    
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+}
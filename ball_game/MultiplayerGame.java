@@ -0,0 +1,228 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferStrategy;
+import java.io.IOException;
+
+/**
+ * پنجره بازی چندنفره محلی
+ *
+ * اجرا:
+ *   java MultiplayerGame host [port]         میزبانی و بازی
+ *   java MultiplayerGame join [host] [port]  پیوستن به بازی دیگر
+ *
+ * این پنجره فقط snapshotهای سرور را رسم می‌کند و کلیدهای جهت را به سرور می‌فرستد.
+ */
+public class MultiplayerGame extends JFrame {
+    private static final long serialVersionUID = 1L;
+    private static final Color[] PLAYER_COLORS = {
+        GameConfig.PLAYER_COLOR, new Color(80, 160, 255), new Color(255, 120, 200), new Color(255, 255, 255)
+    };
+    private static final Color[] BALL_COLORS = {
+        GameConfig.BALL_COLOR, new Color(0, 200, 0), new Color(255, 165, 0),
+        new Color(200, 200, 255), new Color(255, 0, 255)
+    };
+    private static final Font HUD_FONT = new Font("Arial", Font.BOLD, 14);
+    
+    private final MultiplayerServer server;
+    private final MultiplayerClient client;
+    private final Canvas canvas = new Canvas();
+    private final WorldSnapshot view = new WorldSnapshot();
+    private volatile boolean running = true;
+    
+    public MultiplayerGame(MultiplayerServer server, MultiplayerClient client) {
+        this.server = server;
+        this.client = client;
+        
+        setTitle("Multi-Threaded Ball Game - Multiplayer");
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setResizable(false);
+        canvas.setPreferredSize(new Dimension(GameConfig.WIDTH, GameConfig.HEIGHT));
+        canvas.setFocusable(false);
+        add(canvas);
+        pack();
+        setLocationRelativeTo(null);
+        
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                updateInput(e.getKeyCode(), true);
+            }
+            
+            @Override
+            public void keyReleased(KeyEvent e) {
+                updateInput(e.getKeyCode(), false);
+            }
+        });
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                shutdown();
+            }
+        });
+    }
+    
+    private void updateInput(int keyCode, boolean pressed) {
+        int bit;
+        switch (keyCode) {
+            case KeyEvent.VK_UP: case KeyEvent.VK_W: bit = MultiplayerServer.INPUT_UP; break;
+            case KeyEvent.VK_DOWN: case KeyEvent.VK_S: bit = MultiplayerServer.INPUT_DOWN; break;
+            case KeyEvent.VK_LEFT: case KeyEvent.VK_A: bit = MultiplayerServer.INPUT_LEFT; break;
+            case KeyEvent.VK_RIGHT: case KeyEvent.VK_D: bit = MultiplayerServer.INPUT_RIGHT; break;
+            default: return;
+        }
+        int bits = client.getInput();
+        client.setInput(pressed ? bits | bit : bits & ~bit);
+    }
+    
+    /**
+     * حلقه رسم در نخ جداگانه (هم‌گام با نرخ تیک سرور)
+     */
+    public void start() {
+        setVisible(true);
+        canvas.createBufferStrategy(2);
+        Thread renderThread = new Thread(() -> {
+            BufferStrategy strategy = canvas.getBufferStrategy();
+            long frameNanos = 1_000_000_000L / MultiplayerServer.TICK_RATE;
+            while (running) {
+                long start = System.nanoTime();
+                do {
+                    do {
+                        Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                        try {
+                            render(g);
+                        } finally {
+                            g.dispose();
+                        }
+                    } while (strategy.contentsRestored());
+                    strategy.show();
+                } while (strategy.contentsLost());
+                Toolkit.getDefaultToolkit().sync();
+                
+                long sleepNanos = frameNanos - (System.nanoTime() - start);
+                if (sleepNanos > 0) {
+                    try {
+                        Thread.sleep(sleepNanos / 1_000_000, (int) (sleepNanos % 1_000_000));
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }, "multiplayer-render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+    
+    private void render(Graphics2D g) {
+        client.copyLatest(view);
+        
+        g.setColor(GameConfig.BACKGROUND_COLOR);
+        g.fillRect(0, 0, GameConfig.WIDTH, GameConfig.HEIGHT);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        
+        for (int i = 0; i < WorldSnapshot.MAX_BALLS; i++) {
+            if (view.ballActive[i]) {
+                g.setColor(BALL_COLORS[view.ballType[i] % BALL_COLORS.length]);
+                g.fillOval(view.ballX[i], view.ballY[i], view.ballSize[i], view.ballSize[i]);
+            }
+        }
+        
+        g.setColor(GameConfig.TRACKER_ENEMY_COLOR);
+        for (int i = 0; i < WorldSnapshot.MAX_ENEMIES; i++) {
+            if (view.enemyActive[i]) {
+                g.fillRect(view.enemyX[i], view.enemyY[i], GameConfig.TRACKER_SIZE, GameConfig.TRACKER_SIZE);
+            }
+        }
+        
+        int mySlot = client.getSlot();
+        for (int i = 0; i < WorldSnapshot.MAX_PLAYERS; i++) {
+            if (!view.playerActive[i] || view.playerLives[i] <= 0) {
+                continue;
+            }
+            g.setColor(view.playerInvincible[i] ? GameConfig.PLAYER_INVINCIBLE_COLOR : PLAYER_COLORS[i]);
+            g.fillRect(view.playerX[i], view.playerY[i], GameConfig.PLAYER_SIZE, GameConfig.PLAYER_SIZE);
+            if (i == mySlot) {
+                g.setColor(Color.WHITE);
+                g.drawRect(view.playerX[i] - 2, view.playerY[i] - 2,
+                    GameConfig.PLAYER_SIZE + 4, GameConfig.PLAYER_SIZE + 4);
+            }
+        }
+        
+        renderHud(g, mySlot);
+    }
+    
+    private void renderHud(Graphics2D g, int mySlot) {
+        g.setFont(HUD_FONT);
+        int y = 20;
+        for (int i = 0; i < WorldSnapshot.MAX_PLAYERS; i++) {
+            if (!view.playerActive[i]) {
+                continue;
+            }
+            g.setColor(PLAYER_COLORS[i]);
+            String marker = i == mySlot ? " (you)" : "";
+            g.drawString("P" + (i + 1) + marker + ": " + view.playerScore[i] + "  lives " + view.playerLives[i], 10, y);
+            y += 18;
+        }
+        
+        g.setColor(Color.LIGHT_GRAY);
+        String net = String.format("tick %d | %.1f KB/s", view.getTick(), client.getBytesPerSecond() / 1024.0);
+        if (server != null) {
+            net += String.format(" | server %.2f ms (max %.2f)", server.getAverageTickMillis(), server.getMaxTickMillis());
+        }
+        g.drawString(net, 10, GameConfig.HEIGHT - 12);
+        
+        if (!client.isConnected()) {
+            g.setColor(Color.RED);
+            String error = client.getError();
+            g.drawString("Disconnected" + (error != null ? ": " + error : ""), 10, GameConfig.HEIGHT - 30);
+        }
+    }
+    
+    private void shutdown() {
+        running = false;
+        client.stop();
+        if (server != null) {
+            server.stop();
+        }
+    }
+    
+    public static void main(String[] args) throws IOException {
+        String mode = args.length > 0 ? args[0] : "host";
+        MultiplayerServer server = null;
+        String host = "127.0.0.1";
+        int port = MultiplayerServer.DEFAULT_PORT;
+        
+        if (mode.equals("host")) {
+            if (args.length > 1) {
+                port = Integer.parseInt(args[1]);
+            }
+            server = new MultiplayerServer(port, WorldSnapshot.MAX_PLAYERS);
+            server.start();
+            port = server.getPort();
+            System.out.println("Hosting on port " + port);
+        } else if (mode.equals("join")) {
+            if (args.length > 1) {
+                host = args[1];
+            }
+            if (args.length > 2) {
+                port = Integer.parseInt(args[2]);
+            }
+        } else {
+            System.out.println("Usage: java MultiplayerGame host [port] | join [host] [port]");
+            return;
+        }
+        
+        MultiplayerClient client = new MultiplayerClient(host, port);
+        client.start();
+        
+        MultiplayerServer hostedServer = server;
+        SwingUtilities.invokeLater(() -> {
+            MultiplayerGame game = new MultiplayerGame(hostedServer, client);
+            game.start();
+            game.requestFocus();
+        });
+    }
+}
@@ -0,0 +1,98 @@
+import java.util.Random;
+
+/**
+ * Runs a multiplayer server with bot clients over loopback and reports tick time and bandwidth.
+ *
+ * Usage: java MultiplayerLoopbackBench [players=4] [seconds=10]
+ * After the run every client's decoded snapshots are compared with the server's history;
+ * exits with status 1 if any delta-decoded snapshot differs from what the server sent.
+ */
+public class MultiplayerLoopbackBench {
+    // Bots pick a new random direction every this many milliseconds
+    private static final int STEER_INTERVAL_MS = 400;
+    
+    public static void main(String[] args) throws Exception {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        players = Math.max(1, Math.min(players, WorldSnapshot.MAX_PLAYERS));
+        
+        MultiplayerServer server = new MultiplayerServer(0, players);
+        server.start();
+        
+        MultiplayerClient[] clients = new MultiplayerClient[players];
+        for (int i = 0; i < players; i++) {
+            clients[i] = new MultiplayerClient("127.0.0.1", server.getPort());
+            clients[i].start();
+        }
+        
+        Random random = new Random(42);
+        double worstTickMillis = 0;
+        long end = System.currentTimeMillis() + seconds * 1000L;
+        int second = 0;
+        long nextReport = System.currentTimeMillis() + 1000;
+        while (System.currentTimeMillis() < end) {
+            for (MultiplayerClient client : clients) {
+                client.setInput(random.nextInt(16));
+            }
+            Thread.sleep(STEER_INTERVAL_MS);
+            
+            if (System.currentTimeMillis() >= nextReport) {
+                nextReport += 1000;
+                second++;
+                StringBuilder line = new StringBuilder(String.format("%3ds  server tick avg %.3f ms max %.3f ms |",
+                    second, server.getAverageTickMillis(), server.getMaxTickMillis()));
+                for (int i = 0; i < players; i++) {
+                    line.append(String.format(" p%d %5.2f KB/s", i, server.getBytesPerSecond(i) / 1024.0));
+                }
+                System.out.println(line);
+                worstTickMillis = Math.max(worstTickMillis, server.getMaxTickMillis());
+            }
+        }
+        
+        // Errors seen while the server was still running (a closed connection afterwards is expected)
+        String[] errors = new String[players];
+        for (int i = 0; i < players; i++) {
+            errors[i] = clients[i].getError();
+        }
+        
+        System.out.println("=== Per-client totals ===");
+        System.out.print(server.describeClients());
+        
+        // Stop the server first so its history stops moving, then let the clients drain
+        server.stop();
+        Thread.sleep(200);
+        for (MultiplayerClient client : clients) {
+            client.stop();
+        }
+        
+        System.out.printf("Worst server tick: %.3f ms (budget %.3f ms)%n",
+            worstTickMillis, 1000.0 / MultiplayerServer.TICK_RATE);
+        
+        // Every snapshot still in both rings must match what the server encoded
+        int compared = 0;
+        int mismatches = 0;
+        for (int i = 0; i < players; i++) {
+            MultiplayerClient client = clients[i];
+            if (errors[i] != null) {
+                System.out.println("Client " + client.getSlot() + " error: " + errors[i]);
+                mismatches++;
+            }
+            int last = client.getLastTick();
+            for (int tick = Math.max(1, last - MultiplayerServer.HISTORY + 1); tick <= last; tick++) {
+                WorldSnapshot sent = server.getHistorySnapshot(tick);
+                WorldSnapshot decoded = client.getReceivedSnapshot(tick);
+                if (sent == null || decoded == null) {
+                    continue;
+                }
+                compared++;
+                if (!sent.sameState(decoded)) {
+                    System.out.println("Client " + client.getSlot() + " decoded tick " + tick + " incorrectly");
+                    mismatches++;
+                }
+            }
+        }
+        
+        System.out.println(compared + " snapshots compared, " + mismatches + " mismatches");
+        System.exit(mismatches == 0 && compared > 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,690 @@
+import java.awt.Rectangle;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * سرور مرجع بازی چندنفره محلی (2 تا 4 بازیکن) روی NIO
+ *
+ * کلاینت‌ها فقط ورودی کلیدها را می‌فرستند؛ سرور در هر تیک دنیا را شبیه‌سازی
+ * می‌کند و برای هر کلاینت تفاضل snapshot فعلی نسبت به آخرین snapshot تأییدشده
+ * آن کلاینت را به صورت بیتی ارسال می‌کند. همه کارها (پذیرش، خواندن، شبیه‌سازی
+ * و نوشتن) در یک نخ انجام می‌شود.
+ *
+ * قالب پیام‌ها: طول (int) + نوع (byte) + محتوا
+ */
+public class MultiplayerServer implements Runnable {
+    // انواع پیام
+    public static final byte MSG_WELCOME = 1;   // سرور: شماره بازیکن (byte)، نرخ تیک (short)
+    public static final byte MSG_SNAPSHOT = 2;  // سرور: تیک پایه (int)، snapshot بیتی
+    public static final byte MSG_INPUT = 3;     // کلاینت: آخرین تیک دریافتی (int)، کلیدها (byte)
+    
+    // بیت‌های ورودی
+    public static final int INPUT_UP = 1;
+    public static final int INPUT_DOWN = 2;
+    public static final int INPUT_LEFT = 4;
+    public static final int INPUT_RIGHT = 8;
+    private static final int[] INPUT_KEYS = {
+        KeyEvent.VK_UP, KeyEvent.VK_DOWN, KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT
+    };
+    
+    public static final int DEFAULT_PORT = 4777;
+    public static final int TICK_RATE = 60;
+    
+    // تعداد snapshotهای نگه‌داشته‌شده برای کدگذاری تفاضلی (حدود یک ثانیه)
+    static final int HISTORY = 64;
+    
+    private static final int OUTBOUND_BUFFER_SIZE = 64 * 1024;
+    private static final int INBOUND_BUFFER_SIZE = 1024;
+    private static final int PLAYER_LIVES = 3;
+    private static final long HIT_INVINCIBILITY_MS = 2000;
+    
+    private final int requestedPort;
+    private final int maxPlayers;
+    private final Random random = new Random();
+    
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread thread;
+    private volatile boolean running;
+    
+    // دنیای بازی (فقط در نخ سرور)
+    private final ClientConnection[] clients = new ClientConnection[WorldSnapshot.MAX_PLAYERS];
+    private final Player[] players = new Player[WorldSnapshot.MAX_PLAYERS];
+    private final int[] scores = new int[WorldSnapshot.MAX_PLAYERS];
+    private final int[] lives = new int[WorldSnapshot.MAX_PLAYERS];
+    private final Ball[] balls = new Ball[WorldSnapshot.MAX_BALLS];
+    private final TrackerEnemy[] enemies = new TrackerEnemy[WorldSnapshot.MAX_ENEMIES];
+    private final Rectangle playerRect = new Rectangle();
+    private int ballCount = 0;
+    private int tick = 0;
+    private long ballStepRemainderNanos = 0;
+    
+    private final WorldSnapshot[] history = new WorldSnapshot[HISTORY];
+    private final BitWriter snapshotWriter = new BitWriter(2048);
+    
+    // آمار (در پایان هر ثانیه منتشر می‌شود)
+    private long tickNanosSum = 0;
+    private long tickNanosMax = 0;
+    private int ticksInWindow = 0;
+    private volatile double averageTickMillis = 0;
+    private volatile double maxTickMillis = 0;
+    private final long[] publishedBytesPerSecond = new long[WorldSnapshot.MAX_PLAYERS];
+    
+    public MultiplayerServer(int port, int maxPlayers) {
+        this.requestedPort = port;
+        this.maxPlayers = Math.max(1, Math.min(maxPlayers, WorldSnapshot.MAX_PLAYERS));
+        for (int i = 0; i < HISTORY; i++) {
+            history[i] = new WorldSnapshot();
+            history[i].clear();
+        }
+    }
+    
+    /**
+     * اتصال به پورت loopback و شروع نخ سرور
+     */
+    public void start() throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress("127.0.0.1", requestedPort));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        
+        resetRound();
+        running = true;
+        thread = new Thread(this, "multiplayer-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * پورت واقعی (اگر پورت 0 خواسته شده باشد)
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+    
+    /**
+     * توقف سرور و بستن همه اتصال‌ها
+     */
+    public void stop() {
+        running = false;
+        if (selector != null) {
+            selector.wakeup();
+        }
+        if (thread != null) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    @Override
+    public void run() {
+        long tickNanos = 1_000_000_000L / TICK_RATE;
+        long nextTick = System.nanoTime();
+        
+        try {
+            while (running) {
+                long waitMillis = Math.max(0, (nextTick - System.nanoTime()) / 1_000_000);
+                if (waitMillis > 0) {
+                    selector.select(waitMillis);
+                } else {
+                    selector.selectNow();
+                }
+                handleSelectedKeys();
+                
+                long now = System.nanoTime();
+                if (now >= nextTick) {
+                    tick(tickNanos);
+                    nextTick += tickNanos;
+                    
+                    // اگر سرور خیلی عقب افتاده باشد تیک‌ها جبران نمی‌شوند
+                    if (now - nextTick > tickNanos * 5) {
+                        nextTick = now + tickNanos;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Multiplayer server error: " + e.getMessage());
+        } finally {
+            closeAll();
+        }
+    }
+    
+    private void handleSelectedKeys() throws IOException {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) {
+                continue;
+            }
+            
+            if (key.isAcceptable()) {
+                acceptClient();
+                continue;
+            }
+            
+            ClientConnection client = (ClientConnection) key.attachment();
+            try {
+                if (key.isReadable()) {
+                    readFrom(client);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    flush(client);
+                }
+            } catch (IOException e) {
+                disconnect(client);
+            }
+        }
+    }
+    
+    /**
+     * پذیرش کلاینت جدید و اختصاص یک خانه بازیکن
+     */
+    private void acceptClient() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        
+        int slot = -1;
+        for (int i = 0; i < maxPlayers; i++) {
+            if (clients[i] == null) {
+                slot = i;
+                break;
+            }
+        }
+        if (slot < 0) {
+            // بازی پر است
+            channel.close();
+            return;
+        }
+        
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        ClientConnection client = new ClientConnection(slot, channel);
+        client.key = channel.register(selector, SelectionKey.OP_READ, client);
+        clients[slot] = client;
+        spawnPlayer(slot);
+        
+        // پیام خوش‌آمد با شماره بازیکن
+        client.outbound.putInt(4);
+        client.outbound.put(MSG_WELCOME);
+        client.outbound.put((byte) slot);
+        client.outbound.putShort((short) TICK_RATE);
+        flush(client);
+    }
+    
+    private void readFrom(ClientConnection client) throws IOException {
+        int read = client.channel.read(client.inbound);
+        if (read < 0) {
+            disconnect(client);
+            return;
+        }
+        
+        ByteBuffer in = client.inbound;
+        in.flip();
+        while (in.remaining() >= 4) {
+            int length = in.getInt(in.position());
+            if (length <= 0 || length > INBOUND_BUFFER_SIZE - 4) {
+                throw new IOException("Bad frame length " + length);
+            }
+            if (in.remaining() < 4 + length) {
+                break;
+            }
+            in.getInt();
+            int end = in.position() + length;
+            byte type = in.get();
+            if (type == MSG_INPUT) {
+                int ackTick = in.getInt();
+                int inputBits = in.get() & 0xFF;
+                // تأییدها ممکن است خارج از ترتیب نباشند، اما فقط جلو می‌روند
+                if (ackTick > client.ackTick) {
+                    client.ackTick = ackTick;
+                }
+                applyInput(client.slot, client, inputBits);
+            }
+            in.position(end);
+        }
+        in.compact();
+    }
+    
+    /**
+     * تبدیل تغییر بیت‌های ورودی به رویدادهای کلید صف ورودی بازیکن
+     */
+    private void applyInput(int slot, ClientConnection client, int inputBits) {
+        int changed = inputBits ^ client.inputBits;
+        client.inputBits = inputBits;
+        Player player = players[slot];
+        if (player == null || changed == 0) {
+            return;
+        }
+        for (int bit = 0; bit < INPUT_KEYS.length; bit++) {
+            int mask = 1 << bit;
+            if ((changed & mask) != 0) {
+                if ((inputBits & mask) != 0) {
+                    player.handleKeyPress(INPUT_KEYS[bit]);
+                } else {
+                    player.handleKeyRelease(INPUT_KEYS[bit]);
+                }
+            }
+        }
+    }
+    
+    private void flush(ClientConnection client) throws IOException {
+        ByteBuffer out = client.outbound;
+        out.flip();
+        client.bytesSent += client.channel.write(out);
+        boolean pending = out.hasRemaining();
+        out.compact();
+        
+        // اگر همه داده نوشته نشد منتظر آماده شدن سوکت برای نوشتن می‌مانیم
+        int ops = pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (client.key.interestOps() != ops) {
+            client.key.interestOps(ops);
+        }
+    }
+    
+    private void disconnect(ClientConnection client) {
+        if (clients[client.slot] != client) {
+            return;
+        }
+        clients[client.slot] = null;
+        players[client.slot] = null;
+        client.key.cancel();
+        try {
+            client.channel.close();
+        } catch (IOException e) {
+            // اتصال از قبل بسته شده است
+        }
+    }
+    
+    private void closeAll() {
+        for (ClientConnection client : clients) {
+            if (client != null) {
+                disconnect(client);
+            }
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            // در حال خروج
+        }
+    }
+    
+    /**
+     * یک تیک: شبیه‌سازی، ساخت snapshot و ارسال تفاضل به هر کلاینت
+     */
+    private void tick(long tickNanos) throws IOException {
+        long start = System.nanoTime();
+        tick++;
+        
+        simulate(tickNanos);
+        
+        WorldSnapshot snapshot = history[tick % HISTORY];
+        captureSnapshot(snapshot);
+        
+        for (ClientConnection client : clients) {
+            if (client != null) {
+                sendSnapshot(client, snapshot);
+            }
+        }
+        
+        long elapsed = System.nanoTime() - start;
+        tickNanosSum += elapsed;
+        tickNanosMax = Math.max(tickNanosMax, elapsed);
+        if (++ticksInWindow >= TICK_RATE) {
+            publishStats();
+        }
+    }
+    
+    private void simulate(long tickNanos) {
+        // بازیکنان (ورودی‌های صف‌شده به ترتیب اعمال می‌شوند)
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] != null && lives[i] > 0) {
+                players[i].update();
+            }
+        }
+        
+        // توپ‌ها با همان گام زمانی بازی تک‌نفره حرکت می‌کنند
+        ballStepRemainderNanos += tickNanos;
+        long ballStepNanos = GameConfig.BALL_UPDATE_DELAY * 1_000_000L;
+        while (ballStepRemainderNanos >= ballStepNanos) {
+            ballStepRemainderNanos -= ballStepNanos;
+            for (int i = 0; i < ballCount; i++) {
+                balls[i].run();
+                if (!balls[i].isActive()) {
+                    balls[i].reset();
+                }
+            }
+        }
+        
+        // ایجاد تدریجی توپ‌ها و دشمنان
+        if (tick % (GameConfig.getBallSpawnRate() * TICK_RATE) == 0 && ballCount < maxBalls()) {
+            balls[ballCount++] = new Ball();
+        }
+        if (tick % (GameConfig.getEnemySpawnDelay() * TICK_RATE) == 0) {
+            spawnEnemy();
+        }
+        
+        // دشمنان به سمت نزدیک‌ترین بازیکن زنده حرکت می‌کنند
+        for (int i = 0; i < enemies.length; i++) {
+            TrackerEnemy enemy = enemies[i];
+            if (enemy == null) {
+                continue;
+            }
+            if (!enemy.isActive()) {
+                enemies[i] = null;
+                continue;
+            }
+            int target = nearestLivePlayer(enemy.getX(), enemy.getY());
+            if (target >= 0) {
+                enemy.update(players[target].getX(), players[target].getY());
+            }
+        }
+        
+        checkCollisions();
+    }
+    
+    private void checkCollisions() {
+        long now = System.currentTimeMillis();
+        boolean anyAlive = false;
+        
+        for (int p = 0; p < players.length; p++) {
+            Player player = players[p];
+            if (player == null || lives[p] <= 0) {
+                continue;
+            }
+            anyAlive = true;
+            playerRect.setBounds(player.getX(), player.getY(), GameConfig.PLAYER_SIZE, GameConfig.PLAYER_SIZE);
+            
+            for (int i = 0; i < ballCount; i++) {
+                Ball ball = balls[i];
+                if (!ball.isActive() || !ball.checkCollision(playerRect)) {
+                    continue;
+                }
+                if (ball.getSize() < GameConfig.PLAYER_SIZE) {
+                    // توپ کوچک‌تر خورده می‌شود
+                    scores[p] += ball.getScoreValue();
+                    ball.reset();
+                } else if (!player.isInvincible()) {
+                    damagePlayer(p, now);
+                    ball.reset();
+                }
+            }
+            
+            for (TrackerEnemy enemy : enemies) {
+                if (enemy != null && enemy.isActive() && !player.isInvincible()
+                    && enemy.checkCollision(player.getX(), player.getY(), GameConfig.PLAYER_SIZE)) {
+                    damagePlayer(p, now);
+                    enemy.hit();
+                }
+            }
+        }
+        
+        // وقتی همه بازیکنان متصل از بازی خارج شده‌اند دور جدید شروع می‌شود
+        if (!anyAlive && connectedCount() > 0) {
+            resetRound();
+        }
+    }
+    
+    private void damagePlayer(int slot, long now) {
+        lives[slot]--;
+        players[slot].setInvincible(true);
+        players[slot].setPowerUpEndTime(now + HIT_INVINCIBILITY_MS);
+    }
+    
+    private int nearestLivePlayer(int x, int y) {
+        int best = -1;
+        long bestDistance = Long.MAX_VALUE;
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] != null && lives[i] > 0) {
+                long dx = players[i].getX() - x;
+                long dy = players[i].getY() - y;
+                long distance = dx * dx + dy * dy;
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = i;
+                }
+            }
+        }
+        return best;
+    }
+    
+    private void spawnEnemy() {
+        int limit = Math.min(GameConfig.getMaxTrackerEnemies() * 2, enemies.length);
+        for (int i = 0; i < limit; i++) {
+            if (enemies[i] == null) {
+                int x, y;
+                if (random.nextBoolean()) {
+                    x = random.nextInt(GameConfig.WIDTH);
+                    y = random.nextBoolean() ? 0 : GameConfig.HEIGHT - GameConfig.TRACKER_SIZE;
+                } else {
+                    x = random.nextBoolean() ? 0 : GameConfig.WIDTH - GameConfig.TRACKER_SIZE;
+                    y = random.nextInt(GameConfig.HEIGHT);
+                }
+                enemies[i] = new TrackerEnemy(x, y);
+                return;
+            }
+        }
+    }
+    
+    private void spawnPlayer(int slot) {
+        // بازیکنان در چهار گوشه مرکز صفحه قرار می‌گیرند
+        int x = GameConfig.WIDTH / 2 + ((slot & 1) == 0 ? -80 : 80);
+        int y = GameConfig.HEIGHT / 2 + ((slot & 2) == 0 ? -60 : 60);
+        if (players[slot] == null) {
+            players[slot] = new Player(x, y);
+        } else {
+            players[slot].reset(x, y);
+        }
+        scores[slot] = 0;
+        lives[slot] = PLAYER_LIVES;
+        if (clients[slot] != null) {
+            clients[slot].inputBits = 0;
+        }
+    }
+    
+    /**
+     * شروع دور جدید: بازیکنان، توپ‌ها و دشمنان از نو
+     */
+    private void resetRound() {
+        for (int i = 0; i < players.length; i++) {
+            if (clients[i] != null) {
+                spawnPlayer(i);
+            }
+        }
+        for (int i = 0; i < enemies.length; i++) {
+            enemies[i] = null;
+        }
+        ballCount = Math.min(GameConfig.getInitialBalls(), maxBalls());
+        for (int i = 0; i < ballCount; i++) {
+            if (balls[i] == null) {
+                balls[i] = new Ball();
+            } else {
+                balls[i].reset();
+            }
+        }
+    }
+    
+    private int maxBalls() {
+        return Math.min(GameConfig.getMaxBalls(), WorldSnapshot.MAX_BALLS);
+    }
+    
+    private int connectedCount() {
+        int count = 0;
+        for (ClientConnection client : clients) {
+            if (client != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private void captureSnapshot(WorldSnapshot snapshot) {
+        snapshot.tick = tick;
+        for (int i = 0; i < WorldSnapshot.MAX_PLAYERS; i++) {
+            Player player = players[i];
+            if (player != null) {
+                snapshot.setPlayer(i, true, player.getX(), player.getY(), scores[i], lives[i],
+                    player.isInvincible());
+            } else {
+                snapshot.setPlayer(i, false, 0, 0, 0, 0, false);
+            }
+        }
+        for (int i = 0; i < WorldSnapshot.MAX_BALLS; i++) {
+            if (i < ballCount && balls[i].isActive()) {
+                Ball ball = balls[i];
+                snapshot.setBall(i, true, ball.getX(), ball.getY(), ball.getSize(), ball.getType().ordinal());
+            } else {
+                snapshot.setBall(i, false, 0, 0, 0, 0);
+            }
+        }
+        for (int i = 0; i < WorldSnapshot.MAX_ENEMIES; i++) {
+            TrackerEnemy enemy = enemies[i];
+            if (enemy != null && enemy.isActive()) {
+                snapshot.setEnemy(i, true, enemy.getX(), enemy.getY());
+            } else {
+                snapshot.setEnemy(i, false, 0, 0);
+            }
+        }
+    }
+    
+    /**
+     * ارسال تفاضل snapshot نسبت به آخرین snapshot تأییدشده کلاینت
+     */
+    private void sendSnapshot(ClientConnection client, WorldSnapshot snapshot) {
+        WorldSnapshot baseline = WorldSnapshot.EMPTY;
+        int ack = client.ackTick;
+        if (ack > 0 && tick - ack < HISTORY && history[ack % HISTORY].tick == ack) {
+            baseline = history[ack % HISTORY];
+        }
+        
+        snapshotWriter.reset();
+        snapshot.encode(snapshotWriter, baseline);
+        int payload = snapshotWriter.byteLength();
+        
+        // کلاینت کند: این snapshot حذف می‌شود و بعدی نسبت به همان پایه فرستاده می‌شود
+        ByteBuffer out = client.outbound;
+        if (out.remaining() < 9 + payload) {
+            client.droppedSnapshots++;
+            return;
+        }
+        out.putInt(5 + payload);
+        out.put(MSG_SNAPSHOT);
+        out.putInt(baseline == WorldSnapshot.EMPTY ? -1 : ack);
+        out.put(snapshotWriter.getBuffer(), 0, payload);
+        if (baseline == WorldSnapshot.EMPTY) {
+            client.fullSnapshots++;
+        }
+        client.snapshotsSent++;
+        client.snapshotBytes += payload;
+        
+        try {
+            flush(client);
+        } catch (IOException e) {
+            disconnect(client);
+        }
+    }
+    
+    private void publishStats() {
+        averageTickMillis = tickNanosSum / (ticksInWindow * 1_000_000.0);
+        maxTickMillis = tickNanosMax / 1_000_000.0;
+        tickNanosSum = 0;
+        tickNanosMax = 0;
+        ticksInWindow = 0;
+        
+        for (int i = 0; i < clients.length; i++) {
+            ClientConnection client = clients[i];
+            if (client != null) {
+                publishedBytesPerSecond[i] = client.bytesSent - client.bytesSentAtLastPublish;
+                client.bytesSentAtLastPublish = client.bytesSent;
+            } else {
+                publishedBytesPerSecond[i] = 0;
+            }
+        }
+    }
+    
+    /**
+     * میانگین زمان تیک سرور در ثانیه گذشته (میلی‌ثانیه)
+     */
+    public double getAverageTickMillis() {
+        return averageTickMillis;
+    }
+    
+    /**
+     * بیشترین زمان تیک سرور در ثانیه گذشته (میلی‌ثانیه)
+     */
+    public double getMaxTickMillis() {
+        return maxTickMillis;
+    }
+    
+    /**
+     * پهنای باند ارسالی به یک بازیکن در ثانیه گذشته (بایت بر ثانیه)
+     */
+    public long getBytesPerSecond(int slot) {
+        return publishedBytesPerSecond[slot];
+    }
+    
+    /**
+     * خلاصه آمار ارسال به کلاینت‌های متصل (تقریبی؛ از نخ سرور خوانده نمی‌شود)
+     */
+    public String describeClients() {
+        StringBuilder sb = new StringBuilder();
+        for (ClientConnection client : clients) {
+            if (client != null) {
+                sb.append(String.format("  player %d: %d snapshots (%d full, %d dropped), avg %.1f B, total %d B%n",
+                    client.slot, client.snapshotsSent, client.fullSnapshots, client.droppedSnapshots,
+                    client.snapshotsSent == 0 ? 0.0 : (double) client.snapshotBytes / client.snapshotsSent,
+                    client.bytesSent));
+            }
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * snapshot ثبت‌شده برای یک تیک یا null اگر از تاریخچه خارج شده باشد
+     * (فقط پس از توقف سرور ایمن است)
+     */
+    WorldSnapshot getHistorySnapshot(int snapshotTick) {
+        WorldSnapshot snapshot = history[snapshotTick % HISTORY];
+        return snapshot.tick == snapshotTick ? snapshot : null;
+    }
+    
+    /**
+     * وضعیت اتصال یک کلاینت روی سرور
+     */
+    private static class ClientConnection {
+        final int slot;
+        final SocketChannel channel;
+        final ByteBuffer inbound = ByteBuffer.allocate(INBOUND_BUFFER_SIZE);
+        final ByteBuffer outbound = ByteBuffer.allocate(OUTBOUND_BUFFER_SIZE);
+        SelectionKey key;
+        int ackTick = -1;
+        int inputBits = 0;
+        long bytesSent = 0;
+        long bytesSentAtLastPublish = 0;
+        long snapshotsSent = 0;
+        long snapshotBytes = 0;
+        long fullSnapshots = 0;
+        long droppedSnapshots = 0;
+        
+        ClientConnection(int slot, SocketChannel channel) {
+            this.slot = slot;
+            this.channel = channel;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 import java.awt.Rectangle;
 import java.awt.event.KeyEvent;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class Player {
     // موقعیت و سرعت
@@ -9,10 +11,21 @@ public class Player {
     private volatile int y;
     private volatile int speed;
     private volatile int defaultSpeed;
-    private volatile boolean movingUp = false;
-    private volatile boolean movingDown = false;
-    private volatile boolean movingLeft = false;
-    private volatile boolean movingRight = false;
+    
+    // جهت‌های حرکت به صورت بیت (فقط در نخ شبیه‌سازی خوانده و نوشته می‌شوند)
+    private static final int MOVE_UP = 1;
+    private static final int MOVE_DOWN = 2;
+    private static final int MOVE_LEFT = 4;
+    private static final int MOVE_RIGHT = 8;
+    private int heldDirections = 0;
+    private int pressedThisTick = 0;
+    private int releasedThisTick = 0;
+    
+    // صف رویدادهای کلید که از نخ EDT پر و در هر تیک به ترتیب خالی می‌شود
+    private final ConcurrentLinkedQueue<KeyInput> inputQueue = new ConcurrentLinkedQueue<>();
+    
+    // زمان قدیمی‌ترین ورودی اعمال‌شده که هنوز در فریمی نمایش داده نشده (0 یعنی هیچ)
+    private volatile long pendingInputNanos = 0;
     
     // وضعیت‌ها و قدرت‌ها
     private volatile boolean invincible = false;
@@ -23,6 +36,10 @@ public class Player {
     // زمان باقی‌مانده قدرت‌ها
     private long powerUpEndTime = 0;
     
+    // محدوده حرکت (صفحه بازی یا دنیای بزرگ‌تر)
+    private int boundsWidth = GameConfig.WIDTH;
+    private int boundsHeight = GameConfig.HEIGHT;
+    
     // سابقه موقعیت برای رسم دنباله
     private List<Point> trail;
     private static final int TRAIL_LENGTH = 10;
@@ -39,8 +56,36 @@ public class Player {
             trail.add(new Point(x, y));
         }
     }
+    
+    /**
+     * بازنشانی بازیکن برای دور جدید بازی
+     * (همان شیء حفظ می‌شود تا ارجاع‌های مدیرها معتبر بمانند)
+     */
+    public void reset(int x, int y) {
+        this.x = x;
+        this.y = y;
+        this.speed = defaultSpeed;
+        this.inputQueue.clear();
+        this.heldDirections = 0;
+        this.pressedThisTick = 0;
+        this.releasedThisTick = 0;
+        this.pendingInputNanos = 0;
+        this.invincible = false;
+        this.hasShield = false;
+        this.shieldStrength = 0;
+        this.dashCooldown = 0;
+        this.powerUpEndTime = 0;
+        
+        for (Point point : trail) {
+            point.x = x;
+            point.y = y;
+        }
+    }
 
     public void update() {
+        // اعمال رویدادهای کلید به ترتیب رسیدن
+        processInput();
+        
         // به‌روزرسانی موقعیت قبلی برای رسم دنباله
         updateTrail();
         
@@ -48,19 +93,24 @@ public class Player {
         int deltaX = 0;
         int deltaY = 0;
         
-        if (movingUp) {
+        if ((heldDirections & MOVE_UP) != 0) {
             deltaY -= speed;
         }
-        if (movingDown) {
+        if ((heldDirections & MOVE_DOWN) != 0) {
             deltaY += speed;
         }
-        if (movingLeft) {
+        if ((heldDirections & MOVE_LEFT) != 0) {
             deltaX -= speed;
         }
-        if (movingRight) {
+        if ((heldDirections & MOVE_RIGHT) != 0) {
             deltaX += speed;
         }
         
+        // کلیدهایی که در همین تیک فشرده و رها شده‌اند یک تیک حرکت داشته‌اند
+        heldDirections &= ~releasedThisTick;
+        pressedThisTick = 0;
+        releasedThisTick = 0;
+        
         // اعمال نرمال‌سازی حرکت قطری
         if (deltaX != 0 && deltaY != 0) {
             // نرمال‌سازی حرکت قطری برای جلوگیری از سرعت بیشتر
@@ -74,8 +124,8 @@ public class Player {
         y += deltaY;
         
         // نگه داشتن بازیکن در محدوده بازی
-        x = Math.max(0, Math.min(x, GameConfig.WIDTH - GameConfig.PLAYER_SIZE));
-        y = Math.max(0, Math.min(y, GameConfig.HEIGHT - GameConfig.PLAYER_SIZE));
+        x = Math.max(0, Math.min(x, boundsWidth - GameConfig.PLAYER_SIZE));
+        y = Math.max(0, Math.min(y, boundsHeight - GameConfig.PLAYER_SIZE));
         
         // به‌روزرسانی کولدان حرکت سریع
         if (dashCooldown > 0) {
@@ -94,53 +144,90 @@ public class Player {
      * به‌روزرسانی لیست نقاط دنباله
      */
     private void updateTrail() {
-        // حذف قدیمی‌ترین نقطه و اضافه کردن موقعیت جدید
-        trail.remove(0);
-        trail.add(new Point(x, y));
+        // قدیمی‌ترین نقطه با موقعیت جدید دوباره به انتهای دنباله می‌رود
+        Point oldest = trail.remove(0);
+        oldest.x = x;
+        oldest.y = y;
+        trail.add(oldest);
     }
 
+    /**
+     * ثبت فشردن کلید (از نخ EDT)؛ در تیک بعدی شبیه‌سازی اعمال می‌شود
+     */
     public void handleKeyPress(int keyCode) {
-        switch (keyCode) {
-            case KeyEvent.VK_UP:
-            case KeyEvent.VK_W:
-                movingUp = true;
-                break;
-            case KeyEvent.VK_DOWN:
-            case KeyEvent.VK_S:
-                movingDown = true;
-                break;
-            case KeyEvent.VK_LEFT:
-            case KeyEvent.VK_A:
-                movingLeft = true;
-                break;
-            case KeyEvent.VK_RIGHT:
-            case KeyEvent.VK_D:
-                movingRight = true;
-                break;
-            case KeyEvent.VK_SPACE:
-                tryDash();
-                break;
+        if (isGameKey(keyCode)) {
+            inputQueue.offer(new KeyInput(keyCode, true, System.nanoTime()));
         }
     }
 
+    /**
+     * ثبت رها کردن کلید (از نخ EDT)؛ در تیک بعدی شبیه‌سازی اعمال می‌شود
+     */
     public void handleKeyRelease(int keyCode) {
+        if (directionOf(keyCode) != 0) {
+            inputQueue.offer(new KeyInput(keyCode, false, System.nanoTime()));
+        }
+    }
+    
+    /**
+     * خالی کردن صف ورودی و اعمال رویدادها به ترتیب
+     */
+    private void processInput() {
+        KeyInput input;
+        while ((input = inputQueue.poll()) != null) {
+            if (pendingInputNanos == 0) {
+                pendingInputNanos = input.timeNanos;
+            }
+            
+            if (input.keyCode == KeyEvent.VK_SPACE) {
+                tryDash();
+                continue;
+            }
+            
+            int direction = directionOf(input.keyCode);
+            if (input.pressed) {
+                heldDirections |= direction;
+                pressedThisTick |= direction;
+                releasedThisTick &= ~direction;
+            } else if ((pressedThisTick & direction) != 0) {
+                // ضربه کوتاه: رها کردن تا پایان حرکت این تیک عقب می‌افتد
+                releasedThisTick |= direction;
+            } else {
+                heldDirections &= ~direction;
+            }
+        }
+    }
+    
+    /**
+     * زمان قدیمی‌ترین ورودی اعمال‌شده از آخرین فراخوانی (نانوثانیه) یا 0
+     * (پس از نمایش فریم برای اندازه‌گیری تأخیر ورودی تا نمایش فراخوانی می‌شود)
+     */
+    public long takePendingInputNanos() {
+        long nanos = pendingInputNanos;
+        pendingInputNanos = 0;
+        return nanos;
+    }
+    
+    private static boolean isGameKey(int keyCode) {
+        return keyCode == KeyEvent.VK_SPACE || directionOf(keyCode) != 0;
+    }
+    
+    private static int directionOf(int keyCode) {
         switch (keyCode) {
             case KeyEvent.VK_UP:
             case KeyEvent.VK_W:
-                movingUp = false;
-                break;
+                return MOVE_UP;
             case KeyEvent.VK_DOWN:
             case KeyEvent.VK_S:
-                movingDown = false;
-                break;
+                return MOVE_DOWN;
             case KeyEvent.VK_LEFT:
             case KeyEvent.VK_A:
-                movingLeft = false;
-                break;
+                return MOVE_LEFT;
             case KeyEvent.VK_RIGHT:
             case KeyEvent.VK_D:
-                movingRight = false;
-                break;
+                return MOVE_RIGHT;
+            default:
+                return 0;
         }
     }
     
@@ -153,10 +240,10 @@ public class Player {
             int dirX = 0;
             int dirY = 0;
             
-            if (movingUp) dirY -= 1;
-            if (movingDown) dirY += 1;
-            if (movingLeft) dirX -= 1;
-            if (movingRight) dirX += 1;
+            if ((heldDirections & MOVE_UP) != 0) dirY -= 1;
+            if ((heldDirections & MOVE_DOWN) != 0) dirY += 1;
+            if ((heldDirections & MOVE_LEFT) != 0) dirX -= 1;
+            if ((heldDirections & MOVE_RIGHT) != 0) dirX += 1;
             
             // اگر حرکتی در جریان باشد
             if (dirX != 0 || dirY != 0) {
@@ -170,8 +257,8 @@ public class Player {
                 y += dirY;
                 
                 // نگه داشتن بازیکن در محدوده بازی
-                x = Math.max(0, Math.min(x, GameConfig.WIDTH - GameConfig.PLAYER_SIZE));
-                y = Math.max(0, Math.min(y, GameConfig.HEIGHT - GameConfig.PLAYER_SIZE));
+                x = Math.max(0, Math.min(x, boundsWidth - GameConfig.PLAYER_SIZE));
+                y = Math.max(0, Math.min(y, boundsHeight - GameConfig.PLAYER_SIZE));
                 
                 // اضافه کردن افکت بصری
                 EffectManager.addExplosion(x, y, 30, GameConfig.PLAYER_COLOR);
@@ -185,6 +272,36 @@ public class Player {
         }
     }
     
+    /**
+     * نوشتن وضعیت بازیکن در checkpoint (زمان پایان قدرت نسبت به now)
+     */
+    public void writeCheckpoint(ByteBuffer out, long now) {
+        out.putInt(x);
+        out.putInt(y);
+        out.putInt(speed);
+        WorldCheckpoint.putBoolean(out, invincible);
+        WorldCheckpoint.putBoolean(out, hasShield);
+        out.putInt(shieldStrength);
+        out.putInt(dashCooldown);
+        out.putLong(powerUpEndTime == 0 ? -1 : Math.max(0, powerUpEndTime - now));
+    }
+    
+    /**
+     * بازگرداندن وضعیت بازیکن از checkpoint
+     */
+    public void readCheckpoint(ByteBuffer in, long now) {
+        int savedX = in.getInt();
+        int savedY = in.getInt();
+        reset(savedX, savedY);
+        speed = in.getInt();
+        invincible = WorldCheckpoint.getBoolean(in);
+        hasShield = WorldCheckpoint.getBoolean(in);
+        shieldStrength = in.getInt();
+        dashCooldown = in.getInt();
+        long remaining = in.getLong();
+        powerUpEndTime = remaining < 0 ? 0 : now + remaining;
+    }
+    
     /**
      * فعال کردن قدرت سپر
      */
@@ -221,6 +338,14 @@ public class Player {
         return shieldStrength;
     }
     
+    /**
+     * تنظیم محدوده حرکت بازیکن (برای دنیای بزرگ‌تر از صفحه)
+     */
+    public void setMovementBounds(int width, int height) {
+        this.boundsWidth = width;
+        this.boundsHeight = height;
+    }
+    
     public Rectangle getBounds() {
         return new Rectangle(x, y, GameConfig.PLAYER_SIZE, GameConfig.PLAYER_SIZE);
     }
@@ -267,6 +392,21 @@ public class Player {
         this.powerUpEndTime = endTime;
     }
     
+    /**
+     * رویداد کلید با زمان ثبت
+     */
+    private static class KeyInput {
+        final int keyCode;
+        final boolean pressed;
+        final long timeNanos;
+        
+        KeyInput(int keyCode, boolean pressed, long timeNanos) {
+            this.keyCode = keyCode;
+            this.pressed = pressed;
+            this.timeNanos = timeNanos;
+        }
+    }
+    
     /**
      * کلاس داخلی برای نگهداری یک نقطه دنباله
      */
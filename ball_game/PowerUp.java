@@ -1,11 +1,13 @@
 import java.awt.Color;
 import java.awt.Rectangle;
+import java.nio.ByteBuffer;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * کلاس آیتم‌های قدرت در بازی
  */
-public class PowerUp implements Runnable {
+public class PowerUp {
     private static final Random random = new Random();
     
     // موقعیت و وضعیت
@@ -17,6 +19,7 @@ public class PowerUp implements Runnable {
     private volatile Color color;
     private int pulseSize = 0; // اندازه پالس برای افکت پالسی
     private int pulseDirection = 1; // جهت تغییر پالس
+    private TaskGroup tasks;
     
     /**
      * انواع مختلف قدرت
@@ -46,63 +49,90 @@ public class PowerUp implements Runnable {
         PowerUpType[] types = PowerUpType.values();
         int randomIndex = random.nextInt(types.length);
         type = types[randomIndex];
+        color = colorOf(type);
         
-        // تنظیم رنگ بر اساس نوع
+        active = true;
+        pulseSize = 0;
+        pulseDirection = 1;
+    }
+    
+    /**
+     * رنگ هر نوع قدرت
+     */
+    private static Color colorOf(PowerUpType type) {
         switch (type) {
             case SPEED_BOOST:
-                color = GameConfig.SPEEDBOOST_POWERUP_COLOR;
-                break;
+                return GameConfig.SPEEDBOOST_POWERUP_COLOR;
             case INVINCIBILITY:
-                color = GameConfig.INVINCIBILITY_POWERUP_COLOR;
-                break;
+                return GameConfig.INVINCIBILITY_POWERUP_COLOR;
             case SCORE_MULTIPLIER:
-                color = GameConfig.SCORE_POWERUP_COLOR;
-                break;
+                return GameConfig.SCORE_POWERUP_COLOR;
             case SHIELD:
-                color = new Color(0, 200, 200);
-                break;
+                return new Color(0, 200, 200);
             case TIME_SLOW:
-                color = new Color(0, 0, 128);
-                break;
-            case CLEAR_SCREEN:
-                color = new Color(255, 255, 255);
-                break;
+                return new Color(0, 0, 128);
+            default:
+                return new Color(255, 255, 255);
+        }
+    }
+    
+    /**
+     * نوشتن وضعیت قدرت در checkpoint
+     */
+    public void writeCheckpoint(ByteBuffer out) {
+        out.putInt(x);
+        out.putInt(y);
+        out.put((byte) type.ordinal());
+        WorldCheckpoint.putBoolean(out, active);
+    }
+    
+    /**
+     * بازگرداندن وضعیت قدرت از checkpoint (پیش از start)
+     */
+    public void readCheckpoint(ByteBuffer in) {
+        x = in.getInt();
+        y = in.getInt();
+        type = PowerUpType.values()[in.get()];
+        color = colorOf(type);
+        active = WorldCheckpoint.getBoolean(in);
+    }
+    
+    /**
+     * شروع چرخه ظاهر و پنهان شدن قدرت با وظایف زمان‌بندی‌شده
+     */
+    public void start(TaskGroup tasks) {
+        this.tasks = tasks;
+        if (active) {
+            scheduleExpiry();
+        } else {
+            // قدرت بازیابی‌شده‌ای که پنهان بوده بعد از مکث دوباره ظاهر می‌شود
+            expire();
+        }
+    }
+    
+    /**
+     * قدرت برای مدت مشخص ظاهر می‌شود
+     */
+    private void scheduleExpiry() {
+        // به‌روزرسانی افکت پالسی
+        updatePulse();
+        tasks.schedule(this::expire, GameConfig.POWER_UP_LIFETIME, TimeUnit.MILLISECONDS);
+    }
+    
+    private void expire() {
+        active = false;
+        if (!running) {
+            return;
         }
         
-        active = true;
-        pulseSize = 0;
-        pulseDirection = 1;
+        // کمی صبر قبل از ظاهر شدن دوباره
+        tasks.schedule(this::respawn, random.nextInt(5000) + 3000, TimeUnit.MILLISECONDS);
     }
     
-    @Override
-    public void run() {
-        while (running) {
-            if (active) {
-                // به‌روزرسانی افکت پالسی
-                updatePulse();
-                
-                try {
-                    // قدرت برای مدت مشخص ظاهر می‌شود
-                    Thread.sleep(GameConfig.POWER_UP_LIFETIME);
-                    active = false;
-                    
-                    // کمی صبر قبل از ظاهر شدن دوباره
-                    Thread.sleep(random.nextInt(5000) + 3000);
-                    if (running) {
-                        reset();
-                    }
-                } catch (InterruptedException e) {
-                    running = false;
-                    break;
-                }
-            } else {
-                try {
-                    Thread.sleep(GameConfig.POWER_UP_UPDATE_DELAY);
-                } catch (InterruptedException e) {
-                    running = false;
-                    break;
-                }
-            }
+    private void respawn() {
+        if (running) {
+            reset();
+            scheduleExpiry();
         }
     }
     
@@ -128,7 +158,10 @@ public class PowerUp implements Runnable {
      * بررسی برخورد با مستطیل مشخص شده
      */
     public boolean checkCollision(Rectangle other) {
-        return active && getBounds().intersects(other);
+        // بدون ساخت Rectangle جدید
+        int size = GameConfig.POWER_UP_SIZE;
+        return active && x < other.x + other.width && x + size > other.x &&
+               y < other.y + other.height && y + size > other.y;
     }
     
     /**
@@ -76,6 +76,30 @@ public class PowerUpManager {
         }
     }
     
+    /**
+     * نوشتن اثر قدرت فعال در checkpoint (زمان پایان نسبت به now)
+     */
+    public void writeCheckpoint(java.nio.ByteBuffer out, long now) {
+        out.put((byte) (activePowerUpType == null ? -1 : activePowerUpType.ordinal()));
+        out.putLong(powerUpEndTime == 0 ? -1 : Math.max(0, powerUpEndTime - now));
+        out.putInt(scoreMultiplier);
+        WorldCheckpoint.putBoolean(out, playerInvincible);
+        WorldCheckpoint.putBoolean(out, timeSlowEffect);
+    }
+    
+    /**
+     * بازگرداندن اثر قدرت فعال از checkpoint
+     */
+    public void readCheckpoint(java.nio.ByteBuffer in, long now) {
+        int type = in.get();
+        long remaining = in.getLong();
+        activePowerUpType = type < 0 ? null : PowerUp.PowerUpType.values()[type];
+        powerUpEndTime = remaining < 0 ? 0 : now + remaining;
+        scoreMultiplier = in.getInt();
+        playerInvincible = WorldCheckpoint.getBoolean(in);
+        timeSlowEffect = WorldCheckpoint.getBoolean(in);
+    }
+    
     /**
      * محاسبه امتیاز با ضریب
      */
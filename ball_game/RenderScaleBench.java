@@ -0,0 +1,95 @@
+import java.util.Arrays;
+
+/**
+ * Measures full-frame render time for each render scale at 1x and 2x output size.
+ *
+ * Usage: java -Djava.awt.headless=true RenderScaleBench [frames=300] [swarm=1500]
+ * A swarm of flocking enemies is spawned to make the world pass dominate. Scales below
+ * 100% are always rendered through the scaled world buffer, so the path behind the
+ * Render Scale option is what gets timed.
+ *
+ * Exits with status 1 if a render scale below 100% is slower than 100% at the same
+ * output size, since lowering the scale must never cost frame time. The game only uses
+ * the buffer when it is accelerated; when it is not (always the case for the offscreen
+ * image of a headless run), the timings are printed but cannot judge the feature, and
+ * the bench exits with status 2 instead of passing.
+ */
+public class RenderScaleBench {
+    private static final int WARMUP_FRAMES = 100;
+    private static final int ROUNDS = 5;
+    private static final double NOISE_TOLERANCE = 1.10; // timing jitter allowed before failing
+    private static final int[] WINDOW_SCALES = {1, 2};
+    
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int swarm = args.length > 1 ? Integer.parseInt(args[1]) : 1500;
+        GameConfig.soundEnabled = false;
+        
+        HeadlessGame game = new HeadlessGame();
+        game.loadImages();
+        if (swarm > 0) {
+            game.getEnemyManager().spawnSwarm(swarm);
+        }
+        for (int i = 0; i < 120; i++) {
+            game.tick();
+        }
+        
+        double[] scales = GameConfig.RENDER_SCALES;
+        boolean accelerated = game.isScaledRenderingAccelerated();
+        game.getGameRenderer().setForceWorldBuffer(true);
+        int failures = 0;
+        System.out.println("output      render scale   path     avg ms   fps");
+        for (int windowScale : WINDOW_SCALES) {
+            game.setOutputScale(windowScale);
+            // Scales are measured in interleaved rounds and the best round kept, so JIT
+            // warmup and background noise do not favour whichever scale runs last
+            double[] ms = new double[scales.length];
+            Arrays.fill(ms, Double.MAX_VALUE);
+            for (int round = 0; round < ROUNDS; round++) {
+                for (int s = 0; s < scales.length; s++) {
+                    GameConfig.renderScale = scales[s];
+                    ms[s] = Math.min(ms[s], measure(game, frames));
+                }
+            }
+            double nativeMs = 0;
+            for (int s = 0; s < scales.length; s++) {
+                if (scales[s] == 1.0) {
+                    nativeMs = ms[s];
+                }
+                System.out.printf("%4dx%-6d %12.0f%%   %-6s %8.2f %5.0f%n",
+                    GameConfig.WIDTH * windowScale, GameConfig.HEIGHT * windowScale, scales[s] * 100,
+                    scales[s] < 1.0 ? "buffer" : "direct", ms[s], 1000 / ms[s]);
+            }
+            for (int s = 0; s < scales.length; s++) {
+                if (scales[s] < 1.0 && ms[s] > nativeMs * NOISE_TOLERANCE) {
+                    System.out.printf("FAIL: %.0f%% at %dx is slower than 100%% (%.2f ms vs %.2f ms)%n",
+                        scales[s] * 100, windowScale, ms[s], nativeMs);
+                    failures++;
+                }
+            }
+        }
+        game.shutdown();
+        if (!accelerated) {
+            System.out.println("SKIP: the world buffer is not accelerated here, so the game renders every"
+                + " scale directly and the Render Scale option is disabled; the buffer timings above"
+                + " are for information only (" + failures + " slower than 100%)");
+            System.exit(2);
+        }
+        if (failures > 0) {
+            System.out.println(failures + " render scale(s) slower than 100%");
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+    
+    private static double measure(HeadlessGame game, int frames) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            game.renderFrame();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            game.renderFrame();
+        }
+        return (System.nanoTime() - start) / 1e6 / frames;
+    }
+}
@@ -26,6 +26,9 @@ public class ScoreManager {
             loadHighScores();
         }
         
+        // ارسال به جدول رتبه‌بندی محلی در پس‌زمینه (بدون انتظار)
+        LeaderboardClient.submitAsync(difficulty, playerName, score);
+        
         // ایجاد رکورد جدید
         ScoreEntry newEntry = new ScoreEntry(score, playerName, difficulty, new Date());
         
@@ -94,6 +97,8 @@ public class ScoreManager {
     private static void loadHighScores() {
         highScores.clear();
         
+        GameEvents.ScoreIo event = GameEvents.beginScoreIo("load");
+        boolean succeeded = false;
         try {
             if (Files.exists(Paths.get(HIGH_SCORES_FILE))) {
                 try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(HIGH_SCORES_FILE))) {
@@ -102,8 +107,13 @@ public class ScoreManager {
                     highScores.addAll(loadedScores);
                 }
             }
+            succeeded = true;
         } catch (Exception e) {
             System.err.println("Error loading high scores: " + e.getMessage());
+        }
+        GameEvents.endScoreIo(event, highScores.size(), Paths.get(HIGH_SCORES_FILE), succeeded);
+        
+        if (!succeeded) {
             // ایجاد فایل جدید در صورت مشکل
             saveHighScores();
         }
@@ -115,12 +125,17 @@ public class ScoreManager {
      * ذخیره امتیازات برتر در فایل
      */
     private static void saveHighScores() {
+        GameEvents.ScoreIo event = GameEvents.beginScoreIo("save");
+        boolean succeeded = false;
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(HIGH_SCORES_FILE))) {
             oos.writeObject(highScores);
+            succeeded = true;
         } catch (IOException e) {
             System.err.println("Error saving high scores: " + e.getMessage());
         }
+        GameEvents.endScoreIo(event, highScores.size(), Paths.get(HIGH_SCORES_FILE), succeeded);
     }
+
     
     /**
      * کلاس داخلی برای نگهداری اطلاعات یک رکورد امتیاز
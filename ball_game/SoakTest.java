@@ -0,0 +1,188 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays the game headless with a BotPlayer for a long time and fails on resource growth.
+ *
+ * Usage: java -Djava.awt.headless=true SoakTest [minutes=60] [sampleSeconds=30] [restartMinutes=5]
+ * The game runs in real time at 60 UPS (the spawners and timers are wall-clock based) and
+ * restarts on game over and every restartMinutes. Live threads, heap after GC, the scheduler
+ * queue, the worker pool and the session's unfinished tasks are sampled; after a warm-up,
+ * a metric that keeps rising (least-squares trend and last third above first third) fails
+ * the run with exit status 1. Exit status 2 means the run was too short to judge.
+ */
+public class SoakTest {
+    private static final long TICK_NANOS = 1_000_000_000L / 60;
+    private static final int RENDER_EVERY_TICKS = 2;
+    private static final double WARMUP_FRACTION = 0.2;
+    private static final int MIN_ANALYSED_SAMPLES = 6;
+    
+    private enum Metric {
+        THREADS("threads", 2),
+        HEAP_MB("heap MB", 4),
+        SCHEDULER_QUEUE("sched queue", 16),
+        WORKER_POOL("workers", 4),
+        SESSION_TASKS("session tasks", 16);
+        
+        final String label;
+        // Growth over the analysed window that is still considered noise
+        final double tolerance;
+        
+        Metric(String label, double tolerance) {
+            this.label = label;
+            this.tolerance = tolerance;
+        }
+    }
+    
+    public static void main(String[] args) {
+        double minutes = args.length > 0 ? Double.parseDouble(args[0]) : 60;
+        int sampleSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        double restartMinutes = args.length > 2 ? Double.parseDouble(args[2]) : 5;
+        GameConfig.soundEnabled = false;
+        GameConfig.musicEnabled = false;
+        
+        HeadlessGame game = new HeadlessGame();
+        game.loadImages();
+        BotPlayer bot = new BotPlayer(game.getPlayer());
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        
+        List<double[]> samples = new ArrayList<>();
+        long start = System.nanoTime();
+        long end = start + (long) (minutes * 60e9);
+        long sampleNanos = sampleSeconds * 1_000_000_000L;
+        long restartNanos = (long) (restartMinutes * 60e9);
+        long nextSample = start + sampleNanos;
+        long roundStart = start;
+        long nextTick = start;
+        long ticks = 0;
+        int rounds = 1;
+        int gameOvers = 0;
+        long bestScore = 0;
+        
+        System.out.printf("Soak test: %.1f min, sample every %d s, restart every %.1f min%n",
+            minutes, sampleSeconds, restartMinutes);
+        System.out.println("   time  round  score   threads  heap MB  sched queue  workers  session tasks");
+        
+        while (System.nanoTime() < end) {
+            long now = System.nanoTime();
+            if (now < nextTick) {
+                LockSupport.parkNanos(nextTick - now);
+                continue;
+            }
+            nextTick += TICK_NANOS;
+            if (now - nextTick > TICK_NANOS * 5) {
+                nextTick = now;
+            }
+            
+            boolean gameOver = game.isGameOver();
+            if (gameOver || now - roundStart >= restartNanos) {
+                if (gameOver) {
+                    gameOvers++;
+                }
+                bestScore = Math.max(bestScore, game.getGameStateManager().getScore());
+                bot.releaseAll();
+                game.restart();
+                roundStart = now;
+                rounds++;
+            }
+            
+            bot.update(game.getBalls(), game.getPowerUps(), game.getEnemyManager().getEnemies());
+            game.tick();
+            if (++ticks % RENDER_EVERY_TICKS == 0) {
+                game.renderFrame();
+            }
+            
+            if (now >= nextSample) {
+                nextSample += sampleNanos;
+                double[] sample = sample(game, threads, memory);
+                samples.add(sample);
+                System.out.printf("%6.1fm %6d %6d %9.0f %8.1f %12.0f %8.0f %14.0f%n",
+                    (now - start) / 60e9, rounds, game.getGameStateManager().getScore(),
+                    sample[0], sample[1], sample[2], sample[3], sample[4]);
+            }
+        }
+        bestScore = Math.max(bestScore, game.getGameStateManager().getScore());
+        game.shutdown();
+        
+        System.out.printf("%d ticks, %d rounds, %d game overs, best score %d%n",
+            ticks, rounds, gameOvers, bestScore);
+        System.exit(analyse(samples));
+    }
+    
+    private static double[] sample(HeadlessGame game, ThreadMXBean threads, MemoryMXBean memory) {
+        // Two collections so objects freed by finalisation/reference processing are gone too
+        System.gc();
+        System.gc();
+        ThreadManager threadManager = game.getThreadManager();
+        double[] sample = new double[Metric.values().length];
+        sample[Metric.THREADS.ordinal()] = threads.getThreadCount();
+        sample[Metric.HEAP_MB.ordinal()] = memory.getHeapMemoryUsage().getUsed() / (1024.0 * 1024.0);
+        sample[Metric.SCHEDULER_QUEUE.ordinal()] = threadManager.getSchedulerQueueSize();
+        sample[Metric.WORKER_POOL.ordinal()] = threadManager.getWorkerPoolSize();
+        sample[Metric.SESSION_TASKS.ordinal()] = threadManager.getSession().getActiveTaskCount();
+        return sample;
+    }
+    
+    /**
+     * @return process exit status: 0 no growth, 1 a metric trends upward, 2 too few samples
+     */
+    private static int analyse(List<double[]> samples) {
+        int from = (int) Math.ceil(samples.size() * WARMUP_FRACTION);
+        int n = samples.size() - from;
+        if (n < MIN_ANALYSED_SAMPLES) {
+            System.out.printf("Only %d samples after warm-up (need %d); run longer or sample more often%n",
+                n, MIN_ANALYSED_SAMPLES);
+            return 2;
+        }
+        
+        int failures = 0;
+        System.out.println("metric          first third  last third  trend/window  tolerance");
+        for (Metric metric : Metric.values()) {
+            int m = metric.ordinal();
+            double meanX = (n - 1) / 2.0;
+            double meanY = 0;
+            for (int i = 0; i < n; i++) {
+                meanY += samples.get(from + i)[m];
+            }
+            meanY /= n;
+            double covariance = 0;
+            double variance = 0;
+            for (int i = 0; i < n; i++) {
+                covariance += (i - meanX) * (samples.get(from + i)[m] - meanY);
+                variance += (i - meanX) * (i - meanX);
+            }
+            double growth = covariance / variance * (n - 1);
+            
+            int third = Math.max(1, n / 3);
+            double first = 0;
+            double last = 0;
+            for (int i = 0; i < third; i++) {
+                first += samples.get(from + i)[m];
+                last += samples.get(from + n - third + i)[m];
+            }
+            first /= third;
+            last /= third;
+            
+            // Heap tolerance grows with the heap so a larger steady state is not flagged
+            double tolerance = metric == Metric.HEAP_MB ? Math.max(metric.tolerance, first * 0.1) : metric.tolerance;
+            boolean rising = growth > tolerance && last - first > tolerance / 2;
+            System.out.printf("%-15s %11.1f %11.1f %13.1f %10.1f%s%n", metric.label,
+                first, last, growth, tolerance, rising ? "  RISING" : "");
+            if (rising) {
+                failures++;
+            }
+        }
+        
+        if (failures > 0) {
+            System.out.println(failures + " metric(s) trend upward");
+            return 1;
+        }
+        System.out.println("No upward resource trends");
+        return 0;
+    }
+}
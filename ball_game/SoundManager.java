@@ -67,11 +67,60 @@ public class SoundManager {
     private static float effectVolume = 0.7f;
     private static boolean musicEnabled = true;
     private static boolean effectsEnabled = true;
-    private static boolean soundSystemInitialized = false;
+    private static volatile boolean soundSystemInitialized = false;
     
-    // بارگذاری افکت‌های صوتی
-    static {
-        initializeSoundSystem();
+    // بارگذاری تنبل: رمزگشایی صداها در اولین استفاده یا در پس‌زمینه انجام می‌شود
+    private static final Object initLock = new Object();
+    private static final Object pendingLock = new Object();
+    private static volatile boolean initializationDone = false;
+    private static boolean initializationStarted = false;
+    private static Music pendingMusic = null;
+    private static boolean pendingLoop = false;
+    
+    /**
+     * اطمینان از راه‌اندازی سیستم صوتی (همگام و فقط یک بار)
+     */
+    public static void ensureInitialized() {
+        if (initializationDone) {
+            return;
+        }
+        synchronized (initLock) {
+            if (!initializationDone) {
+                initializeSoundSystem();
+            }
+        }
+    }
+    
+    /**
+     * شروع رمزگشایی صداها در یک نخ پس‌زمینه
+     * موسیقی درخواست‌شده در این فاصله بعد از آماده شدن پخش می‌شود
+     */
+    public static void initializeAsync() {
+        synchronized (pendingLock) {
+            if (initializationStarted || initializationDone) {
+                return;
+            }
+            initializationStarted = true;
+        }
+        
+        Thread initThread = new Thread(() -> {
+            long start = System.nanoTime();
+            ensureInitialized();
+            StartupTrace.record("audio decode", start);
+            
+            Music music;
+            boolean loop;
+            synchronized (pendingLock) {
+                music = pendingMusic;
+                loop = pendingLoop;
+                pendingMusic = null;
+            }
+            if (music != null) {
+                playMusic(music, loop);
+            }
+        }, "sound-init");
+        initThread.setDaemon(true);
+        initThread.start();
     }
     
     /**
@@ -85,6 +134,7 @@ public class SoundManager {
             if (AudioSystem.getMixerInfo().length == 0) {
                 System.err.println("No audio mixers available. Sound will be disabled.");
                 soundSystemInitialized = false;
+                initializationDone = true;
                 return;
             }
             
@@ -127,6 +177,7 @@ public class SoundManager {
             e.printStackTrace();
             soundSystemInitialized = false;
         }
+        initializationDone = true;
     }
     
     /**
@@ -164,15 +215,21 @@ public class SoundManager {
      * @param effect افکت صوتی مورد نظر
      */
     public static void playSound(SoundEffect effect) {
+        if (!initializationDone) {
+            // افکت‌های کوتاه تا آماده شدن سیستم صوتی نادیده گرفته می‌شوند
+            initializeAsync();
+            return;
+        }
         if (!soundSystemInitialized || !effectsEnabled || !soundEffects.containsKey(effect)) {
             return;
         }
         
+        long requestedNanos = GameEvents.soundRequested();
         soundThreadPool.execute(() -> {
             try {
                 SoundClip clip = soundEffects.get(effect);
                 if (clip != null) {
-                    clip.play(effectVolume);
+                    clip.play(effectVolume, requestedNanos);
                 }
             } catch (Exception e) {
                 System.err.println("Error playing sound effect: " + e.getMessage());
@@ -186,6 +243,20 @@ public class SoundManager {
      * @param loop آیا موسیقی به صورت مداوم پخش شود
      */
     public static void playMusic(Music music, boolean loop) {
+        synchronized (pendingLock) {
+            if (!initializationDone) {
+                // نگه داشتن آخرین موسیقی درخواستی تا پایان راه‌اندازی
+                pendingMusic = music;
+                pendingLoop = loop;
+            } else {
+                pendingMusic = null;
+            }
+        }
+        if (!initializationDone) {
+            initializeAsync();
+            return;
+        }
+        
         if (!soundSystemInitialized || !musicEnabled) {
             return;
         }
@@ -193,7 +264,9 @@ public class SoundManager {
         // توقف موسیقی قبلی
         stopMusic();
         
+        long requestedNanos = GameEvents.soundRequested();
         soundThreadPool.execute(() -> {
+            GameEvents.SoundPlay event = GameEvents.beginSoundPlay(music.name(), true, requestedNanos);
             try {
                 AudioInputStream audioStream = openAudioStream(music.getPath());
                 if (audioStream == null) {
@@ -214,6 +287,8 @@ public class SoundManager {
                 currentMusic.start();
             } catch (Exception e) {
                 System.err.println("Error playing music: " + e.getMessage());
+            } finally {
+                GameEvents.endSoundPlay(event);
             }
         });
     }
@@ -326,6 +401,7 @@ public class SoundManager {
      * بررسی وضعیت سیستم صوتی
      */
     public static boolean isSoundSystemInitialized() {
+        ensureInitialized();
         return soundSystemInitialized;
     }
     
@@ -333,6 +409,7 @@ public class SoundManager {
      * دریافت تعداد افکت‌های صوتی بارگذاری شده
      */
     public static int getLoadedSoundsCount() {
+        ensureInitialized();
         return soundEffects.size();
     }
     
@@ -340,6 +417,7 @@ public class SoundManager {
      * نمایش وضعیت کامل سیستم صوتی
      */
     public static void printSoundSystemStatus() {
+        ensureInitialized();
         System.out.println("\n=== Sound System Status ===");
         System.out.println("Initialized: " + soundSystemInitialized);
         System.out.println("Music enabled: " + musicEnabled + " (Volume: " + (int)(musicVolume * 100) + "%)");
@@ -365,6 +443,7 @@ public class SoundManager {
      * تست پخش تمام افکت‌های صوتی
      */
     public static void testAllSounds() {
+        ensureInitialized();
         System.out.println("Testing all sound effects...");
         
         for (SoundEffect effect : SoundEffect.values()) {
@@ -436,8 +515,9 @@ public class SoundManager {
             }
         }
         
-        public void play(float volume) {
+        public void play(float volume, long requestedNanos) {
             soundThreadPool.execute(() -> {
+                GameEvents.SoundPlay playEvent = GameEvents.beginSoundPlay(path, false, requestedNanos);
                 try {
                     // Create a new clip for each playback to allow concurrent sounds
                     AudioInputStream audioStream = new AudioInputStream(
@@ -464,6 +544,8 @@ public class SoundManager {
                     clip.start();
                 } catch (Exception e) {
                     System.err.println("Error playing sound " + path + ": " + e.getMessage());
+                } finally {
+                    GameEvents.endSoundPlay(playEvent);
                 }
             });
         }
@@ -0,0 +1,77 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ثبت زمان‌بندی مراحل راه‌اندازی بازی
+ *
+ * مراحل مسیر اصلی (تا نمایش اولین فریم منو) و کارهای پس‌زمینه هر کدام
+ * مدت زمان خود را ثبت می‌کنند. با رسم اولین فریم منو گزارش کامل چاپ می‌شود.
+ */
+public class StartupTrace {
+    private static final long startNanos = System.nanoTime();
+    private static final List<String> entries = new ArrayList<>();
+    private static long lastMarkNanos = startNanos;
+    private static volatile boolean firstFrameRecorded = false;
+    private static long firstFrameMillis = -1;
+    
+    /**
+     * پایان یک مرحله از مسیر اصلی راه‌اندازی (مدت از آخرین علامت)
+     */
+    public static synchronized void mark(String phase) {
+        long now = System.nanoTime();
+        entries.add(String.format("  %-28s %7.1f ms  (at %7.1f ms)", phase,
+            (now - lastMarkNanos) / 1_000_000.0, (now - startNanos) / 1_000_000.0));
+        lastMarkNanos = now;
+    }
+    
+    /**
+     * ثبت مدت یک کار پس‌زمینه که از phaseStartNanos شروع شده است
+     */
+    public static synchronized void record(String task, long phaseStartNanos) {
+        long now = System.nanoTime();
+        entries.add(String.format("  %-28s %7.1f ms  (bg, done at %7.1f ms)", task,
+            (now - phaseStartNanos) / 1_000_000.0, (now - startNanos) / 1_000_000.0));
+        
+        // کارهای پس‌زمینه‌ای که بعد از اولین فریم تمام می‌شوند جداگانه گزارش می‌شوند
+        if (firstFrameRecorded) {
+            System.out.println("[startup]" + entries.get(entries.size() - 1).substring(1));
+        }
+    }
+    
+    /**
+     * ثبت زمان اولین فریم منو و چاپ گزارش
+     */
+    public static void firstFrame() {
+        if (firstFrameRecorded) {
+            return;
+        }
+        
+        synchronized (StartupTrace.class) {
+            if (firstFrameRecorded) {
+                return;
+            }
+            mark("first menu frame");
+            firstFrameMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            firstFrameRecorded = true;
+            
+            // زمان از شروع JVM شامل بارگذاری کلاس‌ها پیش از main
+            long jvmUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+            
+            System.out.println("=== Startup trace ===");
+            for (String entry : entries) {
+                System.out.println(entry);
+            }
+            System.out.println("Time to first menu frame: " + firstFrameMillis
+                + " ms (JVM uptime " + jvmUptime + " ms)");
+            System.out.println("=====================");
+        }
+    }
+    
+    /**
+     * زمان رسیدن به اولین فریم منو (میلی‌ثانیه) یا -1 اگر هنوز رسم نشده
+     */
+    public static synchronized long getTimeToFirstFrame() {
+        return firstFrameMillis;
+    }
+}
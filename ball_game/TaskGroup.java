@@ -0,0 +1,107 @@
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * گروه وظایف یک جلسه بازی
+ *
+ * همه وظایفی که در یک دور بازی اجرا یا زمان‌بندی می‌شوند در این گروه ثبت
+ * می‌شوند تا با پایان بازی یا شروع مجدد، یکجا و بدون بستن استخرها لغو شوند.
+ */
+public class TaskGroup {
+    // هر چند وظیفه ثبت‌شده یک بار وظایف تمام‌شده از مجموعه حذف می‌شوند
+    private static final int PURGE_INTERVAL = 64;
+    
+    private final ExecutorService workers;
+    private final ScheduledExecutorService scheduler;
+    private final Set<Future<?>> futures = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger submitted = new AtomicInteger();
+    private volatile boolean cancelled = false;
+    
+    public TaskGroup(ExecutorService workers, ScheduledExecutorService scheduler) {
+        this.workers = workers;
+        this.scheduler = scheduler;
+    }
+    
+    /**
+     * اجرای یک وظیفه روی استخر نخ‌های کاری
+     */
+    public Future<?> execute(Runnable task) {
+        if (cancelled) {
+            return cancelledFuture();
+        }
+        return track(workers.submit(task));
+    }
+    
+    /**
+     * اجرای یک وظیفه پس از تأخیر مشخص
+     */
+    public Future<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        if (cancelled) {
+            return cancelledFuture();
+        }
+        return track(scheduler.schedule(task, delay, unit));
+    }
+    
+    /**
+     * اجرای دوره‌ای یک وظیفه با نرخ ثابت
+     */
+    public Future<?> scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        if (cancelled) {
+            return cancelledFuture();
+        }
+        return track(scheduler.scheduleAtFixedRate(task, initialDelay, period, unit));
+    }
+    
+    /**
+     * لغو همه وظایف گروه (بدون انتظار برای پایان آن‌ها)
+     */
+    public void cancelAll() {
+        cancelled = true;
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+        futures.clear();
+    }
+    
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    
+    /**
+     * تعداد وظایف هنوز تمام‌نشده
+     */
+    public int getActiveTaskCount() {
+        int count = 0;
+        for (Future<?> future : futures) {
+            if (!future.isDone()) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private Future<?> track(Future<?> future) {
+        futures.add(future);
+        
+        // اگر همزمان با ثبت، گروه لغو شده باشد
+        if (cancelled) {
+            future.cancel(true);
+            futures.remove(future);
+        } else if (submitted.incrementAndGet() % PURGE_INTERVAL == 0) {
+            futures.removeIf(Future::isDone);
+        }
+        return future;
+    }
+    
+    private static Future<?> cancelledFuture() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.cancel(false);
+        return future;
+    }
+}
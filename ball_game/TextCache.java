@@ -0,0 +1,241 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * کش متن‌های از پیش رسم‌شده برای امتیازها، HUD و منوها
+ *
+ * هر ترکیب فونت و رنگ یک {@link Style} دارد که متن‌ها را یک بار در یک تصویر
+ * شفاف رسم می‌کند و در فریم‌های بعدی فقط همان تصویر را با drawImage می‌کشد.
+ * اگر گرافیک مقصد بزرگ‌نمایی شده باشد (مثلاً --window-scale)، تصویر متن با همان
+ * ضریب و جداگانه کش می‌شود تا متن با وضوح خروجی رسم شود و نه بزرگ‌شده از 1x.
+ */
+public class TextCache {
+    // حداکثر تعداد متن‌های نگه‌داشته‌شده برای هر سبک
+    private static final int MAX_ENTRIES_PER_STYLE = 128;
+
+    private static final Map<String, Style> styles = new HashMap<>();
+
+    // گرافیک کمکی برای اندازه‌گیری فونت‌ها بدون نیاز به صفحه
+    private static final Graphics2D measureGraphics =
+        new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+    /**
+     * دریافت سبک متن برای یک فونت و رنگ
+     */
+    public static synchronized Style style(Font font, Color color) {
+        String key = font.getName() + "|" + font.getStyle() + "|" + font.getSize() + "|" + color.getRGB();
+        Style style = styles.get(key);
+        if (style == null) {
+            style = new Style(font, color);
+            styles.put(key, style);
+        }
+        return style;
+    }
+
+    /**
+     * پاک کردن همه متن‌های کش‌شده
+     */
+    public static synchronized void clear() {
+        for (Style style : styles.values()) {
+            style.clear();
+        }
+    }
+
+    /**
+     * ضریب بزرگ‌نمایی یکنواخت گرافیک مقصد (1 برای تبدیل‌های دیگر مانند چرخش)
+     */
+    public static double outputScale(Graphics g) {
+        AffineTransform transform = ((Graphics2D) g).getTransform();
+        int type = transform.getType() & ~AffineTransform.TYPE_TRANSLATION;
+        if (type == AffineTransform.TYPE_UNIFORM_SCALE && transform.getScaleX() > 0) {
+            return transform.getScaleX();
+        }
+        return 1;
+    }
+
+    private static synchronized FontMetrics metricsFor(Font font) {
+        return measureGraphics.getFontMetrics(font);
+    }
+
+    /**
+     * تصویر رسم‌شده یک متن
+     */
+    private static class Glyph {
+        final BufferedImage image;
+        final int width;
+        final int imageWidth;  // اندازه تصویر در مختصات منطقی (تصویر در ضریب scale رسم شده)
+        final int imageHeight;
+
+        Glyph(BufferedImage image, int width, int imageWidth, int imageHeight) {
+            this.image = image;
+            this.width = width;
+            this.imageWidth = imageWidth;
+            this.imageHeight = imageHeight;
+        }
+
+        void draw(Graphics g, int x, int top) {
+            if (image.getWidth() == imageWidth) {
+                g.drawImage(image, x, top, null);
+            } else {
+                // تحت تبدیل بزرگ‌نمایی پیکسل‌های تصویر یک‌به‌یک روی خروجی می‌نشینند
+                g.drawImage(image, x, top, imageWidth, imageHeight, null);
+            }
+        }
+    }
+
+    /**
+     * سبک متن با کش LRU از تصاویر رسم‌شده
+     */
+    public static class Style {
+        private final Font font;
+        private final Color color;
+        private final int ascent;
+        private final int height;
+        private final Glyph[] digits = new Glyph[10];
+        private final LinkedHashMap<String, Glyph> glyphs =
+            new LinkedHashMap<String, Glyph>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Glyph> eldest) {
+                    return size() > MAX_ENTRIES_PER_STYLE;
+                }
+            };
+
+        private Style(Font font, Color color) {
+            this.font = font;
+            this.color = color;
+            FontMetrics metrics = metricsFor(font);
+            this.ascent = metrics.getAscent();
+            this.height = metrics.getHeight();
+        }
+
+        public int getAscent() {
+            return ascent;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * عرض متن بر حسب پیکسل
+         */
+        public int stringWidth(String text) {
+            return glyph(text, 1).width;
+        }
+
+        /**
+         * رسم متن با خط پایه در y (مانند drawString)
+         */
+        public void draw(Graphics g, String text, int x, int y) {
+            if (text.isEmpty()) {
+                return;
+            }
+            glyph(text, outputScale(g)).draw(g, x, y - ascent);
+        }
+
+        /**
+         * رسم متن در وسط افقی یک عرض مشخص
+         */
+        public void drawCentered(Graphics g, String text, int areaWidth, int y) {
+            draw(g, text, (areaWidth - stringWidth(text)) / 2, y);
+        }
+
+        /**
+         * رسم عدد با کنار هم گذاشتن تصاویر ارقام، بدون ساخت رشته
+         * @return مختصات x بعد از آخرین رقم
+         */
+        public int drawNumber(Graphics g, long value, int x, int y) {
+            double scale = outputScale(g);
+            if (value < 0) {
+                Glyph minus = glyph("-", scale);
+                minus.draw(g, x, y - ascent);
+                x += minus.width;
+                value = -value;
+            }
+
+            long divisor = 1;
+            while (value / divisor >= 10) {
+                divisor *= 10;
+            }
+
+            while (divisor > 0) {
+                Glyph digit = digit((int) ((value / divisor) % 10), scale);
+                digit.draw(g, x, y - ascent);
+                x += digit.width;
+                divisor /= 10;
+            }
+            return x;
+        }
+
+        /**
+         * رسم عدد دو رقمی با صفر پیشرو (برای نمایش زمان)
+         */
+        public int drawTwoDigits(Graphics g, int value, int x, int y) {
+            double scale = outputScale(g);
+            Glyph tens = digit((value / 10) % 10, scale);
+            Glyph ones = digit(value % 10, scale);
+            tens.draw(g, x, y - ascent);
+            x += tens.width;
+            ones.draw(g, x, y - ascent);
+            return x + ones.width;
+        }
+
+        private Glyph digit(int d, double scale) {
+            if (scale != 1) {
+                return glyph(String.valueOf((char) ('0' + d)), scale);
+            }
+            Glyph glyph = digits[d];
+            if (glyph == null) {
+                glyph = glyph(String.valueOf((char) ('0' + d)), 1);
+                digits[d] = glyph;
+            }
+            return glyph;
+        }
+
+        private synchronized Glyph glyph(String text, double scale) {
+            String key = scale == 1 ? text : scale + "|" + text;
+            Glyph glyph = glyphs.get(key);
+            if (glyph == null) {
+                glyph = renderGlyph(text, scale);
+                glyphs.put(key, glyph);
+            }
+            return glyph;
+        }
+
+        private synchronized void clear() {
+            glyphs.clear();
+        }
+
+        /**
+         * رسم یک بار متن در تصویر شفاف با ضریب بزرگ‌نمایی خروجی
+         */
+        private Glyph renderGlyph(String text, double scale) {
+            FontMetrics metrics = metricsFor(font);
+            int width = metrics.stringWidth(text);
+            int imageWidth = Math.max(1, width + 2);
+            int imageHeight = Math.max(1, height);
+            BufferedImage image = new BufferedImage((int) Math.ceil(imageWidth * scale),
+                (int) Math.ceil(imageHeight * scale), BufferedImage.TYPE_INT_ARGB);
+
+            Graphics2D g2d = image.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.scale(scale, scale);
+            g2d.setFont(font);
+            g2d.setColor(color);
+            g2d.drawString(text, 0, ascent);
+            g2d.dispose();
+
+            return new Glyph(image, width, imageWidth, imageHeight);
+        }
+    }
+}
@@ -1,72 +1,151 @@
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * کلاس مدیریت نخ‌های بازی
+ *
+ * استخرهای نخ یک بار ساخته می‌شوند و در طول اجرای برنامه باقی می‌مانند.
+ * وظایف هر دور بازی در یک {@link TaskGroup} ثبت می‌شوند و هنگام شروع مجدد
+ * فقط همان گروه لغو می‌شود.
  */
 public class ThreadManager {
-    private ExecutorService ballThreadPool;
-    private ScheduledExecutorService scheduledExecutor;
+    // مدت نگه‌داری نخ‌های کاری بیکار
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 30;
+    private static final int SCHEDULER_THREADS = 5;
+    
+    private final ThreadPoolExecutor workerPool;
+    private final ScheduledThreadPoolExecutor scheduledExecutor;
+    private volatile TaskGroup session;
+    
+    // در حالت برخورد توپ‌ها یک وظیفه همه توپ‌ها را حرکت می‌دهد (برای هر دور ثابت است)
+    private volatile boolean ballPhysicsEnabled = GameConfig.ballCollisions;
+    private volatile BallPhysics ballPhysics;
     
     public ThreadManager() {
-        ballThreadPool = Executors.newFixedThreadPool(GameConfig.getMaxBalls());
-        scheduledExecutor = Executors.newScheduledThreadPool(5);
+        workerPool = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+            WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), daemonFactory("game-worker"));
+        scheduledExecutor = new ScheduledThreadPoolExecutor(SCHEDULER_THREADS, daemonFactory("game-scheduler"));
+        scheduledExecutor.setRemoveOnCancelPolicy(true);
+        session = new TaskGroup(workerPool, scheduledExecutor);
+    }
+    
+    /**
+     * ساخت نخ‌های daemon با نام مشخص
+     */
+    private static ThreadFactory daemonFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    /**
+     * اجرای یک کار مستقل از دور بازی (مثلاً بارگذاری‌های زمان راه‌اندازی)
+     */
+    public void executeBackground(Runnable task) {
+        workerPool.execute(task);
+    }
+    
+    /**
+     * آماده‌سازی نخ‌های زمان‌بند پیش از شروع بازی
+     */
+    public void warmUp() {
+        scheduledExecutor.prestartAllCoreThreads();
+    }
+    
+    /**
+     * گروه وظایف دور فعلی بازی
+     */
+    public TaskGroup getSession() {
+        return session;
+    }
+    
+    /**
+     * لغو وظایف دور قبلی و شروع گروه وظایف جدید
+     */
+    public TaskGroup newSession() {
+        TaskGroup previous = session;
+        ballPhysicsEnabled = GameConfig.ballCollisions;
+        ballPhysics = null;
+        session = new TaskGroup(workerPool, scheduledExecutor);
+        previous.cancelAll();
+        return session;
     }
     
     /**
      * راه‌اندازی زمان‌بندی‌های بازی
      */
-    public void setupGameSchedulers(CopyOnWriteArrayList<Ball> balls, 
+    public void setupGameSchedulers(CopyOnWriteArrayList<Ball> balls,
                                    GameStateManager gameStateManager,
                                    BallManager ballManager) {
         
+        // حرکت و برخورد همه توپ‌ها در یک وظیفه
+        if (ballPhysicsEnabled) {
+            ballPhysics = new BallPhysics(balls);
+            session.scheduleAtFixedRate(ballPhysics,
+                GameConfig.BALL_UPDATE_DELAY, GameConfig.BALL_UPDATE_DELAY, TimeUnit.MILLISECONDS);
+        }
+        
         // تنظیم زمان‌بندی ایجاد توپ‌های جدید
-        scheduledExecutor.scheduleAtFixedRate(() -> {
-            if (balls.size() < GameConfig.getMaxBalls() && 
+        session.scheduleAtFixedRate(() -> {
+            if (balls.size() < GameConfig.getMaxBalls() &&
                 gameStateManager.isGameRunning() && !gameStateManager.isGamePaused()) {
                 ballManager.createNewBall();
             }
-        }, GameConfig.getBallSpawnRate(), 
-           GameConfig.getBallSpawnRate() - gameStateManager.getBallSpawnAcceleration(), 
+        }, GameConfig.getBallSpawnRate(),
+           GameConfig.getBallSpawnRate() - gameStateManager.getBallSpawnAcceleration(),
            TimeUnit.SECONDS);
         
         // تنظیم زمان‌بندی برای افزایش سختی بازی بر اساس زمان
-        scheduledExecutor.scheduleAtFixedRate(() -> {
+        session.scheduleAtFixedRate(() -> {
             if (gameStateManager.isGameRunning() && !gameStateManager.isGamePaused()) {
                 gameStateManager.increaseDifficulty();
             }
         }, 60, 60, TimeUnit.SECONDS);
         
         // تنظیم زمان‌بندی محاسبه FPS
-        scheduledExecutor.scheduleAtFixedRate(() -> {
+        session.scheduleAtFixedRate(() -> {
             gameStateManager.updateSecondStats();
         }, 0, 1, TimeUnit.SECONDS);
     }
     
     /**
-     * اجرای توپ در استخر نخ‌ها
+     * زمان‌بندی حرکت توپ در گروه وظایف دور فعلی
      */
     public void executeBall(Ball ball) {
-        ballThreadPool.execute(ball);
+        // در حالت برخورد توپ‌ها BallPhysics توپ را از فهرست برمی‌دارد
+        if (!ballPhysicsEnabled) {
+            ball.start(session);
+        }
+    }
+    
+    /**
+     * شبیه‌ساز برخورد توپ‌های دور فعلی (null اگر این حالت خاموش است)
+     */
+    public BallPhysics getBallPhysics() {
+        return ballPhysics;
     }
     
     /**
-     * شروع نخ قدرت
+     * شروع چرخه ظاهر شدن قدرت در گروه وظایف دور فعلی
      */
     public void startPowerUpThread(PowerUp powerUp) {
-        Thread powerUpThread = new Thread(powerUp);
-        powerUpThread.setDaemon(true);
-        powerUpThread.start();
+        powerUp.start(session);
     }
     
     /**
-     * بستن همه نخ‌ها
+     * بستن همه نخ‌های دور فعلی بازی
      */
-    public void shutdownAllThreads(CopyOnWriteArrayList<Ball> balls, List<PowerUp> powerUps, 
+    public void shutdownAllThreads(CopyOnWriteArrayList<Ball> balls, List<PowerUp> powerUps,
                                   EnemyManager enemyManager) {
         // غیرفعال کردن نخ‌های توپ‌ها
         for (Ball ball : balls) {
@@ -81,32 +160,38 @@ public class ThreadManager {
         // بستن مدیریت دشمنان
         enemyManager.shutdown();
         
-        // بستن اجراکننده زمان‌بندی‌شده
-        if (scheduledExecutor != null) {
-            scheduledExecutor.shutdownNow();
-            try {
-                scheduledExecutor.awaitTermination(2, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
-        
-        // بستن استخر نخ‌های توپ‌ها
-        if (ballThreadPool != null) {
-            ballThreadPool.shutdownNow();
-            try {
-                ballThreadPool.awaitTermination(2, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
+        // لغو همه وظایف دور فعلی؛ نخ‌های استخر برای دور بعد باقی می‌مانند
+        session.cancelAll();
+    }
+    
+    /**
+     * تعداد وظایف منتظر در صف زمان‌بند (وظایف لغوشده فوراً حذف می‌شوند)
+     */
+    public int getSchedulerQueueSize() {
+        return scheduledExecutor.getQueue().size();
+    }
+    
+    /**
+     * تعداد نخ‌های فعلی استخر کاری (بیکارها پس از مدت نگه‌داری بسته می‌شوند)
+     */
+    public int getWorkerPoolSize() {
+        return workerPool.getPoolSize();
     }
     
     /**
      * راه‌اندازی مجدد نخ‌ها
      */
     public void restart() {
-        ballThreadPool = Executors.newFixedThreadPool(GameConfig.getMaxBalls());
-        scheduledExecutor = Executors.newScheduledThreadPool(5);
+        newSession();
     }
+    
+    /**
+     * بستن کامل استخرهای نخ هنگام خروج از برنامه
+     */
+    public void shutdown() {
+        session.cancelAll();
+        scheduledExecutor.shutdownNow();
+        workerPool.shutdownNow();
+    }
+
 }
@@ -1,4 +1,5 @@
 import java.awt.Rectangle;
+import java.nio.ByteBuffer;
 import java.util.Random;
 
 public class TrackerEnemy implements Enemy {
@@ -29,17 +30,8 @@ public class TrackerEnemy implements Enemy {
     
     @Override
     public void run() {
-        while (running) {
-            try {
-                Thread.sleep(GameConfig.ENEMY_UPDATE_DELAY);
-                
-                // حرکت براساس به‌روزرسانی توسط آخرین موقعیت بازیکن
-                // به‌روزرسانی توسط EnemyManager انجام می‌شود
-            } catch (InterruptedException e) {
-                running = false;
-                break;
-            }
-        }
+        // دشمن ردگیر کار مستقلی ندارد؛ حرکت آن در حلقه بازی
+        // توسط EnemyManager.updateEnemies انجام می‌شود و نخی برای آن ساخته نمی‌شود
     }
     
     @Override
@@ -100,7 +92,9 @@ public class TrackerEnemy implements Enemy {
     
     @Override
     public boolean checkCollision(Rectangle rect) {
-        return getBounds().intersects(rect);
+        // بدون ساخت Rectangle جدید
+        return x < rect.x + rect.width && x + size > rect.x &&
+               y < rect.y + rect.height && y + size > rect.y;
     }
     
     @Override
@@ -125,6 +119,21 @@ public class TrackerEnemy implements Enemy {
         running = false;
     }
     
+    @Override
+    public void writeCheckpoint(ByteBuffer out, long now) {
+        out.putInt(x);
+        out.putInt(y);
+        out.putInt(health);
+    }
+    
+    @Override
+    public void readCheckpoint(ByteBuffer in, long now) {
+        x = in.getInt();
+        y = in.getInt();
+        health = in.getInt();
+        active = health > 0;
+    }
+    
     @Override
     public int getX() {
         return x;
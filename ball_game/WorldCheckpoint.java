@@ -0,0 +1,308 @@
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * ذخیره و بازیابی وضعیت کامل یک بازی در حال اجرا (توقف، ادامه و بازیابی پس از خرابی)
+ *
+ * قالب فایل:
+ *   MAGIC (int) | VERSION (short) | طول داده (int) | داده | CRC32 داده (int)
+ *
+ * داده به ترتیب شامل وضعیت بازی، اثر قدرت فعال، بازیکن، توپ‌ها، دشمنان (با بمب‌ها)
+ * و آیتم‌های قدرت است. زمان‌سنج‌ها به صورت زمان باقی‌مانده نسبت به لحظه ذخیره
+ * نوشته می‌شوند تا پس از بازیابی از همان نقطه ادامه یابند.
+ *
+ * ثبت وضعیت در یک بافر آماده در نخ فراخواننده انجام می‌شود و نوشتن فایل
+ * (فایل موقت و سپس جابه‌جایی اتمی) در یک نخ جداگانه، پس حلقه بازی منتظر دیسک نمی‌ماند.
+ */
+public class WorldCheckpoint {
+    public static final int MAGIC = 0x4247434B; // "BGCK"
+    public static final short VERSION = 1;
+    private static final int HEADER_SIZE = 10;
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+    
+    private final Path file;
+    private final Path tempFile;
+    private final GameStateManager gameStateManager;
+    private final Player player;
+    private final PowerUpManager powerUpManager;
+    private final CopyOnWriteArrayList<Ball> balls;
+    private final EnemyManager enemyManager;
+    private final List<PowerUp> powerUps;
+    
+    // دو بافر: یکی در حال نوشتن روی دیسک و دیگری برای ثبت بعدی
+    private final ByteBuffer[] buffers = new ByteBuffer[2];
+    private ByteBuffer inFlight;
+    private ByteBuffer pending;
+    private boolean drainScheduled;
+    private final CRC32 crc = new CRC32();
+    private final ExecutorService writer;
+    
+    private volatile long lastCaptureNanos = 0;
+    private volatile long lastWriteNanos = 0;
+    private volatile int lastSize = 0;
+    
+    public WorldCheckpoint(Path file, GameStateManager gameStateManager, Player player,
+                           PowerUpManager powerUpManager, CopyOnWriteArrayList<Ball> balls,
+                           EnemyManager enemyManager, List<PowerUp> powerUps) {
+        this.file = file;
+        this.tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        this.gameStateManager = gameStateManager;
+        this.player = player;
+        this.powerUpManager = powerUpManager;
+        this.balls = balls;
+        this.enemyManager = enemyManager;
+        this.powerUps = powerUps;
+        buffers[0] = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        buffers[1] = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * ثبت وضعیت فعلی و نوشتن غیرهمزمان آن
+     * (اگر نوشتن قبلی هنوز تمام نشده باشد فقط آخرین وضعیت نوشته می‌شود)
+     */
+    public synchronized void save() {
+        long start = System.nanoTime();
+        int index = inFlight == buffers[0] ? 1 : 0;
+        ByteBuffer target = buffers[index];
+        while (true) {
+            try {
+                capture(target, System.currentTimeMillis());
+                break;
+            } catch (BufferOverflowException e) {
+                target = ByteBuffer.allocate(target.capacity() * 2);
+                buffers[index] = target;
+            }
+        }
+        lastCaptureNanos = System.nanoTime() - start;
+        lastSize = target.remaining();
+        
+        pending = target;
+        if (!drainScheduled) {
+            drainScheduled = true;
+            writer.execute(this::drain);
+        }
+    }
+    
+    /**
+     * حذف checkpoint (پایان بازی یا شروع دور جدید)
+     */
+    public synchronized void discard() {
+        pending = null;
+        writer.execute(() -> {
+            try {
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                System.err.println("Error deleting checkpoint: " + e.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * نوشتن checkpointهای در انتظار در نخ نویسنده
+     */
+    private void drain() {
+        while (true) {
+            ByteBuffer buffer;
+            synchronized (this) {
+                buffer = pending;
+                pending = null;
+                if (buffer == null) {
+                    inFlight = null;
+                    drainScheduled = false;
+                    return;
+                }
+                inFlight = buffer;
+            }
+            
+            long start = System.nanoTime();
+            try {
+                writeFile(buffer.duplicate());
+                lastWriteNanos = System.nanoTime() - start;
+            } catch (IOException e) {
+                System.err.println("Error writing checkpoint: " + e.getMessage());
+            }
+        }
+    }
+    
+    private void writeFile(ByteBuffer data) throws IOException {
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            // داده باید پیش از جابه‌جایی روی دیسک باشد تا پس از خرابی فایل نیمه‌کاره نماند
+            channel.force(false);
+        }
+        try {
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    /**
+     * نوشتن کل وضعیت دنیا در بافر (سرآیند، داده و CRC)
+     */
+    private void capture(ByteBuffer out, long now) {
+        out.clear();
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+        int lengthPosition = out.position();
+        out.putInt(0);
+        
+        int payloadStart = out.position();
+        out.putLong(now);
+        out.put((byte) GameConfig.getCurrentDifficulty().ordinal());
+        gameStateManager.writeCheckpoint(out, now);
+        powerUpManager.writeCheckpoint(out, now);
+        player.writeCheckpoint(out, now);
+        
+        int countPosition = out.position();
+        int count = 0;
+        out.putInt(0);
+        for (Ball ball : balls) {
+            if (ball.isActive()) {
+                ball.writeCheckpoint(out);
+                count++;
+            }
+        }
+        out.putInt(countPosition, count);
+        
+        enemyManager.writeCheckpoint(out, now);
+        
+        countPosition = out.position();
+        count = 0;
+        out.putInt(0);
+        for (int i = 0; i < powerUps.size(); i++) {
+            powerUps.get(i).writeCheckpoint(out);
+            count++;
+        }
+        out.putInt(countPosition, count);
+        
+        int payloadLength = out.position() - payloadStart;
+        out.putInt(lengthPosition, payloadLength);
+        crc.reset();
+        crc.update(out.array(), payloadStart, payloadLength);
+        out.putInt((int) crc.getValue());
+        out.flip();
+    }
+    
+    /**
+     * خواندن و اعتبارسنجی آخرین checkpoint
+     * @return داده checkpoint یا null اگر وجود ندارد یا معتبر نیست
+     */
+    public ByteBuffer load() {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (IOException e) {
+            System.err.println("Error reading checkpoint: " + e.getMessage());
+            return null;
+        }
+        
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER_SIZE + 4 || in.getInt() != MAGIC) {
+            System.err.println("Ignoring checkpoint: not a checkpoint file");
+            return null;
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            System.err.println("Ignoring checkpoint: unsupported version " + version);
+            return null;
+        }
+        int payloadLength = in.getInt();
+        if (payloadLength < 0 || payloadLength != bytes.length - HEADER_SIZE - 4) {
+            System.err.println("Ignoring checkpoint: truncated file");
+            return null;
+        }
+        CRC32 check = new CRC32();
+        check.update(bytes, HEADER_SIZE, payloadLength);
+        if ((int) check.getValue() != ByteBuffer.wrap(bytes, HEADER_SIZE + payloadLength, 4).getInt()) {
+            System.err.println("Ignoring checkpoint: checksum mismatch");
+            return null;
+        }
+        
+        return ByteBuffer.wrap(bytes, HEADER_SIZE, payloadLength).slice();
+    }
+    
+    /**
+     * اعمال داده checkpoint روی دنیای خالی
+     * (وظایف دور قبلی باید لغو و فهرست‌ها خالی شده باشند)
+     */
+    public void restore(ByteBuffer in, ThreadManager threadManager) {
+        long now = System.currentTimeMillis();
+        in.getLong(); // زمان ذخیره (فقط برای اطلاع)
+        GameConfig.setDifficulty(GameConfig.Difficulty.values()[in.get()]);
+        gameStateManager.readCheckpoint(in, now);
+        powerUpManager.readCheckpoint(in, now);
+        player.readCheckpoint(in, now);
+        
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            Ball ball = new Ball();
+            ball.readCheckpoint(in);
+            balls.add(ball);
+            threadManager.executeBall(ball);
+        }
+        
+        enemyManager.readCheckpoint(in, now);
+        
+        count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            PowerUp powerUp = new PowerUp();
+            powerUp.readCheckpoint(in);
+            powerUps.add(powerUp);
+            threadManager.startPowerUpThread(powerUp);
+        }
+    }
+    
+    /**
+     * مدت ثبت آخرین checkpoint در نخ فراخواننده (نانوثانیه)
+     */
+    public long getLastCaptureNanos() {
+        return lastCaptureNanos;
+    }
+    
+    /**
+     * مدت نوشتن آخرین checkpoint روی دیسک در نخ نویسنده (نانوثانیه)
+     */
+    public long getLastWriteNanos() {
+        return lastWriteNanos;
+    }
+    
+    /**
+     * اندازه آخرین checkpoint (بایت)
+     */
+    public int getLastSize() {
+        return lastSize;
+    }
+    
+    static void putBoolean(ByteBuffer out, boolean value) {
+        out.put((byte) (value ? 1 : 0));
+    }
+    
+    static boolean getBoolean(ByteBuffer in) {
+        return in.get() != 0;
+    }
+}
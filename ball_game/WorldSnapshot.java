@@ -0,0 +1,261 @@
+/**
+ * وضعیت کامل دنیای بازی چندنفره در یک تیک
+ *
+ * هر بازیکن، توپ و دشمن یک خانه ثابت دارد تا تفاضل هر خانه نسبت به
+ * snapshot پایه (آخرین snapshot تأییدشده توسط کلاینت) به صورت بیتی
+ * کدگذاری شود: خانه‌های بدون تغییر فقط یک بیت و فیلدهای کم‌تغییر فقط چند بیت
+ * هزینه دارند.
+ */
+public class WorldSnapshot {
+    public static final int MAX_PLAYERS = 4;
+    public static final int MAX_BALLS = 64;
+    public static final int MAX_ENEMIES = 16;
+    
+    // snapshot خالی که کدگذاری کامل نسبت به آن انجام می‌شود
+    public static final WorldSnapshot EMPTY = new WorldSnapshot();
+    
+    // تعداد بیت تفاضل کوچک و تعداد بیت مقدار کامل هر فیلد
+    private static final int DELTA_BITS = 6;
+    private static final int POSITION_BITS = 13;
+    private static final int SIZE_BITS = 9;
+    private static final int TYPE_BITS = 4;
+    private static final int SCORE_BITS = 27;
+    private static final int LIVES_BITS = 5;
+    
+    int tick = -1;
+    
+    final boolean[] playerActive = new boolean[MAX_PLAYERS];
+    final int[] playerX = new int[MAX_PLAYERS];
+    final int[] playerY = new int[MAX_PLAYERS];
+    final int[] playerScore = new int[MAX_PLAYERS];
+    final int[] playerLives = new int[MAX_PLAYERS];
+    final boolean[] playerInvincible = new boolean[MAX_PLAYERS];
+    
+    final boolean[] ballActive = new boolean[MAX_BALLS];
+    final int[] ballX = new int[MAX_BALLS];
+    final int[] ballY = new int[MAX_BALLS];
+    final int[] ballSize = new int[MAX_BALLS];
+    final int[] ballType = new int[MAX_BALLS];
+    
+    final boolean[] enemyActive = new boolean[MAX_ENEMIES];
+    final int[] enemyX = new int[MAX_ENEMIES];
+    final int[] enemyY = new int[MAX_ENEMIES];
+    
+    public int getTick() {
+        return tick;
+    }
+    
+    /**
+     * غیرفعال کردن همه خانه‌ها (فیلدهای خانه‌های غیرفعال همیشه صفر هستند)
+     */
+    public void clear() {
+        tick = -1;
+        for (int i = 0; i < MAX_PLAYERS; i++) {
+            setPlayer(i, false, 0, 0, 0, 0, false);
+        }
+        for (int i = 0; i < MAX_BALLS; i++) {
+            setBall(i, false, 0, 0, 0, 0);
+        }
+        for (int i = 0; i < MAX_ENEMIES; i++) {
+            setEnemy(i, false, 0, 0);
+        }
+    }
+    
+    void setPlayer(int i, boolean active, int x, int y, int score, int lives, boolean invincible) {
+        playerActive[i] = active;
+        playerX[i] = active ? x : 0;
+        playerY[i] = active ? y : 0;
+        playerScore[i] = active ? score : 0;
+        playerLives[i] = active ? lives : 0;
+        playerInvincible[i] = active && invincible;
+    }
+    
+    void setBall(int i, boolean active, int x, int y, int size, int type) {
+        ballActive[i] = active;
+        ballX[i] = active ? x : 0;
+        ballY[i] = active ? y : 0;
+        ballSize[i] = active ? size : 0;
+        ballType[i] = active ? type : 0;
+    }
+    
+    void setEnemy(int i, boolean active, int x, int y) {
+        enemyActive[i] = active;
+        enemyX[i] = active ? x : 0;
+        enemyY[i] = active ? y : 0;
+    }
+    
+    /**
+     * کپی کامل وضعیت یک snapshot دیگر
+     */
+    public void copyFrom(WorldSnapshot other) {
+        tick = other.tick;
+        System.arraycopy(other.playerActive, 0, playerActive, 0, MAX_PLAYERS);
+        System.arraycopy(other.playerX, 0, playerX, 0, MAX_PLAYERS);
+        System.arraycopy(other.playerY, 0, playerY, 0, MAX_PLAYERS);
+        System.arraycopy(other.playerScore, 0, playerScore, 0, MAX_PLAYERS);
+        System.arraycopy(other.playerLives, 0, playerLives, 0, MAX_PLAYERS);
+        System.arraycopy(other.playerInvincible, 0, playerInvincible, 0, MAX_PLAYERS);
+        System.arraycopy(other.ballActive, 0, ballActive, 0, MAX_BALLS);
+        System.arraycopy(other.ballX, 0, ballX, 0, MAX_BALLS);
+        System.arraycopy(other.ballY, 0, ballY, 0, MAX_BALLS);
+        System.arraycopy(other.ballSize, 0, ballSize, 0, MAX_BALLS);
+        System.arraycopy(other.ballType, 0, ballType, 0, MAX_BALLS);
+        System.arraycopy(other.enemyActive, 0, enemyActive, 0, MAX_ENEMIES);
+        System.arraycopy(other.enemyX, 0, enemyX, 0, MAX_ENEMIES);
+        System.arraycopy(other.enemyY, 0, enemyY, 0, MAX_ENEMIES);
+    }
+    
+    /**
+     * کدگذاری تفاضل این snapshot نسبت به baseline
+     */
+    public void encode(BitWriter out, WorldSnapshot baseline) {
+        out.writeBits(tick, 32);
+        
+        for (int i = 0; i < MAX_PLAYERS; i++) {
+            boolean changed = playerActive[i] != baseline.playerActive[i]
+                || playerX[i] != baseline.playerX[i] || playerY[i] != baseline.playerY[i]
+                || playerScore[i] != baseline.playerScore[i] || playerLives[i] != baseline.playerLives[i]
+                || playerInvincible[i] != baseline.playerInvincible[i];
+            out.writeBoolean(changed);
+            if (!changed) {
+                continue;
+            }
+            out.writeBoolean(playerActive[i]);
+            if (playerActive[i]) {
+                writeField(out, playerX[i], baseline.playerX[i], POSITION_BITS);
+                writeField(out, playerY[i], baseline.playerY[i], POSITION_BITS);
+                writeField(out, playerScore[i], baseline.playerScore[i], SCORE_BITS);
+                writeField(out, playerLives[i], baseline.playerLives[i], LIVES_BITS);
+                out.writeBoolean(playerInvincible[i]);
+            }
+        }
+        
+        for (int i = 0; i < MAX_BALLS; i++) {
+            boolean changed = ballActive[i] != baseline.ballActive[i]
+                || ballX[i] != baseline.ballX[i] || ballY[i] != baseline.ballY[i]
+                || ballSize[i] != baseline.ballSize[i] || ballType[i] != baseline.ballType[i];
+            out.writeBoolean(changed);
+            if (!changed) {
+                continue;
+            }
+            out.writeBoolean(ballActive[i]);
+            if (ballActive[i]) {
+                writeField(out, ballX[i], baseline.ballX[i], POSITION_BITS);
+                writeField(out, ballY[i], baseline.ballY[i], POSITION_BITS);
+                writeField(out, ballSize[i], baseline.ballSize[i], SIZE_BITS);
+                writeField(out, ballType[i], baseline.ballType[i], TYPE_BITS);
+            }
+        }
+        
+        for (int i = 0; i < MAX_ENEMIES; i++) {
+            boolean changed = enemyActive[i] != baseline.enemyActive[i]
+                || enemyX[i] != baseline.enemyX[i] || enemyY[i] != baseline.enemyY[i];
+            out.writeBoolean(changed);
+            if (!changed) {
+                continue;
+            }
+            out.writeBoolean(enemyActive[i]);
+            if (enemyActive[i]) {
+                writeField(out, enemyX[i], baseline.enemyX[i], POSITION_BITS);
+                writeField(out, enemyY[i], baseline.enemyY[i], POSITION_BITS);
+            }
+        }
+    }
+    
+    /**
+     * بازسازی این snapshot از baseline و تفاضل کدگذاری‌شده
+     */
+    public void decode(BitReader in, WorldSnapshot baseline) {
+        tick = in.readBits(32);
+        
+        for (int i = 0; i < MAX_PLAYERS; i++) {
+            if (!in.readBoolean()) {
+                setPlayer(i, baseline.playerActive[i], baseline.playerX[i], baseline.playerY[i],
+                    baseline.playerScore[i], baseline.playerLives[i], baseline.playerInvincible[i]);
+            } else if (!in.readBoolean()) {
+                setPlayer(i, false, 0, 0, 0, 0, false);
+            } else {
+                int x = readField(in, baseline.playerX[i], POSITION_BITS);
+                int y = readField(in, baseline.playerY[i], POSITION_BITS);
+                int score = readField(in, baseline.playerScore[i], SCORE_BITS);
+                int lives = readField(in, baseline.playerLives[i], LIVES_BITS);
+                setPlayer(i, true, x, y, score, lives, in.readBoolean());
+            }
+        }
+        
+        for (int i = 0; i < MAX_BALLS; i++) {
+            if (!in.readBoolean()) {
+                setBall(i, baseline.ballActive[i], baseline.ballX[i], baseline.ballY[i],
+                    baseline.ballSize[i], baseline.ballType[i]);
+            } else if (!in.readBoolean()) {
+                setBall(i, false, 0, 0, 0, 0);
+            } else {
+                int x = readField(in, baseline.ballX[i], POSITION_BITS);
+                int y = readField(in, baseline.ballY[i], POSITION_BITS);
+                int size = readField(in, baseline.ballSize[i], SIZE_BITS);
+                setBall(i, true, x, y, size, readField(in, baseline.ballType[i], TYPE_BITS));
+            }
+        }
+        
+        for (int i = 0; i < MAX_ENEMIES; i++) {
+            if (!in.readBoolean()) {
+                setEnemy(i, baseline.enemyActive[i], baseline.enemyX[i], baseline.enemyY[i]);
+            } else if (!in.readBoolean()) {
+                setEnemy(i, false, 0, 0);
+            } else {
+                int x = readField(in, baseline.enemyX[i], POSITION_BITS);
+                setEnemy(i, true, x, readField(in, baseline.enemyY[i], POSITION_BITS));
+            }
+        }
+    }
+    
+    /**
+     * آیا وضعیت دو snapshot یکسان است (برای بررسی صحت کدگذاری)
+     */
+    public boolean sameState(WorldSnapshot other) {
+        return tick == other.tick
+            && java.util.Arrays.equals(playerActive, other.playerActive)
+            && java.util.Arrays.equals(playerX, other.playerX)
+            && java.util.Arrays.equals(playerY, other.playerY)
+            && java.util.Arrays.equals(playerScore, other.playerScore)
+            && java.util.Arrays.equals(playerLives, other.playerLives)
+            && java.util.Arrays.equals(playerInvincible, other.playerInvincible)
+            && java.util.Arrays.equals(ballActive, other.ballActive)
+            && java.util.Arrays.equals(ballX, other.ballX)
+            && java.util.Arrays.equals(ballY, other.ballY)
+            && java.util.Arrays.equals(ballSize, other.ballSize)
+            && java.util.Arrays.equals(ballType, other.ballType)
+            && java.util.Arrays.equals(enemyActive, other.enemyActive)
+            && java.util.Arrays.equals(enemyX, other.enemyX)
+            && java.util.Arrays.equals(enemyY, other.enemyY);
+    }
+    
+    /**
+     * فیلد بدون تغییر: 1 بیت؛ تفاضل کوچک: 2 + DELTA_BITS بیت؛ در غیر این صورت مقدار کامل
+     */
+    private static void writeField(BitWriter out, int value, int base, int fullBits) {
+        if (value == base) {
+            out.writeBits(0, 1);
+            return;
+        }
+        out.writeBits(1, 1);
+        int delta = value - base;
+        if (BitWriter.fitsSigned(delta, DELTA_BITS)) {
+            out.writeBits(0, 1);
+            out.writeSigned(delta, DELTA_BITS);
+        } else {
+            out.writeBits(1, 1);
+            out.writeSigned(value, fullBits);
+        }
+    }
+    
+    private static int readField(BitReader in, int base, int fullBits) {
+        if (!in.readBoolean()) {
+            return base;
+        }
+        if (!in.readBoolean()) {
+            return base + in.readSigned(DELTA_BITS);
+        }
+        return in.readSigned(fullBits);
+    }
+}